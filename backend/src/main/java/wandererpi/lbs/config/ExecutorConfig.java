@@ -0,0 +1,80 @@
+package wandererpi.lbs.config;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Dedicated executors for background work, sized independently of the request threads
+ */
+@Configuration
+@RequiredArgsConstructor
+public class ExecutorConfig {
+
+    private final ReportConfig reportConfig;
+    private final PaymentConfig paymentConfig;
+    private final QrCodeConfig qrCodeConfig;
+
+    @Bean
+    public ThreadPoolTaskExecutor reportRebuildExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(reportConfig.getRebuildParallelism());
+        executor.setMaxPoolSize(reportConfig.getRebuildParallelism());
+        executor.setQueueCapacity(reportConfig.getMaxRebuildDays());
+        executor.setThreadNamePrefix("report-rebuild-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.initialize();
+        return executor;
+    }
+
+    @Bean
+    public ThreadPoolTaskExecutor webhookExecutor() {
+        PaymentConfig.Webhook webhook = paymentConfig.getWebhook();
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(webhook.getWorkerThreads());
+        executor.setMaxPoolSize(webhook.getWorkerThreads());
+        // One claimed batch at a time, so the queue never holds more than a batch
+        executor.setQueueCapacity(webhook.getBatchSize());
+        executor.setThreadNamePrefix("webhook-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.initialize();
+        return executor;
+    }
+
+    @Bean
+    public ThreadPoolTaskExecutor paymentQrExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(qrCodeConfig.getPrecomputeThreads());
+        executor.setMaxPoolSize(qrCodeConfig.getPrecomputeThreads());
+        executor.setQueueCapacity(qrCodeConfig.getPrecomputeQueueCapacity());
+        executor.setThreadNamePrefix("payment-qr-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.initialize();
+        return executor;
+    }
+
+    @Bean
+    public ThreadPoolTaskExecutor catalogIndexExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        // Refreshes are coalesced, so at most one waits while another runs
+        executor.setQueueCapacity(1);
+        executor.setThreadNamePrefix("catalog-index-");
+        executor.initialize();
+        return executor;
+    }
+
+    @Bean
+    public ThreadPoolTaskExecutor orderStatusHeartbeatExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        // No queue: a heartbeat still writing to slow clients makes the next one skip
+        executor.setQueueCapacity(0);
+        executor.setThreadNamePrefix("order-status-heartbeat-");
+        executor.initialize();
+        return executor;
+    }
+}
@@ -0,0 +1,18 @@
+package wandererpi.lbs.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "cache.local")
+@Data
+public class LocalCacheConfig {
+
+    private boolean enabled = true;
+    private long maximumSize = 10000;               // In-process entries per cache
+    private Duration ttl = Duration.ofSeconds(30);  // Backstop if an invalidation message is lost
+    private String channel = "cache:invalidation";  // Redis pub/sub channel shared by all instances
+}
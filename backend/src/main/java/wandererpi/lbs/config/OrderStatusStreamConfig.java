@@ -0,0 +1,17 @@
+package wandererpi.lbs.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "order.status-stream")
+@Data
+public class OrderStatusStreamConfig {
+
+    private Duration timeout = Duration.ofMinutes(10);  // Stream lifetime; EventSource reconnects on its own
+    private int maxConnections = 10000;                 // Open streams per instance
+    private String channel = "order:status";            // Redis pub/sub channel shared by all instances
+}
@@ -0,0 +1,17 @@
+package wandererpi.lbs.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "order.tracking-cache")
+@Data
+public class OrderTrackingCacheConfig {
+
+    private boolean enabled = true;
+    private Duration ttl = Duration.ofSeconds(30);       // Rendered tracking responses
+    private Duration missTtl = Duration.ofMinutes(1);    // Tokens known not to exist
+}
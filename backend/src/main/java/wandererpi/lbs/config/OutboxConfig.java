@@ -0,0 +1,21 @@
+package wandererpi.lbs.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "outbox")
+@Data
+public class OutboxConfig {
+
+    private int batchSize = 100;                         // Events locked per relay round
+    private int maxAttempts = 8;                         // Attempts before an event is marked FAILED
+    private Duration initialBackoff = Duration.ofSeconds(10);
+    private Duration maxBackoff = Duration.ofMinutes(30);
+    private Duration retention = Duration.ofDays(7);     // How long PROCESSED events are kept
+    private Duration dispatchTimeout = Duration.ofMinutes(5); // Lease on claimed events; unfinished ones are retried after it
+    private String payloadKey;                           // Secret for OutboxPayloadCipher
+}
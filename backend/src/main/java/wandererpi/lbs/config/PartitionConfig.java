@@ -0,0 +1,21 @@
+package wandererpi.lbs.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "partition")
+@Data
+public class PartitionConfig {
+
+    private int monthsAhead = 3;                 // Monthly partitions kept ready beyond the current month
+    private Archive archive = new Archive();
+
+    @Data
+    public static class Archive {
+        private boolean enabled = false;         // Detach old partitions into cold tables
+        private int retentionMonths = 24;        // Full months kept attached before the current month
+        private String schema = "archive";       // Schema detached partitions are moved into
+    }
+}
@@ -3,6 +3,13 @@ package wandererpi.lbs.config;
 import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
+import wandererpi.lbs.enums.PaymentMethod;
+import wandererpi.lbs.enums.WebhookIngestionMode;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 @Configuration
 @ConfigurationProperties(prefix = "payment")
@@ -11,6 +18,10 @@ public class PaymentConfig {
 
     private BankTransfer bankTransfer;
     private SePay sepay;
+    private Timeout timeout = new Timeout();
+    private Webhook webhook = new Webhook();
+    private Dedup dedup = new Dedup();
+    private Map<String, String> bankBins = new LinkedHashMap<>(); // NAPAS BINs added to or overriding the built-in table, keyed by bank code
 
     @Data
     public static class BankTransfer {
@@ -23,5 +34,32 @@ public class PaymentConfig {
     public static class SePay {
         private String webhookSecret; // Secret key for webhook validation
         private String apiKey;        // SePay API key (if needed)
+        private boolean requireSignature = true; // false accepts unsigned webhooks, as before signatures were enforced
+    }
+
+    @Data
+    public static class Timeout {
+        // How long an order may stay PENDING_PAYMENT, per method; methods without an entry never expire
+        private Map<PaymentMethod, Duration> methods = new EnumMap<>(PaymentMethod.class);
+        private int chunkSize = 200;         // Orders cancelled per transaction
+        private int maxChunksPerRun = 50;    // Upper bound per job run so a large backlog is spread out
+    }
+
+    @Data
+    public static class Webhook {
+        private WebhookIngestionMode ingestionMode = WebhookIngestionMode.SYNC;
+        private int workerThreads = 4;                         // Webhooks processed concurrently
+        private int batchSize = 50;                            // Webhooks claimed per polling round
+        private int maxAttempts = 8;                           // Attempts before a webhook is marked FAILED
+        private Duration initialBackoff = Duration.ofSeconds(5);
+        private Duration maxBackoff = Duration.ofMinutes(15);
+        private Duration processingTimeout = Duration.ofMinutes(5); // PROCESSING rows older than this are requeued
+        private Duration retention = Duration.ofDays(30);     // How long PROCESSED and FAILED webhooks are kept
+    }
+
+    @Data
+    public static class Dedup {
+        private boolean enabled = true;                 // Redis fast path; the database constraint always applies
+        private Duration ttl = Duration.ofDays(7);      // How long a seen transaction id stays in Redis
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,16 @@
+package wandererpi.lbs.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "product.listing-cache")
+@Data
+public class ProductListingCacheConfig {
+
+    private boolean enabled = true;
+    private Duration ttl = Duration.ofMinutes(10);      // Backstop for changes that bypass CatalogChangedEvent
+}
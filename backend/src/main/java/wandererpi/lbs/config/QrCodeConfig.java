@@ -0,0 +1,20 @@
+package wandererpi.lbs.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "order.qr")
+@Data
+public class QrCodeConfig {
+
+    private int size = 400;                             // PNG width and height in pixels
+    private long cacheMaxBytes = 16L * 1024 * 1024;     // Rendered images kept in memory
+    private Duration maxAge = Duration.ofDays(1);       // Browser Cache-Control max-age
+    private int precomputeThreads = 1;                  // Threads writing stored payloads after orders commit
+    private int precomputeQueueCapacity = 10000;        // Queued writes before new orders fall back to encoding on read
+    private int regenerateBatchSize = 500;              // Orders re-encoded per batch after a bank account change
+}
@@ -0,0 +1,31 @@
+package wandererpi.lbs.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "reconciliation")
+@Data
+public class ReconciliationConfig {
+
+    private boolean enabled = false;                    // Scheduled run; the admin endpoint works regardless
+    private String source = "csv";                      // Statement source used by the scheduled run
+    private Duration lookback = Duration.ofDays(7);     // Pending orders older than this are not matched
+    private int confirmBatchSize = 500;                 // Orders confirmed per transaction
+    private Csv csv = new Csv();
+    private Stub stub = new Stub();
+
+    @Data
+    public static class Csv {
+        private String path;                            // Statement export on the local filesystem
+        private char delimiter = ',';
+    }
+
+    @Data
+    public static class Stub {
+        private String responseFile;                    // Canned transaction list in the SePay API format
+    }
+}
@@ -1,15 +1,23 @@
 package wandererpi.lbs.config;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
 import org.springframework.data.redis.cache.RedisCacheConfiguration;
 import org.springframework.data.redis.cache.RedisCacheManager;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
+import wandererpi.lbs.service.cache.ProductListingCache;
+import wandererpi.lbs.service.cache.TwoLevelCacheManager;
 
 import java.time.Duration;
 
@@ -39,7 +47,8 @@ public class RedisConfig {
     }
 
     @Bean
-    public RedisCacheManager cacheManager(RedisConnectionFactory factory) {
+    public RedisCacheManager redisCacheManager(RedisConnectionFactory factory,
+                                               ProductListingCacheConfig productListingCacheConfig) {
         RedisCacheConfiguration config = RedisCacheConfiguration.defaultCacheConfig()
                 .entryTtl(Duration.ofMinutes(15))
                 .serializeValuesWith(
@@ -48,6 +57,38 @@ public class RedisConfig {
 
         return RedisCacheManager.builder(factory)
                 .cacheDefaults(config)
+                .withCacheConfiguration(ProductListingCache.CACHE_NAME,
+                        config.entryTtl(productListingCacheConfig.getTtl()))
                 .build();
     }
+
+    /**
+     * Cache manager behind {@code @Cacheable}: in-process L1 in front of Redis unless cache.local is disabled
+     */
+    @Bean
+    @Primary
+    public CacheManager cacheManager(RedisCacheManager redisCacheManager,
+                                     StringRedisTemplate stringRedisTemplate,
+                                     ObjectMapper objectMapper,
+                                     RedisMessageListenerContainer redisMessageListenerContainer,
+                                     LocalCacheConfig localCacheConfig) {
+        if (!localCacheConfig.isEnabled()) {
+            return redisCacheManager;
+        }
+
+        TwoLevelCacheManager cacheManager = new TwoLevelCacheManager(
+                redisCacheManager, stringRedisTemplate, objectMapper, localCacheConfig);
+        redisMessageListenerContainer.addMessageListener(cacheManager, new ChannelTopic(localCacheConfig.getChannel()));
+        return cacheManager;
+    }
+
+    /**
+     * Pub/sub subscriptions; listeners register their own channels
+     */
+    @Bean
+    public RedisMessageListenerContainer redisMessageListenerContainer(RedisConnectionFactory factory) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(factory);
+        return container;
+    }
 }
@@ -0,0 +1,17 @@
+package wandererpi.lbs.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.ZoneId;
+
+@Configuration
+@ConfigurationProperties(prefix = "report")
+@Data
+public class ReportConfig {
+
+    private ZoneId zone = ZoneId.of("Asia/Ho_Chi_Minh");   // Business day boundaries for daily buckets
+    private int rebuildParallelism = 4;                    // Days recomputed concurrently by a rebuild
+    private int maxRebuildDays = 366;                      // Largest range a single rebuild may cover
+}
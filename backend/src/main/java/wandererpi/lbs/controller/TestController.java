@@ -1,10 +1,5 @@
 package wandererpi.lbs.controller;
 
-import com.google.zxing.BarcodeFormat;
-import com.google.zxing.WriterException;
-import com.google.zxing.client.j2se.MatrixToImageWriter;
-import com.google.zxing.common.BitMatrix;
-import com.google.zxing.qrcode.QRCodeWriter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Controller;
@@ -17,11 +12,10 @@ import wandererpi.lbs.enums.PaymentMethod;
 import wandererpi.lbs.exception.ApplicationException;
 import wandererpi.lbs.enums.ErrorCode;
 import wandererpi.lbs.repository.jpa.OrderRepository;
-import wandererpi.lbs.util.VietQRUtil;
+import wandererpi.lbs.service.payment.QrCodeRenderer;
+import wandererpi.lbs.service.payment.PaymentQrStore;
 import wandererpi.lbs.config.PaymentConfig;
 
-import java.io.ByteArrayOutputStream;
-import java.io.IOException;
 import java.util.Base64;
 
 /**
@@ -36,6 +30,8 @@ public class TestController {
 
     private final OrderRepository orderRepository;
     private final PaymentConfig paymentConfig;
+    private final QrCodeRenderer qrCodeRenderer;
+    private final PaymentQrStore paymentQrStore;
 
     /**
      * Display QR code for an order
@@ -55,19 +51,14 @@ public class TestController {
             return "error";
         }
 
-        // Generate VietQR string
+        // Stored VietQR string, encoded on the spot if none was stored
         String transferMessage = "ORDER-" + order.getId();
-        String qrContent = VietQRUtil.generateVietQR(
-                paymentConfig.getBankTransfer().getBankCode(),
-                paymentConfig.getBankTransfer().getAccountNo(),
-                order.getTotalAmount().longValue(),
-                transferMessage
-        );
+        String qrContent = paymentQrStore.getPayload(order.getId(), order.getTotalAmount().longValue());
 
         // Generate QR code image as base64
         String qrImageBase64;
         try {
-            qrImageBase64 = generateQRCodeBase64(qrContent, 400, 400);
+            qrImageBase64 = Base64.getEncoder().encodeToString(qrCodeRenderer.renderPng(qrContent));
         } catch (Exception e) {
             log.error("Failed to generate QR code image", e);
             model.addAttribute("error", "Failed to generate QR code");
@@ -88,18 +79,4 @@ public class TestController {
 
         return "payment-qr";
     }
-
-    /**
-     * Generate QR code image as base64 string
-     */
-    private String generateQRCodeBase64(String text, int width, int height) throws WriterException, IOException {
-        QRCodeWriter qrCodeWriter = new QRCodeWriter();
-        BitMatrix bitMatrix = qrCodeWriter.encode(text, BarcodeFormat.QR_CODE, width, height);
-
-        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-        MatrixToImageWriter.writeToStream(bitMatrix, "PNG", outputStream);
-        byte[] imageBytes = outputStream.toByteArray();
-
-        return Base64.getEncoder().encodeToString(imageBytes);
-    }
-}
\ No newline at end of file
+}
@@ -0,0 +1,22 @@
+package wandererpi.lbs.dto.catalog;
+
+import lombok.Value;
+
+import java.math.BigDecimal;
+
+/**
+ * One product x SKU x SKU code combination loaded into the catalog index.
+ * SKU columns are null for a product without SKUs, {@code code} for a SKU without codes.
+ */
+@Value
+public class CatalogIndexRow {
+    Long productId;
+    String productName;
+    String productSlug;
+    Long skuId;
+    String size;
+    String color;
+    BigDecimal price;
+    Integer stockQty;
+    String code;
+}
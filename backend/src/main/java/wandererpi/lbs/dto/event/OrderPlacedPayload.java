@@ -0,0 +1,15 @@
+package wandererpi.lbs.dto.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderPlacedPayload {
+    // Raw tracking token for the email link, encrypted by OutboxPayloadCipher; only its hash is stored on the order
+    private String encryptedToken;
+}
@@ -0,0 +1,16 @@
+package wandererpi.lbs.dto.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import wandererpi.lbs.enums.OrderStatus;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderStatusChangedPayload {
+    private OrderStatus oldStatus;
+    private OrderStatus newStatus;
+}
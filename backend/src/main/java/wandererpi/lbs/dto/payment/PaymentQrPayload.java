@@ -0,0 +1,12 @@
+package wandererpi.lbs.dto.payment;
+
+import lombok.Value;
+
+/**
+ * VietQR payload encoded for one bank transfer order
+ */
+@Value
+public class PaymentQrPayload {
+    Long orderId;
+    String payload;
+}
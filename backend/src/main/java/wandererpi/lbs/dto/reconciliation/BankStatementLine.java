@@ -0,0 +1,17 @@
+package wandererpi.lbs.dto.reconciliation;
+
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * One credit line of a bank statement export
+ */
+@Value
+@Builder
+public class BankStatementLine {
+    int lineNumber;            // Position in the source, for the unmatched report
+    String transactionRef;     // Bank or gateway reference, as exported
+    String transactionDate;    // Kept as exported; only reported, never parsed
+    long amount;               // VND; debits are negative
+    String content;            // Free-text transfer content
+}
@@ -0,0 +1,15 @@
+package wandererpi.lbs.dto.reconciliation;
+
+import lombok.Value;
+
+import java.time.Instant;
+
+/**
+ * A bank transfer order still waiting for its payment
+ */
+@Value
+public class PendingPayment {
+    Long orderId;
+    long amount;
+    Instant createdAt;
+}
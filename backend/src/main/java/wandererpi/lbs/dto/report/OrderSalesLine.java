@@ -0,0 +1,23 @@
+package wandererpi.lbs.dto.report;
+
+import lombok.Builder;
+import lombok.Data;
+import wandererpi.lbs.enums.PaymentMethod;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * One order line with the attributes the sales rollups are keyed by
+ */
+@Data
+@Builder
+public class OrderSalesLine {
+    private Long orderId;
+    private Instant createdAt;
+    private PaymentMethod paymentMethod;
+    private Long skuId;
+    private Long categoryId;
+    private Integer quantity;
+    private BigDecimal amount;              // quantity * unit price
+}
@@ -0,0 +1,29 @@
+package wandererpi.lbs.dto.report;
+
+import lombok.Value;
+
+import java.math.BigDecimal;
+
+/**
+ * Pending change to one rollup row. Immutable so it can be merged into a concurrent map.
+ */
+@Value
+public class SalesRollupDelta {
+    long orderCount;
+    long units;
+    BigDecimal revenue;
+    BigDecimal paidRevenue;
+
+    public SalesRollupDelta plus(SalesRollupDelta other) {
+        return new SalesRollupDelta(
+                orderCount + other.orderCount,
+                units + other.units,
+                revenue.add(other.revenue),
+                paidRevenue.add(other.paidRevenue));
+    }
+
+    public boolean isZero() {
+        return orderCount == 0 && units == 0
+                && revenue.signum() == 0 && paidRevenue.signum() == 0;
+    }
+}
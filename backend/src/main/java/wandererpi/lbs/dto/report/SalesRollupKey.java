@@ -0,0 +1,13 @@
+package wandererpi.lbs.dto.report;
+
+import lombok.Value;
+import wandererpi.lbs.enums.RollupDimension;
+
+import java.time.LocalDate;
+
+@Value
+public class SalesRollupKey {
+    LocalDate bucketDate;
+    RollupDimension dimension;
+    String dimensionKey;
+}
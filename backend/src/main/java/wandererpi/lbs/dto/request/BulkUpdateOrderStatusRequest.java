@@ -0,0 +1,26 @@
+package wandererpi.lbs.dto.request;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.*;
+import wandererpi.lbs.enums.OrderStatus;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkUpdateOrderStatusRequest {
+
+    @NotEmpty(message = "Order IDs are required")
+    @Size(max = 1000, message = "At most 1000 orders per request")
+    private List<Long> orderIds;
+
+    @NotNull(message = "New status is required")
+    private OrderStatus newStatus;
+
+    private String note;
+}
@@ -0,0 +1,37 @@
+package wandererpi.lbs.dto.request;
+
+import lombok.*;
+import wandererpi.lbs.enums.OrderStatus;
+import wandererpi.lbs.enums.PaymentMethod;
+
+import java.time.Instant;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderSearchRequest {
+    private OrderStatus status;
+    private PaymentMethod paymentMethod;
+    private Instant startDate;
+    private Instant endDate;
+
+    // Matches customer email (case-insensitive) or phone exactly
+    private String customer;
+
+    // Opaque cursor from the previous page; null for the first page
+    private String cursor;
+
+    @Builder.Default
+    private Integer size = 20;
+
+    // Counting is expensive on large ranges, so it is opt-in
+    @Builder.Default
+    private Boolean includeTotal = false;
+
+    public boolean hasFilters() {
+        return status != null || paymentMethod != null || startDate != null
+                || endDate != null || (customer != null && !customer.isBlank());
+    }
+}
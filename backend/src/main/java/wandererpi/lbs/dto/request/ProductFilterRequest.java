@@ -13,6 +13,9 @@ public class ProductFilterRequest {
     private Long categoryId;
     private BigDecimal minPrice;
     private BigDecimal maxPrice;
+
+    // Full-text query (name, category, colors, description); null for none
+    private String search;
     
     @Builder.Default
     private Integer page = 0;
@@ -0,0 +1,29 @@
+package wandererpi.lbs.dto.response;
+
+import lombok.*;
+import wandererpi.lbs.enums.OrderStatus;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkOrderStatusResponse {
+
+    private OrderStatus newStatus;
+    private Integer requestedCount;
+    private Integer updatedCount;
+    private List<Long> updatedOrderIds;
+    // Only orders whose transition was not applied
+    private List<RejectedTransition> rejected;
+
+    @Data
+    @Builder
+    public static class RejectedTransition {
+        private Long orderId;
+        private OrderStatus currentStatus;  // Null when the order does not exist
+        private String reason;
+    }
+}
@@ -0,0 +1,19 @@
+package wandererpi.lbs.dto.response;
+
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPageResponse<T> {
+    private List<T> content;
+    private Integer pageSize;
+    private Boolean hasNext;
+    private String nextCursor;      // Pass back as ?cursor= to fetch the next page
+    private Long totalElements;     // Null unless requested
+    private Boolean totalEstimated; // True when totalElements comes from planner statistics
+}
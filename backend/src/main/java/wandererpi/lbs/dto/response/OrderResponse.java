@@ -33,8 +33,7 @@ public class OrderResponse {
     @Data
     @Builder
     public static class BankTransferInfo {
-        private String qrContent;      // VietQR string
-        private String qrImageUrl;     // Optional: URL to QR image
+        private String qrImageUrl;     // URL to the VietQR image
         private String bankCode;       // e.g., "VIETCOMBANK"
         private String accountNo;      // Merchant account
         private String accountName;    // Account holder
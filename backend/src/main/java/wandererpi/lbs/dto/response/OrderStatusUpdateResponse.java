@@ -0,0 +1,19 @@
+package wandererpi.lbs.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import wandererpi.lbs.enums.OrderStatus;
+
+import java.time.Instant;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderStatusUpdateResponse {
+    private Long orderId;
+    private OrderStatus status;
+    private Instant updatedAt;
+}
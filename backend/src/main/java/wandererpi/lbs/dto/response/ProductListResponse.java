@@ -17,4 +17,7 @@ public class ProductListResponse {
     private String primaryImageUrl;
     private CategoryResponse category;
     private Integer minStock;
+    private BigDecimal minPrice;
+    private BigDecimal maxPrice;
+    private Boolean inStock;
 }
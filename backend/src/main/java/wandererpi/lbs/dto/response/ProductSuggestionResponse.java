@@ -0,0 +1,14 @@
+package wandererpi.lbs.dto.response;
+
+import lombok.*;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductSuggestionResponse {
+    private Long id;
+    private String name;
+    private String slug;
+}
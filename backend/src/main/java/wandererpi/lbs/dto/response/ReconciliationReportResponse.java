@@ -0,0 +1,38 @@
+package wandererpi.lbs.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import wandererpi.lbs.enums.ReconciliationOutcome;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReconciliationReportResponse {
+    private String source;
+    private Integer statementLines;
+    private Integer creditLines;
+    private Integer alreadyRecordedLines;
+    private Integer pendingOrders;
+    private List<Long> confirmedOrderIds;
+    private List<UnmatchedItem> unmatched;
+    private Long durationMs;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class UnmatchedItem {
+        private Integer lineNumber;
+        private String transactionRef;
+        private String transactionDate;
+        private Long amount;
+        private String content;
+        private ReconciliationOutcome outcome;
+        private Long candidateOrderId;
+    }
+}
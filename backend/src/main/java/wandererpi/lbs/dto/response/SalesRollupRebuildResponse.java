@@ -0,0 +1,19 @@
+package wandererpi.lbs.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SalesRollupRebuildResponse {
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private Integer daysRebuilt;
+    private Long durationMs;
+}
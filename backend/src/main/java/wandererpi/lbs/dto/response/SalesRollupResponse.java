@@ -0,0 +1,24 @@
+package wandererpi.lbs.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import wandererpi.lbs.enums.RollupDimension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SalesRollupResponse {
+    private LocalDate bucketDate;
+    private RollupDimension dimension;
+    private String dimensionKey;
+    private Long orderCount;
+    private Long units;
+    private BigDecimal revenue;
+    private BigDecimal paidRevenue;
+}
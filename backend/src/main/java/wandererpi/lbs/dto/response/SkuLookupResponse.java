@@ -0,0 +1,24 @@
+package wandererpi.lbs.dto.response;
+
+import lombok.*;
+
+import java.math.BigDecimal;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SkuLookupResponse {
+    private String code;
+    private Long skuId;
+    private String primarySkuCode;
+    private Long productId;
+    private String productName;
+    private String productSlug;
+    private String size;
+    private String color;
+    private BigDecimal price;
+    private Integer stockQty;
+    private Boolean available;
+}
@@ -2,7 +2,7 @@ package wandererpi.lbs.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
-import wandererpi.lbs.entity.base.BaseEntity;
+import wandererpi.lbs.entity.base.AuditableEntity;
 
 @Entity
 @Table(name = "cart_items",
@@ -12,7 +12,12 @@ import wandererpi.lbs.entity.base.BaseEntity;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
-public class CartItem extends BaseEntity {
+public class CartItem extends AuditableEntity {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "cart_items_seq")
+    @SequenceGenerator(name = "cart_items_seq", sequenceName = "cart_items_seq", allocationSize = 50)
+    private Long id;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "cart_id", nullable = false)
     private Cart cart;
@@ -16,8 +16,8 @@ import java.math.BigDecimal;
 @AllArgsConstructor
 @Builder
 public class Order extends BaseEntity {
-    /* Used for order tracking without login */
-    @Column(nullable = false, unique = true)
+    /* Used for order tracking without login; unique in order_tracking_tokens (orders is partitioned) */
+    @Column(nullable = false)
     private String trackingToken;
 
     @Column(nullable = false)
@@ -2,7 +2,7 @@ package wandererpi.lbs.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
-import wandererpi.lbs.entity.base.BaseEntity;
+import wandererpi.lbs.entity.base.AuditableEntity;
 
 @Entity
 @Table(name = "order_histories")
@@ -11,7 +11,12 @@ import wandererpi.lbs.entity.base.BaseEntity;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
-public class OrderHistory extends BaseEntity {
+public class OrderHistory extends AuditableEntity {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "order_histories_seq")
+    @SequenceGenerator(name = "order_histories_seq", sequenceName = "order_histories_seq", allocationSize = 50)
+    private Long id;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "order_id", nullable = false)
     private Order order;
@@ -2,7 +2,7 @@ package wandererpi.lbs.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
-import wandererpi.lbs.entity.base.BaseEntity;
+import wandererpi.lbs.entity.base.AuditableEntity;
 
 import java.math.BigDecimal;
 
@@ -13,7 +13,12 @@ import java.math.BigDecimal;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
-public class OrderItem extends BaseEntity {
+public class OrderItem extends AuditableEntity {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "order_items_seq")
+    @SequenceGenerator(name = "order_items_seq", sequenceName = "order_items_seq", allocationSize = 50)
+    private Long id;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "order_id", nullable = false)
     private Order order;
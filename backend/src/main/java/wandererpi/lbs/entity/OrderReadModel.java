@@ -0,0 +1,92 @@
+package wandererpi.lbs.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+import org.springframework.data.domain.Persistable;
+import wandererpi.lbs.dto.response.OrderItemResponse;
+import wandererpi.lbs.enums.OrderStatus;
+import wandererpi.lbs.enums.PaymentMethod;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Denormalized, fully rendered view of an order.
+ * <p>
+ * Written once when the order is placed and patched on status changes, so order
+ * reads are a single primary-key (or tracking token) lookup. Item lines are a
+ * price/name snapshot taken at checkout and stored as JSONB.
+ * </p>
+ */
+@Entity
+@Table(name = "order_read_models")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OrderReadModel implements Persistable<Long> {
+    @Id
+    @Column(name = "order_id")
+    private Long orderId;
+
+    @Column(nullable = false, unique = true)
+    private String trackingToken;
+
+    @Column(nullable = false)
+    @Enumerated(EnumType.STRING)
+    private OrderStatus status;
+
+    @Enumerated(EnumType.STRING)
+    private PaymentMethod paymentMethod;
+
+    @Column(nullable = false)
+    private BigDecimal totalAmount;
+
+    private String customerName;
+    private String customerPhone;
+    private String customerEmail;
+
+    @Column(columnDefinition = "TEXT")
+    private String shippingAddr;
+
+    @Column(columnDefinition = "TEXT")
+    private String note;
+
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(columnDefinition = "jsonb", nullable = false)
+    @Builder.Default
+    private List<OrderItemResponse> items = new ArrayList<>();
+
+    /* Order creation time, not the time this row was written */
+    @Column(nullable = false)
+    private Instant createdAt;
+
+    @Column(nullable = false)
+    private Instant updatedAt;
+
+    /* The id is assigned (the order id), so tell Spring Data when to persist instead of merge */
+    @Transient
+    @Builder.Default
+    private boolean isNew = true;
+
+    @Override
+    public Long getId() {
+        return orderId;
+    }
+
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.isNew = false;
+    }
+}
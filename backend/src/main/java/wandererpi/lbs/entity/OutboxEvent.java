@@ -0,0 +1,48 @@
+package wandererpi.lbs.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import wandererpi.lbs.entity.base.AuditableEntity;
+import wandererpi.lbs.enums.OutboxEventType;
+import wandererpi.lbs.enums.OutboxStatus;
+
+import java.time.Instant;
+
+@Entity
+@Table(name = "outbox_events")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OutboxEvent extends AuditableEntity {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "outbox_events_seq")
+    @SequenceGenerator(name = "outbox_events_seq", sequenceName = "outbox_events_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(nullable = false)
+    @Enumerated(EnumType.STRING)
+    private OutboxEventType eventType;
+
+    @Column(nullable = false)
+    private Long aggregateId;
+
+    @Column(columnDefinition = "TEXT")
+    private String payload;
+
+    @Column(nullable = false)
+    @Enumerated(EnumType.STRING)
+    private OutboxStatus status;
+
+    @Column(nullable = false)
+    private Integer attempts;
+
+    @Column(nullable = false)
+    private Instant nextAttemptAt;
+
+    @Column(columnDefinition = "TEXT")
+    private String lastError;
+
+    private Instant processedAt;
+}
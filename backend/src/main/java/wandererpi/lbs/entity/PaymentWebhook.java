@@ -0,0 +1,50 @@
+package wandererpi.lbs.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import wandererpi.lbs.entity.base.AuditableEntity;
+import wandererpi.lbs.enums.WebhookStatus;
+
+import java.time.Instant;
+
+@Entity
+@Table(name = "payment_webhooks")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PaymentWebhook extends AuditableEntity {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "payment_webhooks_seq")
+    @SequenceGenerator(name = "payment_webhooks_seq", sequenceName = "payment_webhooks_seq", allocationSize = 50)
+    private Long id;
+
+    /* SePay transaction id */
+    private Long transactionId;
+
+    /* Order referenced by the transfer content; events with the same key are processed in arrival order */
+    private Long orderKey;
+
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String payload;
+
+    private String signature;
+
+    @Column(nullable = false)
+    @Enumerated(EnumType.STRING)
+    private WebhookStatus status;
+
+    @Column(nullable = false)
+    private Integer attempts;
+
+    @Column(nullable = false)
+    private Instant nextAttemptAt;
+
+    private Instant lockedAt;
+
+    @Column(columnDefinition = "TEXT")
+    private String lastError;
+
+    private Instant processedAt;
+}
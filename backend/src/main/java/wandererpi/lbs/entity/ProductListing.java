@@ -0,0 +1,65 @@
+package wandererpi.lbs.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.Immutable;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * Denormalized listing row of a product, with its category, primary image and SKU aggregates.
+ * <p>
+ * Maintained by database triggers on products, product_images, skus and categories (V18), so
+ * it is current within the transaction of any write, including stock changes made in plain SQL.
+ * Read-only on the application side.
+ * </p>
+ */
+@Entity
+@Immutable
+@Table(name = "product_listing")
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProductListing {
+    @Id
+    @Column(name = "product_id")
+    private Long productId;
+
+    @Column(nullable = false)
+    private Long categoryId;
+
+    @Column(nullable = false)
+    private String categoryName;
+
+    @Column(nullable = false)
+    private String categorySlug;
+
+    @Column(nullable = false)
+    private String name;
+
+    @Column(nullable = false)
+    private String slug;
+
+    @Column(nullable = false)
+    private BigDecimal basePrice;
+
+    /* The image flagged primary, else the first by position */
+    private String primaryImageUrl;
+
+    /* 0 for products without SKUs */
+    @Column(nullable = false)
+    private Integer minStock;
+
+    /* Null for products without SKUs */
+    private BigDecimal minPrice;
+    private BigDecimal maxPrice;
+
+    @Column(nullable = false)
+    private Boolean inStock;
+
+    /* Product creation time */
+    @Column(nullable = false)
+    private Instant createdAt;
+}
@@ -0,0 +1,27 @@
+package wandererpi.lbs.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.Immutable;
+
+/**
+ * Read-only view of the full-text search column of {@code products}.
+ * <p>
+ * Mapped apart from {@link Product} so product reads do not load the tsvector. The column is
+ * maintained by triggers (V19); it is only ever referenced in search predicates, through the
+ * {@code product_search_matches} and {@code product_search_rank} SQL functions.
+ * </p>
+ */
+@Entity
+@Immutable
+@Table(name = "products")
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductSearchDocument {
+    @Id
+    private Long id;
+
+    @Column(columnDefinition = "tsvector", nullable = false, insertable = false, updatable = false)
+    private String searchVector;
+}
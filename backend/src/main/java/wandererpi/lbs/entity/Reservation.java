@@ -2,7 +2,7 @@ package wandererpi.lbs.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
-import wandererpi.lbs.entity.base.BaseEntity;
+import wandererpi.lbs.entity.base.AuditableEntity;
 import wandererpi.lbs.enums.ReservationStatus;
 
 import java.time.Instant;
@@ -14,7 +14,12 @@ import java.time.Instant;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
-public class Reservation extends BaseEntity {
+public class Reservation extends AuditableEntity {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "reservations_seq")
+    @SequenceGenerator(name = "reservations_seq", sequenceName = "reservations_seq", allocationSize = 50)
+    private Long id;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "sku_id", nullable = false)
     private Sku sku;
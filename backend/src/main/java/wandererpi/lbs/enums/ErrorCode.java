@@ -25,6 +25,11 @@ public enum ErrorCode {
     USER_ALREADY_EXISTS(409, "User already exists", HttpStatus.CONFLICT),
     OTP_EXPIRED(400, "OTP expired", HttpStatus.BAD_REQUEST),
     INVALID_SIGNATURE(400, "Invalid webhook signature", HttpStatus.BAD_REQUEST),
+    INVALID_CURSOR(400, "Invalid pagination cursor", HttpStatus.BAD_REQUEST),
+    INVALID_SORT_FIELD(400, "Unsupported sort field", HttpStatus.BAD_REQUEST),
+    TOO_MANY_STREAMS(503, "Too many open status streams, retry later", HttpStatus.SERVICE_UNAVAILABLE),
+    CATALOG_INDEX_UNAVAILABLE(503, "Catalog index is not loaded yet, retry later", HttpStatus.SERVICE_UNAVAILABLE),
+    REBUILD_IN_PROGRESS(409, "A sales rollup rebuild is already running", HttpStatus.CONFLICT),
     INTERNAL_SERVER_ERROR(500, "Internal server error", HttpStatus.INTERNAL_SERVER_ERROR);
 
     private final int code;
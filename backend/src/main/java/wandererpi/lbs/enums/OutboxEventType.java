@@ -0,0 +1,6 @@
+package wandererpi.lbs.enums;
+
+public enum OutboxEventType {
+    ORDER_PLACED,           // Order created at checkout
+    ORDER_STATUS_CHANGED    // Any status transition after creation
+}
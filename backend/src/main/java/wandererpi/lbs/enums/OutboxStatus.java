@@ -0,0 +1,7 @@
+package wandererpi.lbs.enums;
+
+public enum OutboxStatus {
+    PENDING,      // Waiting for the relay (first attempt or retry)
+    PROCESSED,    // All handlers succeeded
+    FAILED        // Gave up after max attempts
+}
@@ -0,0 +1,15 @@
+package wandererpi.lbs.enums;
+
+import lombok.Getter;
+
+@Getter
+public enum QrImageFormat {
+    PNG("image/png"),
+    SVG("image/svg+xml");
+
+    private final String contentType;
+
+    QrImageFormat(String contentType) {
+        this.contentType = contentType;
+    }
+}
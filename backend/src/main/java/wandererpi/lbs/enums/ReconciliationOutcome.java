@@ -0,0 +1,11 @@
+package wandererpi.lbs.enums;
+
+public enum ReconciliationOutcome {
+    CONFIRMED,              // Reference and amount matched a pending order, which is now confirmed
+    NO_REFERENCE,           // No order reference in the content and no unique order with this amount
+    AMOUNT_ONLY_CANDIDATE,  // No reference, but exactly one pending order has this amount; needs a manual check
+    NOT_PENDING,            // Referenced order is unknown, already paid, cancelled or changed concurrently
+    UNDERPAID,              // Referenced order is pending but the amount is lower than its total
+    OVERPAID,               // Loosely referenced pending order paid above its total; needs a manual check
+    DUPLICATE               // Another statement line already matched the same order
+}
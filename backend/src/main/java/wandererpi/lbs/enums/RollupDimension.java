@@ -0,0 +1,8 @@
+package wandererpi.lbs.enums;
+
+public enum RollupDimension {
+    TOTAL,
+    SKU,
+    CATEGORY,
+    PAYMENT_METHOD
+}
@@ -0,0 +1,6 @@
+package wandererpi.lbs.enums;
+
+public enum WebhookIngestionMode {
+    SYNC,   // Process inside the webhook request
+    ASYNC   // Store and acknowledge, process on the webhook worker pool
+}
@@ -0,0 +1,8 @@
+package wandererpi.lbs.enums;
+
+public enum WebhookStatus {
+    PENDING,
+    PROCESSING,
+    PROCESSED,
+    FAILED
+}
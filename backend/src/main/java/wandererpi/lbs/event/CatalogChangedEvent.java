@@ -0,0 +1,23 @@
+package wandererpi.lbs.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.Set;
+
+/**
+ * In-process event published for writes that change what product listings show: product fields
+ * and images ({@code productIds}), SKU prices and stock ({@code skuIds}).
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class CatalogChangedEvent {
+    private final Set<Long> productIds;
+    private final Set<Long> skuIds;
+
+    public static CatalogChangedEvent ofSkus(Set<Long> skuIds) {
+        return new CatalogChangedEvent(Set.of(), skuIds);
+    }
+}
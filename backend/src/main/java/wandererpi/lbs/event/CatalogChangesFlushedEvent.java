@@ -0,0 +1,19 @@
+package wandererpi.lbs.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.Set;
+
+/**
+ * The committed {@link CatalogChangedEvent}s of one flush interval, merged. Published by
+ * {@code CatalogChangeBuffer} once {@code product_listing} reflects them, outside any transaction.
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class CatalogChangesFlushedEvent {
+    private final Set<Long> productIds;
+    private final Set<Long> skuIds;
+}
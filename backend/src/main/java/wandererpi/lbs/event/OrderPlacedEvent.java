@@ -0,0 +1,21 @@
+package wandererpi.lbs.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+import wandererpi.lbs.enums.PaymentMethod;
+
+import java.math.BigDecimal;
+
+/**
+ * In-process event published when an order is placed.
+ * Listeners that must only see committed data use {@code @TransactionalEventListener}.
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class OrderPlacedEvent {
+    private final Long orderId;
+    private final PaymentMethod paymentMethod;
+    private final BigDecimal totalAmount;
+}
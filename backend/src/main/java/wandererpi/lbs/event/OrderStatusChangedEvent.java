@@ -0,0 +1,19 @@
+package wandererpi.lbs.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+import wandererpi.lbs.enums.OrderStatus;
+
+/**
+ * In-process event published for every order status transition (admin update, bulk update,
+ * cancellation, payment confirmation).
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class OrderStatusChangedEvent {
+    private final Long orderId;
+    private final OrderStatus oldStatus;
+    private final OrderStatus newStatus;
+}
@@ -0,0 +1,15 @@
+package wandererpi.lbs.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * In-process event published when a bank transaction is recorded for the first time.
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class PaymentTransactionRecordedEvent {
+    private final Long transactionId;
+}
@@ -0,0 +1,49 @@
+package wandererpi.lbs.job;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import wandererpi.lbs.config.ReconciliationConfig;
+import wandererpi.lbs.dto.response.ReconciliationReportResponse;
+import wandererpi.lbs.service.ReconciliationService;
+
+/**
+ * Scheduled bank statement reconciliation.
+ * <p>
+ * Some transfers never reach us as SePay webhooks, and some carry content the webhook
+ * cannot parse. This job matches the configured statement source against pending
+ * BANK_TRANSFER orders and confirms the matches. It should run well inside the payment
+ * timeout, otherwise late matches find their order already cancelled and need a refund.
+ * </p>
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BankReconciliationJob {
+
+    private final ReconciliationService reconciliationService;
+    private final ReconciliationConfig reconciliationConfig;
+
+    /**
+     * Reconcile every 10 minutes when enabled.
+     */
+    @Scheduled(cron = "${reconciliation.cron:0 */10 * * * *}")
+    public void reconcile() {
+        if (!reconciliationConfig.isEnabled()) {
+            return;
+        }
+
+        try {
+            ReconciliationReportResponse report = reconciliationService.reconcile(reconciliationConfig.getSource());
+            if (!report.getUnmatched().isEmpty()) {
+                log.warn("Bank reconciliation left {} statement line(s) unmatched", report.getUnmatched().size());
+                report.getUnmatched().forEach(item -> log.warn("Unmatched line {}: {} {} VND '{}' -> {} (candidate order {})",
+                        item.getLineNumber(), item.getTransactionRef(), item.getAmount(), item.getContent(),
+                        item.getOutcome(), item.getCandidateOrderId()));
+            }
+        } catch (Exception e) {
+            log.error("Error occurred during bank reconciliation", e);
+        }
+    }
+}
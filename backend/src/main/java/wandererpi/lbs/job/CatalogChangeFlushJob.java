@@ -0,0 +1,37 @@
+package wandererpi.lbs.job;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import wandererpi.lbs.service.catalog.CatalogChangeBuffer;
+
+/**
+ * Scheduled flush of buffered catalog changes.
+ * <p>
+ * Stock reservations only touch memory on the request path; this job refreshes the affected
+ * listing rows and evicts what depends on them, once per interval.
+ * </p>
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CatalogChangeFlushJob {
+
+    private final CatalogChangeBuffer catalogChangeBuffer;
+
+    /**
+     * Flush every 2 seconds (after the previous run finishes).
+     */
+    @Scheduled(fixedDelayString = "${product.catalog-change.flush-interval-ms:2000}")
+    public void flush() {
+        try {
+            int flushed = catalogChangeBuffer.flush();
+            if (flushed > 0) {
+                log.debug("Flushed changes of {} product(s) and SKU(s)", flushed);
+            }
+        } catch (Exception e) {
+            log.error("Error occurred during catalog change flush", e);
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package wandererpi.lbs.job;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import wandererpi.lbs.service.catalog.CatalogIndex;
+
+/**
+ * Full rebuilds of the in-memory catalog index.
+ * <p>
+ * Change events keep the index of the instance that made the change current; the periodic
+ * rebuild picks up changes made on other instances or directly in the database.
+ * </p>
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CatalogIndexRebuildJob {
+
+    private final CatalogIndex catalogIndex;
+
+    /**
+     * Load the index on startup. Runs before the instance reports itself ready for traffic.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        rebuild();
+    }
+
+    /**
+     * Rebuild every 5 minutes (after the previous run finishes).
+     */
+    @Scheduled(fixedDelayString = "${product.catalog-index.rebuild-interval-ms:300000}",
+            initialDelayString = "${product.catalog-index.rebuild-interval-ms:300000}")
+    public void rebuild() {
+        try {
+            catalogIndex.rebuild();
+        } catch (Exception e) {
+            log.error("Error occurred during catalog index rebuild", e);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package wandererpi.lbs.job;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import wandererpi.lbs.service.PartitionService;
+
+/**
+ * Scheduled maintenance of the monthly order partitions.
+ * <p>
+ * Keeps partitions for the coming months created ahead of time, so new rows never
+ * fall into the default partition, and optionally detaches partitions past the
+ * retention window into the archive schema.
+ * </p>
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OrderPartitionJob {
+
+    private final PartitionService partitionService;
+
+    /**
+     * Run once on startup, so a long-stopped instance catches up before taking orders.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        maintainPartitions();
+    }
+
+    /**
+     * Run daily at 02:00, outside peak hours (detaching briefly locks the parent tables).
+     */
+    @Scheduled(cron = "${partition.cron:0 0 2 * * *}")
+    public void maintainPartitions() {
+        try {
+            int ensured = partitionService.ensureFuturePartitions();
+            log.debug("Ensured {} order partition(s)", ensured);
+        } catch (Exception e) {
+            log.error("Error occurred while creating order partitions", e);
+        }
+
+        try {
+            int archived = partitionService.archiveExpiredPartitions();
+            if (archived > 0) {
+                log.info("Archived {} order partition(s)", archived);
+            }
+        } catch (Exception e) {
+            log.error("Error occurred while archiving order partitions", e);
+        }
+    }
+}
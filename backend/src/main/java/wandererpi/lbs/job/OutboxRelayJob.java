@@ -0,0 +1,80 @@
+package wandererpi.lbs.job;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import wandererpi.lbs.config.OutboxConfig;
+import wandererpi.lbs.service.OutboxService;
+
+import java.util.List;
+
+/**
+ * Scheduled relay for the transactional outbox.
+ * <p>
+ * Order side effects (emails, and any other registered handler) are written to
+ * {@code outbox_events} in the same transaction as the order change. This job
+ * drains due events in batches so that work never runs on the request path and
+ * is never triggered by a transaction that rolled back.
+ * </p>
+ * <p>
+ * A batch is claimed in one short transaction; each event is then dispatched with no
+ * transaction open and marked in a short transaction of its own, so neither a row lock
+ * nor a database connection is held while mail is sent.
+ * </p>
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OutboxRelayJob {
+
+    // Upper bound on batches per run so one node cannot monopolise a large backlog
+    private static final int MAX_BATCHES_PER_RUN = 20;
+
+    private final OutboxService outboxService;
+    private final OutboxConfig outboxConfig;
+
+    /**
+     * Poll the outbox every second (after the previous run finishes).
+     */
+    @Scheduled(fixedDelayString = "${outbox.poll-interval-ms:1000}")
+    public void relay() {
+        try {
+            int batches = 0;
+            List<Long> claimed;
+            do {
+                claimed = outboxService.claimDueEvents();
+                claimed.forEach(this::dispatchOne);
+                batches++;
+            } while (claimed.size() == outboxConfig.getBatchSize() && batches < MAX_BATCHES_PER_RUN);
+        } catch (Exception e) {
+            log.error("Error occurred during outbox relay", e);
+        }
+    }
+
+    /**
+     * Purge processed events once per hour.
+     */
+    @Scheduled(fixedRate = 3600000) // Every 1 hour
+    public void purgeProcessedEvents() {
+        try {
+            int purged = outboxService.purgeProcessedEvents();
+            if (purged > 0) {
+                log.info("Purged {} processed outbox event(s)", purged);
+            }
+        } catch (Exception e) {
+            log.error("Error occurred during outbox purge", e);
+        }
+    }
+
+    // ========== Private Helper Methods ==========
+
+    private void dispatchOne(Long eventId) {
+        try {
+            outboxService.dispatch(eventId);
+        } catch (Exception e) {
+            // The event stays leased and is retried once the dispatch timeout expires
+            log.error("Failed to dispatch outbox event {}", eventId, e);
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package wandererpi.lbs.job;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import wandererpi.lbs.config.PaymentConfig;
+import wandererpi.lbs.enums.PaymentMethod;
+import wandererpi.lbs.service.OrderService;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Scheduled job for cancelling orders whose payment never arrived.
+ * <p>
+ * Reservations are consumed when an order is placed, so an unpaid BANK_TRANSFER
+ * order holds its stock until it is cancelled. This job cancels orders that stayed
+ * PENDING_PAYMENT longer than the configured timeout of their payment method and
+ * returns their stock, one chunk per transaction.
+ * </p>
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PaymentTimeoutJob {
+
+    private final OrderService orderService;
+    private final PaymentConfig paymentConfig;
+
+    /**
+     * Cancel expired unpaid orders every 1 minute.
+     */
+    @Scheduled(fixedDelayString = "${payment.timeout.poll-interval-ms:60000}")
+    public void cancelExpiredOrders() {
+        PaymentConfig.Timeout timeout = paymentConfig.getTimeout();
+
+        for (Map.Entry<PaymentMethod, Duration> entry : timeout.getMethods().entrySet()) {
+            try {
+                int total = 0;
+                int chunks = 0;
+                int cancelled;
+                do {
+                    cancelled = orderService.cancelExpiredPendingOrders(
+                            entry.getKey(), entry.getValue(), timeout.getChunkSize());
+                    total += cancelled;
+                    chunks++;
+                } while (cancelled == timeout.getChunkSize() && chunks < timeout.getMaxChunksPerRun());
+
+                if (total > 0) {
+                    log.info("Cancelled {} unpaid {} order(s)", total, entry.getKey());
+                }
+            } catch (Exception e) {
+                log.error("Error occurred while cancelling unpaid {} orders", entry.getKey(), e);
+            }
+        }
+    }
+}
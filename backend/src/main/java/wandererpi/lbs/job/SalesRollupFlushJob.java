@@ -0,0 +1,37 @@
+package wandererpi.lbs.job;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import wandererpi.lbs.service.report.SalesRollupAggregator;
+
+/**
+ * Scheduled flush of buffered sales rollup deltas.
+ * <p>
+ * Order events only touch memory on the request path; this job turns the
+ * accumulated deltas into one batch of upserts every few seconds.
+ * </p>
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SalesRollupFlushJob {
+
+    private final SalesRollupAggregator salesRollupAggregator;
+
+    /**
+     * Flush every 5 seconds (after the previous run finishes).
+     */
+    @Scheduled(fixedDelayString = "${report.flush-interval-ms:5000}")
+    public void flush() {
+        try {
+            int rows = salesRollupAggregator.flush();
+            if (rows > 0) {
+                log.debug("Flushed {} sales rollup row(s)", rows);
+            }
+        } catch (Exception e) {
+            log.error("Error occurred during sales rollup flush", e);
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package wandererpi.lbs.job;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import wandererpi.lbs.config.PaymentConfig;
+import wandererpi.lbs.service.WebhookIngestionService;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Worker loop for asynchronously ingested SePay webhooks.
+ * <p>
+ * In {@code ASYNC} mode the webhook endpoint only stores the notification in
+ * {@code payment_webhooks}. This job claims due rows (at most the oldest open
+ * one per order, so events of one order apply in arrival order) and processes
+ * them on the bounded {@code webhookExecutor} pool. A failed webhook is retried
+ * with exponential backoff and holds back later webhooks of the same order
+ * until it succeeds or is marked FAILED.
+ * </p>
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class WebhookIngestionJob {
+
+    // Upper bound on batches per run so a large backlog does not starve the other schedulers
+    private static final int MAX_BATCHES_PER_RUN = 20;
+
+    private final WebhookIngestionService webhookIngestionService;
+    private final PaymentConfig paymentConfig;
+    private final ThreadPoolTaskExecutor webhookExecutor;
+
+    /**
+     * Poll the webhook queue every second (after the previous run finishes).
+     */
+    @Scheduled(fixedDelayString = "${payment.webhook.poll-interval-ms:1000}")
+    public void processWebhooks() {
+        // Runs in both modes so rows queued before switching back to SYNC are still drained
+        try {
+            int batches = 0;
+            List<Long> claimed;
+            do {
+                claimed = webhookIngestionService.claimBatch();
+                if (!claimed.isEmpty()) {
+                    CompletableFuture.allOf(claimed.stream()
+                            .map(id -> CompletableFuture.runAsync(() -> processOne(id), webhookExecutor))
+                            .toArray(CompletableFuture[]::new)).join();
+                }
+                batches++;
+            } while (claimed.size() == paymentConfig.getWebhook().getBatchSize() && batches < MAX_BATCHES_PER_RUN);
+        } catch (Exception e) {
+            log.error("Error occurred during webhook processing", e);
+        }
+    }
+
+    /**
+     * Requeue webhooks whose worker died mid-processing, and purge old processed ones.
+     */
+    @Scheduled(fixedRate = 300000) // Every 5 minutes
+    public void maintainQueue() {
+        try {
+            int released = webhookIngestionService.releaseStuck();
+            if (released > 0) {
+                log.warn("Requeued {} stuck webhook(s)", released);
+            }
+            int purged = webhookIngestionService.purgeProcessed();
+            if (purged > 0) {
+                log.info("Purged {} processed webhook(s)", purged);
+            }
+        } catch (Exception e) {
+            log.error("Error occurred during webhook queue maintenance", e);
+        }
+    }
+
+    // ========== Private Helper Methods ==========
+
+    private void processOne(Long webhookId) {
+        try {
+            webhookIngestionService.process(webhookId);
+        } catch (Exception e) {
+            try {
+                webhookIngestionService.recordFailure(webhookId, e);
+            } catch (Exception recordError) {
+                // Row stays PROCESSING and is requeued by maintainQueue after the processing timeout
+                log.error("Failed to record failure for webhook {}", webhookId, recordError);
+            }
+        }
+    }
+}
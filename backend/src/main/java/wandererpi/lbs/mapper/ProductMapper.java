@@ -4,14 +4,16 @@ import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import wandererpi.lbs.dto.response.ProductListResponse;
 import wandererpi.lbs.entity.Product;
+import wandererpi.lbs.entity.ProductListing;
 
 @Mapper(componentModel = "spring", uses = {CategoryMapper.class})
 public interface ProductMapper {
     
-    @Mapping(target = "category", source = "category")
-    @Mapping(target = "primaryImageUrl", ignore = true)
-    @Mapping(target = "minStock", ignore = true)
-    ProductListResponse toListResponse(Product product);
+    @Mapping(target = "id", source = "productId")
+    @Mapping(target = "category.id", source = "categoryId")
+    @Mapping(target = "category.name", source = "categoryName")
+    @Mapping(target = "category.slug", source = "categorySlug")
+    ProductListResponse toListResponse(ProductListing listing);
     
     @Mapping(target = "category", source = "category")
     @Mapping(target = "imageUrls", ignore = true)
@@ -0,0 +1,28 @@
+package wandererpi.lbs.repository.jdbc;
+
+import wandererpi.lbs.dto.catalog.CatalogIndexRow;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Read side of the in-memory catalog index. Rows come ordered by product, SKU, then primary code first.
+ */
+public interface CatalogIndexRepository {
+
+    /**
+     * Load the whole catalog in one query.
+     *
+     * @return one row per product, SKU and SKU code
+     */
+    List<CatalogIndexRow> findAll();
+
+    /**
+     * Load the products with the given ids, plus the products that own the given SKUs.
+     *
+     * @param productIds changed products
+     * @param skuIds changed SKUs
+     * @return one row per product, SKU and SKU code; deleted products have no rows
+     */
+    List<CatalogIndexRow> findByProductIdsOrSkuIds(Collection<Long> productIds, Collection<Long> skuIds);
+}
@@ -0,0 +1,23 @@
+package wandererpi.lbs.repository.jdbc;
+
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.time.Instant;
+
+/**
+ * Repository for bulk order exports.
+ * Rows are pushed to a callback from a forward-only server-side cursor, so memory use
+ * does not depend on the size of the range.
+ */
+public interface OrderExportRepository {
+
+    /**
+     * Stream one row per order line (orders joined with order_items and skus), ordered by order creation.
+     * Must be called inside a transaction: PostgreSQL only uses a cursor when autocommit is off.
+     *
+     * @param startDate inclusive lower bound on order created_at
+     * @param endDate exclusive upper bound on order created_at
+     * @param handler callback invoked once per row
+     */
+    void streamOrderLines(Instant startDate, Instant endDate, RowCallbackHandler handler);
+}
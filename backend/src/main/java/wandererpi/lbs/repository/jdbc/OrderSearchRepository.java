@@ -0,0 +1,40 @@
+package wandererpi.lbs.repository.jdbc;
+
+import wandererpi.lbs.dto.request.OrderSearchRequest;
+import wandererpi.lbs.dto.response.OrderSummaryResponse;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Repository for the admin order search.
+ * Filters are combined into one statement and paged by seeking on (created_at, id).
+ */
+public interface OrderSearchRepository {
+
+    /**
+     * Fetch orders matching the request, newest first, strictly after the given keyset position.
+     *
+     * @param request search filters
+     * @param afterCreatedAt created_at of the last row of the previous page, or null for the first page
+     * @param afterId id of the last row of the previous page, or null for the first page
+     * @param limit maximum number of rows
+     * @return matching orders ordered by created_at DESC, id DESC
+     */
+    List<OrderSummaryResponse> search(OrderSearchRequest request, Instant afterCreatedAt, Long afterId, int limit);
+
+    /**
+     * Exact number of orders matching the filters of the request.
+     *
+     * @param request search filters
+     * @return matching row count
+     */
+    long count(OrderSearchRequest request);
+
+    /**
+     * Planner estimate of the total number of orders (no scan).
+     *
+     * @return approximate row count of the orders table
+     */
+    long estimateTotal();
+}
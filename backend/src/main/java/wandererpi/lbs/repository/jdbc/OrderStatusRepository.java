@@ -0,0 +1,47 @@
+package wandererpi.lbs.repository.jdbc;
+
+import wandererpi.lbs.enums.OrderStatus;
+import wandererpi.lbs.enums.PaymentMethod;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Repository for set-based order status changes.
+ * Used by bulk admin operations that must not load every order as an entity.
+ */
+public interface OrderStatusRepository {
+
+    /**
+     * Load the current status of many orders in one query.
+     *
+     * @param orderIds order identifiers
+     * @return status by order id; missing ids are absent from the map
+     */
+    Map<Long, OrderStatus> findStatuses(Collection<Long> orderIds);
+
+    /**
+     * Move orders from one status to another in a single UPDATE.
+     * Orders no longer in {@code fromStatus} (changed concurrently) are left untouched.
+     *
+     * @param orderIds candidate order identifiers
+     * @param fromStatus status the orders must currently have
+     * @param toStatus target status
+     * @return ids of the orders actually updated
+     */
+    List<Long> transitionStatus(Collection<Long> orderIds, OrderStatus fromStatus, OrderStatus toStatus);
+
+    /**
+     * Cancel a chunk of orders still awaiting payment that were placed before the cutoff.
+     * Candidate rows are locked with SKIP LOCKED, so concurrent runs (or instances) take disjoint chunks
+     * and rows being confirmed by a payment at the same moment are left alone.
+     *
+     * @param paymentMethod payment method the timeout applies to
+     * @param createdBefore orders placed before this instant are expired
+     * @param limit maximum number of orders cancelled
+     * @return creation time by id of the orders cancelled, oldest first
+     */
+    Map<Long, Instant> cancelExpiredPendingOrders(PaymentMethod paymentMethod, Instant createdBefore, int limit);
+}
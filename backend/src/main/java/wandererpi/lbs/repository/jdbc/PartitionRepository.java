@@ -0,0 +1,46 @@
+package wandererpi.lbs.repository.jdbc;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Repository for monthly partition maintenance on the range-partitioned order tables.
+ */
+public interface PartitionRepository {
+
+    /**
+     * Create the monthly partition of a parent table if it does not exist yet.
+     *
+     * @param parentTable partitioned table, e.g. {@code orders}
+     * @param monthStart any day of the month to cover
+     * @return partition name ({@code <parent>_yYYYYmMM})
+     */
+    String createMonthlyPartition(String parentTable, LocalDate monthStart);
+
+    /**
+     * List the partitions currently attached to a parent table.
+     *
+     * @param parentTable partitioned table
+     * @return partition table names, including the default partition
+     */
+    List<String> findPartitions(String parentTable);
+
+    /**
+     * Detach a partition and move it into the archive schema, where it stays queryable as a plain table.
+     *
+     * @param parentTable partitioned table
+     * @param partitionName attached partition
+     * @param archiveSchema target schema, created if missing
+     */
+    void archivePartition(String parentTable, String partitionName, String archiveSchema);
+
+    /**
+     * Move the rows derived from one month of orders into the archive schema: the order read models created in
+     * that month and the sales rollups of its days. Rebuild snapshots of those days are dropped.
+     *
+     * @param monthStart first day of the archived month
+     * @param archiveSchema target schema, created if missing
+     * @return number of read models moved
+     */
+    int archiveOrderDerivedRows(LocalDate monthStart, String archiveSchema);
+}
@@ -0,0 +1,41 @@
+package wandererpi.lbs.repository.jdbc;
+
+import wandererpi.lbs.dto.payment.PaymentQrPayload;
+import wandererpi.lbs.dto.reconciliation.PendingPayment;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository for the precomputed VietQR payloads of pending bank transfer orders.
+ * Every row carries the fingerprint of the bank account config it was encoded with.
+ */
+public interface PaymentQrRepository {
+
+    /**
+     * @return the stored payload, if one exists and was encoded with {@code fingerprint}
+     */
+    Optional<String> findPayload(Long orderId, String fingerprint);
+
+    /**
+     * Insert or replace payloads in one batch. Orders no longer pending payment are skipped.
+     */
+    void upsertAll(List<PaymentQrPayload> payloads, String fingerprint);
+
+    /**
+     * Pending bank transfer orders whose payload is missing or was encoded with another fingerprint.
+     *
+     * @param afterOrderId keyset cursor, exclusive; 0 for the first page
+     * @return up to {@code limit} orders in ascending id order
+     */
+    List<PendingPayment> findStale(String fingerprint, long afterOrderId, int limit);
+
+    void deleteByOrderId(Long orderId);
+
+    /**
+     * Delete payloads of orders that are no longer pending payment
+     *
+     * @return number of rows deleted
+     */
+    int deleteSettled();
+}
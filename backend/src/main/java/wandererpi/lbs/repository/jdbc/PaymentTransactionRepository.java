@@ -0,0 +1,40 @@
+package wandererpi.lbs.repository.jdbc;
+
+import wandererpi.lbs.dto.reconciliation.BankStatementLine;
+import wandererpi.lbs.dto.request.SepayWebhookRequest;
+
+import java.util.Collection;
+import java.util.Set;
+
+/**
+ * Repository for the ledger of bank transactions reported by SePay or applied by statement reconciliation.
+ * The unique transaction id doubles as the webhook deduplication key; the bank reference code, unique too,
+ * is shared by both sources, so a transfer is recorded once whichever source reports it first.
+ */
+public interface PaymentTransactionRepository {
+
+    /**
+     * Record a transaction unless it was recorded before.
+     *
+     * @param request webhook payload; {@code id} is the SePay transaction id
+     * @param orderId order referenced by the transfer content, or null
+     * @return true if the row was inserted, false if the transaction id or the reference code already exists
+     */
+    boolean recordIfAbsent(SepayWebhookRequest request, Long orderId);
+
+    /**
+     * Record a reconciled bank statement line unless a transaction with its reference was recorded before.
+     *
+     * @param line statement line; {@code transactionRef} is the bank reference code
+     * @param source statement source, stored as the gateway
+     * @param orderId order the line confirmed
+     * @return true if the row was inserted
+     */
+    boolean recordIfAbsent(BankStatementLine line, String source, Long orderId);
+
+    /**
+     * @param referenceCodes bank reference codes of statement lines
+     * @return the subset already recorded, by a webhook or an earlier reconciliation
+     */
+    Set<String> findRecordedReferences(Collection<String> referenceCodes);
+}
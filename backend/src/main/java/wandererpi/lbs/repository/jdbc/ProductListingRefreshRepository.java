@@ -0,0 +1,17 @@
+package wandererpi.lbs.repository.jdbc;
+
+import java.util.Collection;
+
+/**
+ * Out-of-transaction refreshes of {@code product_listing} rows, for changes its triggers skip (SKU stock).
+ */
+public interface ProductListingRefreshRepository {
+
+    /**
+     * Recompute the listing rows of the products owning the given SKUs, in one statement.
+     * Rows are locked in product id order, so concurrent refreshes cannot deadlock each other.
+     *
+     * @param skuIds SKUs whose stock changed
+     */
+    void refreshForSkus(Collection<Long> skuIds);
+}
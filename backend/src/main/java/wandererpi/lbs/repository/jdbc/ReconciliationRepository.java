@@ -0,0 +1,22 @@
+package wandererpi.lbs.repository.jdbc;
+
+import wandererpi.lbs.dto.reconciliation.PendingPayment;
+import wandererpi.lbs.enums.PaymentMethod;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Read side of bank statement reconciliation.
+ */
+public interface ReconciliationRepository {
+
+    /**
+     * Load every order still waiting for payment in one query.
+     *
+     * @param paymentMethod payment method of the orders
+     * @param createdFrom inclusive lower bound on order creation (limits the partitions scanned)
+     * @return pending orders with their amount due
+     */
+    List<PendingPayment> findPendingPayments(PaymentMethod paymentMethod, Instant createdFrom);
+}
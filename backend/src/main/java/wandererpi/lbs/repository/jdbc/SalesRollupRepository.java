@@ -0,0 +1,69 @@
+package wandererpi.lbs.repository.jdbc;
+
+import wandererpi.lbs.dto.report.OrderSalesLine;
+import wandererpi.lbs.dto.report.SalesRollupDelta;
+import wandererpi.lbs.dto.report.SalesRollupKey;
+import wandererpi.lbs.dto.response.SalesRollupResponse;
+import wandererpi.lbs.enums.RollupDimension;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Repository for the daily sales rollups ({@code sales_daily_rollups}).
+ * Rollup rows are only ever changed by additive upserts or by a full per-day rebuild.
+ */
+public interface SalesRollupRepository {
+
+    /**
+     * Load the lines of several orders together with the attributes rollups are keyed by, in one query
+     * bounded by the orders' created_at so only their partitions are scanned.
+     *
+     * @param orderIds order identifiers
+     * @return order lines; orders that do not exist have none
+     */
+    List<OrderSalesLine> findOrderLines(Collection<Long> orderIds);
+
+    /**
+     * Take shared locks on the given days for the current transaction, waiting for a rebuild of any of
+     * them to commit, and return the snapshot instant of each day's last rebuild.
+     *
+     * @param bucketDates business days about to receive deltas
+     * @return last rebuild snapshot per day; days never rebuilt are absent
+     */
+    Map<LocalDate, Instant> lockDaysForDeltas(Collection<LocalDate> bucketDates);
+
+    /**
+     * Try to take the cluster-wide rebuild lock for the current transaction, without waiting.
+     *
+     * @return false if another rebuild holds it
+     */
+    boolean tryLockRebuild();
+
+    /**
+     * Add deltas to the rollup rows in one batch, creating rows that do not exist yet.
+     *
+     * @param deltas pending changes keyed by rollup row
+     */
+    void applyDeltas(Map<SalesRollupKey, SalesRollupDelta> deltas);
+
+    /**
+     * Read rollup rows of one dimension for an inclusive date range.
+     */
+    List<SalesRollupResponse> findRollups(RollupDimension dimension, LocalDate startDate, LocalDate endDate);
+
+    /**
+     * Recompute every rollup row of one day from orders and order_items, replacing existing rows.
+     * Holds the day's lock exclusively and records the snapshot instant, so deltas of changes the
+     * snapshot already contains are discarded by later flushes.
+     *
+     * @param bucketDate business day being rebuilt
+     * @param dayStart inclusive start of the day as an instant
+     * @param dayEnd exclusive end of the day as an instant
+     * @return number of rollup rows written
+     */
+    int rebuildDay(LocalDate bucketDate, Instant dayStart, Instant dayEnd);
+}
@@ -1,8 +1,12 @@
 package wandererpi.lbs.repository.jdbc;
 
+import java.time.Instant;
+import java.util.Collection;
+
 /**
  * Repository for atomic stock operations.
  * This abstraction decouples services from JDBC implementation details.
+ * Every successful change publishes a {@link wandererpi.lbs.event.CatalogChangedEvent} for the SKUs it touched.
  */
 public interface StockRepository {
 
@@ -25,6 +29,16 @@ public interface StockRepository {
      */
     void restoreStock(Long skuId, Integer quantity);
 
+    /**
+     * Restore the stock held by many orders with one aggregated UPDATE (quantities summed per SKU).
+     *
+     * @param orderIds orders whose items are returned to stock
+     * @param itemsCreatedFrom lower bound on the items' creation time (oldest order's creation time),
+     *                         so only the relevant order_items partitions are scanned
+     * @return number of SKU rows updated
+     */
+    int restoreStockForOrders(Collection<Long> orderIds, Instant itemsCreatedFrom);
+
     /**
      * Get current available stock for a SKU.
      *
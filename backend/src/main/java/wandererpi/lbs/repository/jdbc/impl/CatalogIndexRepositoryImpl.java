@@ -0,0 +1,69 @@
+package wandererpi.lbs.repository.jdbc.impl;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+import wandererpi.lbs.dto.catalog.CatalogIndexRow;
+import wandererpi.lbs.repository.jdbc.CatalogIndexRepository;
+
+import java.sql.PreparedStatement;
+import java.util.Collection;
+import java.util.List;
+
+@Slf4j
+@Repository
+@RequiredArgsConstructor
+public class CatalogIndexRepositoryImpl implements CatalogIndexRepository {
+
+    private static final String FIND_ALL_SQL = """
+            SELECT p.id AS product_id, p.name, p.slug, s.id AS sku_id, s.size, s.color, s.price, s.stock_qty, sc.code
+            FROM products p
+                     LEFT JOIN skus s ON s.product_id = p.id
+                     LEFT JOIN sku_codes sc ON sc.sku_id = s.id
+            ORDER BY p.id, s.id, sc.is_primary DESC, sc.id
+            """;
+
+    private static final String FIND_CHANGED_SQL = """
+            SELECT p.id AS product_id, p.name, p.slug, s.id AS sku_id, s.size, s.color, s.price, s.stock_qty, sc.code
+            FROM products p
+                     LEFT JOIN skus s ON s.product_id = p.id
+                     LEFT JOIN sku_codes sc ON sc.sku_id = s.id
+            WHERE p.id = ANY(?)
+               OR p.id IN (SELECT product_id FROM skus WHERE id = ANY(?))
+            ORDER BY p.id, s.id, sc.is_primary DESC, sc.id
+            """;
+
+    private static final RowMapper<CatalogIndexRow> ROW_MAPPER = (rs, rowNum) -> new CatalogIndexRow(
+            rs.getLong("product_id"),
+            rs.getString("name"),
+            rs.getString("slug"),
+            rs.getObject("sku_id", Long.class),
+            rs.getString("size"),
+            rs.getString("color"),
+            rs.getBigDecimal("price"),
+            rs.getObject("stock_qty", Integer.class),
+            rs.getString("code"));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public List<CatalogIndexRow> findAll() {
+        return jdbcTemplate.query(FIND_ALL_SQL, ROW_MAPPER);
+    }
+
+    @Override
+    public List<CatalogIndexRow> findByProductIdsOrSkuIds(Collection<Long> productIds, Collection<Long> skuIds) {
+        List<CatalogIndexRow> rows = jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(FIND_CHANGED_SQL);
+            ps.setArray(1, con.createArrayOf("bigint", productIds.toArray()));
+            ps.setArray(2, con.createArrayOf("bigint", skuIds.toArray()));
+            return ps;
+        }, ROW_MAPPER);
+
+        log.debug("Loaded {} catalog index row(s) for {} product(s) and {} SKU(s)",
+                rows.size(), productIds.size(), skuIds.size());
+        return rows;
+    }
+}
@@ -0,0 +1,66 @@
+package wandererpi.lbs.repository.jdbc.impl;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+import wandererpi.lbs.repository.jdbc.OrderExportRepository;
+import wandererpi.lbs.repository.jpa.OrderItemRepository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+@Repository
+@RequiredArgsConstructor
+public class OrderExportRepositoryImpl implements OrderExportRepository {
+
+    // Rows fetched per round trip; bounds memory held by the driver
+    private static final int FETCH_SIZE = 1000;
+
+    private static final String ORDER_LINES_SQL = """
+            SELECT o.id             AS order_id,
+                   o.created_at     AS created_at,
+                   o.status         AS status,
+                   o.payment_method AS payment_method,
+                   o.customer_name  AS customer_name,
+                   o.customer_phone AS customer_phone,
+                   o.customer_email AS customer_email,
+                   o.shipping_addr  AS shipping_addr,
+                   o.total_amount   AS total_amount,
+                   oi.id            AS order_item_id,
+                   s.id             AS sku_id,
+                   (SELECT sc.code FROM sku_codes sc WHERE sc.sku_id = s.id AND sc.is_primary LIMIT 1) AS sku_code,
+                   p.name           AS product_name,
+                   s.size           AS size,
+                   s.color          AS color,
+                   oi.quantity      AS quantity,
+                   oi.unit_price    AS unit_price
+            FROM orders o
+                     JOIN order_items oi ON oi.order_id = o.id
+                     JOIN skus s ON s.id = oi.sku_id
+                     JOIN products p ON p.id = s.product_id
+            WHERE o.created_at >= ? AND o.created_at < ?
+              -- Items are written with their order; the bounds let order_items partitions be pruned too
+              AND oi.created_at >= ? AND oi.created_at < ?
+            ORDER BY o.created_at, o.id, oi.id
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void streamOrderLines(Instant startDate, Instant endDate, RowCallbackHandler handler) {
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(
+                    ORDER_LINES_SQL, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(FETCH_SIZE);
+            ps.setTimestamp(1, Timestamp.from(startDate));
+            ps.setTimestamp(2, Timestamp.from(endDate));
+            ps.setTimestamp(3, Timestamp.from(startDate.truncatedTo(ChronoUnit.SECONDS)));
+            ps.setTimestamp(4, Timestamp.from(endDate.plus(OrderItemRepository.ITEM_CREATION_WINDOW)));
+            return ps;
+        }, handler);
+    }
+}
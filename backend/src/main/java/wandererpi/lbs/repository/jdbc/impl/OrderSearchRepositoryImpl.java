@@ -0,0 +1,99 @@
+package wandererpi.lbs.repository.jdbc.impl;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+import wandererpi.lbs.dto.request.OrderSearchRequest;
+import wandererpi.lbs.dto.response.OrderSummaryResponse;
+import wandererpi.lbs.enums.OrderStatus;
+import wandererpi.lbs.repository.jdbc.OrderSearchRepository;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+import java.util.Locale;
+
+@Repository
+@RequiredArgsConstructor
+public class OrderSearchRepositoryImpl implements OrderSearchRepository {
+
+    private static final RowMapper<OrderSummaryResponse> SUMMARY_ROW_MAPPER = (rs, rowNum) ->
+            OrderSummaryResponse.builder()
+                    .orderId(rs.getLong("id"))
+                    .trackingToken(rs.getString("tracking_token"))
+                    .status(OrderStatus.valueOf(rs.getString("status")))
+                    .totalAmount(rs.getBigDecimal("total_amount"))
+                    .customerName(rs.getString("customer_name"))
+                    .createdAt(rs.getTimestamp("created_at").toInstant())
+                    .build();
+
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    @Override
+    public List<OrderSummaryResponse> search(OrderSearchRequest request, Instant afterCreatedAt,
+                                             Long afterId, int limit) {
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        StringBuilder sql = new StringBuilder(
+                "SELECT id, tracking_token, status, total_amount, customer_name, created_at FROM orders WHERE 1 = 1");
+        appendFilters(request, sql, params);
+
+        if (afterCreatedAt != null && afterId != null) {
+            // Row-value comparison lets PostgreSQL seek straight into the (created_at, id) index
+            sql.append(" AND (created_at, id) < (:afterCreatedAt, :afterId)");
+            params.addValue("afterCreatedAt", Timestamp.from(afterCreatedAt));
+            params.addValue("afterId", afterId);
+        }
+
+        sql.append(" ORDER BY created_at DESC, id DESC LIMIT :limit");
+        params.addValue("limit", limit);
+
+        return namedParameterJdbcTemplate.query(sql.toString(), params, SUMMARY_ROW_MAPPER);
+    }
+
+    @Override
+    public long count(OrderSearchRequest request) {
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        StringBuilder sql = new StringBuilder("SELECT count(*) FROM orders WHERE 1 = 1");
+        appendFilters(request, sql, params);
+
+        Long count = namedParameterJdbcTemplate.queryForObject(sql.toString(), params, Long.class);
+        return count != null ? count : 0L;
+    }
+
+    @Override
+    public long estimateTotal() {
+        Long estimate = namedParameterJdbcTemplate.getJdbcTemplate().queryForObject(
+                "SELECT GREATEST(reltuples, 0)::BIGINT FROM pg_class WHERE oid = 'orders'::regclass",
+                Long.class
+        );
+        return estimate != null ? estimate : 0L;
+    }
+
+    private void appendFilters(OrderSearchRequest request, StringBuilder sql, MapSqlParameterSource params) {
+        if (request.getStatus() != null) {
+            sql.append(" AND status = :status");
+            params.addValue("status", request.getStatus().name());
+        }
+        if (request.getPaymentMethod() != null) {
+            sql.append(" AND payment_method = :paymentMethod");
+            params.addValue("paymentMethod", request.getPaymentMethod().name());
+        }
+        if (request.getStartDate() != null) {
+            sql.append(" AND created_at >= :startDate");
+            params.addValue("startDate", Timestamp.from(request.getStartDate()));
+        }
+        if (request.getEndDate() != null) {
+            sql.append(" AND created_at <= :endDate");
+            params.addValue("endDate", Timestamp.from(request.getEndDate()));
+        }
+        if (request.getCustomer() != null && !request.getCustomer().isBlank()) {
+            // Served by idx_orders_customer_email (expression index) and idx_orders_customer_phone
+            String customer = request.getCustomer().trim();
+            sql.append(" AND (lower(customer_email) = :customerEmail OR customer_phone = :customerPhone)");
+            params.addValue("customerEmail", customer.toLowerCase(Locale.ROOT));
+            params.addValue("customerPhone", customer);
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package wandererpi.lbs.repository.jdbc.impl;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import wandererpi.lbs.enums.OrderStatus;
+import wandererpi.lbs.enums.PaymentMethod;
+import wandererpi.lbs.repository.jdbc.OrderStatusRepository;
+
+import java.sql.Array;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Slf4j
+@Repository
+@RequiredArgsConstructor
+public class OrderStatusRepositoryImpl implements OrderStatusRepository {
+
+    // The outer created_at bound repeats the inner one so partitions of later months are pruned
+    private static final String CANCEL_EXPIRED_SQL = """
+            UPDATE orders o
+            SET status = 'CANCELLED', updated_at = ?
+            WHERE o.created_at < ?
+              AND o.status = 'PENDING_PAYMENT'
+              AND o.id IN (SELECT id
+                           FROM orders
+                           WHERE status = 'PENDING_PAYMENT'
+                             AND payment_method = ?
+                             AND created_at < ?
+                           ORDER BY created_at
+                           LIMIT ? FOR UPDATE SKIP LOCKED)
+            RETURNING o.id, o.created_at
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public Map<Long, OrderStatus> findStatuses(Collection<Long> orderIds) {
+        Map<Long, OrderStatus> statuses = new HashMap<>();
+
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement("SELECT id, status FROM orders WHERE id = ANY(?)");
+            ps.setArray(1, con.createArrayOf("bigint", orderIds.toArray()));
+            return ps;
+        }, rs -> {
+            statuses.put(rs.getLong("id"), OrderStatus.valueOf(rs.getString("status")));
+        });
+
+        return statuses;
+    }
+
+    @Override
+    public List<Long> transitionStatus(Collection<Long> orderIds, OrderStatus fromStatus, OrderStatus toStatus) {
+        // ATOMIC OPERATION: the status predicate makes this a compare-and-set per row
+        List<Long> updated = jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(
+                    "UPDATE orders SET status = ?, updated_at = ? WHERE id = ANY(?) AND status = ? RETURNING id");
+            Array ids = con.createArrayOf("bigint", orderIds.toArray());
+            ps.setString(1, toStatus.name());
+            ps.setTimestamp(2, Timestamp.from(Instant.now()));
+            ps.setArray(3, ids);
+            ps.setString(4, fromStatus.name());
+            return ps;
+        }, (rs, rowNum) -> rs.getLong(1));
+
+        log.debug("Transitioned {}/{} orders from {} to {}", updated.size(), orderIds.size(), fromStatus, toStatus);
+
+        return updated;
+    }
+
+    @Override
+    public Map<Long, Instant> cancelExpiredPendingOrders(PaymentMethod paymentMethod, Instant createdBefore, int limit) {
+        Map<Long, Instant> cancelled = new LinkedHashMap<>();
+        Timestamp cutoff = Timestamp.from(createdBefore);
+
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(CANCEL_EXPIRED_SQL);
+            ps.setTimestamp(1, Timestamp.from(Instant.now()));
+            ps.setTimestamp(2, cutoff);
+            ps.setString(3, paymentMethod.name());
+            ps.setTimestamp(4, cutoff);
+            ps.setInt(5, limit);
+            return ps;
+        }, rs -> {
+            cancelled.put(rs.getLong("id"), rs.getTimestamp("created_at").toInstant());
+        });
+
+        log.debug("Cancelled {} expired {} order(s) placed before {}", cancelled.size(), paymentMethod, createdBefore);
+
+        return cancelled;
+    }
+}
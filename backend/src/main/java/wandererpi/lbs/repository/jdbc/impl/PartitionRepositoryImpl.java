@@ -0,0 +1,104 @@
+package wandererpi.lbs.repository.jdbc.impl;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import wandererpi.lbs.enums.ErrorCode;
+import wandererpi.lbs.exception.ApplicationException;
+import wandererpi.lbs.repository.jdbc.PartitionRepository;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.regex.Pattern;
+
+@Slf4j
+@Repository
+@RequiredArgsConstructor
+public class PartitionRepositoryImpl implements PartitionRepository {
+
+    // DDL cannot bind identifiers, so every name is checked before it is quoted into a statement
+    private static final Pattern IDENTIFIER_PATTERN = Pattern.compile("[a-z_][a-z0-9_]{0,62}");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public String createMonthlyPartition(String parentTable, LocalDate monthStart) {
+        // create_monthly_partition() is defined by migration V13
+        return jdbcTemplate.queryForObject(
+                "SELECT create_monthly_partition(?, ?)",
+                String.class,
+                identifier(parentTable), Date.valueOf(monthStart.withDayOfMonth(1)));
+    }
+
+    @Override
+    public List<String> findPartitions(String parentTable) {
+        return jdbcTemplate.queryForList(
+                """
+                SELECT c.relname
+                FROM pg_inherits i
+                         JOIN pg_class c ON c.oid = i.inhrelid
+                WHERE i.inhparent = to_regclass(?)
+                ORDER BY c.relname
+                """,
+                String.class,
+                identifier(parentTable));
+    }
+
+    @Override
+    public void archivePartition(String parentTable, String partitionName, String archiveSchema) {
+        String parent = quote(parentTable);
+        String partition = quote(partitionName);
+        String schema = quote(archiveSchema);
+
+        // Plain DETACH briefly locks the parent; callers run this off-peak from the partition job
+        jdbcTemplate.execute("CREATE SCHEMA IF NOT EXISTS " + schema);
+        jdbcTemplate.execute("ALTER TABLE " + parent + " DETACH PARTITION " + partition);
+        jdbcTemplate.execute("ALTER TABLE " + partition + " SET SCHEMA " + schema);
+
+        log.info("Archived partition {} of {} into schema {}", partitionName, parentTable, archiveSchema);
+    }
+
+    @Override
+    public int archiveOrderDerivedRows(LocalDate monthStart, String archiveSchema) {
+        String schema = quote(archiveSchema);
+        Date from = Date.valueOf(monthStart.withDayOfMonth(1));
+        Date to = Date.valueOf(monthStart.withDayOfMonth(1).plusMonths(1));
+
+        jdbcTemplate.execute("CREATE SCHEMA IF NOT EXISTS " + schema);
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + schema + ".order_read_models"
+                + " (LIKE public.order_read_models INCLUDING ALL)");
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + schema + ".sales_daily_rollups"
+                + " (LIKE public.sales_daily_rollups INCLUDING ALL)");
+
+        // Read models follow the partition bounds; rollup days are business days (report.zone),
+        // which may be a few hours off the month's bounds
+        int readModels = jdbcTemplate.update(
+                "WITH moved AS (DELETE FROM order_read_models WHERE created_at >= ? AND created_at < ? RETURNING *) "
+                        + "INSERT INTO " + schema + ".order_read_models SELECT * FROM moved",
+                from, to);
+        int rollups = jdbcTemplate.update(
+                "WITH moved AS (DELETE FROM sales_daily_rollups WHERE bucket_date >= ? AND bucket_date < ? RETURNING *) "
+                        + "INSERT INTO " + schema + ".sales_daily_rollups SELECT * FROM moved",
+                from, to);
+        jdbcTemplate.update("DELETE FROM sales_rollup_rebuilds WHERE bucket_date >= ? AND bucket_date < ?", from, to);
+
+        log.info("Archived {} order read model(s) and {} sales rollup row(s) of {} into schema {}",
+                readModels, rollups, monthStart, archiveSchema);
+        return readModels;
+    }
+
+    // ========== Private Helper Methods ==========
+
+    private String identifier(String name) {
+        if (name == null || !IDENTIFIER_PATTERN.matcher(name).matches()) {
+            throw new ApplicationException(ErrorCode.INVALID_REQUEST);
+        }
+        return name;
+    }
+
+    private String quote(String name) {
+        return "\"" + identifier(name) + "\"";
+    }
+}
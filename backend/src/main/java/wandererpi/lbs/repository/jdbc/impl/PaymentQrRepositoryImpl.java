@@ -0,0 +1,105 @@
+package wandererpi.lbs.repository.jdbc.impl;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import wandererpi.lbs.dto.payment.PaymentQrPayload;
+import wandererpi.lbs.dto.reconciliation.PendingPayment;
+import wandererpi.lbs.repository.jdbc.PaymentQrRepository;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+@Slf4j
+@Repository
+@RequiredArgsConstructor
+public class PaymentQrRepositoryImpl implements PaymentQrRepository {
+
+    private static final String FIND_PAYLOAD_SQL = """
+            SELECT payload
+            FROM order_payment_qr
+            WHERE order_id = ?
+              AND config_fingerprint = ?
+            """;
+
+    // The status guard keeps a late write from resurrecting the row of an order paid in the meantime
+    private static final String UPSERT_SQL = """
+            INSERT INTO order_payment_qr (order_id, payload, config_fingerprint, created_at)
+            SELECT ?, ?, ?, ?
+            WHERE EXISTS (SELECT 1 FROM orders WHERE id = ? AND status = 'PENDING_PAYMENT')
+            ON CONFLICT (order_id) DO UPDATE
+                SET payload            = EXCLUDED.payload,
+                    config_fingerprint = EXCLUDED.config_fingerprint,
+                    updated_at         = EXCLUDED.created_at
+            """;
+
+    private static final String FIND_STALE_SQL = """
+            SELECT o.id, o.total_amount, o.created_at
+            FROM orders o
+                     LEFT JOIN order_payment_qr q ON q.order_id = o.id
+            WHERE o.status = 'PENDING_PAYMENT'
+              AND o.payment_method = 'BANK_TRANSFER'
+              AND o.id > ?
+              AND (q.order_id IS NULL OR q.config_fingerprint <> ?)
+            ORDER BY o.id
+            LIMIT ?
+            """;
+
+    private static final String DELETE_SQL = "DELETE FROM order_payment_qr WHERE order_id = ?";
+
+    private static final String DELETE_SETTLED_SQL = """
+            DELETE FROM order_payment_qr q
+            WHERE NOT EXISTS (SELECT 1 FROM orders o WHERE o.id = q.order_id AND o.status = 'PENDING_PAYMENT')
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public Optional<String> findPayload(Long orderId, String fingerprint) {
+        return jdbcTemplate.query(FIND_PAYLOAD_SQL, (rs, rowNum) -> rs.getString("payload"), orderId, fingerprint)
+                .stream()
+                .findFirst();
+    }
+
+    @Override
+    public void upsertAll(List<PaymentQrPayload> payloads, String fingerprint) {
+        if (payloads.isEmpty()) {
+            return;
+        }
+
+        Timestamp now = Timestamp.from(Instant.now());
+        List<Object[]> batchArgs = new ArrayList<>(payloads.size());
+        for (PaymentQrPayload payload : payloads) {
+            batchArgs.add(new Object[]{
+                    payload.getOrderId(), payload.getPayload(), fingerprint, now, payload.getOrderId()
+            });
+        }
+
+        jdbcTemplate.batchUpdate(UPSERT_SQL, batchArgs);
+        log.debug("Upserted {} payment QR payload(s)", batchArgs.size());
+    }
+
+    @Override
+    public List<PendingPayment> findStale(String fingerprint, long afterOrderId, int limit) {
+        return jdbcTemplate.query(FIND_STALE_SQL,
+                (rs, rowNum) -> new PendingPayment(
+                        rs.getLong("id"),
+                        rs.getBigDecimal("total_amount").longValue(),
+                        rs.getTimestamp("created_at").toInstant()),
+                afterOrderId, fingerprint, limit);
+    }
+
+    @Override
+    public void deleteByOrderId(Long orderId) {
+        jdbcTemplate.update(DELETE_SQL, orderId);
+    }
+
+    @Override
+    public int deleteSettled() {
+        return jdbcTemplate.update(DELETE_SETTLED_SQL);
+    }
+}
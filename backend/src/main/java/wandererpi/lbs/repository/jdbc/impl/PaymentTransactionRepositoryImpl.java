@@ -0,0 +1,89 @@
+package wandererpi.lbs.repository.jdbc.impl;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import wandererpi.lbs.dto.reconciliation.BankStatementLine;
+import wandererpi.lbs.dto.request.SepayWebhookRequest;
+import wandererpi.lbs.repository.jdbc.PaymentTransactionRepository;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+
+@Slf4j
+@Repository
+@RequiredArgsConstructor
+public class PaymentTransactionRepositoryImpl implements PaymentTransactionRepository {
+
+    // A concurrent duplicate waits on the unique indexes and then inserts nothing. No conflict target:
+    // a transfer already recorded by reconciliation conflicts on reference_code instead of transaction_id
+    private static final String INSERT_SQL = """
+            INSERT INTO payment_transactions (transaction_id, gateway, account_number, transaction_date,
+                                              transfer_type, transfer_amount, content, reference_code,
+                                              order_id, created_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            ON CONFLICT DO NOTHING
+            """;
+
+    private static final String INSERT_STATEMENT_LINE_SQL = """
+            INSERT INTO payment_transactions (gateway, transaction_date, transfer_type, transfer_amount,
+                                              content, reference_code, order_id, created_at)
+            VALUES (?, ?, 'in', ?, ?, ?, ?, ?)
+            ON CONFLICT (reference_code) WHERE reference_code IS NOT NULL DO NOTHING
+            """;
+
+    private static final String FIND_RECORDED_REFERENCES_SQL = """
+            SELECT DISTINCT reference_code
+            FROM payment_transactions
+            WHERE reference_code = ANY(?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public boolean recordIfAbsent(SepayWebhookRequest request, Long orderId) {
+        int inserted = jdbcTemplate.update(INSERT_SQL,
+                request.getId(),
+                request.getGateway(),
+                request.getAccountNumber(),
+                request.getTransactionDate(),
+                request.getTransferType(),
+                request.getTransferAmount(),
+                request.getContent(),
+                request.getReferenceCode(),
+                orderId,
+                Timestamp.from(Instant.now()));
+        return inserted > 0;
+    }
+
+    @Override
+    public boolean recordIfAbsent(BankStatementLine line, String source, Long orderId) {
+        int inserted = jdbcTemplate.update(INSERT_STATEMENT_LINE_SQL,
+                source,
+                line.getTransactionDate(),
+                line.getAmount(),
+                line.getContent(),
+                line.getTransactionRef(),
+                orderId,
+                Timestamp.from(Instant.now()));
+        return inserted > 0;
+    }
+
+    @Override
+    public Set<String> findRecordedReferences(Collection<String> referenceCodes) {
+        if (referenceCodes.isEmpty()) {
+            return Set.of();
+        }
+
+        return new HashSet<>(jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(FIND_RECORDED_REFERENCES_SQL);
+            ps.setArray(1, con.createArrayOf("varchar", referenceCodes.toArray()));
+            return ps;
+        }, (rs, rowNum) -> rs.getString(1)));
+    }
+}
@@ -0,0 +1,37 @@
+package wandererpi.lbs.repository.jdbc.impl;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import wandererpi.lbs.repository.jdbc.ProductListingRefreshRepository;
+
+import java.sql.PreparedStatement;
+import java.util.Collection;
+
+@Slf4j
+@Repository
+@RequiredArgsConstructor
+public class ProductListingRefreshRepositoryImpl implements ProductListingRefreshRepository {
+
+    private static final String REFRESH_FOR_SKUS_SQL = """
+            SELECT refresh_product_listing(ARRAY(SELECT DISTINCT product_id FROM skus WHERE id = ANY(?)))
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void refreshForSkus(Collection<Long> skuIds) {
+        if (skuIds.isEmpty()) {
+            return;
+        }
+
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(REFRESH_FOR_SKUS_SQL);
+            ps.setArray(1, con.createArrayOf("bigint", skuIds.toArray()));
+            return ps;
+        }, rs -> null);
+
+        log.debug("Refreshed product listings for {} SKU(s)", skuIds.size());
+    }
+}
@@ -0,0 +1,40 @@
+package wandererpi.lbs.repository.jdbc.impl;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import wandererpi.lbs.dto.reconciliation.PendingPayment;
+import wandererpi.lbs.enums.PaymentMethod;
+import wandererpi.lbs.repository.jdbc.ReconciliationRepository;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+
+@Slf4j
+@Repository
+@RequiredArgsConstructor
+public class ReconciliationRepositoryImpl implements ReconciliationRepository {
+
+    private static final String PENDING_PAYMENTS_SQL = """
+            SELECT id, total_amount, created_at
+            FROM orders
+            WHERE status = 'PENDING_PAYMENT'
+              AND payment_method = ?
+              AND created_at >= ?
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public List<PendingPayment> findPendingPayments(PaymentMethod paymentMethod, Instant createdFrom) {
+        return jdbcTemplate.query(PENDING_PAYMENTS_SQL,
+                (rs, rowNum) -> new PendingPayment(
+                        rs.getLong("id"),
+                        rs.getBigDecimal("total_amount").longValue(),
+                        rs.getTimestamp("created_at").toInstant()),
+                paymentMethod.name(),
+                Timestamp.from(createdFrom));
+    }
+}
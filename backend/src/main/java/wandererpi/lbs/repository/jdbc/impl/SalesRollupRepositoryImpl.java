@@ -0,0 +1,252 @@
+package wandererpi.lbs.repository.jdbc.impl;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import wandererpi.lbs.dto.report.OrderSalesLine;
+import wandererpi.lbs.dto.report.SalesRollupDelta;
+import wandererpi.lbs.dto.report.SalesRollupKey;
+import wandererpi.lbs.dto.response.SalesRollupResponse;
+import wandererpi.lbs.enums.PaymentMethod;
+import wandererpi.lbs.enums.RollupDimension;
+import wandererpi.lbs.repository.jdbc.SalesRollupRepository;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Slf4j
+@Repository
+@RequiredArgsConstructor
+public class SalesRollupRepositoryImpl implements SalesRollupRepository {
+
+    // order_read_models is not partitioned; it gives the created_at range of the orders cheaply
+    private static final String ORDER_CREATED_RANGE_SQL = """
+            SELECT MIN(created_at), MAX(created_at)
+            FROM order_read_models
+            WHERE order_id = ANY(?)
+            """;
+
+    // Both created_at bounds prune orders and order_items to the partitions the orders live in
+    private static final String ORDER_LINES_SQL = """
+            SELECT o.id, o.created_at, o.payment_method, oi.sku_id, p.category_id, oi.quantity,
+                   oi.quantity * oi.unit_price AS amount
+            FROM orders o
+                     JOIN order_items oi ON oi.order_id = o.id AND oi.created_at >= o.created_at
+                     JOIN skus s ON s.id = oi.sku_id
+                     JOIN products p ON p.id = s.product_id
+            WHERE o.id = ANY(?)
+              AND o.created_at BETWEEN ? AND ?
+              AND oi.created_at >= ?
+            """;
+
+    // Two-key advisory locks: the class key is fixed, the object key is the bucket day (epoch day)
+    private static final int DAY_LOCK_CLASS = 3201;
+    private static final long REBUILD_LOCK_KEY = 3_201_000_000L;
+
+    private static final String LOCK_DAY_SHARED_SQL = "SELECT pg_advisory_xact_lock_shared(?, ?)";
+
+    private static final String LOCK_DAY_SQL = "SELECT pg_advisory_xact_lock(?, ?)";
+
+    private static final String TRY_LOCK_REBUILD_SQL = "SELECT pg_try_advisory_xact_lock(?)";
+
+    private static final String FIND_SNAPSHOTS_SQL = """
+            SELECT bucket_date, snapshot_at
+            FROM sales_rollup_rebuilds
+            WHERE bucket_date = ANY(?)
+            """;
+
+    private static final String UPSERT_SNAPSHOT_SQL = """
+            INSERT INTO sales_rollup_rebuilds (bucket_date, snapshot_at)
+            VALUES (?, ?)
+            ON CONFLICT (bucket_date) DO UPDATE SET snapshot_at = EXCLUDED.snapshot_at
+            """;
+
+    // Rows are keyed by the primary key, so concurrent flushes from several instances add up correctly
+    private static final String UPSERT_SQL = """
+            INSERT INTO sales_daily_rollups (bucket_date, dimension, dimension_key, order_count, units,
+                                             revenue, paid_revenue, updated_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?)
+            ON CONFLICT (bucket_date, dimension, dimension_key) DO UPDATE
+                SET order_count  = sales_daily_rollups.order_count + EXCLUDED.order_count,
+                    units        = sales_daily_rollups.units + EXCLUDED.units,
+                    revenue      = sales_daily_rollups.revenue + EXCLUDED.revenue,
+                    paid_revenue = sales_daily_rollups.paid_revenue + EXCLUDED.paid_revenue,
+                    updated_at   = EXCLUDED.updated_at
+            """;
+
+    private static final String FIND_ROLLUPS_SQL = """
+            SELECT bucket_date, dimension, dimension_key, order_count, units, revenue, paid_revenue
+            FROM sales_daily_rollups
+            WHERE dimension = ? AND bucket_date BETWEEN ? AND ?
+            ORDER BY bucket_date, dimension_key
+            """;
+
+    // Same counting rules as SalesRollupAggregator: cancelled orders are excluded; an order is paid
+    // once a bank transfer is confirmed, or once a COD order is delivered
+    private static final String REBUILD_DAY_SQL = """
+            WITH lines AS (
+                SELECT o.id AS order_id, o.payment_method, oi.sku_id, p.category_id, oi.quantity,
+                       oi.quantity * oi.unit_price AS amount,
+                       CASE
+                           WHEN (o.payment_method = 'BANK_TRANSFER' AND o.status IN ('CONFIRMED', 'SHIPPING', 'DELIVERED'))
+                               OR (o.payment_method = 'COD' AND o.status = 'DELIVERED')
+                               THEN oi.quantity * oi.unit_price
+                           ELSE 0
+                       END AS paid_amount
+                FROM orders o
+                         JOIN order_items oi ON oi.order_id = o.id
+                         JOIN skus s ON s.id = oi.sku_id
+                         JOIN products p ON p.id = s.product_id
+                WHERE o.created_at >= ? AND o.created_at < ? AND o.status <> 'CANCELLED'
+            )
+            INSERT INTO sales_daily_rollups (bucket_date, dimension, dimension_key, order_count, units,
+                                             revenue, paid_revenue, updated_at)
+            SELECT ?, 'TOTAL', 'ALL', COUNT(DISTINCT order_id), SUM(quantity), SUM(amount), SUM(paid_amount), ?
+            FROM lines HAVING COUNT(*) > 0
+            UNION ALL
+            SELECT ?, 'SKU', sku_id::text, COUNT(DISTINCT order_id), SUM(quantity), SUM(amount), SUM(paid_amount), ?
+            FROM lines GROUP BY sku_id
+            UNION ALL
+            SELECT ?, 'CATEGORY', category_id::text, COUNT(DISTINCT order_id), SUM(quantity), SUM(amount), SUM(paid_amount), ?
+            FROM lines GROUP BY category_id
+            UNION ALL
+            SELECT ?, 'PAYMENT_METHOD', payment_method, COUNT(DISTINCT order_id), SUM(quantity), SUM(amount), SUM(paid_amount), ?
+            FROM lines GROUP BY payment_method
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public List<OrderSalesLine> findOrderLines(Collection<Long> orderIds) {
+        if (orderIds.isEmpty()) {
+            return List.of();
+        }
+
+        Timestamp[] range = jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(ORDER_CREATED_RANGE_SQL);
+            ps.setArray(1, con.createArrayOf("bigint", orderIds.toArray()));
+            return ps;
+        }, rs -> rs.next() ? new Timestamp[]{rs.getTimestamp(1), rs.getTimestamp(2)} : null);
+        if (range == null || range[0] == null) {
+            return List.of();
+        }
+
+        return jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(ORDER_LINES_SQL);
+            ps.setArray(1, con.createArrayOf("bigint", orderIds.toArray()));
+            ps.setTimestamp(2, range[0]);
+            ps.setTimestamp(3, range[1]);
+            ps.setTimestamp(4, range[0]);
+            return ps;
+        }, (rs, rowNum) -> OrderSalesLine.builder()
+                .orderId(rs.getLong("id"))
+                .createdAt(rs.getTimestamp("created_at").toInstant())
+                .paymentMethod(PaymentMethod.valueOf(rs.getString("payment_method")))
+                .skuId(rs.getLong("sku_id"))
+                .categoryId(rs.getLong("category_id"))
+                .quantity(rs.getInt("quantity"))
+                .amount(rs.getBigDecimal("amount"))
+                .build());
+    }
+
+    @Override
+    public Map<LocalDate, Instant> lockDaysForDeltas(Collection<LocalDate> bucketDates) {
+        if (bucketDates.isEmpty()) {
+            return Map.of();
+        }
+
+        // Fixed order, like applyDeltas; a rebuild holds a single day lock, so no cycle can form
+        List<LocalDate> days = bucketDates.stream().distinct().sorted().toList();
+        for (LocalDate day : days) {
+            jdbcTemplate.query(LOCK_DAY_SHARED_SQL, rs -> null, DAY_LOCK_CLASS, (int) day.toEpochDay());
+        }
+
+        Map<LocalDate, Instant> snapshots = new HashMap<>();
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(FIND_SNAPSHOTS_SQL);
+            ps.setArray(1, con.createArrayOf("date", days.stream().map(Date::valueOf).toArray()));
+            return ps;
+        }, rs -> {
+            snapshots.put(rs.getDate("bucket_date").toLocalDate(), rs.getTimestamp("snapshot_at").toInstant());
+        });
+        return snapshots;
+    }
+
+    @Override
+    public boolean tryLockRebuild() {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(TRY_LOCK_REBUILD_SQL, Boolean.class, REBUILD_LOCK_KEY));
+    }
+
+    @Override
+    public void applyDeltas(Map<SalesRollupKey, SalesRollupDelta> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+
+        // Fixed row order keeps two instances flushing overlapping keys from deadlocking
+        List<Map.Entry<SalesRollupKey, SalesRollupDelta>> entries = new ArrayList<>(deltas.entrySet());
+        entries.sort(Comparator
+                .comparing((Map.Entry<SalesRollupKey, SalesRollupDelta> e) -> e.getKey().getBucketDate())
+                .thenComparing(e -> e.getKey().getDimension())
+                .thenComparing(e -> e.getKey().getDimensionKey()));
+
+        Timestamp now = Timestamp.from(Instant.now());
+        List<Object[]> batchArgs = new ArrayList<>(entries.size());
+        for (Map.Entry<SalesRollupKey, SalesRollupDelta> entry : entries) {
+            SalesRollupKey key = entry.getKey();
+            SalesRollupDelta delta = entry.getValue();
+            batchArgs.add(new Object[]{
+                    Date.valueOf(key.getBucketDate()), key.getDimension().name(), key.getDimensionKey(),
+                    delta.getOrderCount(), delta.getUnits(), delta.getRevenue(), delta.getPaidRevenue(), now
+            });
+        }
+
+        jdbcTemplate.batchUpdate(UPSERT_SQL, batchArgs);
+        log.debug("Upserted {} sales rollup row(s)", batchArgs.size());
+    }
+
+    @Override
+    public List<SalesRollupResponse> findRollups(RollupDimension dimension, LocalDate startDate, LocalDate endDate) {
+        return jdbcTemplate.query(FIND_ROLLUPS_SQL, (rs, rowNum) -> SalesRollupResponse.builder()
+                        .bucketDate(rs.getDate("bucket_date").toLocalDate())
+                        .dimension(RollupDimension.valueOf(rs.getString("dimension")))
+                        .dimensionKey(rs.getString("dimension_key"))
+                        .orderCount(rs.getLong("order_count"))
+                        .units(rs.getLong("units"))
+                        .revenue(rs.getBigDecimal("revenue"))
+                        .paidRevenue(rs.getBigDecimal("paid_revenue"))
+                        .build(),
+                dimension.name(), Date.valueOf(startDate), Date.valueOf(endDate));
+    }
+
+    @Override
+    public int rebuildDay(LocalDate bucketDate, Instant dayStart, Instant dayEnd) {
+        Date day = Date.valueOf(bucketDate);
+
+        // Waits for flushes already writing to this day; later ones wait for this transaction
+        jdbcTemplate.query(LOCK_DAY_SQL, rs -> null, DAY_LOCK_CLASS, (int) bucketDate.toEpochDay());
+
+        // Taken before the rebuild statement starts: every change recorded earlier is in its snapshot
+        Timestamp now = Timestamp.from(Instant.now());
+        jdbcTemplate.update(UPSERT_SNAPSHOT_SQL, day, now);
+
+        jdbcTemplate.update("DELETE FROM sales_daily_rollups WHERE bucket_date = ?", day);
+
+        return jdbcTemplate.update(REBUILD_DAY_SQL,
+                Timestamp.from(dayStart), Timestamp.from(dayEnd),
+                day, now,
+                day, now,
+                day, now,
+                day, now);
+    }
+}
@@ -2,16 +2,48 @@ package wandererpi.lbs.repository.jdbc.impl;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Repository;
+import wandererpi.lbs.event.CatalogChangedEvent;
 import wandererpi.lbs.repository.jdbc.StockRepository;
 
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
 @Slf4j
 @Repository
 @RequiredArgsConstructor
 public class StockRepositoryImpl implements StockRepository {
 
+    // SKU rows are locked in id order first, so concurrent multi-row restores cannot deadlock each other
+    private static final String RESTORE_FOR_ORDERS_SQL = """
+            WITH restored AS (SELECT oi.sku_id, SUM(oi.quantity) AS quantity
+                              FROM order_items oi
+                              WHERE oi.order_id = ANY(?)
+                                AND oi.created_at >= ?
+                              GROUP BY oi.sku_id),
+                 locked AS (SELECT s.id
+                            FROM skus s
+                            WHERE s.id IN (SELECT sku_id FROM restored)
+                            ORDER BY s.id
+                            FOR UPDATE)
+            UPDATE skus s
+            SET stock_qty = s.stock_qty + r.quantity
+            FROM restored r
+            WHERE s.id = r.sku_id
+              AND s.id IN (SELECT id FROM locked)
+            RETURNING s.id
+            """;
+
     private final JdbcTemplate jdbcTemplate;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     public boolean reserveStock(Long skuId, Integer quantity) {
@@ -28,6 +60,7 @@ public class StockRepositoryImpl implements StockRepository {
 
         if (success) {
             log.debug("Successfully reserved {} units of SKU {}", quantity, skuId);
+            eventPublisher.publishEvent(CatalogChangedEvent.ofSkus(Set.of(skuId)));
         } else {
             log.warn("Failed to reserve {} units of SKU {} - insufficient stock", quantity, skuId);
         }
@@ -46,6 +79,7 @@ public class StockRepositoryImpl implements StockRepository {
 
         if (rowsAffected > 0) {
             log.debug("Successfully restored {} units of SKU {}", quantity, skuId);
+            eventPublisher.publishEvent(CatalogChangedEvent.ofSkus(Set.of(skuId)));
         } else {
             log.warn("Attempted to restore stock for non-existent SKU {}", skuId);
         }
@@ -61,4 +95,25 @@ public class StockRepositoryImpl implements StockRepository {
                 skuId
         );
     }
-}
\ No newline at end of file
+
+    @Override
+    public int restoreStockForOrders(Collection<Long> orderIds, Instant itemsCreatedFrom) {
+        if (orderIds.isEmpty()) {
+            return 0;
+        }
+
+        List<Long> skuIds = jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(RESTORE_FOR_ORDERS_SQL);
+            ps.setArray(1, con.createArrayOf("bigint", orderIds.toArray()));
+            ps.setTimestamp(2, Timestamp.from(itemsCreatedFrom.truncatedTo(ChronoUnit.SECONDS)));
+            return ps;
+        }, (rs, rowNum) -> rs.getLong(1));
+
+        log.debug("Restored stock of {} SKU(s) for {} order(s)", skuIds.size(), orderIds.size());
+
+        if (!skuIds.isEmpty()) {
+            eventPublisher.publishEvent(CatalogChangedEvent.ofSkus(new HashSet<>(skuIds)));
+        }
+        return skuIds.size();
+    }
+}
@@ -3,8 +3,20 @@ package wandererpi.lbs.repository.jpa;
 import org.springframework.data.jpa.repository.JpaRepository;
 import wandererpi.lbs.entity.OrderHistory;
 
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
 
 public interface OrderHistoryRepository extends JpaRepository<OrderHistory, Long> {
-    List<OrderHistory> findByOrderIdOrderByUpdatedAtDesc(Long orderId);
+
+    List<OrderHistory> findByOrderIdAndCreatedAtGreaterThanEqualOrderByUpdatedAtDesc(Long orderId, Instant createdAt);
+
+    /**
+     * History of an order, newest first. History rows are never older than the order, so the
+     * lower bound prunes every partition before the order's month.
+     */
+    default List<OrderHistory> findByOrderIdOrderByUpdatedAtDesc(Long orderId, Instant orderCreatedAt) {
+        return findByOrderIdAndCreatedAtGreaterThanEqualOrderByUpdatedAtDesc(
+                orderId, orderCreatedAt.truncatedTo(ChronoUnit.SECONDS));
+    }
 }
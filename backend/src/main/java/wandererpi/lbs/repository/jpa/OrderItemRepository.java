@@ -1,10 +1,29 @@
 package wandererpi.lbs.repository.jpa;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import wandererpi.lbs.entity.Order;
 import wandererpi.lbs.entity.OrderItem;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
 
 public interface OrderItemRepository extends JpaRepository<OrderItem, Long> {
-    List<OrderItem> findByOrderId(Long orderId);
+
+    // Items are inserted in the order's own transaction, right after the order row
+    Duration ITEM_CREATION_WINDOW = Duration.ofDays(1);
+
+    // SKUs and products are fetched too: the outbox relay renders order emails outside a transaction
+    @EntityGraph(attributePaths = {"sku", "sku.product"})
+    List<OrderItem> findByOrderIdAndCreatedAtBetween(Long orderId, Instant from, Instant to);
+
+    /**
+     * Items of an order, bounded by the order's creation time so only its monthly partition is scanned
+     */
+    default List<OrderItem> findByOrder(Order order) {
+        Instant from = order.getCreatedAt().truncatedTo(ChronoUnit.SECONDS);
+        return findByOrderIdAndCreatedAtBetween(order.getId(), from, from.plus(ITEM_CREATION_WINDOW));
+    }
 }
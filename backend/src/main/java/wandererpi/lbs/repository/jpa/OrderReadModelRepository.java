@@ -0,0 +1,31 @@
+package wandererpi.lbs.repository.jpa;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import wandererpi.lbs.entity.OrderReadModel;
+import wandererpi.lbs.enums.OrderStatus;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Optional;
+
+public interface OrderReadModelRepository extends JpaRepository<OrderReadModel, Long> {
+    Optional<OrderReadModel> findByTrackingToken(String trackingToken);
+
+    /**
+     * Patch the status in place, without loading the row
+     */
+    @Modifying
+    @Query("UPDATE OrderReadModel r SET r.status = :status, r.updatedAt = :updatedAt WHERE r.orderId = :orderId")
+    int updateStatus(@Param("orderId") Long orderId,
+                     @Param("status") OrderStatus status,
+                     @Param("updatedAt") Instant updatedAt);
+
+    @Modifying
+    @Query("UPDATE OrderReadModel r SET r.status = :status, r.updatedAt = :updatedAt WHERE r.orderId IN :orderIds")
+    int updateStatusIn(@Param("orderIds") Collection<Long> orderIds,
+                       @Param("status") OrderStatus status,
+                       @Param("updatedAt") Instant updatedAt);
+}
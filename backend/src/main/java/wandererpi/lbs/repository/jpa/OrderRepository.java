@@ -3,6 +3,8 @@ package wandererpi.lbs.repository.jpa;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import wandererpi.lbs.entity.Order;
 import wandererpi.lbs.enums.OrderStatus;
 
@@ -13,4 +15,7 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
     Optional<Order> findByTrackingToken(String trackingToken);
     Page<Order> findByStatus(OrderStatus status, Pageable pageable);
     Page<Order> findByCreatedAtBetween(Instant start, Instant end, Pageable pageable);
+
+    @Query("SELECT o.createdAt FROM Order o WHERE o.id = :orderId")
+    Optional<Instant> findCreatedAtById(@Param("orderId") Long orderId);
 }
@@ -0,0 +1,31 @@
+package wandererpi.lbs.repository.jpa;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import wandererpi.lbs.entity.OutboxEvent;
+import wandererpi.lbs.enums.OutboxStatus;
+
+import java.time.Instant;
+import java.util.List;
+
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    /**
+     * Lock a batch of due events. Rows already locked by another relay instance are skipped,
+     * so several application nodes can poll the table concurrently without double dispatch.
+     */
+    @Query(value = """
+            SELECT * FROM outbox_events
+            WHERE status = 'PENDING' AND next_attempt_at <= :now
+            ORDER BY id
+            LIMIT :limit
+            FOR UPDATE SKIP LOCKED
+            """, nativeQuery = true)
+    List<OutboxEvent> lockDueEvents(@Param("now") Instant now, @Param("limit") int limit);
+
+    @Modifying
+    @Query("DELETE FROM OutboxEvent e WHERE e.status = :status AND e.processedAt < :before")
+    int deleteByStatusAndProcessedAtBefore(@Param("status") OutboxStatus status, @Param("before") Instant before);
+}
@@ -0,0 +1,66 @@
+package wandererpi.lbs.repository.jpa;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import wandererpi.lbs.entity.PaymentWebhook;
+import wandererpi.lbs.enums.WebhookStatus;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+public interface PaymentWebhookRepository extends JpaRepository<PaymentWebhook, Long> {
+
+    /**
+     * Lock a batch of due webhooks. An event is only claimable when no earlier event for the same
+     * order is still pending or processing, so events of one order run strictly in arrival order.
+     * Rows locked by another worker instance are skipped.
+     */
+    @Query(value = """
+            SELECT w.* FROM payment_webhooks w
+            WHERE w.status = 'PENDING' AND w.next_attempt_at <= :now
+              AND NOT EXISTS (SELECT 1
+                              FROM payment_webhooks e
+                              WHERE e.order_key = w.order_key
+                                AND e.id < w.id
+                                AND e.status IN ('PENDING', 'PROCESSING'))
+            ORDER BY w.id
+            LIMIT :limit
+            FOR UPDATE OF w SKIP LOCKED
+            """, nativeQuery = true)
+    List<PaymentWebhook> lockClaimable(@Param("now") Instant now, @Param("limit") int limit);
+
+    /**
+     * Return webhooks whose worker died mid-processing to the queue, if they have attempts left
+     */
+    @Modifying
+    @Query("""
+            UPDATE PaymentWebhook w
+            SET w.status = wandererpi.lbs.enums.WebhookStatus.PENDING, w.lockedAt = null, w.nextAttemptAt = :now
+            WHERE w.status = wandererpi.lbs.enums.WebhookStatus.PROCESSING AND w.lockedAt < :lockedBefore
+              AND w.attempts < :maxAttempts
+            """)
+    int releaseStuck(@Param("lockedBefore") Instant lockedBefore, @Param("maxAttempts") int maxAttempts,
+                     @Param("now") Instant now);
+
+    /**
+     * Mark FAILED the webhooks whose worker died mid-processing on their last attempt
+     */
+    @Modifying
+    @Query("""
+            UPDATE PaymentWebhook w
+            SET w.status = wandererpi.lbs.enums.WebhookStatus.FAILED, w.lockedAt = null, w.processedAt = :now,
+                w.lastError = 'Processing timed out on the last attempt'
+            WHERE w.status = wandererpi.lbs.enums.WebhookStatus.PROCESSING AND w.lockedAt < :lockedBefore
+              AND w.attempts >= :maxAttempts
+            """)
+    int failStuck(@Param("lockedBefore") Instant lockedBefore, @Param("maxAttempts") int maxAttempts,
+                  @Param("now") Instant now);
+
+    @Modifying
+    @Query("DELETE FROM PaymentWebhook w WHERE w.status IN :statuses AND w.processedAt < :before")
+    int deleteByStatusInAndProcessedAtBefore(@Param("statuses") Collection<WebhookStatus> statuses,
+                                             @Param("before") Instant before);
+}
@@ -0,0 +1,8 @@
+package wandererpi.lbs.repository.jpa;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import wandererpi.lbs.entity.ProductListing;
+
+public interface ProductListingRepository extends JpaRepository<ProductListing, Long>, JpaSpecificationExecutor<ProductListing> {
+}
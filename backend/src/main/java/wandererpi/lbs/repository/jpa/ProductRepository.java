@@ -4,9 +4,13 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import wandererpi.lbs.entity.Product;
 
 import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 // JpaSpecificationExecutor<T> brings in `Page<T> findAll(@Nullable Specification<T> spec, Pageable pageable)`
@@ -14,4 +18,10 @@ public interface ProductRepository extends JpaRepository<Product, Long>, JpaSpec
     Page<Product> findByCategoryId(Long categoryId, Pageable pageable);
     Page<Product> findByBasePriceBetween(BigDecimal minPrice, BigDecimal maxPrice, Pageable pageable);
     Optional<Product> findBySlug(String slug);
+
+    @Query("SELECT DISTINCT p.category.id FROM Product p WHERE p.id IN :productIds")
+    List<Long> findCategoryIdsByProductIds(@Param("productIds") Collection<Long> productIds);
+
+    @Query("SELECT p.slug FROM Product p WHERE p.id IN :productIds")
+    List<String> findSlugsByIds(@Param("productIds") Collection<Long> productIds);
 }
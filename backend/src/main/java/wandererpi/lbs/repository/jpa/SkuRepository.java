@@ -1,10 +1,19 @@
 package wandererpi.lbs.repository.jpa;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import wandererpi.lbs.entity.Sku;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface SkuRepository extends JpaRepository<Sku, Long> {
     List<Sku> findByProductId(Long productId);
+
+    @Query("SELECT DISTINCT p.category.id FROM Sku s JOIN s.product p WHERE s.id IN :skuIds")
+    List<Long> findCategoryIdsBySkuIds(@Param("skuIds") Collection<Long> skuIds);
+
+    @Query("SELECT DISTINCT p.slug FROM Sku s JOIN s.product p WHERE s.id IN :skuIds")
+    List<String> findProductSlugsBySkuIds(@Param("skuIds") Collection<Long> skuIds);
 }
@@ -4,22 +4,42 @@ import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import wandererpi.lbs.config.QrCodeConfig;
+import wandererpi.lbs.dto.request.BulkUpdateOrderStatusRequest;
 import wandererpi.lbs.dto.request.CancelOrderRequest;
+import wandererpi.lbs.dto.request.OrderSearchRequest;
 import wandererpi.lbs.dto.request.PlaceOrderRequest;
 import wandererpi.lbs.dto.request.UpdateOrderStatusRequest;
 import wandererpi.lbs.dto.response.ApiResponse;
+import wandererpi.lbs.dto.response.BulkOrderStatusResponse;
+import wandererpi.lbs.dto.response.CursorPageResponse;
 import wandererpi.lbs.dto.response.OrderHistoryResponse;
 import wandererpi.lbs.dto.response.OrderResponse;
 import wandererpi.lbs.dto.response.OrderSummaryResponse;
+import wandererpi.lbs.enums.ErrorCode;
 import wandererpi.lbs.enums.OrderStatus;
+import wandererpi.lbs.enums.PaymentMethod;
+import wandererpi.lbs.enums.QrImageFormat;
+import wandererpi.lbs.exception.ApplicationException;
+import wandererpi.lbs.service.OrderExportService;
 import wandererpi.lbs.service.OrderService;
+import wandererpi.lbs.service.cache.QrImageCache;
+import wandererpi.lbs.service.payment.QrImage;
+import wandererpi.lbs.service.stream.OrderStatusStreamRegistry;
 
+import java.nio.charset.StandardCharsets;
 import java.time.Instant;
 import java.util.List;
 
@@ -29,6 +49,10 @@ import java.util.List;
 public class OrderResource {
     
     private final OrderService orderService;
+    private final OrderExportService orderExportService;
+    private final OrderStatusStreamRegistry orderStatusStreamRegistry;
+    private final QrImageCache qrImageCache;
+    private final QrCodeConfig qrCodeConfig;
 
     /**
      * Place order - Public endpoint (no authentication required)
@@ -68,6 +92,33 @@ public class OrderResource {
         );
     }
 
+    /**
+     * Stream order status changes as server-sent events - Public endpoint (no authentication required)
+     * Used by the payment page instead of polling the tracking endpoint; ends once payment is settled
+     */
+    @GetMapping(value = "/track/{trackingToken}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamOrderStatus(@PathVariable String trackingToken) {
+        // Only the id is taken from the (possibly cached) tracking view; the registry reads the live status
+        OrderResponse order = orderService.getOrderByTrackingToken(trackingToken);
+        return orderStatusStreamRegistry.open(order.getOrderId());
+    }
+
+    /**
+     * VietQR payment code as a PNG image - Public endpoint (no authentication required)
+     */
+    @GetMapping("/{trackingToken}/qr.png")
+    public ResponseEntity<byte[]> getPaymentQrPng(@PathVariable String trackingToken, WebRequest webRequest) {
+        return paymentQr(trackingToken, QrImageFormat.PNG, webRequest);
+    }
+
+    /**
+     * VietQR payment code as an SVG image - Public endpoint (no authentication required)
+     */
+    @GetMapping("/{trackingToken}/qr.svg")
+    public ResponseEntity<byte[]> getPaymentQrSvg(@PathVariable String trackingToken, WebRequest webRequest) {
+        return paymentQr(trackingToken, QrImageFormat.SVG, webRequest);
+    }
+
     /**
      * Get order by ID - Admin only
      */
@@ -112,6 +163,70 @@ public class OrderResource {
         );
     }
 
+    /**
+     * Search orders with combined filters and cursor pagination - Admin only
+     */
+    @GetMapping("/search")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<String, CursorPageResponse<OrderSummaryResponse>>> searchOrders(
+            @RequestParam(required = false) OrderStatus status,
+            @RequestParam(required = false) PaymentMethod paymentMethod,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant endDate,
+            @RequestParam(required = false) String customer,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") Integer size,
+            @RequestParam(defaultValue = "false") Boolean includeTotal) {
+
+        OrderSearchRequest request = OrderSearchRequest.builder()
+                .status(status)
+                .paymentMethod(paymentMethod)
+                .startDate(startDate)
+                .endDate(endDate)
+                .customer(customer)
+                .cursor(cursor)
+                .size(size)
+                .includeTotal(includeTotal)
+                .build();
+
+        CursorPageResponse<OrderSummaryResponse> response = orderService.searchOrders(request);
+
+        return ResponseEntity.ok(
+            ApiResponse.<String, CursorPageResponse<OrderSummaryResponse>>builder()
+                .timestamp(System.currentTimeMillis())
+                .statusCode(HttpStatus.OK.value())
+                .message("Orders retrieved successfully")
+                .result(response)
+                .build()
+        );
+    }
+
+    /**
+     * Export orders with line items as CSV (Admin only)
+     * GET /api/v1/order/export?startDate=...&endDate=...
+     * Rows are streamed to the response as they are read, so any date range uses constant memory
+     */
+    @GetMapping("/export")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<StreamingResponseBody> exportOrders(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant endDate) {
+
+        // Validate before the response is committed; errors while streaming can only abort the download
+        if (!startDate.isBefore(endDate)) {
+            throw new ApplicationException(ErrorCode.INVALID_REQUEST);
+        }
+
+        String filename = String.format("orders_%s_%s.csv", startDate.getEpochSecond(), endDate.getEpochSecond());
+        StreamingResponseBody body = outputStream ->
+                orderExportService.exportOrdersCsv(startDate, endDate, outputStream);
+
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
+                .contentType(new MediaType("text", "csv", StandardCharsets.UTF_8))
+                .body(body);
+    }
+
     /**
      * Update order status - Admin only
      */
@@ -135,6 +250,28 @@ public class OrderResource {
         );
     }
 
+    /**
+     * Update status of many orders at once (fulfilment batches) - Admin only
+     */
+    @PutMapping("/bulk/status")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<String, BulkOrderStatusResponse>> bulkUpdateOrderStatus(
+            @Valid @RequestBody BulkUpdateOrderStatusRequest request,
+            @AuthenticationPrincipal UserDetails userDetails) {
+
+        String adminEmail = userDetails.getUsername();
+        BulkOrderStatusResponse response = orderService.bulkUpdateOrderStatus(request, adminEmail);
+
+        return ResponseEntity.ok(
+            ApiResponse.<String, BulkOrderStatusResponse>builder()
+                .timestamp(System.currentTimeMillis())
+                .statusCode(HttpStatus.OK.value())
+                .message("Order statuses updated")
+                .result(response)
+                .build()
+        );
+    }
+
     /**
      * Cancel order - Admin only
      */
@@ -177,4 +314,25 @@ public class OrderResource {
                 .build()
         );
     }
+
+    private ResponseEntity<byte[]> paymentQr(String trackingToken, QrImageFormat format, WebRequest webRequest) {
+        String payload = orderService.getPaymentQrContent(trackingToken);
+        QrImage image = qrImageCache.get(payload, format);
+
+        // The token is a secret, so the image may only be cached by the customer's own browser
+        CacheControl cacheControl = CacheControl.maxAge(qrCodeConfig.getMaxAge()).cachePrivate();
+
+        if (webRequest.checkNotModified(image.getEtag())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(image.getEtag())
+                    .cacheControl(cacheControl)
+                    .build();
+        }
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(format.getContentType()))
+                .eTag(image.getEtag())
+                .cacheControl(cacheControl)
+                .body(image.getContent());
+    }
 }
@@ -6,12 +6,16 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import wandererpi.lbs.dto.request.ProductFilterRequest;
 import wandererpi.lbs.dto.response.ApiResponse;
+import wandererpi.lbs.dto.response.CursorPageResponse;
 import wandererpi.lbs.dto.response.PageResponse;
 import wandererpi.lbs.dto.response.ProductDetailResponse;
 import wandererpi.lbs.dto.response.ProductListResponse;
+import wandererpi.lbs.dto.response.ProductSuggestionResponse;
+import wandererpi.lbs.dto.response.SkuLookupResponse;
 import wandererpi.lbs.service.ProductService;
 
 import java.math.BigDecimal;
+import java.util.List;
 
 @RestController
 @RequestMapping("/api/v1/product")
@@ -52,6 +56,110 @@ public class ProductResource {
         );
     }
 
+    /**
+     * Infinite scroll: same filters and sorting as the list, paged by an opaque cursor instead of a page number
+     */
+    @GetMapping("/scroll")
+    public ResponseEntity<ApiResponse<String, CursorPageResponse<ProductListResponse>>> scrollProducts(
+            @RequestParam(required = false) Long categoryId,
+            @RequestParam(required = false) BigDecimal minPrice,
+            @RequestParam(required = false) BigDecimal maxPrice,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") Integer size,
+            @RequestParam(defaultValue = "createdAt") String sortBy,
+            @RequestParam(defaultValue = "DESC") String sortDirection
+    ) {
+        ProductFilterRequest request = ProductFilterRequest.builder()
+                .categoryId(categoryId)
+                .minPrice(minPrice)
+                .maxPrice(maxPrice)
+                .size(size)
+                .sortBy(sortBy)
+                .sortDirection(sortDirection)
+                .build();
+
+        CursorPageResponse<ProductListResponse> response = productService.scrollProducts(request, cursor);
+
+        return ResponseEntity.ok(
+            ApiResponse.<String, CursorPageResponse<ProductListResponse>>builder()
+                .timestamp(System.currentTimeMillis())
+                .statusCode(HttpStatus.OK.value())
+                .message("Products retrieved successfully")
+                .result(response)
+                .build()
+        );
+    }
+
+    /**
+     * Full-text search, most relevant first; the last word matches as a prefix, so it also serves typeahead
+     */
+    @GetMapping("/search")
+    public ResponseEntity<ApiResponse<String, PageResponse<ProductListResponse>>> searchProducts(
+            @RequestParam String q,
+            @RequestParam(required = false) Long categoryId,
+            @RequestParam(required = false) BigDecimal minPrice,
+            @RequestParam(required = false) BigDecimal maxPrice,
+            @RequestParam(defaultValue = "0") Integer page,
+            @RequestParam(defaultValue = "20") Integer size
+    ) {
+        ProductFilterRequest request = ProductFilterRequest.builder()
+                .search(q)
+                .categoryId(categoryId)
+                .minPrice(minPrice)
+                .maxPrice(maxPrice)
+                .page(page)
+                .size(size)
+                .build();
+
+        PageResponse<ProductListResponse> response = productService.searchProducts(request);
+
+        return ResponseEntity.ok(
+            ApiResponse.<String, PageResponse<ProductListResponse>>builder()
+                .timestamp(System.currentTimeMillis())
+                .statusCode(HttpStatus.OK.value())
+                .message("Products retrieved successfully")
+                .result(response)
+                .build()
+        );
+    }
+
+    /**
+     * Typeahead on product names, answered from the in-memory catalog index
+     */
+    @GetMapping("/suggest")
+    public ResponseEntity<ApiResponse<String, List<ProductSuggestionResponse>>> suggestProducts(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "10") Integer limit
+    ) {
+        List<ProductSuggestionResponse> response = productService.suggestProducts(q, limit);
+
+        return ResponseEntity.ok(
+            ApiResponse.<String, List<ProductSuggestionResponse>>builder()
+                .timestamp(System.currentTimeMillis())
+                .statusCode(HttpStatus.OK.value())
+                .message("Product suggestions retrieved successfully")
+                .result(response)
+                .build()
+        );
+    }
+
+    /**
+     * Barcode scan: the SKU with the given code, answered from the in-memory catalog index
+     */
+    @GetMapping("/lookup")
+    public ResponseEntity<ApiResponse<String, SkuLookupResponse>> lookupSku(@RequestParam String code) {
+        SkuLookupResponse response = productService.lookupSku(code);
+
+        return ResponseEntity.ok(
+            ApiResponse.<String, SkuLookupResponse>builder()
+                .timestamp(System.currentTimeMillis())
+                .statusCode(HttpStatus.OK.value())
+                .message("SKU retrieved successfully")
+                .result(response)
+                .build()
+        );
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<ApiResponse<String, ProductDetailResponse>> getProductById(@PathVariable Long id) {
         ProductDetailResponse response = productService.getProductDetail(id);
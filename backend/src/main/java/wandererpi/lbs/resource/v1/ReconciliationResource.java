@@ -0,0 +1,39 @@
+package wandererpi.lbs.resource.v1;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import wandererpi.lbs.dto.response.ApiResponse;
+import wandererpi.lbs.dto.response.ReconciliationReportResponse;
+import wandererpi.lbs.service.ReconciliationService;
+
+@RestController
+@RequestMapping("/api/v1/reconciliation")
+@RequiredArgsConstructor
+public class ReconciliationResource {
+
+    private final ReconciliationService reconciliationService;
+
+    /**
+     * Reconcile a bank statement against pending orders - Admin only
+     * POST /api/v1/reconciliation/run?source=csv
+     */
+    @PostMapping("/run")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<String, ReconciliationReportResponse>> reconcile(
+            @RequestParam(defaultValue = "csv") String source) {
+
+        ReconciliationReportResponse response = reconciliationService.reconcile(source);
+
+        return ResponseEntity.ok(
+            ApiResponse.<String, ReconciliationReportResponse>builder()
+                .timestamp(System.currentTimeMillis())
+                .statusCode(HttpStatus.OK.value())
+                .message("Bank statement reconciled successfully")
+                .result(response)
+                .build()
+        );
+    }
+}
@@ -0,0 +1,69 @@
+package wandererpi.lbs.resource.v1;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import wandererpi.lbs.dto.response.ApiResponse;
+import wandererpi.lbs.dto.response.SalesRollupRebuildResponse;
+import wandererpi.lbs.dto.response.SalesRollupResponse;
+import wandererpi.lbs.enums.RollupDimension;
+import wandererpi.lbs.service.ReportService;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/report")
+@RequiredArgsConstructor
+public class ReportResource {
+
+    private final ReportService reportService;
+
+    /**
+     * Daily sales per dimension - Admin only
+     * GET /api/v1/report/sales?dimension=SKU&startDate=2026-01-01&endDate=2026-01-31
+     */
+    @GetMapping("/sales")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<String, List<SalesRollupResponse>>> getSalesRollups(
+            @RequestParam(defaultValue = "TOTAL") RollupDimension dimension,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+
+        List<SalesRollupResponse> response = reportService.getSalesRollups(dimension, startDate, endDate);
+
+        return ResponseEntity.ok(
+            ApiResponse.<String, List<SalesRollupResponse>>builder()
+                .timestamp(System.currentTimeMillis())
+                .statusCode(HttpStatus.OK.value())
+                .message("Sales rollups retrieved successfully")
+                .result(response)
+                .build()
+        );
+    }
+
+    /**
+     * Recompute sales rollups from orders - Admin only
+     * POST /api/v1/report/sales/rebuild?startDate=2026-01-01&endDate=2026-01-31
+     */
+    @PostMapping("/sales/rebuild")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<String, SalesRollupRebuildResponse>> rebuildSalesRollups(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+
+        SalesRollupRebuildResponse response = reportService.rebuildSalesRollups(startDate, endDate);
+
+        return ResponseEntity.ok(
+            ApiResponse.<String, SalesRollupRebuildResponse>builder()
+                .timestamp(System.currentTimeMillis())
+                .statusCode(HttpStatus.OK.value())
+                .message("Sales rollups rebuilt successfully")
+                .result(response)
+                .build()
+        );
+    }
+}
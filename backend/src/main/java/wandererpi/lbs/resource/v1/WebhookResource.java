@@ -6,9 +6,13 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import wandererpi.lbs.config.PaymentConfig;
 import wandererpi.lbs.dto.request.SepayWebhookRequest;
 import wandererpi.lbs.dto.response.ApiResponse;
+import wandererpi.lbs.enums.WebhookIngestionMode;
+import wandererpi.lbs.exception.ApplicationException;
 import wandererpi.lbs.service.PaymentService;
+import wandererpi.lbs.service.WebhookIngestionService;
 
 @RestController
 @RequestMapping("/api/v1/webhook")
@@ -17,10 +21,13 @@ import wandererpi.lbs.service.PaymentService;
 public class WebhookResource {
 
     private final PaymentService paymentService;
+    private final WebhookIngestionService webhookIngestionService;
+    private final PaymentConfig paymentConfig;
 
     /**
      * SePay webhook endpoint - receives payment notifications
      * Public endpoint (no authentication)
+     * In ASYNC ingestion mode the webhook is only stored here and applied by WebhookIngestionJob
      */
     @PostMapping("/sepay")
     public ResponseEntity<ApiResponse<String, String>> handleSepayWebhook(
@@ -31,6 +38,10 @@ public class WebhookResource {
         log.info("Received SePay webhook: transactionId={}, amount={}, content={}",
                 request.getId(), request.getTransferAmount(), request.getContent());
 
+        if (paymentConfig.getWebhook().getIngestionMode() == WebhookIngestionMode.ASYNC) {
+            return enqueueSepayWebhook(request, signature);
+        }
+
         try {
             // Process payment
             paymentService.processSepayWebhook(request, signature);
@@ -57,4 +68,43 @@ public class WebhookResource {
             );
         }
     }
-}
\ No newline at end of file
+
+    private ResponseEntity<ApiResponse<String, String>> enqueueSepayWebhook(SepayWebhookRequest request, String signature) {
+        try {
+            webhookIngestionService.enqueue(request, signature);
+
+            return ResponseEntity.ok(
+                    ApiResponse.<String, String>builder()
+                            .timestamp(System.currentTimeMillis())
+                            .statusCode(HttpStatus.OK.value())
+                            .message("Webhook received")
+                            .result("OK")
+                            .build()
+            );
+
+        } catch (ApplicationException e) {
+            // Rejected (invalid signature): nothing to retry, answer like the synchronous path
+            log.warn("SePay webhook rejected: {}", e.getErrorCode());
+            return ResponseEntity.ok(
+                    ApiResponse.<String, String>builder()
+                            .timestamp(System.currentTimeMillis())
+                            .statusCode(HttpStatus.OK.value())
+                            .message("Webhook received")
+                            .result("OK")
+                            .build()
+            );
+
+        } catch (Exception e) {
+            log.error("Error storing SePay webhook", e);
+            // Nothing was stored, so let SePay deliver it again
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(
+                    ApiResponse.<String, String>builder()
+                            .timestamp(System.currentTimeMillis())
+                            .statusCode(HttpStatus.SERVICE_UNAVAILABLE.value())
+                            .message("Webhook could not be stored")
+                            .result("RETRY")
+                            .build()
+            );
+        }
+    }
+}
@@ -6,12 +6,14 @@ import wandererpi.lbs.enums.OrderStatus;
 public interface EmailService {
     
     /**
-     * Send order confirmation email with tracking link
+     * Send order confirmation email with tracking link.
+     * Synchronous and throws on failure; dispatched by the outbox relay.
      */
     void sendOrderConfirmation(Order order, String rawToken);
     
     /**
-     * Send order status update email
+     * Send order status update email.
+     * Synchronous and throws on failure; dispatched by the outbox relay.
      */
     void sendOrderStatusUpdate(Order order, OrderStatus oldStatus, OrderStatus newStatus);
 
@@ -0,0 +1,12 @@
+package wandererpi.lbs.service;
+
+import java.io.OutputStream;
+import java.time.Instant;
+
+public interface OrderExportService {
+
+    /**
+     * Write orders with their line items as CSV (one row per line) directly to the output stream
+     */
+    void exportOrdersCsv(Instant startDate, Instant endDate, OutputStream outputStream);
+}
@@ -1,16 +1,23 @@
 package wandererpi.lbs.service;
 
 import org.springframework.data.domain.Page;
+import wandererpi.lbs.dto.request.BulkUpdateOrderStatusRequest;
 import wandererpi.lbs.dto.request.CancelOrderRequest;
+import wandererpi.lbs.dto.request.OrderSearchRequest;
 import wandererpi.lbs.dto.request.PlaceOrderRequest;
 import wandererpi.lbs.dto.request.UpdateOrderStatusRequest;
+import wandererpi.lbs.dto.response.BulkOrderStatusResponse;
+import wandererpi.lbs.dto.response.CursorPageResponse;
 import wandererpi.lbs.dto.response.OrderHistoryResponse;
 import wandererpi.lbs.dto.response.OrderResponse;
 import wandererpi.lbs.dto.response.OrderSummaryResponse;
 import wandererpi.lbs.enums.OrderStatus;
+import wandererpi.lbs.enums.PaymentMethod;
 
+import java.time.Duration;
 import java.time.Instant;
 import java.util.List;
+import java.util.Map;
 
 public interface OrderService {
     
@@ -24,6 +31,11 @@ public interface OrderService {
      */
     OrderResponse getOrderByTrackingToken(String trackingToken);
     
+    /**
+     * VietQR payload for a bank transfer order awaiting payment (for the public QR image)
+     */
+    String getPaymentQrContent(String trackingToken);
+
     /**
      * Get order by ID (for admin)
      */
@@ -34,11 +46,21 @@ public interface OrderService {
      */
     Page<OrderSummaryResponse> getOrders(OrderStatus status, Instant startDate, 
                                           Instant endDate, Integer page, Integer size);
+
+    /**
+     * Search orders with combined filters using keyset pagination (for admin)
+     */
+    CursorPageResponse<OrderSummaryResponse> searchOrders(OrderSearchRequest request);
     
     /**
      * Update order status (for admin)
      */
     OrderResponse updateOrderStatus(Long orderId, UpdateOrderStatusRequest request, String adminEmail);
+
+    /**
+     * Move many orders to the same status in one set-based update (for admin fulfilment batches)
+     */
+    BulkOrderStatusResponse bulkUpdateOrderStatus(BulkUpdateOrderStatusRequest request, String adminEmail);
     
     /**
      * Cancel order and restore stock (for admin)
@@ -49,4 +71,19 @@ public interface OrderService {
      * Get order history (for admin)
      */
     List<OrderHistoryResponse> getOrderHistory(Long orderId);
+    
+    /**
+     * Cancel one chunk of orders whose payment window expired and restore their stock (for the timeout job)
+     *
+     * @return number of orders cancelled
+     */
+    int cancelExpiredPendingOrders(PaymentMethod paymentMethod, Duration timeout, int limit);
+
+    /**
+     * Confirm payment for many PENDING_PAYMENT orders in one transaction (for bank statement reconciliation)
+     *
+     * @param notesByOrderId history note per order, naming the matched statement line
+     * @return ids of the orders confirmed; orders that left PENDING_PAYMENT meanwhile are skipped
+     */
+    List<Long> confirmReconciledPayments(Map<Long, String> notesByOrderId);
 }
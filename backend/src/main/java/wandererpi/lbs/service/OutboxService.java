@@ -0,0 +1,30 @@
+package wandererpi.lbs.service;
+
+import wandererpi.lbs.enums.OutboxEventType;
+
+import java.util.List;
+
+public interface OutboxService {
+
+    /**
+     * Record an event in the caller's transaction. It is dispatched only if that transaction commits.
+     */
+    void publish(OutboxEventType eventType, Long aggregateId, Object payload);
+
+    /**
+     * Lock one batch of due events and lease them to the caller for the dispatch timeout
+     * @return ids of the claimed events
+     */
+    List<Long> claimDueEvents();
+
+    /**
+     * Run the handlers of one claimed event outside any transaction, then record the outcome in a short one.
+     * Handler failures are recorded as a retry or as FAILED, never thrown.
+     */
+    void dispatch(Long eventId);
+
+    /**
+     * Delete processed events older than the configured retention
+     */
+    int purgeProcessedEvents();
+}
@@ -0,0 +1,18 @@
+package wandererpi.lbs.service;
+
+public interface PartitionService {
+
+    /**
+     * Make sure the order tables have partitions for the current month and the configured months ahead
+     *
+     * @return number of partitions ensured
+     */
+    int ensureFuturePartitions();
+
+    /**
+     * Detach partitions older than the retention window into the archive schema (when archival is enabled)
+     *
+     * @return number of partitions archived
+     */
+    int archiveExpiredPartitions();
+}
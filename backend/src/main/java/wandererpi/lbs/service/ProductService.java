@@ -2,14 +2,43 @@ package wandererpi.lbs.service;
 
 import wandererpi.lbs.dto.request.ProductFilterRequest;
 import wandererpi.lbs.dto.response.CategoryResponse;
+import wandererpi.lbs.dto.response.CursorPageResponse;
 import wandererpi.lbs.dto.response.PageResponse;
 import wandererpi.lbs.dto.response.ProductDetailResponse;
 import wandererpi.lbs.dto.response.ProductListResponse;
+import wandererpi.lbs.dto.response.ProductSuggestionResponse;
+import wandererpi.lbs.dto.response.SkuLookupResponse;
 
 import java.util.List;
 
 public interface ProductService {
     PageResponse<ProductListResponse> getProducts(ProductFilterRequest request);
+
+    /**
+     * Keyset-paginated variant of {@link #getProducts} for infinite scroll: seeks past the cursor
+     * instead of skipping rows, and never counts. {@code page} is ignored.
+     *
+     * @param cursor {@code nextCursor} of the previous page; null for the first page
+     */
+    CursorPageResponse<ProductListResponse> scrollProducts(ProductFilterRequest request, String cursor);
+
+    /**
+     * Full-text search on {@code request.search}, most relevant first, combined with the other filters.
+     * Sorting parameters are ignored; search text without letters or digits is rejected as INVALID_REQUEST.
+     */
+    PageResponse<ProductListResponse> searchProducts(ProductFilterRequest request);
+
+    /**
+     * Typeahead from the in-memory catalog index: products with a word in their name starting with
+     * {@code query}, accents and case ignored.
+     */
+    List<ProductSuggestionResponse> suggestProducts(String query, int limit);
+
+    /**
+     * Resolve a scanned SKU code from the in-memory catalog index. Stock is as of the last index refresh.
+     */
+    SkuLookupResponse lookupSku(String code);
+
     ProductDetailResponse getProductDetail(Long productId);
     ProductDetailResponse getProductDetailBySlug(String slug);
     List<CategoryResponse> getAllCategories();
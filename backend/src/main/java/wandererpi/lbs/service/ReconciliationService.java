@@ -0,0 +1,14 @@
+package wandererpi.lbs.service;
+
+import wandererpi.lbs.dto.response.ReconciliationReportResponse;
+
+public interface ReconciliationService {
+
+    /**
+     * Match a bank statement against pending bank transfer orders, confirm the matched orders
+     * and report the lines that could not be matched
+     *
+     * @param sourceName statement source, e.g. "csv" or "stub-api"
+     */
+    ReconciliationReportResponse reconcile(String sourceName);
+}
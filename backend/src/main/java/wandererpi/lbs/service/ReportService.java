@@ -0,0 +1,22 @@
+package wandererpi.lbs.service;
+
+import wandererpi.lbs.dto.response.SalesRollupRebuildResponse;
+import wandererpi.lbs.dto.response.SalesRollupResponse;
+import wandererpi.lbs.enums.RollupDimension;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface ReportService {
+
+    /**
+     * Daily sales figures of one dimension, read from the rollup table only
+     */
+    List<SalesRollupResponse> getSalesRollups(RollupDimension dimension, LocalDate startDate, LocalDate endDate);
+
+    /**
+     * Recompute the rollups of an inclusive date range from orders, one day per worker in parallel.
+     * One rebuild runs at a time across all instances; a concurrent request fails with REBUILD_IN_PROGRESS.
+     */
+    SalesRollupRebuildResponse rebuildSalesRollups(LocalDate startDate, LocalDate endDate);
+}
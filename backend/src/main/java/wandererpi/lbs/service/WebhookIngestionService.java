@@ -0,0 +1,42 @@
+package wandererpi.lbs.service;
+
+import wandererpi.lbs.dto.request.SepayWebhookRequest;
+
+import java.util.List;
+
+public interface WebhookIngestionService {
+
+    /**
+     * Durably store a received webhook for asynchronous processing
+     * @throws wandererpi.lbs.exception.ApplicationException INVALID_SIGNATURE if the signature is missing or wrong
+     */
+    void enqueue(SepayWebhookRequest request, String signature);
+
+    /**
+     * Lock a batch of due webhooks (at most one per order) and mark them PROCESSING
+     * @return ids of the claimed webhooks
+     */
+    List<Long> claimBatch();
+
+    /**
+     * Apply one claimed webhook to its order and mark it PROCESSED, in a single transaction
+     */
+    void process(Long webhookId);
+
+    /**
+     * Record a failed attempt: schedule a retry with backoff, or mark the webhook FAILED
+     */
+    void recordFailure(Long webhookId, Exception error);
+
+    /**
+     * Requeue webhooks left PROCESSING longer than the processing timeout; those already at the maximum
+     * attempts are marked FAILED instead
+     * @return number of webhooks requeued
+     */
+    int releaseStuck();
+
+    /**
+     * Delete processed and failed webhooks older than the configured retention
+     */
+    int purgeProcessed();
+}
@@ -0,0 +1,152 @@
+package wandererpi.lbs.service.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import wandererpi.lbs.config.OrderTrackingCacheConfig;
+import wandererpi.lbs.dto.response.OrderResponse;
+import wandererpi.lbs.event.OrderStatusChangedEvent;
+
+import java.util.List;
+
+/**
+ * Redis cache for the public tracking page, keyed by tracking token hash.
+ * <p>
+ * {@code order:tracking:{hash}} holds either the rendered {@link OrderResponse} (short TTL) or a
+ * miss marker for tokens that do not exist, so token scans are answered without the database.
+ * {@code order:tracking:id:{orderId}} maps an order back to its hash, letting status changes evict
+ * the entry without a lookup.
+ * </p>
+ * <p>
+ * Redis is an optimisation only: every failure is logged and treated as a cache miss.
+ * </p>
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OrderTrackingCache {
+
+    private static final String KEY_PREFIX = "order:tracking:";
+    private static final String ID_KEY_PREFIX = "order:tracking:id:";
+    private static final String MISS_MARKER = "-";
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final ObjectMapper objectMapper;
+    private final OrderTrackingCacheConfig config;
+
+    /**
+     * Look up a tracking token hash
+     */
+    public Lookup get(String tokenHash) {
+        if (!config.isEnabled()) {
+            return Lookup.NOT_CACHED;
+        }
+
+        try {
+            String value = stringRedisTemplate.opsForValue().get(KEY_PREFIX + tokenHash);
+            if (value == null) {
+                return Lookup.NOT_CACHED;
+            }
+            if (MISS_MARKER.equals(value)) {
+                return Lookup.MISSING;
+            }
+            return Lookup.hit(objectMapper.readValue(value, OrderResponse.class));
+        } catch (Exception e) {
+            log.warn("Tracking cache read failed for {}: {}", tokenHash, e.getMessage());
+            return Lookup.NOT_CACHED;
+        }
+    }
+
+    public void put(String tokenHash, OrderResponse response) {
+        if (!config.isEnabled()) {
+            return;
+        }
+
+        try {
+            String json = objectMapper.writeValueAsString(response);
+            stringRedisTemplate.opsForValue().set(KEY_PREFIX + tokenHash, json, config.getTtl());
+            stringRedisTemplate.opsForValue().set(ID_KEY_PREFIX + response.getOrderId(), tokenHash, config.getTtl());
+        } catch (JsonProcessingException e) {
+            log.warn("Could not serialise tracking response for order {}", response.getOrderId(), e);
+        } catch (Exception e) {
+            log.warn("Tracking cache write failed for {}: {}", tokenHash, e.getMessage());
+        }
+    }
+
+    public void putMissing(String tokenHash) {
+        if (!config.isEnabled()) {
+            return;
+        }
+
+        try {
+            stringRedisTemplate.opsForValue().set(KEY_PREFIX + tokenHash, MISS_MARKER, config.getMissTtl());
+        } catch (Exception e) {
+            log.warn("Tracking cache write failed for {}: {}", tokenHash, e.getMessage());
+        }
+    }
+
+    /**
+     * Evict after the status change committed, so readers that start afterwards see the new status.
+     * A reader that loaded the old status before the commit can still write it back after this eviction;
+     * such a stale entry lives at most the cache TTL ({@code order.tracking-cache.ttl}, 30s by default).
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onOrderStatusChanged(OrderStatusChangedEvent event) {
+        evict(event.getOrderId());
+    }
+
+    public void evict(Long orderId) {
+        if (!config.isEnabled()) {
+            return;
+        }
+
+        try {
+            String idKey = ID_KEY_PREFIX + orderId;
+            String tokenHash = stringRedisTemplate.opsForValue().get(idKey);
+            if (tokenHash != null) {
+                stringRedisTemplate.delete(List.of(KEY_PREFIX + tokenHash, idKey));
+            }
+        } catch (Exception e) {
+            // The entry expires on its own after the TTL
+            log.warn("Tracking cache eviction failed for order {}: {}", orderId, e.getMessage());
+        }
+    }
+
+    /**
+     * Result of a cache lookup: a cached response, a known-missing token, or nothing cached
+     */
+    public static final class Lookup {
+
+        public static final Lookup NOT_CACHED = new Lookup(false, null);
+        public static final Lookup MISSING = new Lookup(true, null);
+
+        private final boolean cached;
+        private final OrderResponse response;
+
+        private Lookup(boolean cached, OrderResponse response) {
+            this.cached = cached;
+            this.response = response;
+        }
+
+        public static Lookup hit(OrderResponse response) {
+            return new Lookup(true, response);
+        }
+
+        public boolean isCached() {
+            return cached;
+        }
+
+        public boolean isMissing() {
+            return cached && response == null;
+        }
+
+        public OrderResponse getResponse() {
+            return response;
+        }
+    }
+}
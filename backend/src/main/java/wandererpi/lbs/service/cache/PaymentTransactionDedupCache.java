@@ -0,0 +1,59 @@
+package wandererpi.lbs.service.cache;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import wandererpi.lbs.config.PaymentConfig;
+import wandererpi.lbs.event.PaymentTransactionRecordedEvent;
+
+/**
+ * Redis fast path for SePay webhook deduplication.
+ * <p>
+ * {@code payment:tx:{transactionId}} is set once the transaction has been committed to
+ * {@code payment_transactions}, so a re-delivered webhook is rejected with a single key lookup.
+ * The table's unique constraint remains the source of truth: a missing key (expired, evicted,
+ * Redis down) only means the database check runs.
+ * </p>
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PaymentTransactionDedupCache {
+
+    private static final String KEY_PREFIX = "payment:tx:";
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final PaymentConfig paymentConfig;
+
+    public boolean isKnown(Long transactionId) {
+        if (!paymentConfig.getDedup().isEnabled()) {
+            return false;
+        }
+
+        try {
+            return Boolean.TRUE.equals(stringRedisTemplate.hasKey(KEY_PREFIX + transactionId));
+        } catch (Exception e) {
+            log.warn("Payment dedup cache read failed for transaction {}: {}", transactionId, e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Remember the transaction only after commit, so a rolled-back attempt can still be re-delivered
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onTransactionRecorded(PaymentTransactionRecordedEvent event) {
+        if (!paymentConfig.getDedup().isEnabled()) {
+            return;
+        }
+
+        try {
+            stringRedisTemplate.opsForValue().set(KEY_PREFIX + event.getTransactionId(), "1", paymentConfig.getDedup().getTtl());
+        } catch (Exception e) {
+            log.warn("Payment dedup cache write failed for transaction {}: {}", event.getTransactionId(), e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package wandererpi.lbs.service.cache;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import wandererpi.lbs.event.CatalogChangesFlushedEvent;
+import wandererpi.lbs.repository.jpa.ProductRepository;
+import wandererpi.lbs.repository.jpa.SkuRepository;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Evicts cached product details (keyed by slug) when their product or one of its SKUs changes,
+ * since the detail page shows the stock of every SKU.
+ * <p>
+ * Follows {@link CatalogChangesFlushedEvent} rather than each commit: every checkout changes stock,
+ * and the merged changes of one flush interval cost one slug lookup and one eviction per product.
+ * </p>
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ProductDetailCacheEvictor {
+
+    public static final String CACHE_NAME = "productDetails";
+
+    private final CacheManager cacheManager;
+    private final ProductRepository productRepository;
+    private final SkuRepository skuRepository;
+
+    @EventListener
+    public void onCatalogChangesFlushed(CatalogChangesFlushedEvent event) {
+        try {
+            Set<String> slugs = new LinkedHashSet<>();
+            if (!event.getProductIds().isEmpty()) {
+                slugs.addAll(productRepository.findSlugsByIds(event.getProductIds()));
+            }
+            if (!event.getSkuIds().isEmpty()) {
+                slugs.addAll(skuRepository.findProductSlugsBySkuIds(event.getSkuIds()));
+            }
+
+            Cache cache = cacheManager.getCache(CACHE_NAME);
+            if (cache != null && !slugs.isEmpty()) {
+                TwoLevelCache.evictAll(cache, slugs);
+            }
+        } catch (Exception e) {
+            // Entries expire on their own after the TTL
+            log.warn("Product detail cache eviction failed for {}: {}", event, e.getMessage());
+        }
+    }
+}
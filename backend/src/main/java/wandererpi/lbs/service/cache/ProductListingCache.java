@@ -0,0 +1,238 @@
+package wandererpi.lbs.service.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import wandererpi.lbs.config.ProductListingCacheConfig;
+import wandererpi.lbs.dto.request.ProductFilterRequest;
+import wandererpi.lbs.dto.response.PageResponse;
+import wandererpi.lbs.dto.response.ProductListResponse;
+import wandererpi.lbs.event.CatalogChangesFlushedEvent;
+import wandererpi.lbs.repository.jpa.ProductRepository;
+import wandererpi.lbs.repository.jpa.SkuRepository;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Cache for product listing pages, keyed by a hash of the full {@link ProductFilterRequest}.
+ * <p>
+ * Pages are held in the {@value #CACHE_NAME} cache of the application {@link CacheManager}, so
+ * they get the in-process L1 in front of Redis like every {@code @Cacheable}. Every entry is tagged:
+ * with {@code category:{id}} for a category filter, otherwise with {@code all}, and additionally
+ * with the category of every product on the page. {@code product:listing:tag:{tag}} is a Redis set
+ * of the entry keys carrying that tag, so a change evicts only the listings of the categories it touched.
+ * Stock and SKU changes evict the affected category tags; product changes also evict {@code all},
+ * since they can move products between pages of unfiltered listings. Evictions follow the flushes of
+ * {@code CatalogChangeBuffer}, after it refreshed the listing rows, so a burst of changes evicts once.
+ * </p>
+ * <p>
+ * Lookups are counted per filter tag as {@code product.listing.cache.requests{tag,result}} and
+ * evictions as {@code product.listing.cache.evictions{tag}}. Redis is an optimisation only: every
+ * failure is logged and treated as a cache miss; entries expire after the TTL regardless.
+ * </p>
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ProductListingCache {
+
+    public static final String CACHE_NAME = "productListings";
+
+    private static final String TAG_KEY_PREFIX = "product:listing:tag:";
+    private static final String ALL_TAG = "all";
+    private static final String CATEGORY_TAG_PREFIX = "category:";
+
+    private final CacheManager cacheManager;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final ProductListingCacheConfig config;
+    private final ProductRepository productRepository;
+    private final SkuRepository skuRepository;
+    private final MeterRegistry meterRegistry;
+
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+
+    /**
+     * @return the cached page, or null if it is not cached
+     */
+    @SuppressWarnings("unchecked")
+    public PageResponse<ProductListResponse> get(ProductFilterRequest request) {
+        if (!config.isEnabled()) {
+            return null;
+        }
+
+        String tag = filterTag(request);
+        try {
+            Cache.ValueWrapper value = cache().get(hash(request));
+            if (value == null) {
+                count("requests", tag, "miss");
+                return null;
+            }
+            count("requests", tag, "hit");
+            return (PageResponse<ProductListResponse>) value.get();
+        } catch (Exception e) {
+            count("requests", tag, "error");
+            log.warn("Product listing cache read failed: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    public void put(ProductFilterRequest request, PageResponse<ProductListResponse> page) {
+        if (!config.isEnabled()) {
+            return;
+        }
+
+        Set<String> tags = new LinkedHashSet<>();
+        tags.add(filterTag(request));
+        for (ProductListResponse product : page.getContent()) {
+            if (product.getCategory() != null && product.getCategory().getId() != null) {
+                tags.add(categoryTag(product.getCategory().getId()));
+            }
+        }
+
+        try {
+            // Tag first, so an eviction racing this write can always find the entry
+            String key = hash(request);
+            stringRedisTemplate.executePipelined(new SessionCallback<Object>() {
+                @Override
+                @SuppressWarnings("unchecked")
+                public <K, V> Object execute(RedisOperations<K, V> operations) throws DataAccessException {
+                    RedisOperations<String, String> ops = (RedisOperations<String, String>) operations;
+                    for (String tag : tags) {
+                        // Tag sets outlive their entries by at most one TTL; stale members are harmless
+                        ops.opsForSet().add(TAG_KEY_PREFIX + tag, key);
+                        ops.expire(TAG_KEY_PREFIX + tag, config.getTtl());
+                    }
+                    return null;
+                }
+            });
+            cache().put(key, page);
+        } catch (Exception e) {
+            log.warn("Product listing cache write failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Evict once the listing rows reflect the changes, so a concurrent reader cannot re-cache the old data
+     */
+    @EventListener
+    public void onCatalogChangesFlushed(CatalogChangesFlushedEvent event) {
+        if (!config.isEnabled()) {
+            return;
+        }
+
+        try {
+            Set<String> tags = new LinkedHashSet<>();
+            if (!event.getProductIds().isEmpty()) {
+                tags.add(ALL_TAG);
+                productRepository.findCategoryIdsByProductIds(event.getProductIds())
+                        .forEach(categoryId -> tags.add(categoryTag(categoryId)));
+            }
+            if (!event.getSkuIds().isEmpty()) {
+                skuRepository.findCategoryIdsBySkuIds(event.getSkuIds())
+                        .forEach(categoryId -> tags.add(categoryTag(categoryId)));
+            }
+            evictTags(tags);
+        } catch (Exception e) {
+            // Entries expire on their own after the TTL
+            log.warn("Product listing cache eviction failed for {}: {}", event, e.getMessage());
+        }
+    }
+
+    /**
+     * Delete every entry carrying one of the tags, and the tag sets themselves
+     */
+    public void evictTags(Collection<String> tags) {
+        if (!config.isEnabled() || tags.isEmpty()) {
+            return;
+        }
+
+        Set<String> keys = new LinkedHashSet<>();
+        List<String> tagKeys = new ArrayList<>(tags.size());
+        for (String tag : tags) {
+            String tagKey = TAG_KEY_PREFIX + tag;
+            Set<String> members = stringRedisTemplate.opsForSet().members(tagKey);
+            if (members != null) {
+                keys.addAll(members);
+            }
+            tagKeys.add(tagKey);
+            count("evictions", tag, null);
+        }
+
+        TwoLevelCache.evictAll(cache(), keys);
+        stringRedisTemplate.delete(tagKeys);
+        log.debug("Evicted {} product listing(s) for tags {}", keys.size(), tags);
+    }
+
+    /**
+     * Canonical form of the filter: prices compared by value, sort direction normalised the same
+     * way ProductServiceImpl reads it
+     */
+    static String canonicalKey(ProductFilterRequest request) {
+        return "categoryId=" + (request.getCategoryId() != null ? request.getCategoryId() : "")
+                + "&minPrice=" + decimal(request.getMinPrice())
+                + "&maxPrice=" + decimal(request.getMaxPrice())
+                + "&page=" + request.getPage()
+                + "&size=" + request.getSize()
+                + "&sortBy=" + request.getSortBy()
+                + "&sortDirection=" + ("DESC".equalsIgnoreCase(request.getSortDirection()) ? "DESC" : "ASC");
+    }
+
+    // ========== Private Helper Methods ==========
+
+    private Cache cache() {
+        return cacheManager.getCache(CACHE_NAME);
+    }
+
+    private static String hash(ProductFilterRequest request) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256")
+                    .digest(canonicalKey(request).getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String decimal(BigDecimal value) {
+        return value != null ? value.stripTrailingZeros().toPlainString() : "";
+    }
+
+    private static String filterTag(ProductFilterRequest request) {
+        return request.getCategoryId() != null ? categoryTag(request.getCategoryId()) : ALL_TAG;
+    }
+
+    private static String categoryTag(Long categoryId) {
+        return CATEGORY_TAG_PREFIX + categoryId;
+    }
+
+    private void count(String name, String tag, String result) {
+        String id = name + '|' + tag + '|' + result;
+        counters.computeIfAbsent(id, ignored -> {
+            Counter.Builder builder = Counter.builder("product.listing.cache." + name).tag("tag", tag);
+            if (result != null) {
+                builder.tag("result", result);
+            }
+            return builder.register(meterRegistry);
+        }).increment();
+    }
+}
@@ -0,0 +1,77 @@
+package wandererpi.lbs.service.cache;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import wandererpi.lbs.config.QrCodeConfig;
+import wandererpi.lbs.enums.QrImageFormat;
+import wandererpi.lbs.service.payment.QrCodeRenderer;
+import wandererpi.lbs.service.payment.QrImage;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * In-memory LRU cache of rendered QR images, keyed by format and QR payload, bounded by total bytes.
+ * <p>
+ * The payload fully determines the image, so entries never go stale and the ETag is derived from
+ * the payload alone. Rendering happens outside the lock; two concurrent misses for the same
+ * payload may both render, which is cheaper than serialising all renders.
+ * </p>
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class QrImageCache {
+
+    private final QrCodeRenderer qrCodeRenderer;
+    private final QrCodeConfig qrCodeConfig;
+
+    private final LinkedHashMap<String, QrImage> entries = new LinkedHashMap<>(256, 0.75f, true);
+    private long totalBytes;
+
+    public QrImage get(String payload, QrImageFormat format) {
+        // Size is part of the key so a config change never serves an old image under the same ETag
+        String key = format.name() + ':' + qrCodeConfig.getSize() + ':' + payload;
+
+        synchronized (this) {
+            QrImage cached = entries.get(key);
+            if (cached != null) {
+                return cached;
+            }
+        }
+
+        QrImage image = new QrImage(format, qrCodeRenderer.render(payload, format), etag(key));
+
+        synchronized (this) {
+            QrImage previous = entries.put(key, image);
+            totalBytes += image.getContent().length - (previous != null ? previous.getContent().length : 0);
+            evictOverflow();
+        }
+        return image;
+    }
+
+    // ========== Private Helper Methods ==========
+
+    private void evictOverflow() {
+        Iterator<Map.Entry<String, QrImage>> eldest = entries.entrySet().iterator();
+        while (totalBytes > qrCodeConfig.getCacheMaxBytes() && eldest.hasNext()) {
+            totalBytes -= eldest.next().getValue().getContent().length;
+            eldest.remove();
+        }
+    }
+
+    private String etag(String key) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(key.getBytes(StandardCharsets.UTF_8));
+            return "\"" + Base64.getUrlEncoder().withoutPadding().encodeToString(hash).substring(0, 22) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
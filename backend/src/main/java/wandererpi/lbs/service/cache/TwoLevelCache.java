@@ -0,0 +1,147 @@
+package wandererpi.lbs.service.cache;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.AbstractValueAdaptingCache;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+/**
+ * A {@link Cache} that reads through an in-process Caffeine cache (L1) to a shared Redis cache (L2).
+ * <p>
+ * Fills go to both levels; evictions and clears also tell the other instances to drop their L1 copy
+ * through {@link TwoLevelCacheManager}, and the L1 TTL bounds staleness if such a message is lost. L1
+ * is keyed by {@code String.valueOf(key)}, which is what invalidation messages carry.
+ * </p>
+ */
+public class TwoLevelCache extends AbstractValueAdaptingCache {
+
+    private final String name;
+    private final com.github.benmanes.caffeine.cache.Cache<String, Object> local;
+    private final Cache remote;
+    private final TwoLevelCacheManager manager;
+
+    TwoLevelCache(String name, com.github.benmanes.caffeine.cache.Cache<String, Object> local, Cache remote,
+                  TwoLevelCacheManager manager) {
+        super(true);
+        this.name = name;
+        this.local = local;
+        this.remote = remote;
+        this.manager = manager;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return local;
+    }
+
+    @Override
+    protected Object lookup(Object key) {
+        String localKey = localKey(key);
+        Object value = local.getIfPresent(localKey);
+        if (value != null) {
+            return value;
+        }
+
+        ValueWrapper wrapper = remote.get(key);
+        if (wrapper == null) {
+            return null;
+        }
+        value = toStoreValue(wrapper.get());
+        local.put(localKey, value);
+        return value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        // Caffeine runs the mapping once per key on this instance; concurrent callers wait for its result
+        Object value = local.get(localKey(key), ignored -> {
+            ValueWrapper wrapper = remote.get(key);
+            if (wrapper != null) {
+                return toStoreValue(wrapper.get());
+            }
+
+            T loaded;
+            try {
+                loaded = valueLoader.call();
+            } catch (Exception e) {
+                throw new ValueRetrievalException(key, valueLoader, e);
+            }
+            remote.put(key, loaded);
+            return toStoreValue(loaded);
+        });
+        return (T) fromStoreValue(value);
+    }
+
+    /**
+     * Fill both levels. Not announced: this is how {@code @Cacheable} stores a miss, and other instances
+     * either hold nothing for the key or the same value from Redis. Changed data is evicted, never overwritten.
+     */
+    @Override
+    public void put(Object key, Object value) {
+        remote.put(key, value);
+        local.put(localKey(key), toStoreValue(value));
+    }
+
+    @Override
+    public void evict(Object key) {
+        evictAll(List.of(key));
+    }
+
+    /**
+     * Evict many keys with a single invalidation message
+     */
+    public void evictAll(Collection<?> keys) {
+        if (keys.isEmpty()) {
+            return;
+        }
+
+        List<String> localKeys = new ArrayList<>(keys.size());
+        for (Object key : keys) {
+            remote.evict(key);
+            localKeys.add(localKey(key));
+        }
+        local.invalidateAll(localKeys);
+        manager.publishEvict(name, localKeys);
+    }
+
+    @Override
+    public void clear() {
+        remote.clear();
+        local.invalidateAll();
+        manager.publishClear(name);
+    }
+
+    /**
+     * Evict the keys from any cache, with a single invalidation message if it is a two-level one
+     */
+    public static void evictAll(Cache cache, Collection<?> keys) {
+        if (cache instanceof TwoLevelCache twoLevelCache) {
+            twoLevelCache.evictAll(keys);
+        } else {
+            keys.forEach(cache::evict);
+        }
+    }
+
+    // ========== Package-Private Methods (invalidation from other instances) ==========
+
+    void evictLocal(Collection<String> localKeys) {
+        local.invalidateAll(localKeys);
+    }
+
+    void clearLocal() {
+        local.invalidateAll();
+    }
+
+    private static String localKey(Object key) {
+        return String.valueOf(key);
+    }
+}
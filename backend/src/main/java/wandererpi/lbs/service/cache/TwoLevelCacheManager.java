@@ -0,0 +1,134 @@
+package wandererpi.lbs.service.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import wandererpi.lbs.config.LocalCacheConfig;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * {@link CacheManager} that puts a bounded in-process Caffeine cache in front of every cache of
+ * the Redis cache manager, so repeated reads skip the network hop and JSON deserialization.
+ * <p>
+ * Every evict and clear is announced on a Redis channel; the other instances drop the affected
+ * L1 entries and read the new value from Redis on their next lookup. Messages carry the id of the
+ * sending instance so it ignores its own. The short L1 TTL bounds staleness when a message is lost,
+ * e.g. while an instance reconnects to Redis.
+ * </p>
+ * <p>
+ * L1 holds the same object instances it returns: callers must not mutate cached values.
+ * </p>
+ */
+@Slf4j
+public class TwoLevelCacheManager implements CacheManager, MessageListener {
+
+    private final CacheManager redisCacheManager;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final ObjectMapper objectMapper;
+    private final LocalCacheConfig config;
+
+    private final String origin = UUID.randomUUID().toString();
+    private final Map<String, TwoLevelCache> caches = new ConcurrentHashMap<>();
+
+    public TwoLevelCacheManager(CacheManager redisCacheManager, StringRedisTemplate stringRedisTemplate,
+                                ObjectMapper objectMapper, LocalCacheConfig config) {
+        this.redisCacheManager = redisCacheManager;
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.objectMapper = objectMapper;
+        this.config = config;
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        TwoLevelCache cache = caches.get(name);
+        if (cache != null) {
+            return cache;
+        }
+
+        Cache remote = redisCacheManager.getCache(name);
+        if (remote == null) {
+            return null;
+        }
+        return caches.computeIfAbsent(name, ignored -> new TwoLevelCache(name, Caffeine.newBuilder()
+                .maximumSize(config.getMaximumSize())
+                .expireAfterWrite(config.getTtl())
+                .build(), remote, this));
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return redisCacheManager.getCacheNames();
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        Invalidation invalidation;
+        try {
+            invalidation = objectMapper.readValue(message.getBody(), Invalidation.class);
+        } catch (Exception e) {
+            log.warn("Ignoring malformed cache invalidation message: {}", e.getMessage());
+            return;
+        }
+
+        if (origin.equals(invalidation.getOrigin())) {
+            return;
+        }
+        TwoLevelCache cache = caches.get(invalidation.getCacheName());
+        if (cache == null) {
+            // Nothing of that cache was ever read here
+            return;
+        }
+
+        if (invalidation.getKeys() == null) {
+            cache.clearLocal();
+        } else {
+            cache.evictLocal(invalidation.getKeys());
+        }
+    }
+
+    // ========== Package-Private Methods (used by TwoLevelCache) ==========
+
+    void publishEvict(String cacheName, List<String> keys) {
+        publish(new Invalidation(origin, cacheName, keys));
+    }
+
+    void publishClear(String cacheName) {
+        publish(new Invalidation(origin, cacheName, null));
+    }
+
+    // ========== Private Helper Methods ==========
+
+    private void publish(Invalidation invalidation) {
+        try {
+            stringRedisTemplate.convertAndSend(config.getChannel(), objectMapper.writeValueAsString(invalidation));
+        } catch (Exception e) {
+            // Other instances serve their L1 copy until it expires
+            log.warn("Cache invalidation publish failed for cache '{}': {}", invalidation.getCacheName(), e.getMessage());
+        }
+    }
+
+    /**
+     * Invalidation message; {@code keys == null} clears the whole cache
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    static class Invalidation {
+        private String origin;
+        private String cacheName;
+        private List<String> keys;
+    }
+}
@@ -0,0 +1,92 @@
+package wandererpi.lbs.service.catalog;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import wandererpi.lbs.event.CatalogChangedEvent;
+import wandererpi.lbs.event.CatalogChangesFlushedEvent;
+import wandererpi.lbs.repository.jdbc.ProductListingRefreshRepository;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Coalesces committed {@link CatalogChangedEvent}s and applies them off the request path.
+ * <p>
+ * Every checkout changes stock, so events only touch memory; {@link #flush()} refreshes the
+ * {@code product_listing} rows of the changed SKUs in one statement, then publishes one
+ * {@link CatalogChangesFlushedEvent} for caches and indexes to follow. A burst of reservations
+ * on a product costs one refresh and one eviction per flush, and no checkout transaction
+ * locks listing rows. Changes buffered when the process dies are lost: listing stock stays
+ * stale until the product's stock changes again.
+ * </p>
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CatalogChangeBuffer {
+
+    private final ProductListingRefreshRepository productListingRefreshRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final Set<Long> pendingProductIds = ConcurrentHashMap.newKeySet();
+    private final Set<Long> pendingSkuIds = ConcurrentHashMap.newKeySet();
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        pendingProductIds.addAll(event.getProductIds());
+        pendingSkuIds.addAll(event.getSkuIds());
+    }
+
+    /**
+     * Apply everything buffered since the last flush. On failure the ids are put back for the next run.
+     *
+     * @return number of products and SKUs flushed
+     */
+    public int flush() {
+        Set<Long> productIds = drain(pendingProductIds);
+        Set<Long> skuIds = drain(pendingSkuIds);
+        if (productIds.isEmpty() && skuIds.isEmpty()) {
+            return 0;
+        }
+
+        try {
+            productListingRefreshRepository.refreshForSkus(skuIds);
+        } catch (RuntimeException e) {
+            pendingProductIds.addAll(productIds);
+            pendingSkuIds.addAll(skuIds);
+            throw e;
+        }
+
+        // Listeners handle their own failures; the listing rows are already current
+        eventPublisher.publishEvent(new CatalogChangesFlushedEvent(productIds, skuIds));
+        return productIds.size() + skuIds.size();
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        try {
+            flush();
+        } catch (Exception e) {
+            log.error("Failed to flush catalog changes on shutdown", e);
+        }
+    }
+
+    // ========== Private Helper Methods ==========
+
+    private static Set<Long> drain(Set<Long> pending) {
+        // remove() hands each id over once; ids added meanwhile wait for the next flush
+        Set<Long> drained = new HashSet<>();
+        for (Long id : pending) {
+            if (pending.remove(id)) {
+                drained.add(id);
+            }
+        }
+        return drained;
+    }
+}
@@ -0,0 +1,363 @@
+package wandererpi.lbs.service.catalog;
+
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import wandererpi.lbs.dto.catalog.CatalogIndexRow;
+import wandererpi.lbs.event.CatalogChangesFlushedEvent;
+import wandererpi.lbs.repository.jdbc.CatalogIndexRepository;
+
+import java.math.BigDecimal;
+import java.text.Normalizer;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory index of products, SKUs and SKU codes for typeahead and barcode lookups without a database round trip.
+ * <p>
+ * All data lives in an immutable {@link Snapshot} behind a volatile field: readers take the current snapshot
+ * without locking, writers build the next one and swap it in. Writers are serialized, so a refresh never
+ * overwrites a newer full rebuild.
+ * </p>
+ * <p>
+ * Changes arrive as {@link CatalogChangesFlushedEvent}s, at most one per {@code CatalogChangeBuffer} flush
+ * interval, and are applied by a single refresh on {@code catalogIndexExecutor} that reloads only the affected
+ * products. Each refresh copies the lookup maps, so bounding their frequency bounds that cost however busy
+ * checkout is. Events are in-process, so changes made on other instances reach this one through the periodic
+ * full rebuild ({@code CatalogIndexRebuildJob}).
+ * </p>
+ * <p>
+ * Name matching uses a sorted array of the name suffixes starting at each word: a prefix is a contiguous range
+ * found by binary search. It answers what a trie would, and is an array sort to rebuild copy-on-write.
+ * </p>
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CatalogIndex {
+
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private final CatalogIndexRepository catalogIndexRepository;
+    private final ThreadPoolTaskExecutor catalogIndexExecutor;
+
+    private final Object writeLock = new Object();
+    private final Set<Long> pendingProductIds = ConcurrentHashMap.newKeySet();
+    private final Set<Long> pendingSkuIds = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean refreshScheduled = new AtomicBoolean();
+
+    private volatile Snapshot snapshot;   // null until the first rebuild
+
+    public boolean isLoaded() {
+        return snapshot != null;
+    }
+
+    /**
+     * Products with a word in their name starting with the given prefix, accents and case ignored,
+     * ordered by the matched text
+     */
+    public List<ProductEntry> suggest(String prefix, int limit) {
+        Snapshot current = snapshot;
+        String normalized = normalize(prefix);
+        if (current == null || normalized.isEmpty()) {
+            return List.of();
+        }
+
+        return current.names.match(normalized, limit).stream()
+                .map(current.products::get)
+                .collect(Collectors.toList());
+    }
+
+    public Optional<SkuEntry> findBySkuCode(String code) {
+        Snapshot current = snapshot;
+        return current == null ? Optional.empty() : Optional.ofNullable(current.skusByCode.get(code));
+    }
+
+    /**
+     * Replace the index with the current catalog
+     */
+    public void rebuild() {
+        synchronized (writeLock) {
+            long start = System.nanoTime();
+            Snapshot rebuilt = Snapshot.of(group(catalogIndexRepository.findAll()));
+            snapshot = rebuilt;
+            log.info("Catalog index rebuilt: {} product(s), {} SKU code(s) in {} ms",
+                    rebuilt.products.size(), rebuilt.skusByCode.size(), (System.nanoTime() - start) / 1_000_000);
+        }
+    }
+
+    @EventListener
+    public void onCatalogChangesFlushed(CatalogChangesFlushedEvent event) {
+        pendingProductIds.addAll(event.getProductIds());
+        pendingSkuIds.addAll(event.getSkuIds());
+
+        // One refresh picks up everything collected until it starts
+        if (refreshScheduled.compareAndSet(false, true)) {
+            try {
+                catalogIndexExecutor.execute(this::refreshPending);
+            } catch (TaskRejectedException e) {
+                refreshScheduled.set(false);
+                log.warn("Catalog index executor is saturated; {} waits for the next change or rebuild", event);
+            }
+        }
+    }
+
+    /**
+     * Reload the products named by the collected flushes
+     */
+    void refreshPending() {
+        // Cleared first: events arriving from now on schedule another refresh
+        refreshScheduled.set(false);
+        Set<Long> productIds = drain(pendingProductIds);
+        Set<Long> skuIds = drain(pendingSkuIds);
+        if (productIds.isEmpty() && skuIds.isEmpty()) {
+            return;
+        }
+
+        try {
+            refresh(productIds, skuIds);
+        } catch (Exception e) {
+            // Caught up by the next periodic rebuild
+            log.error("Catalog index refresh failed for {} product(s) and {} SKU(s)", productIds.size(), skuIds.size(), e);
+        }
+    }
+
+    // ========== Private Helper Methods ==========
+
+    private void refresh(Set<Long> productIds, Set<Long> skuIds) {
+        synchronized (writeLock) {
+            Snapshot current = snapshot;
+            if (current == null) {
+                // The first rebuild loads everything
+                return;
+            }
+
+            // Products that own the SKUs now or owned them before, and any product named explicitly
+            Map<Long, ProductEntry> loaded = group(catalogIndexRepository.findByProductIdsOrSkuIds(productIds, skuIds));
+            Set<Long> affected = new HashSet<>(productIds);
+            affected.addAll(loaded.keySet());
+            for (Long skuId : skuIds) {
+                Long productId = current.productIdsBySkuId.get(skuId);
+                if (productId != null) {
+                    affected.add(productId);
+                }
+            }
+
+            snapshot = current.with(affected, loaded);
+        }
+    }
+
+    private static Set<Long> drain(Set<Long> pending) {
+        Set<Long> drained = new HashSet<>();
+        for (Long id : pending) {
+            if (pending.remove(id)) {
+                drained.add(id);
+            }
+        }
+        return drained;
+    }
+
+    private static Map<Long, ProductEntry> group(List<CatalogIndexRow> rows) {
+        Map<Long, List<CatalogIndexRow>> rowsByProduct = rows.stream()
+                .collect(Collectors.groupingBy(CatalogIndexRow::getProductId, LinkedHashMap::new, Collectors.toList()));
+
+        Map<Long, ProductEntry> products = new HashMap<>();
+        rowsByProduct.forEach((productId, productRows) -> {
+            CatalogIndexRow first = productRows.get(0);
+            Map<Long, List<CatalogIndexRow>> rowsBySku = productRows.stream()
+                    .filter(row -> row.getSkuId() != null)
+                    .collect(Collectors.groupingBy(CatalogIndexRow::getSkuId, LinkedHashMap::new, Collectors.toList()));
+
+            List<SkuEntry> skus = new ArrayList<>(rowsBySku.size());
+            rowsBySku.forEach((skuId, skuRows) -> {
+                CatalogIndexRow sku = skuRows.get(0);
+                List<String> codes = skuRows.stream()
+                        .map(CatalogIndexRow::getCode)
+                        .filter(Objects::nonNull)
+                        .collect(Collectors.toUnmodifiableList());
+                skus.add(new SkuEntry(skuId, productId, first.getProductName(), first.getProductSlug(),
+                        sku.getSize(), sku.getColor(), sku.getPrice(), sku.getStockQty(), codes));
+            });
+
+            products.put(productId, new ProductEntry(productId, first.getProductName(), first.getProductSlug(),
+                    Collections.unmodifiableList(skus)));
+        });
+        return products;
+    }
+
+    /**
+     * Lowercase, strip accents (đ -> d) and collapse everything but letters and digits into single spaces
+     */
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String unaccented = MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+        String lower = unaccented.toLowerCase(Locale.ROOT).replace('đ', 'd');
+        return SEPARATORS.matcher(lower).replaceAll(" ").trim();
+    }
+
+    // ========== Entries ==========
+
+    @Value
+    public static class ProductEntry {
+        Long id;
+        String name;
+        String slug;
+        List<SkuEntry> skus;
+    }
+
+    /**
+     * A SKU with the name and slug of its product, as of the last refresh
+     */
+    @Value
+    public static class SkuEntry {
+        Long id;
+        Long productId;
+        String productName;
+        String productSlug;
+        String size;
+        String color;
+        BigDecimal price;
+        Integer stockQty;
+        List<String> codes;     // Primary first
+    }
+
+    /**
+     * Immutable state of the index; published only through the volatile {@code snapshot} field
+     */
+    private static final class Snapshot {
+        private final Map<Long, ProductEntry> products;
+        private final Map<String, SkuEntry> skusByCode;
+        private final Map<Long, Long> productIdsBySkuId;
+        private final NameIndex names;
+
+        private Snapshot(Map<Long, ProductEntry> products, Map<String, SkuEntry> skusByCode,
+                         Map<Long, Long> productIdsBySkuId, NameIndex names) {
+            this.products = products;
+            this.skusByCode = skusByCode;
+            this.productIdsBySkuId = productIdsBySkuId;
+            this.names = names;
+        }
+
+        static Snapshot of(Map<Long, ProductEntry> products) {
+            Map<String, SkuEntry> skusByCode = new HashMap<>();
+            Map<Long, Long> productIdsBySkuId = new HashMap<>();
+            products.values().forEach(product -> add(product, skusByCode, productIdsBySkuId));
+            return new Snapshot(products, skusByCode, productIdsBySkuId, NameIndex.of(products.values()));
+        }
+
+        /**
+         * Copy with the given products replaced by their loaded version, or removed when none was loaded
+         */
+        Snapshot with(Set<Long> productIds, Map<Long, ProductEntry> loaded) {
+            Map<Long, ProductEntry> nextProducts = new HashMap<>(products);
+            Map<String, SkuEntry> nextSkusByCode = new HashMap<>(skusByCode);
+            Map<Long, Long> nextProductIdsBySkuId = new HashMap<>(productIdsBySkuId);
+
+            // Remove every old version before adding any new one, so codes moved between products survive
+            boolean namesChanged = false;
+            for (Long productId : productIds) {
+                ProductEntry previous = nextProducts.remove(productId);
+                if (previous != null) {
+                    remove(previous, nextSkusByCode, nextProductIdsBySkuId);
+                }
+                ProductEntry next = loaded.get(productId);
+                namesChanged |= previous == null || next == null || !previous.getName().equals(next.getName());
+            }
+            for (Long productId : productIds) {
+                ProductEntry next = loaded.get(productId);
+                if (next != null) {
+                    nextProducts.put(productId, next);
+                    add(next, nextSkusByCode, nextProductIdsBySkuId);
+                }
+            }
+
+            // Stock and price changes, the common case, keep the name index as is
+            NameIndex nextNames = namesChanged ? NameIndex.of(nextProducts.values()) : names;
+            return new Snapshot(nextProducts, nextSkusByCode, nextProductIdsBySkuId, nextNames);
+        }
+
+        private static void add(ProductEntry product, Map<String, SkuEntry> skusByCode, Map<Long, Long> productIdsBySkuId) {
+            for (SkuEntry sku : product.getSkus()) {
+                productIdsBySkuId.put(sku.getId(), product.getId());
+                sku.getCodes().forEach(code -> skusByCode.put(code, sku));
+            }
+        }
+
+        private static void remove(ProductEntry product, Map<String, SkuEntry> skusByCode, Map<Long, Long> productIdsBySkuId) {
+            for (SkuEntry sku : product.getSkus()) {
+                productIdsBySkuId.remove(sku.getId(), product.getId());
+                sku.getCodes().forEach(code -> skusByCode.remove(code, sku));
+            }
+        }
+    }
+
+    /**
+     * Sorted (name suffix, product id) pairs, one per word start of every product name
+     */
+    private static final class NameIndex {
+        private final String[] keys;
+        private final long[] productIds;
+
+        private NameIndex(String[] keys, long[] productIds) {
+            this.keys = keys;
+            this.productIds = productIds;
+        }
+
+        static NameIndex of(Collection<ProductEntry> products) {
+            List<Map.Entry<String, Long>> entries = new ArrayList<>();
+            for (ProductEntry product : products) {
+                String name = normalize(product.getName());
+                for (int i = 0; i < name.length(); i++) {
+                    if (i == 0 || name.charAt(i - 1) == ' ') {
+                        entries.add(Map.entry(name.substring(i), product.getId()));
+                    }
+                }
+            }
+            entries.sort(Map.Entry.<String, Long>comparingByKey().thenComparing(Map.Entry.comparingByValue()));
+
+            String[] keys = new String[entries.size()];
+            long[] productIds = new long[entries.size()];
+            for (int i = 0; i < entries.size(); i++) {
+                keys[i] = entries.get(i).getKey();
+                productIds[i] = entries.get(i).getValue();
+            }
+            return new NameIndex(keys, productIds);
+        }
+
+        /**
+         * Distinct ids of the products with a key starting with the (normalized) prefix
+         */
+        List<Long> match(String prefix, int limit) {
+            Set<Long> matches = new LinkedHashSet<>();
+            for (int i = lowerBound(prefix); i < keys.length && matches.size() < limit && keys[i].startsWith(prefix); i++) {
+                matches.add(productIds[i]);
+            }
+            return new ArrayList<>(matches);
+        }
+
+        // First key not less than the prefix
+        private int lowerBound(String prefix) {
+            int low = 0;
+            int high = keys.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (keys[mid].compareTo(prefix) < 0) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+    }
+}
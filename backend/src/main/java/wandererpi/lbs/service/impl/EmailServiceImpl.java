@@ -35,38 +35,28 @@ public class EmailServiceImpl implements EmailService {
     private String frontendUrl;
 
     @Override
-    @Async
     public void sendOrderConfirmation(Order order, String rawToken) {
-        try {
-            SimpleMailMessage message = new SimpleMailMessage();
-            message.setFrom(fromEmail);
-            message.setTo(order.getCustomerEmail());
-            message.setSubject("Order Confirmation - #" + rawToken);
-            message.setText(buildOrderConfirmationEmail(order, rawToken));
-            
-            mailSender.send(message);
-            log.info("Order confirmation email sent to: {}", order.getCustomerEmail());
-        } catch (Exception e) {
-            log.error("Failed to send order confirmation email to: {}", order.getCustomerEmail(), e);
-            // Don't throw exception - email failure should not fail order creation
-        }
+        // Called by the outbox relay: failures propagate so the event is retried
+        SimpleMailMessage message = new SimpleMailMessage();
+        message.setFrom(fromEmail);
+        message.setTo(order.getCustomerEmail());
+        message.setSubject("Order Confirmation - #" + rawToken);
+        message.setText(buildOrderConfirmationEmail(order, rawToken));
+
+        mailSender.send(message);
+        log.info("Order confirmation email sent to: {}", order.getCustomerEmail());
     }
 
     @Override
-    @Async
     public void sendOrderStatusUpdate(Order order, OrderStatus oldStatus, OrderStatus newStatus) {
-        try {
-            SimpleMailMessage message = new SimpleMailMessage();
-            message.setFrom(fromEmail);
-            message.setTo(order.getCustomerEmail());
-            message.setSubject("Order Status Update - #" + order.getTrackingToken());
-            message.setText(buildOrderStatusUpdateEmail(order, oldStatus, newStatus));
-            
-            mailSender.send(message);
-            log.info("Order status update email sent to: {}", order.getCustomerEmail());
-        } catch (Exception e) {
-            log.error("Failed to send order status update email to: {}", order.getCustomerEmail(), e);
-        }
+        SimpleMailMessage message = new SimpleMailMessage();
+        message.setFrom(fromEmail);
+        message.setTo(order.getCustomerEmail());
+        message.setSubject("Order Status Update - #" + order.getTrackingToken());
+        message.setText(buildOrderStatusUpdateEmail(order, oldStatus, newStatus));
+
+        mailSender.send(message);
+        log.info("Order status update email sent to: {}", order.getCustomerEmail());
     }
 
     @Override
@@ -130,7 +120,7 @@ public class EmailServiceImpl implements EmailService {
         sb.append("Order Items:\n");
         sb.append("------------\n");
         
-        List<OrderItem> items = orderItemRepository.findByOrderId(order.getId());
+        List<OrderItem> items = orderItemRepository.findByOrder(order);
         for (OrderItem item : items) {
             sb.append(String.format("- %s (%s, %s) x%d @ %s = %s\n",
                 item.getSku().getProduct().getName(),
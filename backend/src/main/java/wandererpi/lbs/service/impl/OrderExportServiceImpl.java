@@ -0,0 +1,136 @@
+package wandererpi.lbs.service.impl;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import wandererpi.lbs.enums.ErrorCode;
+import wandererpi.lbs.exception.ApplicationException;
+import wandererpi.lbs.repository.jdbc.OrderExportRepository;
+import wandererpi.lbs.service.OrderExportService;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class OrderExportServiceImpl implements OrderExportService {
+
+    private static final String[] HEADER = {
+            "order_id", "created_at", "status", "payment_method", "customer_name", "customer_phone",
+            "customer_email", "shipping_address", "order_total", "order_item_id", "sku_id", "sku_code",
+            "product_name", "size", "color", "quantity", "unit_price", "line_total"
+    };
+
+    // Excel needs the BOM to read UTF-8 (Vietnamese names and addresses)
+    private static final String UTF8_BOM = "\uFEFF";
+
+    private static final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")
+            .withZone(ZoneId.of("Asia/Ho_Chi_Minh"));
+
+    private final OrderExportRepository orderExportRepository;
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportOrdersCsv(Instant startDate, Instant endDate, OutputStream outputStream) {
+        if (startDate == null || endDate == null || !startDate.isBefore(endDate)) {
+            throw new ApplicationException(ErrorCode.INVALID_REQUEST);
+        }
+
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        long[] rowCount = {0};
+
+        try {
+            writer.write(UTF8_BOM);
+            writeRow(writer, HEADER);
+
+            // Each row goes straight to the response buffer; nothing is accumulated
+            orderExportRepository.streamOrderLines(startDate, endDate, rs -> {
+                writeRow(writer, toCsvRow(rs));
+                rowCount[0]++;
+            });
+
+            writer.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        log.info("Exported {} order line(s) between {} and {}", rowCount[0], startDate, endDate);
+    }
+
+    // ========== Private Helper Methods ==========
+
+    private String[] toCsvRow(ResultSet rs) throws SQLException {
+        BigDecimal unitPrice = rs.getBigDecimal("unit_price");
+        int quantity = rs.getInt("quantity");
+
+        return new String[]{
+                String.valueOf(rs.getLong("order_id")),
+                DATE_TIME_FORMATTER.format(rs.getTimestamp("created_at").toInstant()),
+                rs.getString("status"),
+                rs.getString("payment_method"),
+                rs.getString("customer_name"),
+                rs.getString("customer_phone"),
+                rs.getString("customer_email"),
+                rs.getString("shipping_addr"),
+                rs.getBigDecimal("total_amount").toPlainString(),
+                String.valueOf(rs.getLong("order_item_id")),
+                String.valueOf(rs.getLong("sku_id")),
+                rs.getString("sku_code"),
+                rs.getString("product_name"),
+                rs.getString("size"),
+                rs.getString("color"),
+                String.valueOf(quantity),
+                unitPrice.toPlainString(),
+                unitPrice.multiply(BigDecimal.valueOf(quantity)).toPlainString()
+        };
+    }
+
+    private void writeRow(Writer writer, String[] values) {
+        try {
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                writer.write(escape(values[i]));
+            }
+            writer.write("\r\n");
+        } catch (IOException e) {
+            // Client disconnected; abort the query instead of reading the rest of the cursor
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * RFC 4180 quoting, plus neutralising leading formula characters so spreadsheet apps
+     * do not evaluate customer-provided text
+     */
+    private String escape(String value) {
+        if (value == null) {
+            return "";
+        }
+
+        String escaped = value;
+        if (!escaped.isEmpty() && "=+-@".indexOf(escaped.charAt(0)) >= 0) {
+            escaped = "'" + escaped;
+        }
+
+        if (escaped.indexOf(',') >= 0 || escaped.indexOf('"') >= 0
+                || escaped.indexOf('\n') >= 0 || escaped.indexOf('\r') >= 0) {
+            escaped = "\"" + escaped.replace("\"", "\"\"") + "\"";
+        }
+        return escaped;
+    }
+}
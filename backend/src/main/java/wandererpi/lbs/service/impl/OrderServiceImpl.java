@@ -2,17 +2,25 @@ package wandererpi.lbs.service.impl;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import wandererpi.lbs.config.PaymentConfig;
+import wandererpi.lbs.dto.event.OrderPlacedPayload;
+import wandererpi.lbs.dto.event.OrderStatusChangedPayload;
+import wandererpi.lbs.dto.request.BulkUpdateOrderStatusRequest;
 import wandererpi.lbs.dto.request.CancelOrderRequest;
+import wandererpi.lbs.dto.request.OrderSearchRequest;
 import wandererpi.lbs.dto.request.PlaceOrderRequest;
 import wandererpi.lbs.dto.request.UpdateOrderStatusRequest;
+import wandererpi.lbs.dto.response.BulkOrderStatusResponse;
+import wandererpi.lbs.dto.response.CursorPageResponse;
 import wandererpi.lbs.dto.response.OrderHistoryResponse;
 import wandererpi.lbs.dto.response.OrderItemResponse;
 import wandererpi.lbs.dto.response.OrderResponse;
@@ -20,21 +28,31 @@ import wandererpi.lbs.dto.response.OrderSummaryResponse;
 import wandererpi.lbs.entity.*;
 import wandererpi.lbs.enums.ErrorCode;
 import wandererpi.lbs.enums.OrderStatus;
+import wandererpi.lbs.enums.OutboxEventType;
 import wandererpi.lbs.enums.PaymentMethod;
 import wandererpi.lbs.enums.ReservationStatus;
+import wandererpi.lbs.event.OrderPlacedEvent;
+import wandererpi.lbs.event.OrderStatusChangedEvent;
 import wandererpi.lbs.exception.ApplicationException;
+import wandererpi.lbs.repository.jdbc.OrderSearchRepository;
+import wandererpi.lbs.repository.jdbc.OrderStatusRepository;
 import wandererpi.lbs.repository.jdbc.StockRepository;
 import wandererpi.lbs.repository.jpa.*;
-import wandererpi.lbs.service.EmailService;
 import wandererpi.lbs.service.OrderService;
+import wandererpi.lbs.service.OutboxService;
+import wandererpi.lbs.service.cache.OrderTrackingCache;
+import wandererpi.lbs.service.outbox.OutboxPayloadCipher;
+import wandererpi.lbs.service.payment.PaymentQrStore;
 import wandererpi.lbs.service.validator.OrderStatusValidator;
-import wandererpi.lbs.util.VietQRUtil;
+import wandererpi.lbs.util.CursorUtil;
 
 import java.math.BigDecimal;
 import java.nio.charset.StandardCharsets;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
 import java.time.Instant;
+import java.time.format.DateTimeParseException;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -43,17 +61,26 @@ import java.util.stream.Collectors;
 @Transactional(readOnly = true)
 @Slf4j
 public class OrderServiceImpl implements OrderService {
+    private static final int MAX_SEARCH_PAGE_SIZE = 100;
+
     private final PaymentConfig paymentConfig;
     private final OrderRepository orderRepository;
     private final OrderItemRepository orderItemRepository;
     private final OrderHistoryRepository orderHistoryRepository;
+    private final OrderReadModelRepository orderReadModelRepository;
     private final ReservationRepository reservationRepository;
     private final CartRepository cartRepository;
     private final CartItemRepository cartItemRepository;
     private final SkuRepository skuRepository;
     private final StockRepository stockRepository;
-    private final EmailService emailService;
+    private final OrderSearchRepository orderSearchRepository;
+    private final OrderStatusRepository orderStatusRepository;
+    private final OutboxService outboxService;
+    private final OutboxPayloadCipher outboxPayloadCipher;
     private final OrderStatusValidator orderStatusValidator;
+    private final ApplicationEventPublisher eventPublisher;
+    private final OrderTrackingCache orderTrackingCache;
+    private final PaymentQrStore paymentQrStore;
 
     @Override
     @Transactional(isolation = Isolation.READ_COMMITTED)
@@ -108,23 +135,29 @@ public class OrderServiceImpl implements OrderService {
         log.info("Order created with ID: {} and tracking token: {}", order.getId(), order.getTrackingToken());
 
         // 5. Create order items from reservations
+        List<OrderItem> orderItems = new ArrayList<>(reservations.size());
         for (Reservation reservation : reservations) {
             Sku sku = reservation.getSku();
 
-            OrderItem orderItem = OrderItem.builder()
+            orderItems.add(OrderItem.builder()
                     .order(order)
                     .sku(sku)
                     .quantity(reservation.getQuantity())
                     .unitPrice(sku.getPrice())  // Price snapshot
-                    .build();
-
-            orderItemRepository.save(orderItem);
+                    .build());
 
             // 6. Mark reservation as CONSUMED
             reservation.setStatus(ReservationStatus.CONSUMED);
-            reservationRepository.save(reservation);
         }
 
+        // Sequence-backed ids let Hibernate flush these as JDBC batches
+        orderItemRepository.saveAll(orderItems);
+        reservationRepository.saveAll(reservations);
+
+        // Render the read model once, while SKUs and products are already in the session
+        OrderReadModel readModel = buildReadModel(order, orderItems);
+        orderReadModelRepository.save(readModel);
+
         // 7. Clear cart
         cartItemRepository.deleteByCartId(cart.getId());
         log.info("Cart cleared for cart ID: {}", cart.getId());
@@ -140,33 +173,69 @@ public class OrderServiceImpl implements OrderService {
 
         log.info("Order placement completed for order ID: {}", order.getId());
 
-        // 9. Send confirmation email (async)
-        emailService.sendOrderConfirmation(order, rawToken);
+        // 9. Queue confirmation email; the outbox relay sends it once this transaction commits
+        outboxService.publish(OutboxEventType.ORDER_PLACED, order.getId(),
+                OrderPlacedPayload.builder().encryptedToken(outboxPayloadCipher.encrypt(rawToken)).build());
+        eventPublisher.publishEvent(new OrderPlacedEvent(order.getId(), order.getPaymentMethod(), order.getTotalAmount()));
 
-        OrderResponse response = mapToOrderResponse(order);
+        OrderResponse response = mapReadModelToResponse(readModel);
 
         // If BANK_TRANSFER, add payment info
         if (order.getPaymentMethod() == PaymentMethod.BANK_TRANSFER) {
-            response.setBankTransferInfo(generateBankTransferInfo(order));
+            response.setBankTransferInfo(generateBankTransferInfo(order, rawToken));
         }
 
         return response;
     }
 
     @Override
+    // SUPPORTS: no connection is taken from the pool unless the cache misses
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public OrderResponse getOrderByTrackingToken(String trackingToken) {
         String hashedToken = hashToken(trackingToken);
 
-        Order order = orderRepository.findByTrackingToken(hashedToken)
-                .orElseThrow(() -> new ApplicationException(ErrorCode.ORDER_NOT_FOUND));
-        return mapToOrderResponse(order);
+        // 1. Tracking cache: rendered response, or a token already known not to exist
+        OrderTrackingCache.Lookup cached = orderTrackingCache.get(hashedToken);
+        if (cached.isMissing()) {
+            throw new ApplicationException(ErrorCode.ORDER_NOT_FOUND);
+        }
+        if (cached.isCached()) {
+            return cached.getResponse();
+        }
+
+        // 2. Read model, falling back to the normalized tables
+        Optional<OrderResponse> response = orderReadModelRepository.findByTrackingToken(hashedToken)
+                .map(this::mapReadModelToResponse)
+                .or(() -> orderRepository.findByTrackingToken(hashedToken).map(this::mapToOrderResponse));
+
+        if (response.isEmpty()) {
+            orderTrackingCache.putMissing(hashedToken);
+            throw new ApplicationException(ErrorCode.ORDER_NOT_FOUND);
+        }
+
+        orderTrackingCache.put(hashedToken, response.get());
+        return response.get();
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public String getPaymentQrContent(String trackingToken) {
+        OrderResponse order = getOrderByTrackingToken(trackingToken);
+
+        if (order.getPaymentMethod() != PaymentMethod.BANK_TRANSFER
+                || order.getStatus() != OrderStatus.PENDING_PAYMENT) {
+            throw new ApplicationException(ErrorCode.INVALID_ORDER_STATUS);
+        }
+
+        return paymentQrStore.getPayload(order.getOrderId(), order.getTotalAmount().longValue());
     }
 
     @Override
     public OrderResponse getOrderById(Long orderId) {
-        Order order = orderRepository.findById(orderId)
-                .orElseThrow(() -> new ApplicationException(ErrorCode.ORDER_NOT_FOUND));
-        return mapToOrderResponse(order);
+        return orderReadModelRepository.findById(orderId)
+                .map(this::mapReadModelToResponse)
+                .orElseGet(() -> mapToOrderResponse(orderRepository.findById(orderId)
+                        .orElseThrow(() -> new ApplicationException(ErrorCode.ORDER_NOT_FOUND))));
     }
 
     @Override
@@ -186,6 +255,54 @@ public class OrderServiceImpl implements OrderService {
         return orders.map(this::mapToOrderSummaryResponse);
     }
 
+    @Override
+    public CursorPageResponse<OrderSummaryResponse> searchOrders(OrderSearchRequest request) {
+        int size = Math.min(Math.max(request.getSize(), 1), MAX_SEARCH_PAGE_SIZE);
+
+        // 1. Resolve keyset position from the cursor
+        Instant afterCreatedAt = null;
+        Long afterId = null;
+        if (request.getCursor() != null && !request.getCursor().isBlank()) {
+            String[] parts = CursorUtil.decode(request.getCursor(), 2);
+            try {
+                afterCreatedAt = Instant.parse(parts[0]);
+                afterId = Long.parseLong(parts[1]);
+            } catch (DateTimeParseException | NumberFormatException e) {
+                throw new ApplicationException(ErrorCode.INVALID_CURSOR);
+            }
+        }
+
+        // 2. Fetch one extra row to know whether another page exists
+        List<OrderSummaryResponse> rows = orderSearchRepository.search(request, afterCreatedAt, afterId, size + 1);
+        boolean hasNext = rows.size() > size;
+        List<OrderSummaryResponse> content = hasNext ? rows.subList(0, size) : rows;
+
+        String nextCursor = null;
+        if (hasNext) {
+            OrderSummaryResponse last = content.get(content.size() - 1);
+            nextCursor = CursorUtil.encode(last.getCreatedAt().toString(), last.getOrderId().toString());
+        }
+
+        // 3. Optional total: planner estimate when unfiltered, exact count otherwise
+        Long totalElements = null;
+        Boolean totalEstimated = null;
+        if (Boolean.TRUE.equals(request.getIncludeTotal())) {
+            totalEstimated = !request.hasFilters();
+            totalElements = totalEstimated
+                    ? orderSearchRepository.estimateTotal()
+                    : orderSearchRepository.count(request);
+        }
+
+        return CursorPageResponse.<OrderSummaryResponse>builder()
+                .content(new ArrayList<>(content))
+                .pageSize(size)
+                .hasNext(hasNext)
+                .nextCursor(nextCursor)
+                .totalElements(totalElements)
+                .totalEstimated(totalEstimated)
+                .build();
+    }
+
     @Override
     @Transactional
     public OrderResponse updateOrderStatus(Long orderId, UpdateOrderStatusRequest request, String adminEmail) {
@@ -201,6 +318,7 @@ public class OrderServiceImpl implements OrderService {
         // Update order status
         order.setStatus(newStatus);
         order = orderRepository.save(order);
+        orderReadModelRepository.updateStatus(orderId, newStatus, Instant.now());
 
         // Create history entry
         OrderHistory history = OrderHistory.builder()
@@ -209,14 +327,92 @@ public class OrderServiceImpl implements OrderService {
                 .newStatus(newStatus.name())
                 .note(request.getNote() != null ? request.getNote() : "Status updated by admin")
                 .build();
-        // Send status update email (async)
-        emailService.sendOrderStatusUpdate(order, oldStatus, newStatus);
-
         orderHistoryRepository.save(history);
 
+        // Queue status update email
+        publishStatusChanged(order.getId(), oldStatus, newStatus);
+
         log.info("Order {} status updated from {} to {} by {}", orderId, oldStatus, newStatus, adminEmail);
 
-        return mapToOrderResponse(order);
+        return toOrderResponse(order);
+    }
+
+    @Override
+    @Transactional
+    public BulkOrderStatusResponse bulkUpdateOrderStatus(BulkUpdateOrderStatusRequest request, String adminEmail) {
+        OrderStatus newStatus = request.getNewStatus();
+
+        // Cancellation also restores stock, which this path does not do
+        if (newStatus == OrderStatus.CANCELLED) {
+            throw new ApplicationException(ErrorCode.INVALID_ORDER_STATUS);
+        }
+
+        // 1. Load current statuses in one query
+        List<Long> orderIds = request.getOrderIds().stream().distinct().toList();
+        Map<Long, OrderStatus> currentStatuses = orderStatusRepository.findStatuses(orderIds);
+
+        // 2. Validate every transition in memory, grouping valid orders by their current status
+        List<BulkOrderStatusResponse.RejectedTransition> rejected = new ArrayList<>();
+        Map<OrderStatus, List<Long>> idsByCurrentStatus = new EnumMap<>(OrderStatus.class);
+
+        for (Long orderId : orderIds) {
+            OrderStatus currentStatus = currentStatuses.get(orderId);
+            if (currentStatus == null) {
+                rejected.add(rejection(orderId, null, "Order not found"));
+            } else if (!orderStatusValidator.canTransition(currentStatus, newStatus)) {
+                rejected.add(rejection(orderId, currentStatus,
+                        "Cannot transition from " + currentStatus + " to " + newStatus));
+            } else {
+                idsByCurrentStatus.computeIfAbsent(currentStatus, k -> new ArrayList<>()).add(orderId);
+            }
+        }
+
+        // 3. One compare-and-set UPDATE per source status (at most a handful)
+        List<Long> updatedIds = new ArrayList<>();
+        List<OrderHistory> histories = new ArrayList<>();
+        String note = request.getNote() != null ? request.getNote() : "Bulk status update by admin";
+
+        for (Map.Entry<OrderStatus, List<Long>> group : idsByCurrentStatus.entrySet()) {
+            OrderStatus oldStatus = group.getKey();
+            List<Long> updated = orderStatusRepository.transitionStatus(group.getValue(), oldStatus, newStatus);
+
+            Set<Long> updatedSet = new HashSet<>(updated);
+            for (Long orderId : group.getValue()) {
+                if (!updatedSet.contains(orderId)) {
+                    rejected.add(rejection(orderId, oldStatus, "Order status changed concurrently"));
+                }
+            }
+
+            for (Long orderId : updated) {
+                histories.add(OrderHistory.builder()
+                        .order(orderRepository.getReferenceById(orderId))
+                        .oldStatus(oldStatus.name())
+                        .newStatus(newStatus.name())
+                        .note(note)
+                        .build());
+
+                // 4. Notifications go through the outbox, dispatched after commit
+                publishStatusChanged(orderId, oldStatus, newStatus);
+            }
+            updatedIds.addAll(updated);
+        }
+
+        // 5. History rows and read model patch in batch
+        if (!updatedIds.isEmpty()) {
+            orderHistoryRepository.saveAll(histories);
+            orderReadModelRepository.updateStatusIn(updatedIds, newStatus, Instant.now());
+        }
+
+        log.info("Bulk status update to {} by {}: {} updated, {} rejected",
+                newStatus, adminEmail, updatedIds.size(), rejected.size());
+
+        return BulkOrderStatusResponse.builder()
+                .newStatus(newStatus)
+                .requestedCount(orderIds.size())
+                .updatedCount(updatedIds.size())
+                .updatedOrderIds(updatedIds)
+                .rejected(rejected)
+                .build();
     }
 
     @Override
@@ -237,11 +433,12 @@ public class OrderServiceImpl implements OrderService {
         }
 
         // Restore stock
-        restoreStockForOrder(orderId);
+        restoreStockForOrder(order);
 
         // Update order status
         order.setStatus(OrderStatus.CANCELLED);
         order = orderRepository.save(order);
+        orderReadModelRepository.updateStatus(orderId, OrderStatus.CANCELLED, Instant.now());
 
         // Create history entry
         OrderHistory history = OrderHistory.builder()
@@ -252,24 +449,98 @@ public class OrderServiceImpl implements OrderService {
                 .build();
         orderHistoryRepository.save(history);
 
+        publishStatusChanged(order.getId(), currentStatus, OrderStatus.CANCELLED);
+
         log.info("Order {} cancelled by {}. Reason: {}", orderId, adminEmail, request.getReason());
 
-        return mapToOrderResponse(order);
+        return toOrderResponse(order);
     }
 
     @Override
     public List<OrderHistoryResponse> getOrderHistory(Long orderId) {
-        // Verify order exists
-        if (!orderRepository.existsById(orderId)) {
-            throw new ApplicationException(ErrorCode.ORDER_NOT_FOUND);
-        }
+        // Verify order exists; its creation time bounds the partitions the history lookup touches
+        Instant orderCreatedAt = orderRepository.findCreatedAtById(orderId)
+                .orElseThrow(() -> new ApplicationException(ErrorCode.ORDER_NOT_FOUND));
 
-        List<OrderHistory> histories = orderHistoryRepository.findByOrderIdOrderByUpdatedAtDesc(orderId);
+        List<OrderHistory> histories = orderHistoryRepository.findByOrderIdOrderByUpdatedAtDesc(orderId, orderCreatedAt);
         return histories.stream()
                 .map(this::mapToOrderHistoryResponse)
                 .collect(Collectors.toList());
     }
 
+    @Override
+    @Transactional
+    public int cancelExpiredPendingOrders(PaymentMethod paymentMethod, Duration timeout, int limit) {
+        // 1. Cancel a chunk in one set-based UPDATE (rows being paid right now are skipped, not waited on)
+        Map<Long, Instant> cancelled = orderStatusRepository.cancelExpiredPendingOrders(
+                paymentMethod, Instant.now().minus(timeout), limit);
+
+        if (cancelled.isEmpty()) {
+            return 0;
+        }
+
+        List<Long> orderIds = new ArrayList<>(cancelled.keySet());
+        Instant oldestCreatedAt = Collections.min(cancelled.values());
+
+        // 2. Return all reserved units to stock in one aggregated statement
+        stockRepository.restoreStockForOrders(orderIds, oldestCreatedAt);
+
+        // 3. History rows in one batch
+        String note = "Order cancelled automatically: payment not received within " + timeout.toMinutes() + " minutes";
+        List<OrderHistory> histories = orderIds.stream()
+                .map(orderId -> OrderHistory.builder()
+                        .order(orderRepository.getReferenceById(orderId))
+                        .oldStatus(OrderStatus.PENDING_PAYMENT.name())
+                        .newStatus(OrderStatus.CANCELLED.name())
+                        .note(note)
+                        .build())
+                .toList();
+        orderHistoryRepository.saveAll(histories);
+
+        // 4. Read model and notifications
+        orderReadModelRepository.updateStatusIn(orderIds, OrderStatus.CANCELLED, Instant.now());
+        orderIds.forEach(orderId -> publishStatusChanged(orderId, OrderStatus.PENDING_PAYMENT, OrderStatus.CANCELLED));
+
+        log.info("Cancelled {} unpaid {} order(s) older than {}", orderIds.size(), paymentMethod, timeout);
+
+        return orderIds.size();
+    }
+
+    @Override
+    @Transactional
+    public List<Long> confirmReconciledPayments(Map<Long, String> notesByOrderId) {
+        if (notesByOrderId.isEmpty()) {
+            return List.of();
+        }
+
+        // 1. Compare-and-set in one UPDATE, so orders paid by webhook or cancelled meanwhile are left alone
+        List<Long> confirmed = orderStatusRepository.transitionStatus(
+                notesByOrderId.keySet(), OrderStatus.PENDING_PAYMENT, OrderStatus.CONFIRMED);
+
+        if (confirmed.isEmpty()) {
+            return confirmed;
+        }
+
+        // 2. History rows in one batch
+        List<OrderHistory> histories = confirmed.stream()
+                .map(orderId -> OrderHistory.builder()
+                        .order(orderRepository.getReferenceById(orderId))
+                        .oldStatus(OrderStatus.PENDING_PAYMENT.name())
+                        .newStatus(OrderStatus.CONFIRMED.name())
+                        .note(notesByOrderId.get(orderId))
+                        .build())
+                .toList();
+        orderHistoryRepository.saveAll(histories);
+
+        // 3. Read model and notifications
+        orderReadModelRepository.updateStatusIn(confirmed, OrderStatus.CONFIRMED, Instant.now());
+        confirmed.forEach(orderId -> publishStatusChanged(orderId, OrderStatus.PENDING_PAYMENT, OrderStatus.CONFIRMED));
+
+        log.info("Confirmed payment for {} order(s) from bank statement reconciliation", confirmed.size());
+
+        return confirmed;
+    }
+
     // ========== Private Helper Methods ==========
 
     private OrderStatus determineOrderStatus(PaymentMethod paymentMethod) {
@@ -298,8 +569,23 @@ public class OrderServiceImpl implements OrderService {
         }
     }
 
-    private void restoreStockForOrder(Long orderId) {
-        List<OrderItem> items = orderItemRepository.findByOrderId(orderId);
+    private BulkOrderStatusResponse.RejectedTransition rejection(Long orderId, OrderStatus currentStatus,
+                                                                 String reason) {
+        return BulkOrderStatusResponse.RejectedTransition.builder()
+                .orderId(orderId)
+                .currentStatus(currentStatus)
+                .reason(reason)
+                .build();
+    }
+
+    private void publishStatusChanged(Long orderId, OrderStatus oldStatus, OrderStatus newStatus) {
+        outboxService.publish(OutboxEventType.ORDER_STATUS_CHANGED, orderId,
+                OrderStatusChangedPayload.builder().oldStatus(oldStatus).newStatus(newStatus).build());
+        eventPublisher.publishEvent(new OrderStatusChangedEvent(orderId, oldStatus, newStatus));
+    }
+
+    private void restoreStockForOrder(Order order) {
+        List<OrderItem> items = orderItemRepository.findByOrder(order);
 
         for (OrderItem item : items) {
             // Delegate to stock repository for restoration
@@ -309,13 +595,61 @@ public class OrderServiceImpl implements OrderService {
             );
 
             log.info("Restored {} units of SKU {} for cancelled order {}",
-                    item.getQuantity(), item.getSku().getId(), orderId);
+                    item.getQuantity(), item.getSku().getId(), order.getId());
 
         }
     }
 
+    /**
+     * Prefer the read model; orders without one (should not happen after V11) fall back to the join path
+     */
+    private OrderResponse toOrderResponse(Order order) {
+        return orderReadModelRepository.findById(order.getId())
+                .map(this::mapReadModelToResponse)
+                .orElseGet(() -> mapToOrderResponse(order));
+    }
+
+    private OrderReadModel buildReadModel(Order order, List<OrderItem> orderItems) {
+        List<OrderItemResponse> itemResponses = orderItems.stream()
+                .map(this::mapToOrderItemResponse)
+                .collect(Collectors.toList());
+
+        return OrderReadModel.builder()
+                .orderId(order.getId())
+                .trackingToken(order.getTrackingToken())
+                .status(order.getStatus())
+                .paymentMethod(order.getPaymentMethod())
+                .totalAmount(order.getTotalAmount())
+                .customerName(order.getCustomerName())
+                .customerPhone(order.getCustomerPhone())
+                .customerEmail(order.getCustomerEmail())
+                .shippingAddr(order.getShippingAddr())
+                .note(order.getNote())
+                .items(itemResponses)
+                .createdAt(order.getCreatedAt())
+                .updatedAt(Instant.now())
+                .build();
+    }
+
+    private OrderResponse mapReadModelToResponse(OrderReadModel readModel) {
+        return OrderResponse.builder()
+                .orderId(readModel.getOrderId())
+                .trackingToken(readModel.getTrackingToken())
+                .status(readModel.getStatus())
+                .paymentMethod(readModel.getPaymentMethod())
+                .totalAmount(readModel.getTotalAmount())
+                .customerName(readModel.getCustomerName())
+                .customerPhone(readModel.getCustomerPhone())
+                .customerEmail(readModel.getCustomerEmail())
+                .shippingAddress(readModel.getShippingAddr())
+                .note(readModel.getNote())
+                .items(readModel.getItems())
+                .createdAt(readModel.getCreatedAt())
+                .build();
+    }
+
     private OrderResponse mapToOrderResponse(Order order) {
-        List<OrderItem> orderItems = orderItemRepository.findByOrderId(order.getId());
+        List<OrderItem> orderItems = orderItemRepository.findByOrder(order);
 
         List<OrderItemResponse> itemResponses = orderItems.stream()
                 .map(this::mapToOrderItemResponse)
@@ -376,19 +710,13 @@ public class OrderServiceImpl implements OrderService {
     }
 
     /**
-     * Generate bank transfer information with QR code
+     * Generate bank transfer information; the QR image is served from the payload PaymentQrStore encodes after commit
      */
-    private OrderResponse.BankTransferInfo generateBankTransferInfo(Order order) {
+    private OrderResponse.BankTransferInfo generateBankTransferInfo(Order order, String rawToken) {
         String transferMessage = "ORDER-" + order.getId();
-        String qrContent = VietQRUtil.generateVietQR(
-                paymentConfig.getBankTransfer().getBankCode(),
-                paymentConfig.getBankTransfer().getAccountNo(),
-                order.getTotalAmount().longValue(),
-                transferMessage
-        );
 
         return OrderResponse.BankTransferInfo.builder()
-                .qrContent(qrContent)
+                .qrImageUrl("/api/v1/order/" + rawToken + "/qr.png")
                 .bankCode(paymentConfig.getBankTransfer().getBankCode())
                 .accountNo(paymentConfig.getBankTransfer().getAccountNo())
                 .accountName(paymentConfig.getBankTransfer().getAccountName())
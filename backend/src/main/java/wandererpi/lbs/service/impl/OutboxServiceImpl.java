@@ -0,0 +1,162 @@
+package wandererpi.lbs.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import wandererpi.lbs.config.OutboxConfig;
+import wandererpi.lbs.entity.OutboxEvent;
+import wandererpi.lbs.enums.ErrorCode;
+import wandererpi.lbs.enums.OutboxEventType;
+import wandererpi.lbs.enums.OutboxStatus;
+import wandererpi.lbs.exception.ApplicationException;
+import wandererpi.lbs.repository.jpa.OutboxEventRepository;
+import wandererpi.lbs.service.OutboxService;
+import wandererpi.lbs.service.outbox.OutboxEventHandler;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class OutboxServiceImpl implements OutboxService {
+
+    private static final int MAX_ERROR_LENGTH = 2000;
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final List<OutboxEventHandler> handlers;
+    private final OutboxConfig outboxConfig;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void publish(OutboxEventType eventType, Long aggregateId, Object payload) {
+        OutboxEvent event = OutboxEvent.builder()
+                .eventType(eventType)
+                .aggregateId(aggregateId)
+                .payload(toJson(payload))
+                .status(OutboxStatus.PENDING)
+                .attempts(0)
+                .nextAttemptAt(Instant.now())
+                .build();
+
+        outboxEventRepository.save(event);
+    }
+
+    @Override
+    @Transactional
+    public List<Long> claimDueEvents() {
+        Instant now = Instant.now();
+        List<OutboxEvent> events = outboxEventRepository.lockDueEvents(now, outboxConfig.getBatchSize());
+
+        // Pushing the due time out leases the events to this relay; a relay that dies mid-batch leaves
+        // them PENDING, and they are picked up again once the lease expires
+        for (OutboxEvent event : events) {
+            event.setAttempts(event.getAttempts() + 1);
+            event.setNextAttemptAt(now.plus(outboxConfig.getDispatchTimeout()));
+        }
+
+        // Claims are committed before dispatching, so the row locks are held only for this short transaction
+        // and no transaction is open while mail is sent
+        return events.stream().map(OutboxEvent::getId).toList();
+    }
+
+    @Override
+    public void dispatch(Long eventId) {
+        // 1. Read the claimed event; no transaction is kept open while the handlers send mail
+        OutboxEvent event = outboxEventRepository.findById(eventId).orElse(null);
+        if (event == null || event.getStatus() != OutboxStatus.PENDING) {
+            log.warn("Outbox event {} is no longer pending, skipping", eventId);
+            return;
+        }
+
+        // 2. Run the handlers
+        Exception failure = null;
+        try {
+            for (OutboxEventHandler handler : handlers) {
+                if (handler.supports(event.getEventType())) {
+                    handler.handle(event);
+                }
+            }
+        } catch (Exception e) {
+            failure = e;
+        }
+
+        // 3. Record the outcome in a short transaction of its own
+        Exception outcome = failure;
+        transactionTemplate.executeWithoutResult(status -> recordOutcome(eventId, event.getAttempts(), outcome));
+    }
+
+    @Override
+    @Transactional
+    public int purgeProcessedEvents() {
+        Instant before = Instant.now().minus(outboxConfig.getRetention());
+        return outboxEventRepository.deleteByStatusAndProcessedAtBefore(OutboxStatus.PROCESSED, before);
+    }
+
+    // ========== Private Helper Methods ==========
+
+    /**
+     * Mark a dispatched event processed, retried or FAILED. The event is skipped if its lease expired
+     * and another relay claimed it in the meantime, so that relay's attempt is not overwritten.
+     */
+    private void recordOutcome(Long eventId, int claimedAttempts, Exception failure) {
+        OutboxEvent event = outboxEventRepository.findById(eventId).orElse(null);
+        if (event == null || event.getStatus() != OutboxStatus.PENDING || event.getAttempts() != claimedAttempts) {
+            log.warn("Outbox event {} was claimed again while being dispatched, not recording attempt {}",
+                    eventId, claimedAttempts);
+            return;
+        }
+
+        if (failure == null) {
+            // The payload may carry secrets (the encrypted tracking token) that nothing needs any more
+            event.setStatus(OutboxStatus.PROCESSED);
+            event.setProcessedAt(Instant.now());
+            event.setPayload(null);
+            event.setLastError(null);
+            return;
+        }
+
+        event.setLastError(truncate(failure.toString()));
+        if (event.getAttempts() >= outboxConfig.getMaxAttempts()) {
+            event.setStatus(OutboxStatus.FAILED);
+            log.error("Outbox event {} ({}) for aggregate {} failed permanently after {} attempts",
+                    event.getId(), event.getEventType(), event.getAggregateId(), event.getAttempts(), failure);
+        } else {
+            event.setNextAttemptAt(Instant.now().plus(backoff(event.getAttempts())));
+            log.warn("Outbox event {} ({}) failed on attempt {}, retry at {}: {}",
+                    event.getId(), event.getEventType(), event.getAttempts(), event.getNextAttemptAt(), failure.toString());
+        }
+    }
+
+    /**
+     * Exponential backoff: initial * 2^(attempt - 1), capped at maxBackoff
+     */
+    private Duration backoff(int attempt) {
+        Duration backoff = outboxConfig.getInitialBackoff().multipliedBy(1L << Math.min(attempt - 1, 20));
+        return backoff.compareTo(outboxConfig.getMaxBackoff()) > 0 ? outboxConfig.getMaxBackoff() : backoff;
+    }
+
+    private String toJson(Object payload) {
+        if (payload == null) {
+            return null;
+        }
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            log.error("Failed to serialize outbox payload {}", payload, e);
+            throw new ApplicationException(ErrorCode.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    private String truncate(String message) {
+        return message.length() > MAX_ERROR_LENGTH ? message.substring(0, MAX_ERROR_LENGTH) : message;
+    }
+}
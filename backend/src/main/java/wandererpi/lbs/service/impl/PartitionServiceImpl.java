@@ -0,0 +1,90 @@
+package wandererpi.lbs.service.impl;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import wandererpi.lbs.config.PartitionConfig;
+import wandererpi.lbs.repository.jdbc.PartitionRepository;
+import wandererpi.lbs.service.PartitionService;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PartitionServiceImpl implements PartitionService {
+
+    // Range-partitioned by created_at in migration V13
+    private static final String ORDERS_TABLE = "orders";
+    private static final List<String> PARTITIONED_TABLES = List.of(ORDERS_TABLE, "order_items", "order_histories");
+
+    private static final Pattern MONTHLY_PARTITION_PATTERN = Pattern.compile("_y(\\d{4})m(\\d{2})$");
+
+    private final PartitionRepository partitionRepository;
+    private final PartitionConfig partitionConfig;
+    private final TransactionTemplate transactionTemplate;
+
+    @Override
+    public int ensureFuturePartitions() {
+        // Bounds are in the JVM's local time, the same way created_at values are written
+        LocalDate currentMonth = LocalDate.now().withDayOfMonth(1);
+        int ensured = 0;
+
+        for (String table : PARTITIONED_TABLES) {
+            for (int i = 0; i <= partitionConfig.getMonthsAhead(); i++) {
+                partitionRepository.createMonthlyPartition(table, currentMonth.plusMonths(i));
+                ensured++;
+            }
+        }
+        return ensured;
+    }
+
+    @Override
+    public int archiveExpiredPartitions() {
+        PartitionConfig.Archive archive = partitionConfig.getArchive();
+        if (!archive.isEnabled()) {
+            return 0;
+        }
+
+        // A partition is archived once its whole month is older than the retention window
+        LocalDate cutoff = LocalDate.now().withDayOfMonth(1).minusMonths(archive.getRetentionMonths());
+        int archived = 0;
+
+        for (String table : PARTITIONED_TABLES) {
+            for (String partition : partitionRepository.findPartitions(table)) {
+                LocalDate month = parseMonth(table, partition);
+                if (month == null || month.plusMonths(1).isAfter(cutoff)) {
+                    continue;
+                }
+
+                // Detach and move atomically: a failure leaves the partition attached. The read models
+                // and rollups of a month go with its orders, so nothing live points at archived rows.
+                transactionTemplate.executeWithoutResult(status -> {
+                    partitionRepository.archivePartition(table, partition, archive.getSchema());
+                    if (table.equals(ORDERS_TABLE)) {
+                        partitionRepository.archiveOrderDerivedRows(month, archive.getSchema());
+                    }
+                });
+                archived++;
+            }
+        }
+        return archived;
+    }
+
+    // ========== Private Helper Methods ==========
+
+    private LocalDate parseMonth(String table, String partition) {
+        if (!partition.startsWith(table + "_y")) {
+            return null; // default partition, or a partition of another naming scheme
+        }
+        Matcher matcher = MONTHLY_PARTITION_PATTERN.matcher(partition);
+        if (!matcher.find() || matcher.start() != table.length()) {
+            return null;
+        }
+        return LocalDate.of(Integer.parseInt(matcher.group(1)), Integer.parseInt(matcher.group(2)), 1);
+    }
+}
@@ -2,25 +2,32 @@ package wandererpi.lbs.service.impl;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import wandererpi.lbs.config.PaymentConfig;
+import wandererpi.lbs.dto.event.OrderStatusChangedPayload;
 import wandererpi.lbs.dto.request.SepayWebhookRequest;
 import wandererpi.lbs.entity.Order;
 import wandererpi.lbs.entity.OrderHistory;
 import wandererpi.lbs.enums.OrderStatus;
+import wandererpi.lbs.enums.OutboxEventType;
+import wandererpi.lbs.event.OrderStatusChangedEvent;
+import wandererpi.lbs.event.PaymentTransactionRecordedEvent;
 import wandererpi.lbs.exception.ApplicationException;
 import wandererpi.lbs.enums.ErrorCode;
+import wandererpi.lbs.repository.jdbc.OrderStatusRepository;
+import wandererpi.lbs.repository.jdbc.PaymentTransactionRepository;
 import wandererpi.lbs.repository.jpa.OrderHistoryRepository;
+import wandererpi.lbs.repository.jpa.OrderReadModelRepository;
 import wandererpi.lbs.repository.jpa.OrderRepository;
-import wandererpi.lbs.service.EmailService;
+import wandererpi.lbs.service.OutboxService;
 import wandererpi.lbs.service.PaymentService;
+import wandererpi.lbs.service.cache.PaymentTransactionDedupCache;
+import wandererpi.lbs.service.payment.SepaySignatureVerifier;
+import wandererpi.lbs.util.OrderReferenceUtil;
 
-import javax.crypto.Mac;
-import javax.crypto.spec.SecretKeySpec;
-import java.nio.charset.StandardCharsets;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.time.Instant;
+import java.util.List;
 
 @Service
 @RequiredArgsConstructor
@@ -29,10 +36,13 @@ public class PaymentServiceImpl implements PaymentService {
 
     private final OrderRepository orderRepository;
     private final OrderHistoryRepository orderHistoryRepository;
-    private final PaymentConfig paymentConfig;
-    private final EmailService emailService;
-
-    private static final Pattern ORDER_ID_PATTERN = Pattern.compile("ORDER-(\\d+)");
+    private final OrderReadModelRepository orderReadModelRepository;
+    private final OrderStatusRepository orderStatusRepository;
+    private final PaymentTransactionRepository paymentTransactionRepository;
+    private final PaymentTransactionDedupCache paymentTransactionDedupCache;
+    private final SepaySignatureVerifier sepaySignatureVerifier;
+    private final OutboxService outboxService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     @Transactional
@@ -40,44 +50,50 @@ public class PaymentServiceImpl implements PaymentService {
         log.info("SepayWebhookRequest: {}", request);
         log.info("Processing SePay webhook for transaction: {}", request.getId());
 
-        // 1. Validate signature (if provided)
-        if (signature != null && !signature.isEmpty()) {
-            validateSignature(request, signature);
+        // 1. Validate signature; unsigned calls are rejected unless explicitly allowed, or a forged one
+        //    could claim a real transaction id in step 2 and make SePay's genuine delivery look like a replay
+        validateSignature(request, signature);
+
+        // 2. Reject re-delivered transactions: Redis fast path, then the unique transaction id
+        Long orderId = OrderReferenceUtil.extractOrderId(request.getContent());
+        if (request.getId() != null) {
+            if (paymentTransactionDedupCache.isKnown(request.getId())) {
+                log.info("Duplicate SePay transaction {} ignored (cached)", request.getId());
+                return;
+            }
+            if (!paymentTransactionRepository.recordIfAbsent(request, orderId)) {
+                log.info("Duplicate SePay transaction {} ignored", request.getId());
+                return;
+            }
+            eventPublisher.publishEvent(new PaymentTransactionRecordedEvent(request.getId()));
         }
 
-        // 2. Validate amount (incoming transaction)
+        // 3. Validate amount (incoming transaction)
         if (request.getTransferAmount() == null || request.getTransferAmount() <= 0) {
             log.warn("Invalid webhook: no incoming amount");
             return;
         }
 
-        // 3. Extract order ID from transaction content
-        String content = request.getContent();
-        if (content == null || content.isEmpty()) {
-            log.warn("No transaction content provided");
-            return;
-        }
-
-        Long orderId = extractOrderId(content);
+        // 4. Order ID from transaction content
         if (orderId == null) {
-            log.warn("Could not extract order ID from content: {}", content);
+            log.warn("Could not extract order ID from content: {}", request.getContent());
             return;
         }
 
-        // 4. Find order
+        // 5. Find order
         Order order = orderRepository.findById(orderId)
                 .orElseThrow(() -> {
                     log.error("Order not found: {}", orderId);
                     return new ApplicationException(ErrorCode.ORDER_NOT_FOUND);
                 });
 
-        // 5. Validate order status
+        // 6. Validate order status
         if (order.getStatus() != OrderStatus.PENDING_PAYMENT) {
             log.warn("Order {} is not in PENDING_PAYMENT status: {}", orderId, order.getStatus());
             return;
         }
 
-        // 6. Validate amount
+        // 7. Validate amount
         long expectedAmount = order.getTotalAmount().longValue();
         long receivedAmount = request.getTransferAmount();
 
@@ -87,12 +103,18 @@ public class PaymentServiceImpl implements PaymentService {
             return;
         }
 
-        // 7. Update order status
+        // 8. Update order status - compare-and-set, so a payment racing the timeout job cannot revive a cancelled order
         OrderStatus oldStatus = order.getStatus();
-        order.setStatus(OrderStatus.CONFIRMED);
-        orderRepository.save(order);
+        List<Long> confirmed = orderStatusRepository.transitionStatus(
+                List.of(orderId), OrderStatus.PENDING_PAYMENT, OrderStatus.CONFIRMED);
+        if (confirmed.isEmpty()) {
+            log.warn("Order {} left PENDING_PAYMENT before payment {} was applied; manual refund required",
+                    orderId, request.getId());
+            return;
+        }
+        orderReadModelRepository.updateStatus(orderId, OrderStatus.CONFIRMED, Instant.now());
 
-        // 8. Create order history
+        // 9. Create order history
         OrderHistory history = OrderHistory.builder()
                 .order(order)
                 .oldStatus(oldStatus.name())
@@ -105,73 +127,19 @@ public class PaymentServiceImpl implements PaymentService {
         log.info("Order {} payment confirmed. Status updated: {} -> {}",
                 orderId, oldStatus, OrderStatus.CONFIRMED);
 
-        // 9. Send email notification (async)
-        try {
-            emailService.sendOrderStatusUpdate(order, oldStatus, OrderStatus.CONFIRMED);
-        } catch (Exception e) {
-            log.error("Failed to send email for order {}", orderId, e);
-        }
-    }
-
-    /**
-     * Extract order ID from transaction content
-     * Format: "ORDER-123" or "ORDER 123" or contains "123"
-     */
-    private Long extractOrderId(String content) {
-        Matcher matcher = ORDER_ID_PATTERN.matcher(content.toUpperCase());
-        if (matcher.find()) {
-            try {
-                return Long.parseLong(matcher.group(1));
-            } catch (NumberFormatException e) {
-                log.error("Failed to parse order ID: {}", matcher.group(1));
-            }
-        }
-        return null;
+        // 10. Queue email notification (sent by the outbox relay after commit)
+        outboxService.publish(OutboxEventType.ORDER_STATUS_CHANGED, orderId,
+                OrderStatusChangedPayload.builder().oldStatus(oldStatus).newStatus(OrderStatus.CONFIRMED).build());
+        eventPublisher.publishEvent(new OrderStatusChangedEvent(orderId, oldStatus, OrderStatus.CONFIRMED));
     }
 
     /**
-     * Validate webhook signature using HMAC-SHA256
+     * Validate webhook signature using HMAC-SHA256; a missing one passes only if payment.sepay.require-signature is false
      */
     private void validateSignature(SepayWebhookRequest request, String signature) {
-        try {
-            String secret = paymentConfig.getSepay().getWebhookSecret();
-            String payload = buildPayloadString(request);
-
-            Mac mac = Mac.getInstance("HmacSHA256");
-            SecretKeySpec secretKeySpec = new SecretKeySpec(
-                    secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256");
-            mac.init(secretKeySpec);
-
-            byte[] hash = mac.doFinal(payload.getBytes(StandardCharsets.UTF_8));
-            String expectedSignature = bytesToHex(hash);
-
-            if (!expectedSignature.equalsIgnoreCase(signature)) {
-                log.error("Invalid webhook signature");
-                throw new ApplicationException(ErrorCode.INVALID_SIGNATURE);
-            }
-
-        } catch (Exception e) {
-            log.error("Error validating signature", e);
+        if (!sepaySignatureVerifier.verify(request, signature)) {
+            log.error("Invalid webhook signature");
             throw new ApplicationException(ErrorCode.INVALID_SIGNATURE);
         }
     }
-
-    private String buildPayloadString(SepayWebhookRequest request) {
-        // Build the string that was signed
-        // Format depends on SePay's implementation
-        return String.format("%d|%s|%d|%s",
-                request.getId(),
-                request.getTransactionDate(),
-                request.getTransferAmount(),
-                request.getContent()
-        );
-    }
-
-    private String bytesToHex(byte[] bytes) {
-        StringBuilder sb = new StringBuilder();
-        for (byte b : bytes) {
-            sb.append(String.format("%02x", b));
-        }
-        return sb.toString();
-    }
-}
\ No newline at end of file
+}
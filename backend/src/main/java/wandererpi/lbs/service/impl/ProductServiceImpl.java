@@ -1,6 +1,7 @@
 package wandererpi.lbs.service.impl;
 
 import lombok.RequiredArgsConstructor;
+import jakarta.persistence.criteria.Path;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
@@ -8,11 +9,13 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import wandererpi.lbs.dto.request.ProductFilterRequest;
 import wandererpi.lbs.dto.response.*;
 import wandererpi.lbs.entity.Product;
 import wandererpi.lbs.entity.ProductImage;
+import wandererpi.lbs.entity.ProductListing;
 import wandererpi.lbs.entity.Sku;
 import wandererpi.lbs.enums.ErrorCode;
 import wandererpi.lbs.exception.ApplicationException;
@@ -21,13 +24,24 @@ import wandererpi.lbs.mapper.ProductMapper;
 import wandererpi.lbs.mapper.SkuMapper;
 import wandererpi.lbs.repository.jpa.CategoryRepository;
 import wandererpi.lbs.repository.jpa.ProductImageRepository;
+import wandererpi.lbs.repository.jpa.ProductListingRepository;
 import wandererpi.lbs.repository.jpa.ProductRepository;
 import wandererpi.lbs.repository.jpa.SkuRepository;
 import wandererpi.lbs.service.ProductService;
+import wandererpi.lbs.service.cache.ProductDetailCacheEvictor;
+import wandererpi.lbs.service.cache.ProductListingCache;
+import wandererpi.lbs.service.catalog.CatalogIndex;
+import wandererpi.lbs.service.specification.product.ProductSearchSpecification;
 import wandererpi.lbs.service.specification.product.ProductSpecificationBuilder;
+import wandererpi.lbs.util.CursorUtil;
 
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
@@ -35,36 +49,52 @@ import java.util.stream.Collectors;
 @Transactional(readOnly = true)
 public class ProductServiceImpl implements ProductService {
 
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int MAX_SUGGESTIONS = 20;
+
+    // sortBy values accepted by getProducts, each backed by a product_listing index
+    private static final Map<String, String> SORT_PROPERTIES = Map.of(
+            "createdAt", "createdAt",
+            "basePrice", "basePrice",
+            "name", "name"
+    );
+
     private final ProductRepository productRepository;
     private final CategoryRepository categoryRepository;
     private final SkuRepository skuRepository;
     private final ProductImageRepository productImageRepository;
+    private final ProductListingRepository productListingRepository;
 
     private final ProductMapper productMapper;
     private final CategoryMapper categoryMapper;
     private final SkuMapper skuMapper;
 
     private final ProductSpecificationBuilder productSpecificationBuilder;
+    private final ProductListingCache productListingCache;
+    private final CatalogIndex catalogIndex;
 
     @Override
-    @Cacheable(
-            value = "products",
-            key = "#request.page + ':' + #request.size + ':' + #request.sortBy + ':' + #request.sortDirection"
-    )
     public PageResponse<ProductListResponse> getProducts(ProductFilterRequest request) {
+        // Keyed by the whole filter and evicted by category when the catalog changes
+        PageResponse<ProductListResponse> cached = productListingCache.get(request);
+        if (cached != null) {
+            return cached;
+        }
+
         // Build the specification (Criteria API) - fuck, I hate this damn since I learnt this
         // but since it is the solution, might as well go with it
-        Specification<Product> specification = productSpecificationBuilder.build(request);
-
-        // Create pageable with sorting
-        Sort sort = Sort.by(
-                "DESC".equalsIgnoreCase(request.getSortDirection())
-                        ? Sort.Direction.DESC
-                        : Sort.Direction.ASC,
-                request.getSortBy()
-        );
+        Specification<ProductListing> specification = productSpecificationBuilder.build(request);
+
+        // Create pageable with sorting; the id tie-breaker keeps pages stable and matches the listing indexes
+        Sort.Direction direction = "DESC".equalsIgnoreCase(request.getSortDirection())
+                ? Sort.Direction.DESC
+                : Sort.Direction.ASC;
+        Sort sort = Sort.by(direction, resolveSortProperty(request.getSortBy()))
+                .and(Sort.by(direction, "productId"));
         Pageable pageable = PageRequest.of(request.getPage(), request.getSize(), sort);
-        Page<Product> pagedProducts = productRepository.findAll(specification, pageable);
+
+        // Everything the page shows is denormalized into product_listing: one query, plus the count
+        Page<ProductListing> pagedProducts = productListingRepository.findAll(specification, pageable);
 
         // Notice how we reduce quite a lot and how we simplify the repository layer
 //        // Apply filters
@@ -96,18 +126,108 @@ public class ProductServiceImpl implements ProductService {
 //        }
 
         // Convert to response
-        List<ProductListResponse> content = pagedProducts.getContent().stream()
-                .map(this::convertToListResponse)
+        PageResponse<ProductListResponse> response = toPageResponse(pagedProducts);
+
+        productListingCache.put(request, response);
+        return response;
+    }
+
+    @Override
+    public PageResponse<ProductListResponse> searchProducts(ProductFilterRequest request) {
+        // Text without letters or digits (e.g. "!!!") has no terms: the filter would drop out and list everything
+        if (ProductSearchSpecification.toPrefixQuery(request.getSearch()) == null) {
+            throw new ApplicationException(ErrorCode.INVALID_REQUEST);
+        }
+
+        // Unsorted on purpose: ProductSearchSpecification orders by rank, and any Sort would replace that
+        int size = Math.min(Math.max(request.getSize(), 1), MAX_PAGE_SIZE);
+        Pageable pageable = PageRequest.of(Math.max(request.getPage(), 0), size);
+        Page<ProductListing> results = productListingRepository.findAll(
+                productSpecificationBuilder.build(request), pageable);
+
+        return toPageResponse(results);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED) // Served from memory: no transaction, no connection
+    public List<ProductSuggestionResponse> suggestProducts(String query, int limit) {
+        if (query == null || query.isBlank()) {
+            throw new ApplicationException(ErrorCode.INVALID_REQUEST);
+        }
+        // Before the first load an empty list would look like "no matches"
+        if (!catalogIndex.isLoaded()) {
+            throw new ApplicationException(ErrorCode.CATALOG_INDEX_UNAVAILABLE);
+        }
+
+        return catalogIndex.suggest(query, Math.min(Math.max(limit, 1), MAX_SUGGESTIONS)).stream()
+                .map(product -> ProductSuggestionResponse.builder()
+                        .id(product.getId())
+                        .name(product.getName())
+                        .slug(product.getSlug())
+                        .build())
                 .collect(Collectors.toList());
+    }
 
-        return PageResponse.<ProductListResponse>builder()
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public SkuLookupResponse lookupSku(String code) {
+        if (code == null || code.isBlank()) {
+            throw new ApplicationException(ErrorCode.INVALID_REQUEST);
+        }
+        // Before the first load a miss would be a false "not found"
+        if (!catalogIndex.isLoaded()) {
+            throw new ApplicationException(ErrorCode.CATALOG_INDEX_UNAVAILABLE);
+        }
+
+        String trimmed = code.trim();
+        CatalogIndex.SkuEntry sku = catalogIndex.findBySkuCode(trimmed)
+                .orElseThrow(() -> new ApplicationException(ErrorCode.SKU_NOT_FOUND));
+
+        return toLookupResponse(trimmed, sku);
+    }
+
+    @Override
+    public CursorPageResponse<ProductListResponse> scrollProducts(ProductFilterRequest request, String cursor) {
+        int size = Math.min(Math.max(request.getSize(), 1), MAX_PAGE_SIZE);
+        String property = resolveSortProperty(request.getSortBy());
+        Sort.Direction direction = "DESC".equalsIgnoreCase(request.getSortDirection())
+                ? Sort.Direction.DESC
+                : Sort.Direction.ASC;
+
+        // 1. Filters, plus the seek past the last row of the previous page
+        List<Specification<ProductListing>> specifications = new ArrayList<>();
+        Specification<ProductListing> filters = productSpecificationBuilder.build(request);
+        if (filters != null) {
+            specifications.add(filters);
+        }
+        if (cursor != null && !cursor.isBlank()) {
+            specifications.add(afterCursor(cursor, property, direction));
+        }
+        Specification<ProductListing> specification = Specification.allOf(specifications);
+
+        // 2. Fetch one extra row to know whether another page exists; no count query
+        Sort sort = Sort.by(direction, property).and(Sort.by(direction, "productId"));
+        List<ProductListing> rows = productListingRepository.findBy(specification,
+                query -> query.sortBy(sort).limit(size + 1).all());
+        boolean hasNext = rows.size() > size;
+        List<ProductListing> page = hasNext ? rows.subList(0, size) : rows;
+
+        String nextCursor = null;
+        if (hasNext) {
+            ProductListing last = page.get(page.size() - 1);
+            nextCursor = CursorUtil.encode(property, direction.name(), sortValue(last, property),
+                    last.getProductId().toString());
+        }
+
+        List<ProductListResponse> content = page.stream()
+                .map(productMapper::toListResponse)
+                .collect(Collectors.toCollection(ArrayList::new));
+
+        return CursorPageResponse.<ProductListResponse>builder()
                 .content(content)
-                .currentPage(pagedProducts.getNumber())
-                .totalPages(pagedProducts.getTotalPages())
-                .totalElements(pagedProducts.getTotalElements())
-                .pageSize(pagedProducts.getSize())
-                .hasNext(pagedProducts.hasNext())
-                .hasPrevious(pagedProducts.hasPrevious())
+                .pageSize(size)
+                .hasNext(hasNext)
+                .nextCursor(nextCursor)
                 .build();
     }
 
@@ -120,6 +240,7 @@ public class ProductServiceImpl implements ProductService {
     }
 
     @Override
+    @Cacheable(value = ProductDetailCacheEvictor.CACHE_NAME, key = "#slug")
     public ProductDetailResponse getProductDetailBySlug(String slug) {
         Product product = productRepository.findBySlug(slug)
                 .orElseThrow(() -> new ApplicationException(ErrorCode.PRODUCT_NOT_FOUND));
@@ -128,30 +249,96 @@ public class ProductServiceImpl implements ProductService {
     }
 
     @Override
+    @Cacheable("categories")
     public List<CategoryResponse> getAllCategories() {
         return categoryRepository.findAll().stream()
                 .map(categoryMapper::toResponse)
                 .collect(Collectors.toList());
     }
 
-    private ProductListResponse convertToListResponse(Product product) {
-        // Use mapper for basic mapping
-        ProductListResponse response = productMapper.toListResponse(product);
+    private PageResponse<ProductListResponse> toPageResponse(Page<ProductListing> page) {
+        List<ProductListResponse> content = page.getContent().stream()
+                .map(productMapper::toListResponse)
+                .collect(Collectors.toList());
 
-        // Get primary image (first image)
-        List<ProductImage> images = productImageRepository.findByProductId(product.getId());
-        String primaryImageUrl = images.isEmpty() ? null : images.get(0).getImageUrl();
-        response.setPrimaryImageUrl(primaryImageUrl);
+        return PageResponse.<ProductListResponse>builder()
+                .content(content)
+                .currentPage(page.getNumber())
+                .totalPages(page.getTotalPages())
+                .totalElements(page.getTotalElements())
+                .pageSize(page.getSize())
+                .hasNext(page.hasNext())
+                .hasPrevious(page.hasPrevious())
+                .build();
+    }
 
-        // Calculate minimum stock across all SKUs
-        List<Sku> skus = skuRepository.findByProductId(product.getId());
-        Integer minStock = skus.stream()
-                .map(Sku::getStockQty)
-                .min(Integer::compareTo)
-                .orElse(0);
-        response.setMinStock(minStock);
+    private static SkuLookupResponse toLookupResponse(String code, CatalogIndex.SkuEntry sku) {
+        return SkuLookupResponse.builder()
+                .code(code)
+                .skuId(sku.getId())
+                .primarySkuCode(sku.getCodes().get(0))
+                .productId(sku.getProductId())
+                .productName(sku.getProductName())
+                .productSlug(sku.getProductSlug())
+                .size(sku.getSize())
+                .color(sku.getColor())
+                .price(sku.getPrice())
+                .stockQty(sku.getStockQty())
+                .available(sku.getStockQty() != null && sku.getStockQty() > 0)
+                .build();
+    }
 
-        return response;
+    /**
+     * Rows strictly after the cursor row in (sort column, id) order. Written as
+     * {@code col <= v AND (col < v OR id < lastId)} (mirrored for ASC) so the leading
+     * condition bounds the index range scan.
+     */
+    private static Specification<ProductListing> afterCursor(String cursor, String property, Sort.Direction direction) {
+        // The cursor carries its sort so it cannot be replayed against another ordering
+        String[] parts = CursorUtil.decode(cursor, 4);
+        if (!parts[0].equals(property) || !parts[1].equals(direction.name())) {
+            throw new ApplicationException(ErrorCode.INVALID_CURSOR);
+        }
+
+        try {
+            Long lastId = Long.parseLong(parts[3]);
+            return switch (property) {
+                case "createdAt" -> seek(property, Instant.parse(parts[2]), lastId, direction);
+                case "basePrice" -> seek(property, new BigDecimal(parts[2]), lastId, direction);
+                default -> seek(property, parts[2], lastId, direction);
+            };
+        } catch (DateTimeParseException | NumberFormatException e) {
+            throw new ApplicationException(ErrorCode.INVALID_CURSOR);
+        }
+    }
+
+    private static <Y extends Comparable<? super Y>> Specification<ProductListing> seek(
+            String property, Y lastValue, Long lastId, Sort.Direction direction) {
+        return (root, query, cb) -> {
+            Path<Y> value = root.get(property);
+            Path<Long> id = root.get("productId");
+            return direction == Sort.Direction.DESC
+                    ? cb.and(cb.lessThanOrEqualTo(value, lastValue),
+                             cb.or(cb.lessThan(value, lastValue), cb.lessThan(id, lastId)))
+                    : cb.and(cb.greaterThanOrEqualTo(value, lastValue),
+                             cb.or(cb.greaterThan(value, lastValue), cb.greaterThan(id, lastId)));
+        };
+    }
+
+    private static String sortValue(ProductListing listing, String property) {
+        return switch (property) {
+            case "createdAt" -> listing.getCreatedAt().toString();
+            case "basePrice" -> listing.getBasePrice().toPlainString();
+            default -> listing.getName();
+        };
+    }
+
+    private static String resolveSortProperty(String sortBy) {
+        String property = SORT_PROPERTIES.get(sortBy);
+        if (property == null) {
+            throw new ApplicationException(ErrorCode.INVALID_SORT_FIELD);
+        }
+        return property;
     }
 
     private ProductDetailResponse convertToDetailResponse(Product product) {
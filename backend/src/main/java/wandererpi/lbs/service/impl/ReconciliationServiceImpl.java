@@ -0,0 +1,211 @@
+package wandererpi.lbs.service.impl;
+
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import wandererpi.lbs.config.ReconciliationConfig;
+import wandererpi.lbs.dto.reconciliation.BankStatementLine;
+import wandererpi.lbs.dto.reconciliation.PendingPayment;
+import wandererpi.lbs.dto.response.ReconciliationReportResponse;
+import wandererpi.lbs.enums.ErrorCode;
+import wandererpi.lbs.enums.PaymentMethod;
+import wandererpi.lbs.enums.ReconciliationOutcome;
+import wandererpi.lbs.exception.ApplicationException;
+import wandererpi.lbs.repository.jdbc.PaymentTransactionRepository;
+import wandererpi.lbs.repository.jdbc.ReconciliationRepository;
+import wandererpi.lbs.service.OrderService;
+import wandererpi.lbs.service.ReconciliationService;
+import wandererpi.lbs.service.reconciliation.BankStatementSource;
+import wandererpi.lbs.util.OrderReferenceUtil;
+
+import java.time.Instant;
+import java.util.*;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ReconciliationServiceImpl implements ReconciliationService {
+
+    private final List<BankStatementSource> sources;
+    private final ReconciliationRepository reconciliationRepository;
+    private final PaymentTransactionRepository paymentTransactionRepository;
+    private final OrderService orderService;
+    private final ReconciliationConfig reconciliationConfig;
+
+    @Override
+    public ReconciliationReportResponse reconcile(String sourceName) {
+        long startedAt = System.currentTimeMillis();
+
+        // 1. Read the statement
+        BankStatementSource source = sources.stream()
+                .filter(s -> s.getName().equalsIgnoreCase(sourceName))
+                .findFirst()
+                .orElseThrow(() -> new ApplicationException(ErrorCode.INVALID_REQUEST));
+        List<BankStatementLine> statement = source.fetch();
+        List<BankStatementLine> credits = statement.stream().filter(line -> line.getAmount() > 0).toList();
+
+        // 2. Skip lines already applied, by the SePay webhook or an earlier run
+        Set<String> recorded = paymentTransactionRepository.findRecordedReferences(credits.stream()
+                .map(BankStatementLine::getTransactionRef)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet()));
+        List<BankStatementLine> fresh = credits.stream()
+                .filter(line -> line.getTransactionRef() == null || !recorded.contains(line.getTransactionRef()))
+                .toList();
+
+        // 3. Index pending orders by id and by amount (one query, read-only afterwards)
+        List<PendingPayment> pending = reconciliationRepository.findPendingPayments(
+                PaymentMethod.BANK_TRANSFER, Instant.now().minus(reconciliationConfig.getLookback()));
+        PendingIndex index = new PendingIndex(pending);
+
+        // 4. Match lines in parallel; the index is immutable, so workers share it without locking
+        List<Match> matches = fresh.parallelStream().map(line -> match(line, index)).toList();
+
+        // 5. One line per order: the first line in statement order wins, later ones are duplicates
+        Map<Long, Match> accepted = new LinkedHashMap<>();
+        List<Match> unmatched = new ArrayList<>();
+        for (Match match : matches) {
+            if (match.getOutcome() != ReconciliationOutcome.CONFIRMED) {
+                unmatched.add(match);
+            } else if (accepted.putIfAbsent(match.getOrderId(), match) != null) {
+                unmatched.add(match.as(ReconciliationOutcome.DUPLICATE));
+            }
+        }
+
+        // 6. Confirm in batches and record the lines that confirmed; orders that changed since step 3 come back as not pending
+        List<Long> confirmedOrderIds = new ArrayList<>(accepted.size());
+        List<Match> toConfirm = new ArrayList<>(accepted.values());
+        for (int from = 0; from < toConfirm.size(); from += reconciliationConfig.getConfirmBatchSize()) {
+            List<Match> batch = toConfirm.subList(from, Math.min(from + reconciliationConfig.getConfirmBatchSize(), toConfirm.size()));
+
+            Map<Long, String> notes = new LinkedHashMap<>();
+            batch.forEach(match -> notes.put(match.getOrderId(), confirmationNote(source, match.getLine())));
+
+            Set<Long> confirmed = new HashSet<>(orderService.confirmReconciledPayments(notes));
+            for (Match match : batch) {
+                if (confirmed.contains(match.getOrderId())) {
+                    confirmedOrderIds.add(match.getOrderId());
+                    paymentTransactionRepository.recordIfAbsent(match.getLine(), source.getName(), match.getOrderId());
+                } else {
+                    unmatched.add(match.as(ReconciliationOutcome.NOT_PENDING));
+                }
+            }
+        }
+
+        unmatched.sort(Comparator.comparingInt(match -> match.getLine().getLineNumber()));
+        long durationMs = System.currentTimeMillis() - startedAt;
+
+        log.info("Reconciled {} statement line(s) from {} against {} pending order(s): {} confirmed, {} unmatched, {} already recorded in {} ms",
+                fresh.size(), source.getName(), pending.size(), confirmedOrderIds.size(), unmatched.size(),
+                credits.size() - fresh.size(), durationMs);
+
+        return ReconciliationReportResponse.builder()
+                .source(source.getName())
+                .statementLines(statement.size())
+                .creditLines(credits.size())
+                .alreadyRecordedLines(credits.size() - fresh.size())
+                .pendingOrders(pending.size())
+                .confirmedOrderIds(confirmedOrderIds)
+                .unmatched(unmatched.stream().map(this::toUnmatchedItem).toList())
+                .durationMs(durationMs)
+                .build();
+    }
+
+    // ========== Private Helper Methods ==========
+
+    private Match match(BankStatementLine line, PendingIndex index) {
+        List<Long> references = OrderReferenceUtil.extractOrderIdCandidates(line.getContent());
+        // The webhook's exact "ORDER-123" form; only it is trusted with an overpayment
+        Long strictReference = OrderReferenceUtil.extractOrderId(line.getContent());
+
+        // 1. Referenced pending orders; prefer an exact amount
+        PendingPayment underpaid = null;
+        PendingPayment overpaid = null;
+        for (Long reference : references) {
+            PendingPayment candidate = index.byOrderId.get(reference);
+            if (candidate == null) {
+                continue;
+            }
+            if (candidate.getAmount() == line.getAmount()) {
+                return new Match(line, ReconciliationOutcome.CONFIRMED, candidate.getOrderId());
+            }
+            if (candidate.getAmount() < line.getAmount()) {
+                overpaid = overpaid == null || reference.equals(strictReference) ? candidate : overpaid;
+            } else {
+                underpaid = underpaid == null ? candidate : underpaid;
+            }
+        }
+        if (overpaid != null) {
+            // A loose match may be a false reference that happens to hit a cheaper order, so a human decides
+            return overpaid.getOrderId().equals(strictReference)
+                    ? new Match(line, ReconciliationOutcome.CONFIRMED, overpaid.getOrderId())
+                    : new Match(line, ReconciliationOutcome.OVERPAID, overpaid.getOrderId());
+        }
+        if (underpaid != null) {
+            return new Match(line, ReconciliationOutcome.UNDERPAID, underpaid.getOrderId());
+        }
+        if (!references.isEmpty()) {
+            return new Match(line, ReconciliationOutcome.NOT_PENDING, references.get(0));
+        }
+
+        // 2. No usable reference: a unique amount is only a suggestion, never confirmed automatically
+        List<PendingPayment> sameAmount = index.byAmount.getOrDefault(line.getAmount(), List.of());
+        if (sameAmount.size() == 1) {
+            return new Match(line, ReconciliationOutcome.AMOUNT_ONLY_CANDIDATE, sameAmount.get(0).getOrderId());
+        }
+        return new Match(line, ReconciliationOutcome.NO_REFERENCE, null);
+    }
+
+    private String confirmationNote(BankStatementSource source, BankStatementLine line) {
+        return String.format("Payment confirmed by bank statement reconciliation (Source: %s, Reference: %s, Amount: %d VND)",
+                source.getName(), line.getTransactionRef(), line.getAmount());
+    }
+
+    private ReconciliationReportResponse.UnmatchedItem toUnmatchedItem(Match match) {
+        BankStatementLine line = match.getLine();
+        return ReconciliationReportResponse.UnmatchedItem.builder()
+                .lineNumber(line.getLineNumber())
+                .transactionRef(line.getTransactionRef())
+                .transactionDate(line.getTransactionDate())
+                .amount(line.getAmount())
+                .content(line.getContent())
+                .outcome(match.getOutcome())
+                .candidateOrderId(match.getOrderId())
+                .build();
+    }
+
+    /**
+     * Outcome for one statement line, with the matched or suggested order
+     */
+    @Value
+    private static class Match {
+        BankStatementLine line;
+        ReconciliationOutcome outcome;
+        Long orderId;
+
+        Match as(ReconciliationOutcome newOutcome) {
+            return new Match(line, newOutcome, orderId);
+        }
+    }
+
+    /**
+     * Pending orders by id and by amount due
+     */
+    private static final class PendingIndex {
+        private final Map<Long, PendingPayment> byOrderId;
+        private final Map<Long, List<PendingPayment>> byAmount;
+
+        private PendingIndex(List<PendingPayment> pending) {
+            Map<Long, PendingPayment> ids = new HashMap<>(pending.size() * 2);
+            Map<Long, List<PendingPayment>> amounts = new HashMap<>(pending.size() * 2);
+            for (PendingPayment payment : pending) {
+                ids.put(payment.getOrderId(), payment);
+                amounts.computeIfAbsent(payment.getAmount(), amount -> new ArrayList<>(1)).add(payment);
+            }
+            this.byOrderId = ids;
+            this.byAmount = amounts;
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package wandererpi.lbs.service.impl;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import wandererpi.lbs.config.ReportConfig;
+import wandererpi.lbs.dto.response.SalesRollupRebuildResponse;
+import wandererpi.lbs.dto.response.SalesRollupResponse;
+import wandererpi.lbs.enums.ErrorCode;
+import wandererpi.lbs.enums.RollupDimension;
+import wandererpi.lbs.exception.ApplicationException;
+import wandererpi.lbs.repository.jdbc.SalesRollupRepository;
+import wandererpi.lbs.service.ReportService;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ReportServiceImpl implements ReportService {
+
+    private final SalesRollupRepository salesRollupRepository;
+    private final ReportConfig reportConfig;
+    private final TransactionTemplate transactionTemplate;
+    private final ThreadPoolTaskExecutor reportRebuildExecutor;
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<SalesRollupResponse> getSalesRollups(RollupDimension dimension, LocalDate startDate, LocalDate endDate) {
+        validateRange(startDate, endDate);
+        return salesRollupRepository.findRollups(dimension, startDate, endDate);
+    }
+
+    @Override
+    public SalesRollupRebuildResponse rebuildSalesRollups(LocalDate startDate, LocalDate endDate) {
+        validateRange(startDate, endDate);
+
+        // One rebuild across all instances (the executor queue is sized for the days of one rebuild).
+        // The lock lives as long as this transaction; the days run in their own transactions.
+        return transactionTemplate.execute(status -> {
+            if (!salesRollupRepository.tryLockRebuild()) {
+                throw new ApplicationException(ErrorCode.REBUILD_IN_PROGRESS);
+            }
+            return rebuild(startDate, endDate);
+        });
+    }
+
+    // ========== Private Helper Methods ==========
+
+    private SalesRollupRebuildResponse rebuild(LocalDate startDate, LocalDate endDate) {
+        long start = System.currentTimeMillis();
+
+        // 1. One task per day; each day is replaced atomically in its own transaction, which fences off
+        //    the transitions still queued for it (see SalesRollupAggregator)
+        List<CompletableFuture<Integer>> tasks = new ArrayList<>();
+        for (LocalDate day = startDate; !day.isAfter(endDate); day = day.plusDays(1)) {
+            LocalDate bucketDate = day;
+            try {
+                tasks.add(CompletableFuture.supplyAsync(() -> rebuildDay(bucketDate), reportRebuildExecutor));
+            } catch (RejectedExecutionException e) {
+                // Executor full or shutting down: let the days already queued finish, then report busy
+                log.warn("Sales rollup rebuild of {} .. {} rejected at {}", startDate, endDate, bucketDate);
+                awaitQuietly(tasks);
+                throw new ApplicationException(ErrorCode.REBUILD_IN_PROGRESS);
+            }
+        }
+
+        // 2. Wait for all days; report the first failure
+        try {
+            CompletableFuture.allOf(tasks.toArray(new CompletableFuture[0])).join();
+        } catch (CompletionException e) {
+            log.error("Sales rollup rebuild failed for {} .. {}", startDate, endDate, e.getCause());
+            throw new ApplicationException(ErrorCode.INTERNAL_SERVER_ERROR);
+        }
+
+        long durationMs = System.currentTimeMillis() - start;
+        log.info("Rebuilt sales rollups for {} day(s) ({} .. {}) in {} ms", tasks.size(), startDate, endDate, durationMs);
+
+        return SalesRollupRebuildResponse.builder()
+                .startDate(startDate)
+                .endDate(endDate)
+                .daysRebuilt(tasks.size())
+                .durationMs(durationMs)
+                .build();
+    }
+
+    private static void awaitQuietly(List<CompletableFuture<Integer>> tasks) {
+        CompletableFuture.allOf(tasks.toArray(new CompletableFuture[0]))
+                .handle((ignored, error) -> null)
+                .join();
+    }
+
+    private int rebuildDay(LocalDate bucketDate) {
+        Instant dayStart = bucketDate.atStartOfDay(reportConfig.getZone()).toInstant();
+        Instant dayEnd = bucketDate.plusDays(1).atStartOfDay(reportConfig.getZone()).toInstant();
+
+        Integer rows = transactionTemplate.execute(status ->
+                salesRollupRepository.rebuildDay(bucketDate, dayStart, dayEnd));
+        return rows != null ? rows : 0;
+    }
+
+    private void validateRange(LocalDate startDate, LocalDate endDate) {
+        if (startDate == null || endDate == null || startDate.isAfter(endDate)) {
+            throw new ApplicationException(ErrorCode.INVALID_REQUEST);
+        }
+        if (ChronoUnit.DAYS.between(startDate, endDate) + 1 > reportConfig.getMaxRebuildDays()) {
+            throw new ApplicationException(ErrorCode.INVALID_REQUEST);
+        }
+    }
+}
@@ -26,6 +26,7 @@ import wandererpi.lbs.service.ReservationService;
 import java.math.BigDecimal;
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -76,6 +77,9 @@ public class ReservationServiceImpl implements ReservationService {
         if (itemsToCheckout.isEmpty()) {
             throw new ApplicationException(ErrorCode.INVALID_REQUEST);
         }
+
+        // SKU rows are locked in id order, so carts sharing SKUs cannot deadlock each other
+        itemsToCheckout.sort(Comparator.comparing(item -> item.getSku().getId()));
         
         // 4. Check for existing active reservations
         List<Reservation> existingReservations = reservationRepository
@@ -0,0 +1,190 @@
+package wandererpi.lbs.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import wandererpi.lbs.config.PaymentConfig;
+import wandererpi.lbs.dto.request.SepayWebhookRequest;
+import wandererpi.lbs.entity.PaymentWebhook;
+import wandererpi.lbs.enums.ErrorCode;
+import wandererpi.lbs.enums.WebhookStatus;
+import wandererpi.lbs.exception.ApplicationException;
+import wandererpi.lbs.repository.jpa.PaymentWebhookRepository;
+import wandererpi.lbs.service.PaymentService;
+import wandererpi.lbs.service.WebhookIngestionService;
+import wandererpi.lbs.service.cache.PaymentTransactionDedupCache;
+import wandererpi.lbs.service.payment.SepaySignatureVerifier;
+import wandererpi.lbs.util.OrderReferenceUtil;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class WebhookIngestionServiceImpl implements WebhookIngestionService {
+
+    private static final int MAX_ERROR_LENGTH = 2000;
+
+    private final PaymentWebhookRepository paymentWebhookRepository;
+    private final PaymentService paymentService;
+    private final PaymentTransactionDedupCache paymentTransactionDedupCache;
+    private final SepaySignatureVerifier sepaySignatureVerifier;
+    private final PaymentConfig paymentConfig;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    @Transactional
+    public void enqueue(SepayWebhookRequest request, String signature) {
+        // Only authenticated payloads are stored; processing checks the signature again
+        if (!sepaySignatureVerifier.verify(request, signature)) {
+            log.error("Invalid webhook signature, SePay webhook for transaction {} not queued", request.getId());
+            throw new ApplicationException(ErrorCode.INVALID_SIGNATURE);
+        }
+
+        // Known re-deliveries are not queued at all; anything else is deduplicated when processed
+        if (request.getId() != null && paymentTransactionDedupCache.isKnown(request.getId())) {
+            log.info("Duplicate SePay transaction {} not queued", request.getId());
+            return;
+        }
+
+        PaymentWebhook webhook = PaymentWebhook.builder()
+                .transactionId(request.getId())
+                .orderKey(OrderReferenceUtil.extractOrderId(request.getContent()))
+                .payload(toJson(request))
+                .signature(signature)
+                .status(WebhookStatus.PENDING)
+                .attempts(0)
+                .nextAttemptAt(Instant.now())
+                .build();
+
+        paymentWebhookRepository.save(webhook);
+        log.info("Queued SePay webhook {} for transaction {} (order key {})",
+                webhook.getId(), webhook.getTransactionId(), webhook.getOrderKey());
+    }
+
+    @Override
+    @Transactional
+    public List<Long> claimBatch() {
+        Instant now = Instant.now();
+        List<PaymentWebhook> webhooks = paymentWebhookRepository.lockClaimable(now, paymentConfig.getWebhook().getBatchSize());
+
+        for (PaymentWebhook webhook : webhooks) {
+            webhook.setStatus(WebhookStatus.PROCESSING);
+            webhook.setLockedAt(now);
+            webhook.setAttempts(webhook.getAttempts() + 1);
+        }
+
+        // Claims are committed before processing, so the row locks are held only for this short transaction
+        return webhooks.stream().map(PaymentWebhook::getId).toList();
+    }
+
+    @Override
+    @Transactional
+    public void process(Long webhookId) {
+        PaymentWebhook webhook = paymentWebhookRepository.findById(webhookId).orElse(null);
+        if (webhook == null || webhook.getStatus() != WebhookStatus.PROCESSING) {
+            log.warn("SePay webhook {} is no longer claimed, skipping", webhookId);
+            return;
+        }
+
+        // 1. Payment update joins this transaction, so the order change and the PROCESSED mark commit together
+        paymentService.processSepayWebhook(fromJson(webhook.getPayload()), webhook.getSignature());
+
+        // 2. Mark processed
+        webhook.setStatus(WebhookStatus.PROCESSED);
+        webhook.setProcessedAt(Instant.now());
+        webhook.setLockedAt(null);
+        webhook.setLastError(null);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void recordFailure(Long webhookId, Exception error) {
+        PaymentWebhook webhook = paymentWebhookRepository.findById(webhookId).orElse(null);
+        if (webhook == null) {
+            return;
+        }
+
+        PaymentConfig.Webhook config = paymentConfig.getWebhook();
+        webhook.setLockedAt(null);
+        webhook.setLastError(truncate(error.toString()));
+
+        // Business rejections (bad signature, unknown order) will fail the same way on every retry
+        if (error instanceof ApplicationException || webhook.getAttempts() >= config.getMaxAttempts()) {
+            // processedAt marks the final state, so the retention purge removes failed rows as well
+            webhook.setStatus(WebhookStatus.FAILED);
+            webhook.setProcessedAt(Instant.now());
+            log.error("SePay webhook {} for transaction {} failed permanently after {} attempt(s)",
+                    webhook.getId(), webhook.getTransactionId(), webhook.getAttempts(), error);
+        } else {
+            webhook.setStatus(WebhookStatus.PENDING);
+            webhook.setNextAttemptAt(Instant.now().plus(backoff(webhook.getAttempts())));
+            log.warn("SePay webhook {} failed on attempt {}, retry at {}: {}",
+                    webhook.getId(), webhook.getAttempts(), webhook.getNextAttemptAt(), error.toString());
+        }
+    }
+
+    @Override
+    @Transactional
+    public int releaseStuck() {
+        PaymentConfig.Webhook config = paymentConfig.getWebhook();
+        Instant now = Instant.now();
+        Instant lockedBefore = now.minus(config.getProcessingTimeout());
+
+        // 1. Claims on the last attempt are not retried, so a webhook that keeps killing its worker leaves the queue
+        int failed = paymentWebhookRepository.failStuck(lockedBefore, config.getMaxAttempts(), now);
+        if (failed > 0) {
+            log.error("Marked {} stuck SePay webhook(s) FAILED after {} attempt(s)", failed, config.getMaxAttempts());
+        }
+
+        // 2. Requeue the rest
+        return paymentWebhookRepository.releaseStuck(lockedBefore, config.getMaxAttempts(), now);
+    }
+
+    @Override
+    @Transactional
+    public int purgeProcessed() {
+        Instant before = Instant.now().minus(paymentConfig.getWebhook().getRetention());
+        return paymentWebhookRepository.deleteByStatusInAndProcessedAtBefore(
+                List.of(WebhookStatus.PROCESSED, WebhookStatus.FAILED), before);
+    }
+
+    // ========== Private Helper Methods ==========
+
+    /**
+     * Exponential backoff: initial * 2^(attempt - 1), capped at maxBackoff
+     */
+    private Duration backoff(int attempt) {
+        PaymentConfig.Webhook config = paymentConfig.getWebhook();
+        Duration backoff = config.getInitialBackoff().multipliedBy(1L << Math.min(attempt - 1, 20));
+        return backoff.compareTo(config.getMaxBackoff()) > 0 ? config.getMaxBackoff() : backoff;
+    }
+
+    private String toJson(SepayWebhookRequest request) {
+        try {
+            return objectMapper.writeValueAsString(request);
+        } catch (JsonProcessingException e) {
+            log.error("Failed to serialize SePay webhook {}", request, e);
+            throw new ApplicationException(ErrorCode.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    private SepayWebhookRequest fromJson(String payload) {
+        try {
+            return objectMapper.readValue(payload, SepayWebhookRequest.class);
+        } catch (JsonProcessingException e) {
+            log.error("Failed to deserialize stored SePay webhook payload", e);
+            throw new ApplicationException(ErrorCode.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    private String truncate(String message) {
+        return message.length() > MAX_ERROR_LENGTH ? message.substring(0, MAX_ERROR_LENGTH) : message;
+    }
+}
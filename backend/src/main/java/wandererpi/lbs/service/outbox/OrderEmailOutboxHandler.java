@@ -0,0 +1,51 @@
+package wandererpi.lbs.service.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import wandererpi.lbs.dto.event.OrderPlacedPayload;
+import wandererpi.lbs.dto.event.OrderStatusChangedPayload;
+import wandererpi.lbs.entity.Order;
+import wandererpi.lbs.entity.OutboxEvent;
+import wandererpi.lbs.enums.ErrorCode;
+import wandererpi.lbs.enums.OutboxEventType;
+import wandererpi.lbs.exception.ApplicationException;
+import wandererpi.lbs.repository.jpa.OrderRepository;
+import wandererpi.lbs.service.EmailService;
+
+/**
+ * Sends customer emails for order events.
+ */
+@Component
+@RequiredArgsConstructor
+public class OrderEmailOutboxHandler implements OutboxEventHandler {
+
+    private final OrderRepository orderRepository;
+    private final EmailService emailService;
+    private final OutboxPayloadCipher outboxPayloadCipher;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public boolean supports(OutboxEventType eventType) {
+        return eventType == OutboxEventType.ORDER_PLACED
+                || eventType == OutboxEventType.ORDER_STATUS_CHANGED;
+    }
+
+    @Override
+    public void handle(OutboxEvent event) throws Exception {
+        Order order = orderRepository.findById(event.getAggregateId())
+                .orElseThrow(() -> new ApplicationException(ErrorCode.ORDER_NOT_FOUND));
+
+        switch (event.getEventType()) {
+            case ORDER_PLACED -> {
+                OrderPlacedPayload payload = objectMapper.readValue(event.getPayload(), OrderPlacedPayload.class);
+                emailService.sendOrderConfirmation(order, outboxPayloadCipher.decrypt(payload.getEncryptedToken()));
+            }
+            case ORDER_STATUS_CHANGED -> {
+                OrderStatusChangedPayload payload =
+                        objectMapper.readValue(event.getPayload(), OrderStatusChangedPayload.class);
+                emailService.sendOrderStatusUpdate(order, payload.getOldStatus(), payload.getNewStatus());
+            }
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package wandererpi.lbs.service.outbox;
+
+import wandererpi.lbs.entity.OutboxEvent;
+import wandererpi.lbs.enums.OutboxEventType;
+
+/**
+ * Consumer of outbox events. Every handler that supports an event type is invoked by the relay.
+ * <p>
+ * Delivery is at-least-once: if any handler throws, the whole event is retried later,
+ * so handlers must tolerate seeing the same event more than once.
+ * </p>
+ */
+public interface OutboxEventHandler {
+    boolean supports(OutboxEventType eventType);
+
+    void handle(OutboxEvent event) throws Exception;
+}
@@ -0,0 +1,78 @@
+package wandererpi.lbs.service.outbox;
+
+import org.springframework.stereotype.Component;
+import wandererpi.lbs.config.OutboxConfig;
+
+import javax.crypto.Cipher;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+
+/**
+ * AES-GCM encryption for secrets that outbox handlers need, such as the raw tracking token of
+ * the confirmation email. Outbox rows are readable by anyone with database access, so such
+ * values are stored encrypted and dropped once the event is dispatched.
+ * <p>
+ * The 256-bit key is the SHA-256 of {@code outbox.payload-key}. Ciphertexts are
+ * {@code base64(iv || ciphertext || tag)} with a random 96-bit IV.
+ * </p>
+ */
+@Component
+public class OutboxPayloadCipher {
+
+    private static final String TRANSFORMATION = "AES/GCM/NoPadding";
+    private static final int IV_LENGTH = 12;
+    private static final int TAG_BITS = 128;
+
+    private final SecretKeySpec key;
+    private final SecureRandom random = new SecureRandom();
+
+    public OutboxPayloadCipher(OutboxConfig outboxConfig) {
+        String secret = outboxConfig.getPayloadKey();
+        if (secret == null || secret.isEmpty()) {
+            throw new IllegalStateException("outbox.payload-key must be configured");
+        }
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(secret.getBytes(StandardCharsets.UTF_8));
+            this.key = new SecretKeySpec(hash, "AES");
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    public String encrypt(String plaintext) {
+        byte[] iv = new byte[IV_LENGTH];
+        random.nextBytes(iv);
+        try {
+            Cipher cipher = Cipher.getInstance(TRANSFORMATION);
+            cipher.init(Cipher.ENCRYPT_MODE, key, new GCMParameterSpec(TAG_BITS, iv));
+            byte[] encrypted = cipher.doFinal(plaintext.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(ByteBuffer.allocate(IV_LENGTH + encrypted.length)
+                    .put(iv)
+                    .put(encrypted)
+                    .array());
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Failed to encrypt outbox payload", e);
+        }
+    }
+
+    /**
+     * @throws IllegalStateException if the value was not produced with this key or was altered
+     */
+    public String decrypt(String ciphertext) {
+        byte[] data = Base64.getDecoder().decode(ciphertext);
+        try {
+            Cipher cipher = Cipher.getInstance(TRANSFORMATION);
+            cipher.init(Cipher.DECRYPT_MODE, key, new GCMParameterSpec(TAG_BITS, data, 0, IV_LENGTH));
+            byte[] plaintext = cipher.doFinal(data, IV_LENGTH, data.length - IV_LENGTH);
+            return new String(plaintext, StandardCharsets.UTF_8);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Failed to decrypt outbox payload", e);
+        }
+    }
+}
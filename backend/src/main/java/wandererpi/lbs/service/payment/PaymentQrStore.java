@@ -0,0 +1,167 @@
+package wandererpi.lbs.service.payment;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import wandererpi.lbs.config.PaymentConfig;
+import wandererpi.lbs.config.QrCodeConfig;
+import wandererpi.lbs.dto.payment.PaymentQrPayload;
+import wandererpi.lbs.dto.reconciliation.PendingPayment;
+import wandererpi.lbs.enums.OrderStatus;
+import wandererpi.lbs.enums.PaymentMethod;
+import wandererpi.lbs.event.OrderPlacedEvent;
+import wandererpi.lbs.event.OrderStatusChangedEvent;
+import wandererpi.lbs.repository.jdbc.PaymentQrRepository;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * Stored VietQR payloads for pending bank transfer orders.
+ * <p>
+ * The payload is encoded once on {@code paymentQrExecutor} after the order commits, so payment page
+ * reads are a primary key lookup; placing the order does not encode it. Each row records a fingerprint of the bank account it was encoded
+ * for; rows with another fingerprint are ignored on read, and on startup every pending order whose
+ * payload is missing or stale is re-encoded in batches, which is how a bank account change reaches
+ * existing orders. Whenever no usable row exists the payload is encoded on the spot, so a dropped
+ * write costs only that.
+ * </p>
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PaymentQrStore {
+
+    private final PaymentQrRepository paymentQrRepository;
+    private final VietQREncoder vietQREncoder;
+    private final PaymentConfig paymentConfig;
+    private final QrCodeConfig qrCodeConfig;
+    private final ThreadPoolTaskExecutor paymentQrExecutor;
+
+    private String fingerprint;
+
+    @PostConstruct
+    void init() {
+        PaymentConfig.BankTransfer bank = paymentConfig.getBankTransfer();
+        String bin = vietQREncoder.getBankBin(bank.getBankCode());
+        fingerprint = sha256Hex(bank.getBankCode() + '|' + bin + '|' + bank.getAccountNo());
+    }
+
+    /**
+     * Encode the payload for an order with the current bank account
+     */
+    public String encode(Long orderId, long amount) {
+        PaymentConfig.BankTransfer bank = paymentConfig.getBankTransfer();
+        return vietQREncoder.encode(bank.getBankCode(), bank.getAccountNo(), amount, "ORDER-" + orderId);
+    }
+
+    /**
+     * Stored payload for an order, encoding it if none was stored for the current bank account
+     */
+    public String getPayload(Long orderId, long amount) {
+        return paymentQrRepository.findPayload(orderId, fingerprint)
+                .orElseGet(() -> {
+                    log.debug("No stored QR payload for order {}; encoding on read", orderId);
+                    return encode(orderId, amount);
+                });
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onOrderPlaced(OrderPlacedEvent event) {
+        if (event.getPaymentMethod() != PaymentMethod.BANK_TRANSFER) {
+            return;
+        }
+
+        Long orderId = event.getOrderId();
+        long amount = event.getTotalAmount().longValue();
+        submit("store the QR payload of order " + orderId, () -> paymentQrRepository.upsertAll(
+                List.of(new PaymentQrPayload(orderId, encode(orderId, amount))), fingerprint));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onOrderStatusChanged(OrderStatusChangedEvent event) {
+        if (event.getOldStatus() == OrderStatus.PENDING_PAYMENT && event.getNewStatus() != OrderStatus.PENDING_PAYMENT) {
+            submit("delete the QR payload of order " + event.getOrderId(),
+                    () -> paymentQrRepository.deleteByOrderId(event.getOrderId()));
+        }
+    }
+
+    /**
+     * Bring stored payloads in line with the configured bank account once the application is up
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        submit("regenerate stale QR payloads", this::regenerateStale);
+    }
+
+    /**
+     * Drop payloads of settled orders, then re-encode every pending bank transfer order whose
+     * payload is missing or was encoded for another bank account.
+     *
+     * @return number of payloads written
+     */
+    public int regenerateStale() {
+        int purged = paymentQrRepository.deleteSettled();
+        int batchSize = qrCodeConfig.getRegenerateBatchSize();
+
+        int regenerated = 0;
+        long afterOrderId = 0;
+        List<PendingPayment> batch;
+        do {
+            batch = paymentQrRepository.findStale(fingerprint, afterOrderId, batchSize);
+
+            List<PaymentQrPayload> payloads = new ArrayList<>(batch.size());
+            for (PendingPayment order : batch) {
+                payloads.add(new PaymentQrPayload(order.getOrderId(), encode(order.getOrderId(), order.getAmount())));
+            }
+            paymentQrRepository.upsertAll(payloads, fingerprint);
+
+            regenerated += payloads.size();
+            if (!batch.isEmpty()) {
+                afterOrderId = batch.get(batch.size() - 1).getOrderId();
+            }
+        } while (batch.size() == batchSize);
+
+        if (purged > 0 || regenerated > 0) {
+            log.info("Regenerated {} QR payload(s), purged {} of settled orders", regenerated, purged);
+        }
+        return regenerated;
+    }
+
+    // ========== Private Helper Methods ==========
+
+    private void submit(String description, Runnable task) {
+        // Runs after the business transaction committed: never let a failure here reach the caller
+        try {
+            paymentQrExecutor.execute(() -> {
+                try {
+                    task.run();
+                } catch (Exception e) {
+                    log.error("Failed to {}", description, e);
+                }
+            });
+        } catch (TaskRejectedException e) {
+            log.warn("Payment QR executor is saturated; did not {}", description);
+        }
+    }
+
+    private static String sha256Hex(String value) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package wandererpi.lbs.service.payment;
+
+import com.google.zxing.BarcodeFormat;
+import com.google.zxing.EncodeHintType;
+import com.google.zxing.WriterException;
+import com.google.zxing.client.j2se.MatrixToImageWriter;
+import com.google.zxing.common.BitMatrix;
+import com.google.zxing.qrcode.QRCodeWriter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import wandererpi.lbs.config.QrCodeConfig;
+import wandererpi.lbs.enums.ErrorCode;
+import wandererpi.lbs.enums.QrImageFormat;
+import wandererpi.lbs.exception.ApplicationException;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+/**
+ * Renders QR payloads (VietQR strings) as PNG or SVG.
+ * <p>
+ * SVG output is built directly from the module matrix, one path with a run per row of dark
+ * modules, so it skips raster encoding entirely and scales to any size on the client.
+ * </p>
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class QrCodeRenderer {
+
+    private static final Map<EncodeHintType, Object> HINTS = Map.of(EncodeHintType.CHARACTER_SET, "UTF-8");
+
+    private final QrCodeConfig qrCodeConfig;
+
+    public byte[] render(String payload, QrImageFormat format) {
+        return format == QrImageFormat.SVG ? renderSvg(payload) : renderPng(payload);
+    }
+
+    public byte[] renderPng(String payload) {
+        int size = qrCodeConfig.getSize();
+        BitMatrix matrix = encode(payload, size);
+
+        try {
+            ByteArrayOutputStream out = new ByteArrayOutputStream(4096);
+            MatrixToImageWriter.writeToStream(matrix, "PNG", out);
+            return out.toByteArray();
+        } catch (IOException e) {
+            log.error("Failed to write QR code PNG", e);
+            throw new ApplicationException(ErrorCode.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    public byte[] renderSvg(String payload) {
+        // Size 0 yields one matrix cell per module, quiet zone included
+        BitMatrix matrix = encode(payload, 0);
+        int width = matrix.getWidth();
+        int height = matrix.getHeight();
+
+        StringBuilder svg = new StringBuilder(width * height / 2 + 256);
+        svg.append("<svg xmlns=\"http://www.w3.org/2000/svg\" viewBox=\"0 0 ")
+                .append(width).append(' ').append(height)
+                .append("\" shape-rendering=\"crispEdges\"><rect width=\"100%\" height=\"100%\" fill=\"#fff\"/><path fill=\"#000\" d=\"");
+
+        for (int y = 0; y < height; y++) {
+            int x = 0;
+            while (x < width) {
+                if (!matrix.get(x, y)) {
+                    x++;
+                    continue;
+                }
+                int start = x;
+                while (x < width && matrix.get(x, y)) {
+                    x++;
+                }
+                svg.append('M').append(start).append(' ').append(y)
+                        .append('h').append(x - start).append("v1h-").append(x - start).append('z');
+            }
+        }
+
+        svg.append("\"/></svg>");
+        return svg.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    // ========== Private Helper Methods ==========
+
+    private BitMatrix encode(String payload, int size) {
+        try {
+            return new QRCodeWriter().encode(payload, BarcodeFormat.QR_CODE, size, size, HINTS);
+        } catch (WriterException e) {
+            log.error("Failed to encode QR payload", e);
+            throw new ApplicationException(ErrorCode.INTERNAL_SERVER_ERROR);
+        }
+    }
+}
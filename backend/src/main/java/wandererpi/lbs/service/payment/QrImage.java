@@ -0,0 +1,14 @@
+package wandererpi.lbs.service.payment;
+
+import lombok.Value;
+import wandererpi.lbs.enums.QrImageFormat;
+
+/**
+ * A rendered QR code, ready to be written to the response
+ */
+@Value
+public class QrImage {
+    QrImageFormat format;
+    byte[] content;
+    String etag;
+}
@@ -0,0 +1,247 @@
+package wandererpi.lbs.service.payment;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import wandererpi.lbs.config.PaymentConfig;
+import wandererpi.lbs.dto.request.SepayWebhookRequest;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Arrays;
+
+/**
+ * HMAC-SHA256 verification of the {@code X-Sepay-Signature} header.
+ * <p>
+ * The signed payload is {@code id|transactionDate|transferAmount|content}, with absent fields
+ * written as {@code null}. A keyed {@link Mac} prototype is initialised once and cloned per thread;
+ * the payload is encoded into a per-thread buffer and the header is decoded to bytes and compared
+ * in constant time. The only steady-path allocation is the digest array the JDK's HMAC creates
+ * internally (48 bytes per verification).
+ * </p>
+ * <p>
+ * Unsigned webhooks are rejected unless {@code payment.sepay.require-signature} is false; requiring
+ * signatures without a configured secret fails at startup rather than rejecting every webhook.
+ * </p>
+ */
+@Slf4j
+@Component
+public class SepaySignatureVerifier {
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final int MAC_LENGTH = 32;
+    private static final byte SEPARATOR = '|';
+    private static final byte[] NULL_BYTES = "null".getBytes(StandardCharsets.US_ASCII);
+
+    // ASCII hex digits only; Character.digit would also accept fullwidth and other Unicode digits
+    private static final byte[] HEX_VALUES = new byte[128];
+
+    static {
+        Arrays.fill(HEX_VALUES, (byte) -1);
+        for (int i = 0; i < 10; i++) {
+            HEX_VALUES['0' + i] = (byte) i;
+        }
+        for (int i = 0; i < 6; i++) {
+            HEX_VALUES['a' + i] = (byte) (10 + i);
+            HEX_VALUES['A' + i] = (byte) (10 + i);
+        }
+    }
+
+    private final boolean requireSignature;
+    private final byte[] key;
+    private final Mac prototype;
+    private final ThreadLocal<State> state;
+
+    public SepaySignatureVerifier(PaymentConfig paymentConfig) {
+        PaymentConfig.SePay sepay = paymentConfig.getSepay();
+        String secret = sepay != null ? sepay.getWebhookSecret() : null;
+        this.requireSignature = sepay == null || sepay.isRequireSignature();
+        if (secret == null || secret.isEmpty()) {
+            if (requireSignature) {
+                throw new IllegalStateException("payment.sepay.webhook-secret is not set; configure it "
+                        + "or set payment.sepay.require-signature=false to accept unsigned webhooks");
+            }
+            log.warn("SePay webhook secret is not configured; unsigned webhooks are accepted, signed ones rejected");
+            this.key = null;
+            this.prototype = null;
+        } else {
+            this.key = secret.getBytes(StandardCharsets.UTF_8);
+            this.prototype = keyedMac(key);
+        }
+        this.state = ThreadLocal.withInitial(() -> new State(newMac()));
+    }
+
+    /**
+     * @param signatureHex hex-encoded HMAC from the webhook header, either case
+     * @return true if the signature matches the request, or is absent while unsigned webhooks are allowed
+     */
+    public boolean verify(SepayWebhookRequest request, String signatureHex) {
+        if (signatureHex == null || signatureHex.isEmpty()) {
+            return !requireSignature;
+        }
+        if (prototype == null || signatureHex.length() != MAC_LENGTH * 2) {
+            return false;
+        }
+
+        State s = state.get();
+        if (!decodeHex(signatureHex, s.provided)) {
+            return false;
+        }
+
+        try {
+            s.length = 0;
+            s.appendLong(request.getId());
+            s.append(SEPARATOR);
+            s.appendString(request.getTransactionDate());
+            s.append(SEPARATOR);
+            s.appendLong(request.getTransferAmount());
+            s.append(SEPARATOR);
+            s.appendString(request.getContent());
+
+            s.mac.update(s.buffer, 0, s.length);
+            s.mac.doFinal(s.computed, 0);
+        } catch (GeneralSecurityException e) {
+            // doFinal resets the Mac on success only; start the thread over with a fresh instance
+            state.remove();
+            log.error("Error computing webhook signature", e);
+            return false;
+        }
+
+        return MessageDigest.isEqual(s.computed, s.provided);
+    }
+
+    // ========== Private Helper Methods ==========
+
+    private static Mac keyedMac(byte[] key) {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(new SecretKeySpec(key, ALGORITHM));
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Cannot initialise " + ALGORITHM, e);
+        }
+    }
+
+    private Mac newMac() {
+        if (prototype == null) {
+            return null;
+        }
+        try {
+            return (Mac) prototype.clone();
+        } catch (CloneNotSupportedException e) {
+            // Provider without clone support: key a fresh instance once for this thread
+            return keyedMac(key);
+        }
+    }
+
+    private static boolean decodeHex(String hex, byte[] out) {
+        for (int i = 0; i < out.length; i++) {
+            int hi = hexValue(hex.charAt(2 * i));
+            int lo = hexValue(hex.charAt(2 * i + 1));
+            if (hi < 0 || lo < 0) {
+                return false;
+            }
+            out[i] = (byte) ((hi << 4) | lo);
+        }
+        return true;
+    }
+
+    private static int hexValue(char c) {
+        return c < HEX_VALUES.length ? HEX_VALUES[c] : -1;
+    }
+
+    /**
+     * Per-thread scratch space: the keyed Mac, the payload buffer and the two digests
+     */
+    private static final class State {
+        private final Mac mac;
+        private final byte[] computed = new byte[MAC_LENGTH];
+        private final byte[] provided = new byte[MAC_LENGTH];
+        private final byte[] digits = new byte[20];
+        private byte[] buffer = new byte[512];
+        private int length;
+
+        private State(Mac mac) {
+            this.mac = mac;
+        }
+
+        private void append(byte b) {
+            ensureCapacity(1);
+            buffer[length++] = b;
+        }
+
+        private void appendBytes(byte[] bytes) {
+            ensureCapacity(bytes.length);
+            System.arraycopy(bytes, 0, buffer, length, bytes.length);
+            length += bytes.length;
+        }
+
+        /**
+         * Same text as {@code String.format("%d", value)}: decimal, or "null"
+         */
+        private void appendLong(Long value) {
+            if (value == null) {
+                appendBytes(NULL_BYTES);
+                return;
+            }
+            long v = value;
+            if (v == Long.MIN_VALUE) {
+                appendBytes(Long.toString(v).getBytes(StandardCharsets.US_ASCII));
+                return;
+            }
+            if (v < 0) {
+                append((byte) '-');
+                v = -v;
+            }
+            int pos = digits.length;
+            do {
+                digits[--pos] = (byte) ('0' + (v % 10));
+                v /= 10;
+            } while (v != 0);
+            ensureCapacity(digits.length - pos);
+            System.arraycopy(digits, pos, buffer, length, digits.length - pos);
+            length += digits.length - pos;
+        }
+
+        /**
+         * UTF-8 encode without an intermediate byte[]; unpaired surrogates become '?', as in String.getBytes
+         */
+        private void appendString(String value) {
+            if (value == null) {
+                appendBytes(NULL_BYTES);
+                return;
+            }
+            ensureCapacity(value.length() * 3);
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                if (c < 0x80) {
+                    buffer[length++] = (byte) c;
+                } else if (c < 0x800) {
+                    buffer[length++] = (byte) (0xC0 | (c >> 6));
+                    buffer[length++] = (byte) (0x80 | (c & 0x3F));
+                } else if (Character.isHighSurrogate(c) && i + 1 < value.length()
+                        && Character.isLowSurrogate(value.charAt(i + 1))) {
+                    int cp = Character.toCodePoint(c, value.charAt(++i));
+                    buffer[length++] = (byte) (0xF0 | (cp >> 18));
+                    buffer[length++] = (byte) (0x80 | ((cp >> 12) & 0x3F));
+                    buffer[length++] = (byte) (0x80 | ((cp >> 6) & 0x3F));
+                    buffer[length++] = (byte) (0x80 | (cp & 0x3F));
+                } else if (Character.isSurrogate(c)) {
+                    buffer[length++] = '?';
+                } else {
+                    buffer[length++] = (byte) (0xE0 | (c >> 12));
+                    buffer[length++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                    buffer[length++] = (byte) (0x80 | (c & 0x3F));
+                }
+            }
+        }
+
+        private void ensureCapacity(int extra) {
+            if (length + extra > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, length + extra));
+            }
+        }
+    }
+}
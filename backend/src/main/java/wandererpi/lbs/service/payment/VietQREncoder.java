@@ -0,0 +1,252 @@
+package wandererpi.lbs.service.payment;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import wandererpi.lbs.config.PaymentConfig;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * EMVCo / NAPAS VietQR payload encoder.
+ * <p>
+ * Produces exactly what {@code VietQRUtil.generateVietQR} produced: nested TLV lengths are computed
+ * up front so every field is written once into a per-thread {@link StringBuilder}, and the
+ * CRC-16/CCITT-FALSE checksum uses a 256-entry table over the UTF-8 bytes of the buffer without
+ * materialising them. Bank BINs default to the NAPAS table below; entries under
+ * {@code payment.bank-bins} add banks or override a BIN.
+ * </p>
+ */
+@Slf4j
+@Component
+public class VietQREncoder {
+
+    // NAPAS Bank BINs (6-digit identifiers)
+    public static final Map<String, String> DEFAULT_BANK_BINS;
+
+    static {
+        Map<String, String> bins = new LinkedHashMap<>();
+        bins.put("VIETCOMBANK", "970436");
+        bins.put("VIETINBANK", "970415");
+        bins.put("TECHCOMBANK", "970407");
+        bins.put("MBBANK", "970422");
+        bins.put("ACB", "970416");
+        bins.put("VPBANK", "970432");
+        bins.put("BIDV", "970418");
+        bins.put("TPBANK", "970423");
+        bins.put("SACOMBANK", "970403");
+        DEFAULT_BANK_BINS = Collections.unmodifiableMap(bins);
+    }
+
+    // EMVCo QR Code Field IDs
+    private static final String VERSION = "00";
+    private static final String INIT_METHOD = "01";
+    private static final String VIETQR = "38";
+    private static final String CURRENCY = "53";
+    private static final String AMOUNT = "54";
+    private static final String COUNTRY = "58";
+    private static final String ADDITIONAL_DATA = "62";
+    private static final String CRC_HEADER = "6304";
+
+    // Provider / consumer / additional data Field IDs
+    private static final String PROVIDER_GUID = "00";
+    private static final String PROVIDER_DATA = "01";
+    private static final String PROVIDER_SERVICE = "02";
+    private static final String BANK_BIN = "00";
+    private static final String BANK_NUMBER = "01";
+    private static final String PURPOSE_OF_TRANSACTION = "08";
+
+    private static final String PROVIDER_VIETQR_GUID = "A000000727";
+    private static final String SERVICE_BY_ACCOUNT = "QRIBFTTA";
+    private static final String VERSION_VALUE = "01";
+    private static final String STATIC_QR = "11";
+    private static final String DYNAMIC_QR = "12";
+    private static final String CURRENCY_VND = "704";
+    private static final String COUNTRY_VN = "VN";
+
+    private static final int INITIAL_CAPACITY = 256;
+    private static final int MAX_RETAINED_CAPACITY = 4096;
+    private static final char[] HEX = "0123456789ABCDEF".toCharArray();
+    private static final int[] CRC_TABLE = new int[256];
+
+    static {
+        for (int i = 0; i < 256; i++) {
+            int crc = i << 8;
+            for (int bit = 0; bit < 8; bit++) {
+                crc = (crc & 0x8000) != 0 ? (crc << 1) ^ 0x1021 : crc << 1;
+            }
+            CRC_TABLE[i] = crc & 0xFFFF;
+        }
+    }
+
+    private final Map<String, String> bankBins;
+    private final ThreadLocal<StringBuilder> buffer = ThreadLocal.withInitial(() -> new StringBuilder(INITIAL_CAPACITY));
+
+    public VietQREncoder(PaymentConfig paymentConfig) {
+        Map<String, String> bins = new HashMap<>(DEFAULT_BANK_BINS);
+        Map<String, String> overrides = paymentConfig.getBankBins();
+        if (overrides != null) {
+            overrides.forEach((code, bin) -> {
+                if (bin == null || !bin.matches("\\d{6}")) {
+                    throw new IllegalArgumentException("Invalid BIN for bank " + code + ": " + bin);
+                }
+                bins.put(code.toUpperCase(Locale.ROOT), bin);
+            });
+        }
+        this.bankBins = Collections.unmodifiableMap(bins);
+        log.info("VietQR encoder loaded {} bank BINs", bankBins.size());
+    }
+
+    /**
+     * Generate VietQR string for bank transfer
+     *
+     * @param bankCode Bank code (e.g., "VIETCOMBANK"), case-insensitive
+     * @param accountNo Bank account number
+     * @param amount Amount in VND (0 for dynamic amount)
+     * @param message Payment message/reference
+     * @return VietQR encoded string
+     */
+    public String encode(String bankCode, String accountNo, long amount, String message) {
+        String bin = getBankBin(bankCode);
+        if (bin == null) {
+            throw new IllegalArgumentException("Unknown bank code: " + bankCode);
+        }
+
+        StringBuilder sb = buffer.get();
+        sb.setLength(0);
+
+        // 1. Header
+        writeField(sb, VERSION, VERSION_VALUE);
+        writeField(sb, INIT_METHOD, amount > 0 ? DYNAMIC_QR : STATIC_QR);
+
+        // 2. Provider info (VIETQR) - nested lengths are known before anything is written
+        int providerDataLength = fieldLength(bin) + fieldLength(accountNo);
+        int providerInfoLength = fieldLength(PROVIDER_VIETQR_GUID)
+                + fieldLength(providerDataLength)
+                + fieldLength(SERVICE_BY_ACCOUNT);
+        writeHeader(sb, VIETQR, providerInfoLength);
+        writeField(sb, PROVIDER_GUID, PROVIDER_VIETQR_GUID);
+        writeHeader(sb, PROVIDER_DATA, providerDataLength);
+        writeField(sb, BANK_BIN, bin);
+        writeField(sb, BANK_NUMBER, accountNo);
+        writeField(sb, PROVIDER_SERVICE, SERVICE_BY_ACCOUNT);
+
+        // 3. Transaction details (the empty merchant category field is omitted)
+        writeField(sb, CURRENCY, CURRENCY_VND);
+        if (amount > 0) {
+            writeHeader(sb, AMOUNT, digits(amount));
+            sb.append(amount);
+        }
+        writeField(sb, COUNTRY, COUNTRY_VN);
+
+        // 4. Additional data (message)
+        if (message != null && !message.isEmpty()) {
+            writeHeader(sb, ADDITIONAL_DATA, fieldLength(message));
+            writeField(sb, PURPOSE_OF_TRANSACTION, message);
+        }
+
+        // 5. CRC over everything including its own ID and length
+        sb.append(CRC_HEADER);
+        int crc = crc16(sb);
+        sb.append(HEX[(crc >>> 12) & 0xF])
+                .append(HEX[(crc >>> 8) & 0xF])
+                .append(HEX[(crc >>> 4) & 0xF])
+                .append(HEX[crc & 0xF]);
+
+        String payload = sb.toString();
+        if (sb.capacity() > MAX_RETAINED_CAPACITY) {
+            buffer.remove();
+        }
+        return payload;
+    }
+
+    /**
+     * @return the BIN for a bank code, or null if the bank is not configured
+     */
+    public String getBankBin(String bankCode) {
+        return bankCode == null ? null : bankBins.get(bankCode.toUpperCase(Locale.ROOT));
+    }
+
+    public Map<String, String> getBankBins() {
+        return bankBins;
+    }
+
+    /**
+     * CRC-16/CCITT-FALSE (poly 0x1021, init 0xFFFF) over the UTF-8 encoding of {@code data}
+     */
+    static int crc16(CharSequence data) {
+        int crc = 0xFFFF;
+        int length = data.length();
+        for (int i = 0; i < length; i++) {
+            char c = data.charAt(i);
+            if (c < 0x80) {
+                crc = update(crc, c);
+            } else if (c < 0x800) {
+                crc = update(crc, 0xC0 | (c >> 6));
+                crc = update(crc, 0x80 | (c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(data.charAt(i + 1))) {
+                int cp = Character.toCodePoint(c, data.charAt(++i));
+                crc = update(crc, 0xF0 | (cp >> 18));
+                crc = update(crc, 0x80 | ((cp >> 12) & 0x3F));
+                crc = update(crc, 0x80 | ((cp >> 6) & 0x3F));
+                crc = update(crc, 0x80 | (cp & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                // Unpaired surrogate: String.getBytes(UTF_8) substitutes '?'
+                crc = update(crc, '?');
+            } else {
+                crc = update(crc, 0xE0 | (c >> 12));
+                crc = update(crc, 0x80 | ((c >> 6) & 0x3F));
+                crc = update(crc, 0x80 | (c & 0x3F));
+            }
+        }
+        return crc;
+    }
+
+    // ========== Private Helper Methods ==========
+
+    private static int update(int crc, int b) {
+        return ((crc << 8) ^ CRC_TABLE[((crc >>> 8) ^ b) & 0xFF]) & 0xFFFF;
+    }
+
+    /**
+     * ID + length + value; empty values are omitted entirely, as in the original builder
+     */
+    private static void writeField(StringBuilder sb, String id, String value) {
+        if (value == null || value.isEmpty()) {
+            return;
+        }
+        writeHeader(sb, id, value.length());
+        sb.append(value);
+    }
+
+    /**
+     * ID followed by the value length, zero-padded to at least two digits
+     */
+    private static void writeHeader(StringBuilder sb, String id, int length) {
+        sb.append(id);
+        if (length < 10) {
+            sb.append('0');
+        }
+        sb.append(length);
+    }
+
+    private static int fieldLength(String value) {
+        return value == null || value.isEmpty() ? 0 : fieldLength(value.length());
+    }
+
+    private static int fieldLength(int valueLength) {
+        return valueLength == 0 ? 0 : 2 + Math.max(2, digits(valueLength)) + valueLength;
+    }
+
+    private static int digits(long value) {
+        int digits = 1;
+        while (value >= 10) {
+            value /= 10;
+            digits++;
+        }
+        return digits;
+    }
+}
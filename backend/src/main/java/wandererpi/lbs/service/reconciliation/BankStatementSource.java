@@ -0,0 +1,18 @@
+package wandererpi.lbs.service.reconciliation;
+
+import wandererpi.lbs.dto.reconciliation.BankStatementLine;
+
+import java.util.List;
+
+/**
+ * Provider of bank statement lines for reconciliation. Implementations are picked by {@link #getName()}.
+ */
+public interface BankStatementSource {
+
+    String getName();
+
+    /**
+     * Read the current statement export
+     */
+    List<BankStatementLine> fetch();
+}
@@ -0,0 +1,189 @@
+package wandererpi.lbs.service.reconciliation;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import wandererpi.lbs.config.ReconciliationConfig;
+import wandererpi.lbs.dto.reconciliation.BankStatementLine;
+import wandererpi.lbs.enums.ErrorCode;
+import wandererpi.lbs.exception.ApplicationException;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Reads a statement export (RFC 4180 CSV, UTF-8, header row) from the local filesystem.
+ * <p>
+ * Columns are located by header name, so exports from different banks work as long as they
+ * use one of the known names; unknown columns are ignored. Amounts may carry thousands
+ * separators or a currency suffix ("1.250.000 VND").
+ * </p>
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CsvBankStatementSource implements BankStatementSource {
+
+    private static final List<String> REF_COLUMNS = List.of("transaction_id", "id", "reference_number", "reference_code", "reference", "ma_gd");
+    private static final List<String> DATE_COLUMNS = List.of("transaction_date", "date", "ngay_gd", "ngay");
+    private static final List<String> AMOUNT_COLUMNS = List.of("amount_in", "transfer_amount", "amount", "credit", "so_tien");
+    private static final List<String> CONTENT_COLUMNS = List.of("transaction_content", "content", "description", "noi_dung");
+
+    private final ReconciliationConfig reconciliationConfig;
+
+    @Override
+    public String getName() {
+        return "csv";
+    }
+
+    @Override
+    public List<BankStatementLine> fetch() {
+        String location = reconciliationConfig.getCsv().getPath();
+        if (location == null || location.isBlank()) {
+            log.error("reconciliation.csv.path is not configured");
+            throw new ApplicationException(ErrorCode.INVALID_REQUEST);
+        }
+
+        try (BufferedReader reader = Files.newBufferedReader(Path.of(location), StandardCharsets.UTF_8)) {
+            return parse(reader, reconciliationConfig.getCsv().getDelimiter());
+        } catch (IOException e) {
+            log.error("Failed to read bank statement {}", location, e);
+            throw new ApplicationException(ErrorCode.INVALID_REQUEST);
+        }
+    }
+
+    /**
+     * Parse a statement export; exposed for tests and other file-based sources
+     */
+    public List<BankStatementLine> parse(Reader input, char delimiter) throws IOException {
+        // Quote handling peeks one character ahead
+        Reader reader = input.markSupported() ? input : new BufferedReader(input);
+
+        List<String> header = readRecord(reader, delimiter);
+        if (header == null) {
+            return List.of();
+        }
+
+        int refCol = indexOf(header, REF_COLUMNS);
+        int dateCol = indexOf(header, DATE_COLUMNS);
+        int amountCol = indexOf(header, AMOUNT_COLUMNS);
+        int contentCol = indexOf(header, CONTENT_COLUMNS);
+        if (amountCol < 0 || contentCol < 0) {
+            log.error("Bank statement header {} has no amount or content column", header);
+            throw new ApplicationException(ErrorCode.INVALID_REQUEST);
+        }
+
+        List<BankStatementLine> lines = new ArrayList<>();
+        List<String> record;
+        int lineNumber = 1;
+        while ((record = readRecord(reader, delimiter)) != null) {
+            lineNumber++;
+            if (record.size() == 1 && record.get(0).isBlank()) {
+                continue;
+            }
+
+            Long amount = parseAmount(field(record, amountCol));
+            if (amount == null) {
+                log.warn("Skipping statement line {}: unreadable amount '{}'", lineNumber, field(record, amountCol));
+                continue;
+            }
+
+            lines.add(BankStatementLine.builder()
+                    .lineNumber(lineNumber)
+                    .transactionRef(field(record, refCol))
+                    .transactionDate(field(record, dateCol))
+                    .amount(amount)
+                    .content(field(record, contentCol))
+                    .build());
+        }
+        return lines;
+    }
+
+    // ========== Private Helper Methods ==========
+
+    /**
+     * Read one record; quoted fields may contain the delimiter, doubled quotes and line breaks
+     *
+     * @return fields, or null at end of input
+     */
+    private List<String> readRecord(Reader reader, char delimiter) throws IOException {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        boolean any = false;
+        int c;
+
+        while ((c = reader.read()) != -1) {
+            any = true;
+            if (quoted) {
+                if (c == '"') {
+                    reader.mark(1);
+                    int next = reader.read();
+                    if (next == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        if (next != -1) {
+                            reader.reset();
+                        }
+                    }
+                } else {
+                    field.append((char) c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == delimiter) {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n') {
+                break;
+            } else if (c != '\r') {
+                field.append((char) c);
+            }
+        }
+
+        if (!any) {
+            return null;
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private int indexOf(List<String> header, List<String> names) {
+        for (String name : names) {
+            for (int i = 0; i < header.size(); i++) {
+                String column = header.get(i).replace("\uFEFF", "").trim().toLowerCase(Locale.ROOT).replace(' ', '_');
+                if (column.equals(name)) {
+                    return i;
+                }
+            }
+        }
+        return -1;
+    }
+
+    private String field(List<String> record, int index) {
+        return index >= 0 && index < record.size() ? record.get(index).trim() : null;
+    }
+
+    /**
+     * VND has no minor unit, so every non-digit except a leading minus is a separator or a currency label
+     */
+    private Long parseAmount(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        String digits = value.replaceAll("[^0-9]", "");
+        if (digits.isEmpty() || digits.length() > 18) {
+            return null;
+        }
+        long amount = Long.parseLong(digits);
+        return value.trim().startsWith("-") ? -amount : amount;
+    }
+}
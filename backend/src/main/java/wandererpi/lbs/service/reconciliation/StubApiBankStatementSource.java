@@ -0,0 +1,76 @@
+package wandererpi.lbs.service.reconciliation;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import wandererpi.lbs.config.ReconciliationConfig;
+import wandererpi.lbs.dto.reconciliation.BankStatementLine;
+import wandererpi.lbs.enums.ErrorCode;
+import wandererpi.lbs.exception.ApplicationException;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Stand-in for the SePay transaction list API ({@code GET /userapi/transactions/list}).
+ * <p>
+ * Serves a canned response file in the API's format until API access is provisioned,
+ * so the reconciliation flow can be exercised end to end. Replacing the file read with an
+ * HTTP call is the only change a live client needs.
+ * </p>
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class StubApiBankStatementSource implements BankStatementSource {
+
+    private final ReconciliationConfig reconciliationConfig;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public String getName() {
+        return "stub-api";
+    }
+
+    @Override
+    public List<BankStatementLine> fetch() {
+        String location = reconciliationConfig.getStub().getResponseFile();
+        if (location == null || location.isBlank()) {
+            log.warn("reconciliation.stub.response-file is not configured; returning no transactions");
+            return List.of();
+        }
+
+        try {
+            JsonNode transactions = objectMapper.readTree(Path.of(location).toFile()).path("transactions");
+            List<BankStatementLine> lines = new ArrayList<>(transactions.size());
+
+            int lineNumber = 0;
+            for (JsonNode tx : transactions) {
+                lineNumber++;
+                lines.add(BankStatementLine.builder()
+                        .lineNumber(lineNumber)
+                        .transactionRef(text(tx, "reference_number", text(tx, "id", null)))
+                        .transactionDate(text(tx, "transaction_date", null))
+                        // amount_in / amount_out are decimal strings such as "1250000.00"
+                        .amount(tx.path("amount_in").asDouble(0) > 0
+                                ? (long) tx.path("amount_in").asDouble()
+                                : -(long) tx.path("amount_out").asDouble(0))
+                        .content(text(tx, "transaction_content", null))
+                        .build());
+            }
+            return lines;
+        } catch (IOException e) {
+            log.error("Failed to read stub bank statement {}", location, e);
+            throw new ApplicationException(ErrorCode.INVALID_REQUEST);
+        }
+    }
+
+    private String text(JsonNode node, String field, String fallback) {
+        JsonNode value = node.get(field);
+        return value == null || value.isNull() ? fallback : value.asText();
+    }
+}
@@ -0,0 +1,236 @@
+package wandererpi.lbs.service.report;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+import wandererpi.lbs.config.ReportConfig;
+import wandererpi.lbs.dto.report.OrderSalesLine;
+import wandererpi.lbs.dto.report.SalesRollupDelta;
+import wandererpi.lbs.dto.report.SalesRollupKey;
+import wandererpi.lbs.enums.OrderStatus;
+import wandererpi.lbs.enums.PaymentMethod;
+import wandererpi.lbs.enums.RollupDimension;
+import wandererpi.lbs.event.OrderPlacedEvent;
+import wandererpi.lbs.event.OrderStatusChangedEvent;
+import wandererpi.lbs.repository.jdbc.SalesRollupRepository;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Incremental maintenance of the daily sales rollups.
+ * <p>
+ * Committed order transitions are only queued in memory on the request path. {@link #flush()} loads
+ * the lines of all queued orders in one query, turns the transitions into per-row deltas and writes
+ * them as one batch of additive upserts. Transitions queued when the process dies are lost, which the
+ * per-day rebuild repairs.
+ * </p>
+ * <p>
+ * A rebuild records the instant of its snapshot per day; transitions recorded before it are already
+ * in the rebuilt rows and are dropped. Day-level advisory locks keep a flush and a rebuild of the same
+ * day from interleaving. A transition whose after-commit callback runs across the snapshot instant
+ * (or instances with skewed clocks) can still be counted twice.
+ * </p>
+ * <p>
+ * Counting rules (mirrored in the rebuild SQL): an order counts while it is not cancelled, and its
+ * revenue counts as paid once a bank transfer is confirmed or a COD order is delivered. Orders are
+ * bucketed by the business day they were placed on.
+ * </p>
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SalesRollupAggregator {
+
+    private static final String TOTAL_KEY = "ALL";
+
+    private final SalesRollupRepository salesRollupRepository;
+    private final ReportConfig reportConfig;
+    private final TransactionTemplate transactionTemplate;
+
+    private final ConcurrentLinkedQueue<Transition> pending = new ConcurrentLinkedQueue<>();
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onOrderPlaced(OrderPlacedEvent event) {
+        record(event.getOrderId(), null, OrderStatus.PENDING_PAYMENT);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onOrderStatusChanged(OrderStatusChangedEvent event) {
+        record(event.getOrderId(), event.getOldStatus(), event.getNewStatus());
+    }
+
+    /**
+     * Write all queued transitions in one transaction. On failure they are queued again for the next run.
+     *
+     * @return number of rollup rows written
+     */
+    public int flush() {
+        List<Transition> drained = new ArrayList<>();
+        for (Transition transition; (transition = pending.poll()) != null; ) {
+            drained.add(transition);
+        }
+
+        if (drained.isEmpty()) {
+            return 0;
+        }
+
+        try {
+            Integer rows = transactionTemplate.execute(status -> apply(drained));
+            return rows != null ? rows : 0;
+        } catch (RuntimeException e) {
+            pending.addAll(drained);
+            throw e;
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        try {
+            flush();
+        } catch (Exception e) {
+            log.error("Failed to flush sales rollups on shutdown; rebuild the affected days", e);
+        }
+    }
+
+    // ========== Private Helper Methods ==========
+
+    private void record(Long orderId, OrderStatus oldStatus, OrderStatus newStatus) {
+        // Runs after the business transaction committed: only memory is touched here
+        if (mayChangeRollups(oldStatus, newStatus)) {
+            pending.add(new Transition(orderId, oldStatus, newStatus, Instant.now()));
+        }
+    }
+
+    private int apply(List<Transition> transitions) {
+        // 1. Lines of every queued order in one query
+        Set<Long> orderIds = new HashSet<>();
+        transitions.forEach(transition -> orderIds.add(transition.getOrderId()));
+        Map<Long, List<OrderSalesLine>> linesByOrder = new HashMap<>();
+        for (OrderSalesLine line : salesRollupRepository.findOrderLines(orderIds)) {
+            linesByOrder.computeIfAbsent(line.getOrderId(), ignored -> new ArrayList<>()).add(line);
+        }
+
+        // 2. Wait out rebuilds of the affected days and read their snapshots
+        Set<LocalDate> bucketDates = new HashSet<>();
+        linesByOrder.values().forEach(lines -> bucketDates.add(bucketDate(lines)));
+        Map<LocalDate, Instant> snapshots = salesRollupRepository.lockDaysForDeltas(bucketDates);
+
+        // 3. Merge the deltas, skipping transitions a rebuild already counted
+        Map<SalesRollupKey, SalesRollupDelta> deltas = new HashMap<>();
+        for (Transition transition : transitions) {
+            List<OrderSalesLine> lines = linesByOrder.get(transition.getOrderId());
+            if (lines == null) {
+                log.warn("Order {} not found, sales rollup transition skipped", transition.getOrderId());
+                continue;
+            }
+            Instant snapshot = snapshots.get(bucketDate(lines));
+            if (snapshot != null && transition.getRecordedAt().isBefore(snapshot)) {
+                continue;
+            }
+            addDeltas(deltas, transition, lines);
+        }
+        deltas.values().removeIf(SalesRollupDelta::isZero);
+
+        // 4. One batch of upserts
+        salesRollupRepository.applyDeltas(deltas);
+        return deltas.size();
+    }
+
+    private void addDeltas(Map<SalesRollupKey, SalesRollupDelta> deltas, Transition transition, List<OrderSalesLine> lines) {
+        // A placed COD order is CONFIRMED, not PENDING_PAYMENT; neither is paid, so the result is the same
+        PaymentMethod paymentMethod = lines.get(0).getPaymentMethod();
+        int countedDelta = counted(transition.getNewStatus()) - counted(transition.getOldStatus());
+        int paidDelta = paid(paymentMethod, transition.getNewStatus()) - paid(paymentMethod, transition.getOldStatus());
+        if (countedDelta == 0 && paidDelta == 0) {
+            return;
+        }
+
+        LocalDate bucketDate = bucketDate(lines);
+
+        // Sum the order's lines per rollup row first, so an order counts once per row
+        Map<SalesRollupKey, SalesRollupDelta> orderTotals = new HashMap<>();
+        for (OrderSalesLine line : lines) {
+            SalesRollupDelta lineTotal = new SalesRollupDelta(0, line.getQuantity(), line.getAmount(), line.getAmount());
+            for (SalesRollupKey key : keysFor(bucketDate, paymentMethod, line)) {
+                orderTotals.merge(key, lineTotal, SalesRollupDelta::plus);
+            }
+        }
+
+        BigDecimal counted = BigDecimal.valueOf(countedDelta);
+        BigDecimal paid = BigDecimal.valueOf(paidDelta);
+        orderTotals.forEach((key, total) -> deltas.merge(key, new SalesRollupDelta(
+                countedDelta,
+                countedDelta * total.getUnits(),
+                total.getRevenue().multiply(counted),
+                total.getPaidRevenue().multiply(paid)), SalesRollupDelta::plus));
+    }
+
+    private LocalDate bucketDate(List<OrderSalesLine> lines) {
+        return lines.get(0).getCreatedAt().atZone(reportConfig.getZone()).toLocalDate();
+    }
+
+    private List<SalesRollupKey> keysFor(LocalDate bucketDate, PaymentMethod paymentMethod, OrderSalesLine line) {
+        return List.of(
+                new SalesRollupKey(bucketDate, RollupDimension.TOTAL, TOTAL_KEY),
+                new SalesRollupKey(bucketDate, RollupDimension.SKU, String.valueOf(line.getSkuId())),
+                new SalesRollupKey(bucketDate, RollupDimension.CATEGORY, String.valueOf(line.getCategoryId())),
+                new SalesRollupKey(bucketDate, RollupDimension.PAYMENT_METHOD, paymentMethod.name()));
+    }
+
+    /**
+     * Cheap pre-check so transitions that cannot move any figure (e.g. CONFIRMED -> SHIPPING) skip the query
+     */
+    private boolean mayChangeRollups(OrderStatus oldStatus, OrderStatus newStatus) {
+        if (counted(oldStatus) != counted(newStatus)) {
+            return true;
+        }
+        for (PaymentMethod paymentMethod : PaymentMethod.values()) {
+            if (paid(paymentMethod, oldStatus) != paid(paymentMethod, newStatus)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private int counted(OrderStatus status) {
+        return status != null && status != OrderStatus.CANCELLED ? 1 : 0;
+    }
+
+    private int paid(PaymentMethod paymentMethod, OrderStatus status) {
+        if (status == null) {
+            return 0;
+        }
+        boolean paid = switch (paymentMethod) {
+            case BANK_TRANSFER -> status == OrderStatus.CONFIRMED
+                    || status == OrderStatus.SHIPPING
+                    || status == OrderStatus.DELIVERED;
+            case COD -> status == OrderStatus.DELIVERED;
+        };
+        return paid ? 1 : 0;
+    }
+
+    /**
+     * A committed status change waiting for the next flush; recordedAt is taken after the commit
+     */
+    @Value
+    private static class Transition {
+        Long orderId;
+        OrderStatus oldStatus;
+        OrderStatus newStatus;
+        Instant recordedAt;
+    }
+}
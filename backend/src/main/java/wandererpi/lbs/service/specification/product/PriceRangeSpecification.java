@@ -4,7 +4,7 @@ import jakarta.persistence.criteria.Predicate;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Component;
 import wandererpi.lbs.dto.request.ProductFilterRequest;
-import wandererpi.lbs.entity.Product;
+import wandererpi.lbs.entity.ProductListing;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -13,10 +13,10 @@ import java.util.List;
 public class PriceRangeSpecification implements ProductSpecificationProvider {
 
     @Override
-    public Specification<Product> toSpecification(ProductFilterRequest request) {
-        List<Predicate> predicates = new ArrayList<>();
-
+    public Specification<ProductListing> toSpecification(ProductFilterRequest request) {
         return (root, query, cb) -> {
+            // Per invocation: the page and count queries both apply the specification
+            List<Predicate> predicates = new ArrayList<>();
             if (request.getMinPrice() != null) {
                 predicates.add(
                         cb.greaterThanOrEqualTo(root.get("basePrice"), request.getMinPrice())
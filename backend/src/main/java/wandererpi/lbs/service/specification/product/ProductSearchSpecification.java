@@ -0,0 +1,78 @@
+package wandererpi.lbs.service.specification.product;
+
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Component;
+import wandererpi.lbs.dto.request.ProductFilterRequest;
+import wandererpi.lbs.entity.ProductListing;
+import wandererpi.lbs.entity.ProductSearchDocument;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Full-text filter on {@code products.search_vector}, ranked by {@code ts_rank}.
+ * <p>
+ * The ranking is applied as the query order, so it only takes effect when the caller pages
+ * without a {@code Sort}; an explicit sort replaces it.
+ * </p>
+ */
+@Component
+public class ProductSearchSpecification implements ProductSpecificationProvider {
+
+    private static final Pattern TERM = Pattern.compile("[\\p{L}\\p{M}\\p{N}]+");
+    private static final int MAX_TERMS = 8;
+
+    @Override
+    public Specification<ProductListing> toSpecification(ProductFilterRequest request) {
+        String tsQuery = toPrefixQuery(request.getSearch());
+        if (tsQuery == null) return null;
+
+        return (root, query, cb) -> {
+            Subquery<Long> matches = query.subquery(Long.class);
+            Root<ProductSearchDocument> document = matches.from(ProductSearchDocument.class);
+            matches.select(document.get("id"))
+                    .where(cb.isTrue(cb.function("product_search_matches", Boolean.class,
+                            document.get("searchVector"), cb.literal(tsQuery))));
+
+            // Count queries have no order
+            if (query.getResultType() != Long.class) {
+                Subquery<Float> rank = query.subquery(Float.class);
+                Root<ProductSearchDocument> ranked = rank.from(ProductSearchDocument.class);
+                Expression<Float> score = cb.function("product_search_rank", Float.class,
+                        ranked.get("searchVector"), cb.literal(tsQuery));
+                rank.select(score).where(cb.equal(ranked.get("id"), root.get("productId")));
+                query.orderBy(cb.desc(rank), cb.asc(root.get("productId")));
+            }
+
+            return root.get("productId").in(matches);
+        };
+    }
+
+    /**
+     * Turn free text into a tsquery that matches every term, the last one as a prefix so results
+     * follow the user while typing: {@code "áo thu"} becomes {@code "áo & thu:*"}. Anything but
+     * letters and digits is dropped, so the result is always valid tsquery syntax.
+     *
+     * @return null if the text has no terms
+     */
+    public static String toPrefixQuery(String text) {
+        if (text == null) {
+            return null;
+        }
+
+        List<String> terms = new ArrayList<>();
+        Matcher matcher = TERM.matcher(text);
+        while (matcher.find() && terms.size() < MAX_TERMS) {
+            terms.add(matcher.group());
+        }
+        if (terms.isEmpty()) {
+            return null;
+        }
+        return String.join(" & ", terms) + ":*";
+    }
+}
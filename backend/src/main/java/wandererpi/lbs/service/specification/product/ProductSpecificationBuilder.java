@@ -3,7 +3,7 @@ package wandererpi.lbs.service.specification.product;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Component;
 import wandererpi.lbs.dto.request.ProductFilterRequest;
-import wandererpi.lbs.entity.Product;
+import wandererpi.lbs.entity.ProductListing;
 
 import java.util.List;
 import java.util.Objects;
@@ -17,7 +17,7 @@ public class ProductSpecificationBuilder {
         this.providers = providers;
     }
 
-    public Specification<Product> build(ProductFilterRequest request) {
+    public Specification<ProductListing> build(ProductFilterRequest request) {
         return providers.stream()
                 .map(p -> p.toSpecification(request))
                 .filter(Objects::nonNull)
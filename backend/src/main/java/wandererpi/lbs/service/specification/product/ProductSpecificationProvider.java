@@ -2,9 +2,9 @@ package wandererpi.lbs.service.specification.product;
 
 import org.springframework.data.jpa.domain.Specification;
 import wandererpi.lbs.dto.request.ProductFilterRequest;
-import wandererpi.lbs.entity.Product;
+import wandererpi.lbs.entity.ProductListing;
 
 public interface ProductSpecificationProvider {
-    Specification<Product> toSpecification(ProductFilterRequest request);
+    Specification<ProductListing> toSpecification(ProductFilterRequest request);
 }
 
@@ -0,0 +1,216 @@
+package wandererpi.lbs.service.stream;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import wandererpi.lbs.config.OrderStatusStreamConfig;
+import wandererpi.lbs.dto.response.OrderStatusUpdateResponse;
+import wandererpi.lbs.enums.ErrorCode;
+import wandererpi.lbs.enums.OrderStatus;
+import wandererpi.lbs.event.OrderStatusChangedEvent;
+import wandererpi.lbs.exception.ApplicationException;
+import wandererpi.lbs.repository.jdbc.OrderStatusRepository;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Server-sent order status streams for the payment page.
+ * <p>
+ * Each instance keeps the open {@link SseEmitter}s of its own clients by order id. Committed
+ * status changes are published on a Redis channel, so the instance holding a customer's stream
+ * is notified wherever the payment was processed. Streams are async servlet responses: a waiting
+ * customer holds no request thread and causes no database queries.
+ * </p>
+ * <p>
+ * A stream ends as soon as the order leaves PENDING_PAYMENT, since nothing further matters to
+ * the payment page.
+ * </p>
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OrderStatusStreamRegistry implements MessageListener {
+
+    private static final String EVENT_NAME = "status";
+
+    private final Map<Long, Set<SseEmitter>> emitters = new ConcurrentHashMap<>();
+    private final AtomicInteger openStreams = new AtomicInteger();
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final RedisMessageListenerContainer redisMessageListenerContainer;
+    private final OrderStatusRepository orderStatusRepository;
+    private final ThreadPoolTaskExecutor orderStatusHeartbeatExecutor;
+    private final OrderStatusStreamConfig config;
+
+    @PostConstruct
+    void subscribe() {
+        redisMessageListenerContainer.addMessageListener(this, new ChannelTopic(config.getChannel()));
+    }
+
+    /**
+     * Open a stream for an order and send its current status. Streams of orders that are no longer
+     * awaiting payment are completed after that first event.
+     * <p>
+     * The emitter is registered before the status is read from the database, so a change committed
+     * in between is either in that read or delivered to the registered emitter; it is never missed.
+     * </p>
+     */
+    public SseEmitter open(Long orderId) {
+        if (openStreams.incrementAndGet() > config.getMaxConnections()) {
+            openStreams.decrementAndGet();
+            throw new ApplicationException(ErrorCode.TOO_MANY_STREAMS);
+        }
+
+        SseEmitter emitter = newEmitter();
+
+        // compute/computeIfPresent are atomic per key, so an add never races the removal of an empty set
+        emitters.compute(orderId, (id, streams) -> {
+            Set<SseEmitter> target = streams != null ? streams : ConcurrentHashMap.newKeySet();
+            target.add(emitter);
+            return target;
+        });
+        Runnable release = () -> release(orderId, emitter);
+        emitter.onCompletion(release);
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(error -> release.run());
+
+        OrderStatus currentStatus;
+        try {
+            currentStatus = orderStatusRepository.findStatuses(List.of(orderId)).get(orderId);
+        } catch (RuntimeException e) {
+            release.run();
+            throw e;
+        }
+        if (currentStatus == null) {
+            release.run();
+            throw new ApplicationException(ErrorCode.ORDER_NOT_FOUND);
+        }
+
+        send(emitter, orderId, currentStatus);
+        if (currentStatus != OrderStatus.PENDING_PAYMENT) {
+            // Completion callbacks only fire once the response is async; release here as well
+            emitter.complete();
+            release.run();
+        }
+        return emitter;
+    }
+
+    /**
+     * Fan the change out to every instance once it is committed
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onOrderStatusChanged(OrderStatusChangedEvent event) {
+        try {
+            stringRedisTemplate.convertAndSend(config.getChannel(), event.getOrderId() + ":" + event.getNewStatus().name());
+        } catch (Exception e) {
+            // Other instances miss this one; their clients still see the status on reconnect
+            log.warn("Order status publish failed for order {}: {}", event.getOrderId(), e.getMessage());
+            deliver(event.getOrderId(), event.getNewStatus());
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        int separator = body.indexOf(':');
+        try {
+            deliver(Long.parseLong(body.substring(0, separator)), OrderStatus.valueOf(body.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            log.warn("Ignoring malformed order status message '{}'", body);
+        }
+    }
+
+    /**
+     * Comment frames keep idle streams open through proxies and reveal disconnected clients.
+     * Writes run on {@code orderStatusHeartbeatExecutor}, so slow clients never hold the shared scheduler thread.
+     */
+    @Scheduled(fixedDelayString = "${order.status-stream.heartbeat-interval-ms:20000}")
+    public void heartbeat() {
+        try {
+            orderStatusHeartbeatExecutor.execute(this::sendHeartbeats);
+        } catch (TaskRejectedException e) {
+            log.debug("Previous order status heartbeat still running; skipping this one");
+        }
+    }
+
+    /**
+     * Number of open streams on this instance
+     */
+    int openStreamCount() {
+        return openStreams.get();
+    }
+
+    /**
+     * @return a new emitter; tests replace it to observe what is sent
+     */
+    SseEmitter newEmitter() {
+        return new SseEmitter(config.getTimeout().toMillis());
+    }
+
+    // ========== Private Helper Methods ==========
+
+    private void sendHeartbeats() {
+        emitters.values().forEach(streams -> streams.forEach(emitter -> {
+            try {
+                emitter.send(SseEmitter.event().comment("ping"));
+            } catch (Exception e) {
+                emitter.completeWithError(e);
+            }
+        }));
+    }
+
+    private void deliver(Long orderId, OrderStatus status) {
+        Set<SseEmitter> streams = emitters.get(orderId);
+        if (streams == null) {
+            return;
+        }
+
+        for (SseEmitter emitter : streams) {
+            send(emitter, orderId, status);
+            if (status != OrderStatus.PENDING_PAYMENT) {
+                emitter.complete();
+            }
+        }
+    }
+
+    private void send(SseEmitter emitter, Long orderId, OrderStatus status) {
+        try {
+            emitter.send(SseEmitter.event()
+                    .name(EVENT_NAME)
+                    .data(OrderStatusUpdateResponse.builder()
+                            .orderId(orderId)
+                            .status(status)
+                            .updatedAt(Instant.now())
+                            .build()));
+        } catch (Exception e) {
+            emitter.completeWithError(e);
+        }
+    }
+
+    private void release(Long orderId, SseEmitter emitter) {
+        emitters.computeIfPresent(orderId, (id, streams) -> {
+            if (streams.remove(emitter)) {
+                openStreams.decrementAndGet();
+            }
+            return streams.isEmpty() ? null : streams;
+        });
+    }
+}
@@ -0,0 +1,56 @@
+package wandererpi.lbs.util;
+
+import wandererpi.lbs.enums.ErrorCode;
+import wandererpi.lbs.exception.ApplicationException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Opaque cursor encoding for keyset pagination.
+ * <p>
+ * A cursor is the list of sort-key values of the last row on a page. Each value is
+ * Base64URL-encoded and the parts are joined with '.', so values may contain any character.
+ * </p>
+ */
+public final class CursorUtil {
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private CursorUtil() {
+    }
+
+    public static String encode(String... parts) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < parts.length; i++) {
+            if (i > 0) {
+                sb.append('.');
+            }
+            sb.append(ENCODER.encodeToString(parts[i].getBytes(StandardCharsets.UTF_8)));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Decode a cursor produced by {@link #encode(String...)}.
+     *
+     * @throws ApplicationException INVALID_CURSOR if the cursor is malformed or has the wrong arity
+     */
+    public static String[] decode(String cursor, int expectedParts) {
+        String[] encoded = cursor.split("\\.", -1);
+        if (encoded.length != expectedParts) {
+            throw new ApplicationException(ErrorCode.INVALID_CURSOR);
+        }
+
+        String[] parts = new String[expectedParts];
+        try {
+            for (int i = 0; i < expectedParts; i++) {
+                parts[i] = new String(DECODER.decode(encoded[i]), StandardCharsets.UTF_8);
+            }
+        } catch (IllegalArgumentException e) {
+            throw new ApplicationException(ErrorCode.INVALID_CURSOR);
+        }
+        return parts;
+    }
+}
@@ -0,0 +1,82 @@
+package wandererpi.lbs.util;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Extracts the order reference customers put in bank transfer content
+ */
+@Slf4j
+public final class OrderReferenceUtil {
+
+    private static final Pattern ORDER_ID_PATTERN = Pattern.compile("ORDER-(\\d+)");
+
+    // Banking apps drop the hyphen, insert spaces or mangle the keyword; "DH" is short for "don hang".
+    // The keyword must start a word, so "XDH 12" or "BORDER 7" reference nothing
+    private static final Pattern FUZZY_ORDER_ID_PATTERN = Pattern.compile(
+            "\\b(?:ORDER|ORDR|ODER|OREDR|0RDER|DON ?HANG|DH)[\\s\\-_.:#/]*(\\d{1,18})");
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+
+    private OrderReferenceUtil() {
+    }
+
+    /**
+     * Extract order ID from transaction content
+     * Format: "ORDER-123" anywhere in the content, case-insensitive
+     *
+     * @return order id, or null when the content has no order reference
+     */
+    public static Long extractOrderId(String content) {
+        if (content == null || content.isEmpty()) {
+            return null;
+        }
+
+        Matcher matcher = ORDER_ID_PATTERN.matcher(content.toUpperCase());
+        if (matcher.find()) {
+            try {
+                return Long.parseLong(matcher.group(1));
+            } catch (NumberFormatException e) {
+                log.error("Failed to parse order ID: {}", matcher.group(1));
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Lenient variant for reconciliation: accent- and case-insensitive, tolerates a missing or different
+     * separator and common misspellings of the keyword. May return several candidates (or false ones),
+     * so callers must check them against known orders.
+     *
+     * @return candidate order ids in order of appearance, possibly empty
+     */
+    public static List<Long> extractOrderIdCandidates(String content) {
+        List<Long> candidates = new ArrayList<>(2);
+        if (content == null || content.isEmpty()) {
+            return candidates;
+        }
+
+        String normalized = COMBINING_MARKS.matcher(Normalizer.normalize(content, Normalizer.Form.NFD))
+                .replaceAll("")
+                .replace('\u0111', 'd')
+                .replace('\u0110', 'D')
+                .toUpperCase();
+
+        Matcher matcher = FUZZY_ORDER_ID_PATTERN.matcher(normalized);
+        while (matcher.find()) {
+            try {
+                Long orderId = Long.parseLong(matcher.group(1));
+                if (!candidates.contains(orderId)) {
+                    candidates.add(orderId);
+                }
+            } catch (NumberFormatException e) {
+                log.debug("Ignoring unparsable order reference: {}", matcher.group(1));
+            }
+        }
+        return candidates;
+    }
+}
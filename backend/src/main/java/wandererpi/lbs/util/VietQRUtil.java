@@ -7,6 +7,11 @@ import java.util.HashMap;
 import java.util.Map;
 
 // My idea of localizing the library; and thank you, Claude, for implementing it :)
+/**
+ * @deprecated use {@link wandererpi.lbs.service.payment.VietQREncoder}, which produces the same payload
+ * with configurable bank BINs; kept as the reference implementation for its golden-vector tests.
+ */
+@Deprecated
 @Slf4j
 public class VietQRUtil {
 
@@ -0,0 +1,9 @@
+-- Keyset pagination for the admin order search: every access path ends in (created_at, id)
+-- so the planner can seek to the cursor and stop after LIMIT rows.
+CREATE INDEX idx_orders_created_at_id ON orders (created_at DESC, id DESC);
+CREATE INDEX idx_orders_status_created_at_id ON orders (status, created_at DESC, id DESC);
+CREATE INDEX idx_orders_payment_method_created_at_id ON orders (payment_method, created_at DESC, id DESC);
+
+-- Customer lookup by email (case-insensitive) or phone
+CREATE INDEX idx_orders_customer_email ON orders (lower(customer_email));
+CREATE INDEX idx_orders_customer_phone ON orders (customer_phone);
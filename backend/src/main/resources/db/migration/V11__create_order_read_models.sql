@@ -0,0 +1,53 @@
+CREATE TABLE order_read_models
+(
+    order_id       BIGINT                      NOT NULL,
+    tracking_token VARCHAR(255)                NOT NULL,
+    status         VARCHAR(255)                NOT NULL,
+    payment_method VARCHAR(255),
+    total_amount   DECIMAL                     NOT NULL,
+    customer_name  VARCHAR(255),
+    customer_phone VARCHAR(255),
+    customer_email VARCHAR(255),
+    shipping_addr  TEXT,
+    note           TEXT,
+    items          JSONB                       NOT NULL DEFAULT '[]'::jsonb,
+    created_at     TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+    updated_at     TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+    CONSTRAINT pk_order_read_models PRIMARY KEY (order_id),
+    CONSTRAINT uc_order_read_models_trackingtoken UNIQUE (tracking_token)
+);
+
+-- Backfill existing orders, rendering item lines the same way OrderServiceImpl does
+INSERT INTO order_read_models (order_id, tracking_token, status, payment_method, total_amount,
+                               customer_name, customer_phone, customer_email, shipping_addr, note,
+                               items, created_at, updated_at)
+SELECT o.id,
+       o.tracking_token,
+       o.status,
+       o.payment_method,
+       o.total_amount,
+       o.customer_name,
+       o.customer_phone,
+       o.customer_email,
+       o.shipping_addr,
+       o.note,
+       COALESCE((SELECT jsonb_agg(jsonb_build_object(
+                                          'id', oi.id,
+                                          'skuId', s.id,
+                                          'skuCode', (SELECT sc.code
+                                                      FROM sku_codes sc
+                                                      WHERE sc.sku_id = s.id AND sc.is_primary
+                                                      LIMIT 1),
+                                          'productName', p.name,
+                                          'size', s.size,
+                                          'color', s.color,
+                                          'quantity', oi.quantity,
+                                          'unitPrice', oi.unit_price,
+                                          'itemTotal', oi.unit_price * oi.quantity) ORDER BY oi.id)
+                 FROM order_items oi
+                          JOIN skus s ON s.id = oi.sku_id
+                          JOIN products p ON p.id = s.product_id
+                 WHERE oi.order_id = o.id), '[]'::jsonb),
+       o.created_at,
+       COALESCE(o.updated_at, o.created_at)
+FROM orders o;
@@ -0,0 +1,208 @@
+-- Monthly RANGE partitioning of orders, order_items and order_histories on created_at.
+-- PostgreSQL requires the partition key in every unique constraint, so:
+--   * primary keys become (id, created_at); ids stay unique because they come from sequences
+--   * UNIQUE (tracking_token) becomes a plain index; order_tracking_tokens keeps the token unique, for archived
+--     orders too
+--   * foreign keys referencing orders (id) are dropped, there is no unique key on id alone
+-- Partitions ahead of time are created by OrderPartitionJob through create_monthly_partition();
+-- the DEFAULT partitions only catch rows outside every monthly range.
+
+-- 1. Move the existing tables aside
+ALTER TABLE order_histories DROP CONSTRAINT fk_order_histories_on_order;
+ALTER TABLE order_items DROP CONSTRAINT fk_order_items_on_order;
+ALTER TABLE order_items DROP CONSTRAINT fk_order_items_on_sku;
+ALTER TABLE orders DROP CONSTRAINT uc_orders_trackingtoken;
+
+DROP INDEX idx_orders_created_at_id;
+DROP INDEX idx_orders_status_created_at_id;
+DROP INDEX idx_orders_payment_method_created_at_id;
+DROP INDEX idx_orders_customer_email;
+DROP INDEX idx_orders_customer_phone;
+
+ALTER TABLE orders RENAME CONSTRAINT pk_orders TO pk_orders_unpartitioned;
+ALTER TABLE order_items RENAME CONSTRAINT pk_order_items TO pk_order_items_unpartitioned;
+ALTER TABLE order_histories RENAME CONSTRAINT pk_order_histories TO pk_order_histories_unpartitioned;
+
+ALTER TABLE orders RENAME TO orders_unpartitioned;
+ALTER TABLE order_items RENAME TO order_items_unpartitioned;
+ALTER TABLE order_histories RENAME TO order_histories_unpartitioned;
+
+-- Keep the pooled sequences when the old tables are dropped
+ALTER SEQUENCE order_items_seq OWNED BY NONE;
+ALTER SEQUENCE order_histories_seq OWNED BY NONE;
+
+-- 2. Partitioned parents (identity columns are not available on partitioned tables before PostgreSQL 17)
+CREATE SEQUENCE IF NOT EXISTS orders_seq;
+
+CREATE TABLE orders
+(
+    id             BIGINT                      NOT NULL DEFAULT nextval('orders_seq'),
+    created_at     TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+    created_by     BIGINT,
+    updated_at     TIMESTAMP WITHOUT TIME ZONE,
+    updated_by     BIGINT,
+    tracking_token VARCHAR(255)                NOT NULL,
+    status         VARCHAR(255)                NOT NULL,
+    payment_method VARCHAR(255),
+    total_amount   DECIMAL                     NOT NULL,
+    customer_name  VARCHAR(255),
+    customer_phone VARCHAR(255),
+    customer_email VARCHAR(255),
+    shipping_addr  TEXT,
+    note           TEXT,
+    CONSTRAINT pk_orders PRIMARY KEY (id, created_at)
+) PARTITION BY RANGE (created_at);
+
+CREATE TABLE order_items
+(
+    id         BIGINT                      NOT NULL,
+    created_at TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+    created_by BIGINT,
+    updated_at TIMESTAMP WITHOUT TIME ZONE,
+    updated_by BIGINT,
+    order_id   BIGINT                      NOT NULL,
+    sku_id     BIGINT                      NOT NULL,
+    quantity   INTEGER                     NOT NULL,
+    unit_price DECIMAL                     NOT NULL,
+    CONSTRAINT pk_order_items PRIMARY KEY (id, created_at)
+) PARTITION BY RANGE (created_at);
+
+CREATE TABLE order_histories
+(
+    id         BIGINT                      NOT NULL,
+    created_at TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+    created_by BIGINT,
+    updated_at TIMESTAMP WITHOUT TIME ZONE,
+    updated_by BIGINT,
+    order_id   BIGINT                      NOT NULL,
+    old_status VARCHAR(255),
+    new_status VARCHAR(255),
+    note       TEXT,
+    CONSTRAINT pk_order_histories PRIMARY KEY (id, created_at)
+) PARTITION BY RANGE (created_at);
+
+ALTER TABLE order_items
+    ADD CONSTRAINT fk_order_items_on_sku FOREIGN KEY (sku_id) REFERENCES skus (id);
+
+-- 3. Partition management, shared with OrderPartitionJob.
+-- Partitions are named <parent>_yYYYYmMM and cover [month_start, month_start + 1 month).
+-- PARTITION OF fails once the DEFAULT partition holds rows of the new range, so the partition is built as a plain
+-- table, those rows are moved into it, and it is attached. The DEFAULT partition is locked against writes meanwhile;
+-- it only receives rows outside every monthly range, so this blocks nothing in normal operation.
+CREATE OR REPLACE FUNCTION create_monthly_partition(parent TEXT, month_start DATE) RETURNS TEXT
+    LANGUAGE plpgsql AS
+$$
+DECLARE
+    first_day         DATE := date_trunc('month', month_start)::date;
+    next_day          DATE := (first_day + INTERVAL '1 month')::date;
+    partition_name    TEXT := format('%s_y%sm%s', parent, to_char(first_day, 'YYYY'), to_char(first_day, 'MM'));
+    default_partition TEXT := parent || '_default';
+BEGIN
+    -- Serialises concurrent callers (several application nodes) creating the same partition
+    PERFORM pg_advisory_xact_lock(hashtext(partition_name));
+    IF to_regclass(quote_ident(partition_name)) IS NOT NULL THEN
+        RETURN partition_name;
+    END IF;
+
+    EXECUTE format('CREATE TABLE %I (LIKE %I INCLUDING DEFAULTS INCLUDING CONSTRAINTS)', partition_name, parent);
+
+    IF to_regclass(quote_ident(default_partition)) IS NOT NULL THEN
+        EXECUTE format('LOCK TABLE %I IN SHARE ROW EXCLUSIVE MODE', default_partition);
+        EXECUTE format('WITH moved AS (DELETE FROM %I WHERE created_at >= %L AND created_at < %L RETURNING *) '
+                           || 'INSERT INTO %I SELECT * FROM moved',
+                       default_partition, first_day, next_day, partition_name);
+    END IF;
+
+    -- Indexes of the parent are created on the new partition as it is attached
+    EXECUTE format('ALTER TABLE %I ATTACH PARTITION %I FOR VALUES FROM (%L) TO (%L)',
+                   parent, partition_name, first_day, next_day);
+    RETURN partition_name;
+END;
+$$;
+
+DO
+$$
+    DECLARE
+        first_month DATE;
+        last_month  DATE := (date_trunc('month', now()) + INTERVAL '3 months')::date;
+        month_start DATE;
+        parent      TEXT;
+    BEGIN
+        SELECT date_trunc('month', LEAST(
+                COALESCE((SELECT MIN(created_at) FROM orders_unpartitioned), now()),
+                COALESCE((SELECT MIN(created_at) FROM order_items_unpartitioned), now()),
+                COALESCE((SELECT MIN(created_at) FROM order_histories_unpartitioned), now())))::date
+        INTO first_month;
+
+        FOREACH parent IN ARRAY ARRAY ['orders', 'order_items', 'order_histories']
+            LOOP
+                month_start := first_month;
+                WHILE month_start <= last_month
+                    LOOP
+                        PERFORM create_monthly_partition(parent, month_start);
+                        month_start := (month_start + INTERVAL '1 month')::date;
+                    END LOOP;
+                EXECUTE format('CREATE TABLE %I PARTITION OF %I DEFAULT', parent || '_default', parent);
+            END LOOP;
+    END
+$$;
+
+-- 4. Copy the data and drop the old tables
+INSERT INTO orders SELECT * FROM orders_unpartitioned;
+INSERT INTO order_items SELECT * FROM order_items_unpartitioned;
+INSERT INTO order_histories SELECT * FROM order_histories_unpartitioned;
+
+SELECT setval('orders_seq', COALESCE((SELECT MAX(id) FROM orders), 0) + 1, false);
+
+DROP TABLE order_histories_unpartitioned;
+DROP TABLE order_items_unpartitioned;
+DROP TABLE orders_unpartitioned;
+
+ALTER SEQUENCE orders_seq OWNED BY orders.id;
+ALTER SEQUENCE order_items_seq OWNED BY order_items.id;
+ALTER SEQUENCE order_histories_seq OWNED BY order_histories.id;
+
+-- 5. Indexes, created on the parents so every partition (present and future) gets them
+CREATE INDEX idx_orders_created_at_id ON orders (created_at DESC, id DESC);
+CREATE INDEX idx_orders_status_created_at_id ON orders (status, created_at DESC, id DESC);
+CREATE INDEX idx_orders_payment_method_created_at_id ON orders (payment_method, created_at DESC, id DESC);
+CREATE INDEX idx_orders_customer_email ON orders (lower(customer_email));
+CREATE INDEX idx_orders_customer_phone ON orders (customer_phone);
+CREATE INDEX idx_orders_tracking_token ON orders (tracking_token);
+
+-- Child lookups carry the parent's created_at as a lower bound so older partitions are pruned
+CREATE INDEX idx_order_items_order_created_at ON order_items (order_id, created_at);
+CREATE INDEX idx_order_histories_order_created_at ON order_histories (order_id, created_at);
+
+-- 6. Tracking token uniqueness: one row per order, filled by a trigger so every write path is covered.
+-- It is never archived, so a token stays taken after its order's partition is detached.
+CREATE TABLE order_tracking_tokens
+(
+    tracking_token VARCHAR(255)                NOT NULL,
+    order_id       BIGINT                      NOT NULL,
+    created_at     TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+    CONSTRAINT pk_order_tracking_tokens PRIMARY KEY (tracking_token)
+);
+
+INSERT INTO order_tracking_tokens (tracking_token, order_id, created_at)
+SELECT tracking_token, id, created_at
+FROM orders;
+
+CREATE OR REPLACE FUNCTION order_tracking_tokens_on_order() RETURNS TRIGGER
+    LANGUAGE plpgsql AS
+$$
+BEGIN
+    INSERT INTO order_tracking_tokens (tracking_token, order_id, created_at)
+    VALUES (NEW.tracking_token, NEW.id, NEW.created_at);
+    RETURN NULL;
+END;
+$$;
+
+CREATE TRIGGER trg_order_tracking_tokens
+    AFTER INSERT
+    ON orders
+    FOR EACH ROW
+EXECUTE FUNCTION order_tracking_tokens_on_order();
+
+-- 7. Cold storage for partitions detached by the archival mode
+CREATE SCHEMA IF NOT EXISTS archive;
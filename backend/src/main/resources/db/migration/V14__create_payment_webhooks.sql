@@ -0,0 +1,34 @@
+CREATE SEQUENCE IF NOT EXISTS payment_webhooks_seq INCREMENT BY 50;
+
+CREATE TABLE payment_webhooks
+(
+    id              BIGINT                      NOT NULL,
+    created_at      TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+    created_by      BIGINT,
+    updated_at      TIMESTAMP WITHOUT TIME ZONE,
+    updated_by      BIGINT,
+    transaction_id  BIGINT,
+    order_key       BIGINT,
+    payload         TEXT                        NOT NULL,
+    signature       VARCHAR(255),
+    status          VARCHAR(20)                 NOT NULL,
+    attempts        INTEGER                     NOT NULL DEFAULT 0,
+    next_attempt_at TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+    locked_at       TIMESTAMP WITHOUT TIME ZONE,
+    last_error      TEXT,
+    processed_at    TIMESTAMP WITHOUT TIME ZONE,
+    CONSTRAINT pk_payment_webhooks PRIMARY KEY (id)
+);
+
+ALTER SEQUENCE payment_webhooks_seq OWNED BY payment_webhooks.id;
+
+-- Claim scan: only pending rows are indexed, so the index stays small as processed rows accumulate
+CREATE INDEX idx_payment_webhooks_pending ON payment_webhooks (next_attempt_at, id) WHERE status = 'PENDING';
+
+-- Per-order ordering check: is there an earlier open webhook for the same order?
+CREATE INDEX idx_payment_webhooks_open_order ON payment_webhooks (order_key, id) WHERE status IN ('PENDING', 'PROCESSING');
+
+CREATE INDEX idx_payment_webhooks_processing ON payment_webhooks (locked_at) WHERE status = 'PROCESSING';
+
+-- Retention purge: processed_at marks either final state
+CREATE INDEX idx_payment_webhooks_processed_at ON payment_webhooks (processed_at) WHERE status IN ('PROCESSED', 'FAILED');
@@ -0,0 +1,29 @@
+CREATE SEQUENCE IF NOT EXISTS payment_transactions_seq;
+
+-- Every bank transaction SePay has reported; transaction_id is SePay's id and the webhook dedup key.
+-- Bank statement reconciliation records the lines it applied too: they carry the bank's reference
+-- (SePay's reference_code) but no SePay transaction id.
+CREATE TABLE payment_transactions
+(
+    id               BIGINT                      NOT NULL DEFAULT nextval('payment_transactions_seq'),
+    transaction_id   BIGINT,
+    gateway          VARCHAR(100),
+    account_number   VARCHAR(100),
+    transaction_date VARCHAR(50),
+    transfer_type    VARCHAR(20),
+    transfer_amount  BIGINT,
+    content          TEXT,
+    reference_code   VARCHAR(255),
+    order_id         BIGINT,
+    created_at       TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+    CONSTRAINT pk_payment_transactions PRIMARY KEY (id),
+    CONSTRAINT uc_payment_transactions_transaction_id UNIQUE (transaction_id)
+);
+
+ALTER SEQUENCE payment_transactions_seq OWNED BY payment_transactions.id;
+
+CREATE INDEX idx_payment_transactions_order_id ON payment_transactions (order_id) WHERE order_id IS NOT NULL;
+
+-- One row per bank transfer, whichever source recorded it first
+CREATE UNIQUE INDEX uc_payment_transactions_reference_code ON payment_transactions (reference_code)
+    WHERE reference_code IS NOT NULL;
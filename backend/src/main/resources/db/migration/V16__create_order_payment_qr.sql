@@ -0,0 +1,13 @@
+-- VietQR payload per pending bank transfer order, written after the order commits.
+-- config_fingerprint identifies the bank account the payload was encoded for; rows with another
+-- fingerprint are ignored on read and re-encoded in bulk at startup.
+-- No foreign key: orders is partitioned and has no unique key on id alone (see V13).
+CREATE TABLE order_payment_qr
+(
+    order_id           BIGINT                      NOT NULL,
+    payload            TEXT                        NOT NULL,
+    config_fingerprint VARCHAR(64)                 NOT NULL,
+    created_at         TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+    updated_at         TIMESTAMP WITHOUT TIME ZONE,
+    CONSTRAINT pk_order_payment_qr PRIMARY KEY (order_id)
+);
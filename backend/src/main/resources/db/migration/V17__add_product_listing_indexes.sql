@@ -0,0 +1,3 @@
+-- Batch lookups for listing pages (ProductSummaryRepository): both are answered from the index alone
+CREATE INDEX idx_skus_product_stock ON skus (product_id, stock_qty);
+CREATE INDEX idx_product_images_product_primary ON product_images (product_id, is_primary DESC, position, id) INCLUDE (image_url);
@@ -0,0 +1,190 @@
+-- Denormalized listing rows: everything a product list page shows, in one table.
+-- Maintained by the triggers below, so every write path (JPA, manual SQL) keeps it current; stock is the exception,
+-- see product_listing_on_sku.
+CREATE TABLE product_listing
+(
+    product_id        BIGINT                      NOT NULL,
+    category_id       BIGINT                      NOT NULL,
+    category_name     VARCHAR(255)                NOT NULL,
+    category_slug     VARCHAR(255)                NOT NULL,
+    name              VARCHAR(255)                NOT NULL,
+    slug              VARCHAR(255)                NOT NULL,
+    base_price        DECIMAL                     NOT NULL,
+    primary_image_url VARCHAR(255),
+    min_stock         INTEGER                     NOT NULL,
+    min_price         DECIMAL,
+    max_price         DECIMAL,
+    in_stock          BOOLEAN                     NOT NULL,
+    created_at        TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+    CONSTRAINT pk_product_listing PRIMARY KEY (product_id),
+    CONSTRAINT fk_product_listing_product FOREIGN KEY (product_id) REFERENCES products (id) ON DELETE CASCADE
+);
+
+-- Sort orders of GET /api/v1/product, unfiltered and per category; id breaks ties so pages are stable
+CREATE INDEX idx_product_listing_created_at ON product_listing (created_at DESC, product_id DESC);
+CREATE INDEX idx_product_listing_base_price ON product_listing (base_price, product_id);
+CREATE INDEX idx_product_listing_name ON product_listing (name, product_id);
+CREATE INDEX idx_product_listing_category_created_at ON product_listing (category_id, created_at DESC, product_id DESC);
+CREATE INDEX idx_product_listing_category_base_price ON product_listing (category_id, base_price, product_id);
+CREATE INDEX idx_product_listing_category_name ON product_listing (category_id, name, product_id);
+
+-- Recompute the rows of the given products; rows of products that no longer exist are removed by the FK.
+-- Rows are written in id order so concurrent refreshes lock them in the same order.
+CREATE OR REPLACE FUNCTION refresh_product_listing(product_ids BIGINT[]) RETURNS VOID
+    LANGUAGE plpgsql AS
+$$
+BEGIN
+    INSERT INTO product_listing (product_id, category_id, category_name, category_slug, name, slug, base_price,
+                                 primary_image_url, min_stock, min_price, max_price, in_stock, created_at)
+    SELECT p.id,
+           c.id,
+           c.name,
+           c.slug,
+           p.name,
+           p.slug,
+           p.base_price,
+           (SELECT i.image_url
+            FROM product_images i
+            WHERE i.product_id = p.id
+            ORDER BY i.is_primary DESC, i.position, i.id
+            LIMIT 1),
+           COALESCE(s.min_stock, 0),
+           s.min_price,
+           s.max_price,
+           COALESCE(s.max_stock, 0) > 0,
+           p.created_at
+    FROM products p
+             JOIN categories c ON c.id = p.category_id
+             LEFT JOIN LATERAL (SELECT MIN(sk.stock_qty) AS min_stock,
+                                       MAX(sk.stock_qty) AS max_stock,
+                                       MIN(sk.price)     AS min_price,
+                                       MAX(sk.price)     AS max_price
+                                FROM skus sk
+                                WHERE sk.product_id = p.id) s ON TRUE
+    WHERE p.id = ANY (product_ids)
+    ORDER BY p.id
+    ON CONFLICT (product_id) DO UPDATE
+        SET category_id       = EXCLUDED.category_id,
+            category_name     = EXCLUDED.category_name,
+            category_slug     = EXCLUDED.category_slug,
+            name              = EXCLUDED.name,
+            slug              = EXCLUDED.slug,
+            base_price        = EXCLUDED.base_price,
+            primary_image_url = EXCLUDED.primary_image_url,
+            min_stock         = EXCLUDED.min_stock,
+            min_price         = EXCLUDED.min_price,
+            max_price         = EXCLUDED.max_price,
+            in_stock          = EXCLUDED.in_stock,
+            created_at        = EXCLUDED.created_at;
+END;
+$$;
+
+-- Products and images change rarely: refresh per row
+CREATE OR REPLACE FUNCTION product_listing_on_product() RETURNS TRIGGER
+    LANGUAGE plpgsql AS
+$$
+BEGIN
+    PERFORM refresh_product_listing(ARRAY [NEW.id]);
+    RETURN NULL;
+END;
+$$;
+
+CREATE OR REPLACE FUNCTION product_listing_on_image() RETURNS TRIGGER
+    LANGUAGE plpgsql AS
+$$
+BEGIN
+    IF TG_OP = 'INSERT' THEN
+        PERFORM refresh_product_listing(ARRAY [NEW.product_id]);
+    ELSIF TG_OP = 'DELETE' THEN
+        PERFORM refresh_product_listing(ARRAY [OLD.product_id]);
+    ELSE
+        PERFORM refresh_product_listing(ARRAY [OLD.product_id, NEW.product_id]);
+    END IF;
+    RETURN NULL;
+END;
+$$;
+
+-- SKUs: once per statement, so restoring the stock of a batch of orders refreshes each product once.
+-- Stock-only updates are skipped: every checkout reserves stock, and refreshing the listing row inside it held
+-- that row's lock until commit, so checkouts of popular products queued on it and carts locking two products'
+-- rows in opposite orders deadlocked. min_stock and in_stock are refreshed after commit by CatalogChangeBuffer,
+-- fed by the CatalogChangedEvents of StockRepository: stock must only be changed through it.
+CREATE OR REPLACE FUNCTION product_listing_on_sku() RETURNS TRIGGER
+    LANGUAGE plpgsql AS
+$$
+BEGIN
+    IF TG_OP = 'INSERT' THEN
+        PERFORM refresh_product_listing(ARRAY(SELECT DISTINCT product_id FROM new_skus));
+    ELSIF TG_OP = 'DELETE' THEN
+        PERFORM refresh_product_listing(ARRAY(SELECT DISTINCT product_id FROM old_skus));
+    ELSE
+        -- Price changes and SKUs moved between products only
+        PERFORM refresh_product_listing(ARRAY(SELECT n.product_id
+                                              FROM new_skus n
+                                                       JOIN old_skus o ON o.id = n.id
+                                              WHERE n.price IS DISTINCT FROM o.price
+                                                 OR n.product_id <> o.product_id
+                                              UNION
+                                              SELECT o.product_id
+                                              FROM new_skus n
+                                                       JOIN old_skus o ON o.id = n.id
+                                              WHERE n.product_id <> o.product_id));
+    END IF;
+    RETURN NULL;
+END;
+$$;
+
+CREATE OR REPLACE FUNCTION product_listing_on_category() RETURNS TRIGGER
+    LANGUAGE plpgsql AS
+$$
+BEGIN
+    UPDATE product_listing
+    SET category_name = NEW.name,
+        category_slug = NEW.slug
+    WHERE category_id = NEW.id;
+    RETURN NULL;
+END;
+$$;
+
+CREATE TRIGGER trg_product_listing_product
+    AFTER INSERT OR UPDATE
+    ON products
+    FOR EACH ROW
+EXECUTE FUNCTION product_listing_on_product();
+
+CREATE TRIGGER trg_product_listing_image
+    AFTER INSERT OR UPDATE OR DELETE
+    ON product_images
+    FOR EACH ROW
+EXECUTE FUNCTION product_listing_on_image();
+
+-- Transition tables allow one event per trigger
+CREATE TRIGGER trg_product_listing_sku_insert
+    AFTER INSERT
+    ON skus
+    REFERENCING NEW TABLE AS new_skus
+    FOR EACH STATEMENT
+EXECUTE FUNCTION product_listing_on_sku();
+
+CREATE TRIGGER trg_product_listing_sku_update
+    AFTER UPDATE
+    ON skus
+    REFERENCING OLD TABLE AS old_skus NEW TABLE AS new_skus
+    FOR EACH STATEMENT
+EXECUTE FUNCTION product_listing_on_sku();
+
+CREATE TRIGGER trg_product_listing_sku_delete
+    AFTER DELETE
+    ON skus
+    REFERENCING OLD TABLE AS old_skus
+    FOR EACH STATEMENT
+EXECUTE FUNCTION product_listing_on_sku();
+
+CREATE TRIGGER trg_product_listing_category
+    AFTER UPDATE OF name, slug
+    ON categories
+    FOR EACH ROW
+EXECUTE FUNCTION product_listing_on_category();
+
+-- Backfill
+SELECT refresh_product_listing(ARRAY(SELECT id FROM products));
@@ -0,0 +1,143 @@
+-- Full-text product search, accent-insensitive so "ao thun" finds "Áo Thun".
+-- There is no Vietnamese dictionary: words are lowercased and unaccented (đ -> d) but not stemmed.
+CREATE EXTENSION IF NOT EXISTS unaccent;
+
+CREATE TEXT SEARCH CONFIGURATION vietnamese_unaccent (COPY = simple);
+ALTER TEXT SEARCH CONFIGURATION vietnamese_unaccent
+    ALTER MAPPING FOR hword, hword_part, word WITH unaccent, simple;
+
+-- Weighted document: name (A), category name (B), SKU colors (C), description (D)
+CREATE OR REPLACE FUNCTION product_search_vector(p_id BIGINT, p_name TEXT, p_description TEXT, p_category_id BIGINT)
+    RETURNS tsvector
+    LANGUAGE sql
+    STABLE AS
+$$
+SELECT setweight(to_tsvector('vietnamese_unaccent', coalesce(p_name, '')), 'A')
+           || setweight(to_tsvector('vietnamese_unaccent',
+                                    coalesce((SELECT c.name FROM categories c WHERE c.id = p_category_id), '')), 'B')
+           || setweight(to_tsvector('vietnamese_unaccent',
+                                    coalesce((SELECT string_agg(DISTINCT s.color, ' ')
+                                              FROM skus s
+                                              WHERE s.product_id = p_id), '')), 'C')
+           || setweight(to_tsvector('vietnamese_unaccent', coalesce(p_description, '')), 'D')
+$$;
+
+-- Search-only updates of products must not recompute their listing rows
+DROP TRIGGER trg_product_listing_product ON products;
+CREATE TRIGGER trg_product_listing_product
+    AFTER INSERT OR UPDATE OF category_id, name, slug, base_price, created_at
+    ON products
+    FOR EACH ROW
+EXECUTE FUNCTION product_listing_on_product();
+
+ALTER TABLE products
+    ADD COLUMN search_vector tsvector;
+
+UPDATE products
+SET search_vector = product_search_vector(id, name, description, category_id);
+
+ALTER TABLE products
+    ALTER COLUMN search_vector SET NOT NULL;
+
+CREATE INDEX idx_products_search_vector ON products USING GIN (search_vector);
+
+-- Query helpers for JPA criteria (ProductSearchSpecification). Plain SQL functions are inlined by the
+-- planner, so "search_vector @@ to_tsquery(...)" still uses the GIN index.
+CREATE OR REPLACE FUNCTION product_search_matches(v tsvector, q TEXT) RETURNS BOOLEAN
+    LANGUAGE sql
+    STABLE AS
+$$
+SELECT v @@ to_tsquery('vietnamese_unaccent', q)
+$$;
+
+CREATE OR REPLACE FUNCTION product_search_rank(v tsvector, q TEXT) RETURNS REAL
+    LANGUAGE sql
+    STABLE AS
+$$
+SELECT ts_rank(v, to_tsquery('vietnamese_unaccent', q))
+$$;
+
+-- Keep search_vector current
+CREATE OR REPLACE FUNCTION product_search_on_product() RETURNS TRIGGER
+    LANGUAGE plpgsql AS
+$$
+BEGIN
+    NEW.search_vector := product_search_vector(NEW.id, NEW.name, NEW.description, NEW.category_id);
+    RETURN NEW;
+END;
+$$;
+
+CREATE OR REPLACE FUNCTION refresh_product_search(product_ids BIGINT[]) RETURNS VOID
+    LANGUAGE sql AS
+$$
+UPDATE products p
+SET search_vector = product_search_vector(p.id, p.name, p.description, p.category_id)
+WHERE p.id = ANY (product_ids)
+$$;
+
+-- SKU colors: skip statements that change neither a color nor the owning product (i.e. stock updates)
+CREATE OR REPLACE FUNCTION product_search_on_sku() RETURNS TRIGGER
+    LANGUAGE plpgsql AS
+$$
+BEGIN
+    IF TG_OP = 'INSERT' THEN
+        PERFORM refresh_product_search(ARRAY(SELECT DISTINCT product_id FROM new_skus));
+    ELSIF TG_OP = 'DELETE' THEN
+        PERFORM refresh_product_search(ARRAY(SELECT DISTINCT product_id FROM old_skus));
+    ELSE
+        PERFORM refresh_product_search(ARRAY(SELECT n.product_id
+                                             FROM new_skus n
+                                                      JOIN old_skus o ON o.id = n.id
+                                             WHERE n.color IS DISTINCT FROM o.color
+                                                OR n.product_id <> o.product_id
+                                             UNION
+                                             SELECT o.product_id
+                                             FROM new_skus n
+                                                      JOIN old_skus o ON o.id = n.id
+                                             WHERE n.product_id <> o.product_id));
+    END IF;
+    RETURN NULL;
+END;
+$$;
+
+CREATE OR REPLACE FUNCTION product_search_on_category() RETURNS TRIGGER
+    LANGUAGE plpgsql AS
+$$
+BEGIN
+    PERFORM refresh_product_search(ARRAY(SELECT id FROM products WHERE category_id = NEW.id));
+    RETURN NULL;
+END;
+$$;
+
+CREATE TRIGGER trg_product_search_product
+    BEFORE INSERT OR UPDATE OF name, description, category_id
+    ON products
+    FOR EACH ROW
+EXECUTE FUNCTION product_search_on_product();
+
+CREATE TRIGGER trg_product_search_sku_insert
+    AFTER INSERT
+    ON skus
+    REFERENCING NEW TABLE AS new_skus
+    FOR EACH STATEMENT
+EXECUTE FUNCTION product_search_on_sku();
+
+CREATE TRIGGER trg_product_search_sku_update
+    AFTER UPDATE
+    ON skus
+    REFERENCING OLD TABLE AS old_skus NEW TABLE AS new_skus
+    FOR EACH STATEMENT
+EXECUTE FUNCTION product_search_on_sku();
+
+CREATE TRIGGER trg_product_search_sku_delete
+    AFTER DELETE
+    ON skus
+    REFERENCING OLD TABLE AS old_skus
+    FOR EACH STATEMENT
+EXECUTE FUNCTION product_search_on_sku();
+
+CREATE TRIGGER trg_product_search_category
+    AFTER UPDATE OF name
+    ON categories
+    FOR EACH ROW
+EXECUTE FUNCTION product_search_on_category();
@@ -0,0 +1,26 @@
+-- Move the high-volume tables off IDENTITY so Hibernate can batch their inserts.
+-- Sequences increment by 50 to match allocationSize on the entities (pooled optimizer):
+-- one nextval hands out a block of 50 ids to the application.
+-- Orders keep IDENTITY; they are inserted one at a time.
+
+CREATE SEQUENCE IF NOT EXISTS order_items_seq INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS order_histories_seq INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS reservations_seq INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS cart_items_seq INCREMENT BY 50;
+
+-- The pooled optimizer treats the value returned by nextval as the upper bound of its block,
+-- so start 50 above the current max id to keep the first block clear of existing rows.
+SELECT setval('order_items_seq', COALESCE(MAX(id), 0) + 50, false) FROM order_items;
+SELECT setval('order_histories_seq', COALESCE(MAX(id), 0) + 50, false) FROM order_histories;
+SELECT setval('reservations_seq', COALESCE(MAX(id), 0) + 50, false) FROM reservations;
+SELECT setval('cart_items_seq', COALESCE(MAX(id), 0) + 50, false) FROM cart_items;
+
+ALTER TABLE order_items ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE order_histories ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE reservations ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE cart_items ALTER COLUMN id DROP IDENTITY IF EXISTS;
+
+ALTER SEQUENCE order_items_seq OWNED BY order_items.id;
+ALTER SEQUENCE order_histories_seq OWNED BY order_histories.id;
+ALTER SEQUENCE reservations_seq OWNED BY reservations.id;
+ALTER SEQUENCE cart_items_seq OWNED BY cart_items.id;
@@ -0,0 +1,26 @@
+CREATE SEQUENCE IF NOT EXISTS outbox_events_seq INCREMENT BY 50;
+
+CREATE TABLE outbox_events
+(
+    id              BIGINT                      NOT NULL,
+    created_at      TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+    created_by      BIGINT,
+    updated_at      TIMESTAMP WITHOUT TIME ZONE,
+    updated_by      BIGINT,
+    event_type      VARCHAR(50)                 NOT NULL,
+    aggregate_id    BIGINT                      NOT NULL,
+    payload         TEXT, -- cleared once dispatched
+    status          VARCHAR(20)                 NOT NULL,
+    attempts        INTEGER                     NOT NULL DEFAULT 0,
+    next_attempt_at TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+    last_error      TEXT,
+    processed_at    TIMESTAMP WITHOUT TIME ZONE,
+    CONSTRAINT pk_outbox_events PRIMARY KEY (id)
+);
+
+ALTER SEQUENCE outbox_events_seq OWNED BY outbox_events.id;
+
+-- Relay scan: only pending rows are indexed, so the index stays small as processed rows accumulate
+CREATE INDEX idx_outbox_events_pending ON outbox_events (next_attempt_at, id) WHERE status = 'PENDING';
+
+CREATE INDEX idx_outbox_events_processed_at ON outbox_events (processed_at) WHERE status = 'PROCESSED';
@@ -0,0 +1,102 @@
+package wandererpi.lbs.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import wandererpi.lbs.config.PaymentConfig;
+import wandererpi.lbs.dto.request.SepayWebhookRequest;
+import wandererpi.lbs.service.payment.SepaySignatureVerifier;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Webhook signature check: the original per-call implementation against {@link SepaySignatureVerifier}.
+ * <p>
+ * Run from {@code backend/} after {@code mvn test-compile}:
+ * {@code java -cp target/test-classes:target/classes:$(mvn -q dependency:build-classpath -Dmdep.outputFile=/dev/stdout)
+ * wandererpi.lbs.benchmark.SepaySignatureVerifierBenchmark}.
+ * Add {@code -prof gc} to the options to compare allocation per operation.
+ * </p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SepaySignatureVerifierBenchmark {
+
+    private static final String SECRET = "benchmark-webhook-secret";
+
+    private SepaySignatureVerifier verifier;
+    private SepayWebhookRequest request;
+    private String signature;
+
+    @Setup
+    public void setUp() throws Exception {
+        PaymentConfig.SePay sepay = new PaymentConfig.SePay();
+        sepay.setWebhookSecret(SECRET);
+        PaymentConfig config = new PaymentConfig();
+        config.setSepay(sepay);
+        verifier = new SepaySignatureVerifier(config);
+
+        request = new SepayWebhookRequest();
+        request.setId(92704L);
+        request.setTransactionDate("2025-01-15 10:30:00");
+        request.setTransferAmount(1250000L);
+        request.setContent("ORDER-123 thanh toan don hang");
+        signature = legacyHex(request);
+    }
+
+    @Benchmark
+    public boolean legacy() throws Exception {
+        return legacyHex(request).equalsIgnoreCase(signature);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public boolean legacyContended() throws Exception {
+        return legacyHex(request).equalsIgnoreCase(signature);
+    }
+
+    @Benchmark
+    public boolean verifier() {
+        return verifier.verify(request, signature);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public boolean verifierContended() {
+        return verifier.verify(request, signature);
+    }
+
+    /**
+     * The implementation PaymentServiceImpl used before SepaySignatureVerifier
+     */
+    private static String legacyHex(SepayWebhookRequest request) throws Exception {
+        String payload = String.format("%d|%s|%d|%s",
+                request.getId(), request.getTransactionDate(), request.getTransferAmount(), request.getContent());
+
+        Mac mac = Mac.getInstance("HmacSHA256");
+        mac.init(new SecretKeySpec(SECRET.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+        byte[] hash = mac.doFinal(payload.getBytes(StandardCharsets.UTF_8));
+
+        StringBuilder sb = new StringBuilder();
+        for (byte b : hash) {
+            sb.append(String.format("%02x", b));
+        }
+        return sb.toString();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(SepaySignatureVerifierBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
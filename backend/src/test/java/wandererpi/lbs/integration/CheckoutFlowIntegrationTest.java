@@ -82,7 +82,6 @@ class CheckoutFlowIntegrationTest {
         // Create test SKU with available stock
         testSku = Sku.builder()
                 .product(product)
-                .skuCode("TEST-SHIRT-M-BLACK")
                 .size("M")
                 .color("Black")
                 .price(new BigDecimal("500000"))
@@ -209,7 +208,6 @@ class CheckoutFlowIntegrationTest {
         // Create another SKU
         Sku testSku2 = Sku.builder()
                 .product(testSku.getProduct())
-                .skuCode("TEST-SHIRT-L-WHITE")
                 .size("L")
                 .color("White")
                 .price(new BigDecimal("550000"))
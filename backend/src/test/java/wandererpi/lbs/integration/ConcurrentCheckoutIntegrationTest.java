@@ -0,0 +1,183 @@
+package wandererpi.lbs.integration;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import wandererpi.lbs.dto.request.AddToCartRequest;
+import wandererpi.lbs.dto.request.StartCheckoutRequest;
+import wandererpi.lbs.dto.response.CartResponse;
+import wandererpi.lbs.entity.Category;
+import wandererpi.lbs.entity.Product;
+import wandererpi.lbs.entity.Sku;
+import wandererpi.lbs.repository.jpa.CategoryRepository;
+import wandererpi.lbs.repository.jpa.ProductListingRepository;
+import wandererpi.lbs.repository.jpa.ProductRepository;
+import wandererpi.lbs.repository.jpa.SkuRepository;
+import wandererpi.lbs.service.CartService;
+import wandererpi.lbs.service.ReservationService;
+import wandererpi.lbs.service.catalog.CatalogChangeBuffer;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Concurrent checkouts of carts spanning the same products.
+ * <p>
+ * Carts listing the same two products in opposite orders used to deadlock on the products'
+ * listing rows, which the SKU trigger refreshed inside the checkout transaction. Stock changes
+ * now reach product_listing after commit, through CatalogChangeBuffer.
+ * </p>
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("Concurrent Checkout Integration Tests")
+class ConcurrentCheckoutIntegrationTest {
+
+    private static final int ROUNDS = 20;
+    private static final int INITIAL_STOCK = 100;
+
+    @Autowired
+    private CartService cartService;
+
+    @Autowired
+    private ReservationService reservationService;
+
+    @Autowired
+    private CatalogChangeBuffer catalogChangeBuffer;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private SkuRepository skuRepository;
+
+    @Autowired
+    private ProductListingRepository productListingRepository;
+
+    private Product product1;
+    private Product product2;
+    private Sku product1Sku1;
+    private Sku product1Sku2;
+    private Sku product2Sku1;
+    private Sku product2Sku2;
+
+    @BeforeEach
+    void setUp() {
+        String suffix = String.valueOf(System.nanoTime());
+        Category category = categoryRepository.save(Category.builder()
+                .name("Concurrent " + suffix)
+                .slug("concurrent-" + suffix)
+                .build());
+
+        product1 = saveProduct(category, "Tee " + suffix, "tee-" + suffix);
+        product2 = saveProduct(category, "Jeans " + suffix, "jeans-" + suffix);
+        product1Sku1 = saveSku(product1, "M");
+        product1Sku2 = saveSku(product1, "L");
+        product2Sku1 = saveSku(product2, "30");
+        product2Sku2 = saveSku(product2, "32");
+    }
+
+    @Test
+    @DisplayName("Two multi-product checkouts with opposite product order should both succeed")
+    void concurrentMultiProductCheckouts_DoNotDeadlock() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            for (int round = 0; round < ROUNDS; round++) {
+                // Cart A lists product 2 first, cart B product 1; no SKU is shared
+                StartCheckoutRequest cartA = checkoutRequest(product2Sku1.getId(), product1Sku1.getId());
+                StartCheckoutRequest cartB = checkoutRequest(product1Sku2.getId(), product2Sku2.getId());
+
+                CyclicBarrier start = new CyclicBarrier(2);
+                Future<?> checkoutA = executor.submit(() -> checkout(start, cartA));
+                Future<?> checkoutB = executor.submit(() -> checkout(start, cartB));
+
+                // A deadlock surfaces as an exception from one of them
+                checkoutA.get(10, TimeUnit.SECONDS);
+                checkoutB.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdown();
+            executor.awaitTermination(10, TimeUnit.SECONDS);
+        }
+
+        for (Sku sku : List.of(product1Sku1, product1Sku2, product2Sku1, product2Sku2)) {
+            assertThat(skuRepository.findById(sku.getId()).orElseThrow().getStockQty())
+                    .isEqualTo(INITIAL_STOCK - ROUNDS);
+        }
+
+        // Listing stock follows once the buffered changes are flushed (here or by CatalogChangeFlushJob)
+        catalogChangeBuffer.flush();
+        assertThat(awaitListingMinStock(product1.getId(), INITIAL_STOCK - ROUNDS)).isEqualTo(INITIAL_STOCK - ROUNDS);
+        assertThat(awaitListingMinStock(product2.getId(), INITIAL_STOCK - ROUNDS)).isEqualTo(INITIAL_STOCK - ROUNDS);
+    }
+
+    // Helper methods
+
+    private Product saveProduct(Category category, String name, String slug) {
+        return productRepository.save(Product.builder()
+                .category(category)
+                .name(name)
+                .slug(slug)
+                .description(name)
+                .basePrice(new BigDecimal("250000"))
+                .build());
+    }
+
+    private Sku saveSku(Product product, String size) {
+        return skuRepository.save(Sku.builder()
+                .product(product)
+                .size(size)
+                .color("Black")
+                .price(new BigDecimal("250000"))
+                .stockQty(INITIAL_STOCK)
+                .build());
+    }
+
+    private StartCheckoutRequest checkoutRequest(Long firstSkuId, Long secondSkuId) {
+        String cartToken = cartService.addToCart(AddToCartRequest.builder()
+                .skuId(firstSkuId)
+                .quantity(1)
+                .build()).getCartToken();
+        CartResponse cart = cartService.addToCart(AddToCartRequest.builder()
+                .cartToken(cartToken)
+                .skuId(secondSkuId)
+                .quantity(1)
+                .build());
+
+        List<StartCheckoutRequest.CheckoutItem> items = new ArrayList<>();
+        cart.getItems().forEach(item -> items.add(StartCheckoutRequest.CheckoutItem.builder()
+                .cartItemId(item.getId())
+                .quantity(item.getQuantity())
+                .build()));
+        return StartCheckoutRequest.builder()
+                .cartToken(cartToken)
+                .items(items)
+                .build();
+    }
+
+    private int awaitListingMinStock(Long productId, int expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        int minStock = productListingRepository.findById(productId).orElseThrow().getMinStock();
+        while (minStock != expected && System.currentTimeMillis() < deadline) {
+            Thread.sleep(100);
+            minStock = productListingRepository.findById(productId).orElseThrow().getMinStock();
+        }
+        return minStock;
+    }
+
+    private Void checkout(CyclicBarrier start, StartCheckoutRequest request) throws Exception {
+        start.await(10, TimeUnit.SECONDS);
+        reservationService.startCheckout(request);
+        return null;
+    }
+}
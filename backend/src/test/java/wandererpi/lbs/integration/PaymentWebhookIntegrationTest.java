@@ -0,0 +1,103 @@
+package wandererpi.lbs.integration;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import wandererpi.lbs.config.PaymentConfig;
+import wandererpi.lbs.dto.request.SepayWebhookRequest;
+import wandererpi.lbs.enums.ErrorCode;
+import wandererpi.lbs.exception.ApplicationException;
+import wandererpi.lbs.service.PaymentService;
+import wandererpi.lbs.service.cache.PaymentTransactionDedupCache;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.util.HexFormat;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * SePay webhook deduplication against a real database and Redis.
+ * <p>
+ * A webhook whose processing rolls back must leave neither a {@code payment_transactions} row nor
+ * a Redis key behind; otherwise SePay's retry would be discarded as a replay.
+ * </p>
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("Payment Webhook Integration Tests")
+class PaymentWebhookIntegrationTest {
+
+    @Autowired
+    private PaymentService paymentService;
+
+    @Autowired
+    private PaymentTransactionDedupCache paymentTransactionDedupCache;
+
+    @Autowired
+    private PaymentConfig paymentConfig;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private SepayWebhookRequest request;
+
+    @BeforeEach
+    void setUp() {
+        request = new SepayWebhookRequest();
+        request.setId(System.nanoTime());
+        request.setTransactionDate("2026-01-15 10:30:00");
+        request.setTransferAmount(1250000L);
+        // No such order, so processing fails after the transaction id was inserted
+        request.setContent("ORDER-" + Long.MAX_VALUE);
+    }
+
+    @Test
+    @DisplayName("Should keep a rolled-back transaction id re-deliverable")
+    void rolledBackWebhook_IsRedeliverable() {
+        // When
+        assertThatThrownBy(() -> paymentService.processSepayWebhook(request, sign(request)))
+                .isInstanceOf(ApplicationException.class)
+                .hasFieldOrPropertyWithValue("errorCode", ErrorCode.ORDER_NOT_FOUND);
+
+        // Then: the insert rolled back with the rest and nothing reached Redis
+        assertThat(countTransactions(request.getId())).isZero();
+        assertThat(paymentTransactionDedupCache.isKnown(request.getId())).isFalse();
+
+        // And the re-delivery is processed again instead of being ignored as a duplicate
+        assertThatThrownBy(() -> paymentService.processSepayWebhook(request, sign(request)))
+                .isInstanceOf(ApplicationException.class)
+                .hasFieldOrPropertyWithValue("errorCode", ErrorCode.ORDER_NOT_FOUND);
+    }
+
+    @Test
+    @DisplayName("Should record nothing for an unsigned webhook")
+    void unsignedWebhook_RecordsNothing() {
+        // When & Then
+        assertThatThrownBy(() -> paymentService.processSepayWebhook(request, null))
+                .isInstanceOf(ApplicationException.class)
+                .hasFieldOrPropertyWithValue("errorCode", ErrorCode.INVALID_SIGNATURE);
+        assertThat(countTransactions(request.getId())).isZero();
+    }
+
+    // Helper methods
+
+    private Integer countTransactions(Long transactionId) {
+        return jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM payment_transactions WHERE transaction_id = ?", Integer.class, transactionId);
+    }
+
+    private String sign(SepayWebhookRequest webhook) throws Exception {
+        String payload = String.format("%s|%s|%s|%s",
+                webhook.getId(), webhook.getTransactionDate(), webhook.getTransferAmount(), webhook.getContent());
+        Mac mac = Mac.getInstance("HmacSHA256");
+        mac.init(new SecretKeySpec(paymentConfig.getSepay().getWebhookSecret().getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+        return HexFormat.of().formatHex(mac.doFinal(payload.getBytes(StandardCharsets.UTF_8)));
+    }
+}
@@ -0,0 +1,206 @@
+package wandererpi.lbs.integration;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import wandererpi.lbs.dto.request.ProductFilterRequest;
+import wandererpi.lbs.dto.response.CursorPageResponse;
+import wandererpi.lbs.dto.response.ProductListResponse;
+import wandererpi.lbs.entity.Category;
+import wandererpi.lbs.entity.Product;
+import wandererpi.lbs.entity.ProductListing;
+import wandererpi.lbs.enums.ErrorCode;
+import wandererpi.lbs.exception.ApplicationException;
+import wandererpi.lbs.repository.jpa.CategoryRepository;
+import wandererpi.lbs.repository.jpa.ProductListingRepository;
+import wandererpi.lbs.repository.jpa.ProductRepository;
+import wandererpi.lbs.service.ProductService;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Keyset pagination of product_listing (scrollProducts) against the real database.
+ * <p>
+ * Products share prices and names so that pages split inside a tie; every request filters on a
+ * category of its own so other data never interferes.
+ * </p>
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("Product Scroll Integration Tests")
+class ProductScrollIntegrationTest {
+
+    private static final int PAGE_SIZE = 2;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ProductListingRepository productListingRepository;
+
+    private Long categoryId;
+    private List<Long> productIds;
+
+    @BeforeEach
+    void setUp() {
+        String suffix = String.valueOf(System.nanoTime());
+        Category category = categoryRepository.save(Category.builder()
+                .name("Scroll " + suffix)
+                .slug("scroll-" + suffix)
+                .build());
+        categoryId = category.getId();
+
+        // Names differ only in their last letter so any collation orders them alike
+        productIds = List.of(
+                saveProduct(category, "Tee" + suffix + "A", "200000", suffix + "-1"),
+                saveProduct(category, "Tee" + suffix + "B", "100000", suffix + "-2"),
+                saveProduct(category, "Tee" + suffix + "B", "200000", suffix + "-3"),
+                saveProduct(category, "Tee" + suffix + "C", "200000", suffix + "-4"),
+                saveProduct(category, "Tee" + suffix + "B", "300000", suffix + "-5"));
+    }
+
+    @ParameterizedTest(name = "{0} {1}")
+    @CsvSource({
+            "createdAt, DESC",
+            "createdAt, ASC",
+            "basePrice, DESC",
+            "basePrice, ASC",
+            "name, DESC",
+            "name, ASC"
+    })
+    @DisplayName("Should visit every product once, in sort order with ties broken by product id")
+    void scroll_VisitsAllInOrder(String sortBy, String sortDirection) {
+        // When
+        List<Long> visited = scrollAll(sortBy, sortDirection);
+
+        // Then
+        assertThat(visited).containsExactlyElementsOf(expectedOrder(sortBy, sortDirection));
+    }
+
+    @Test
+    @DisplayName("Should break price ties by product id in the sort direction")
+    void scroll_BreaksTiesByProductId() {
+        // Given: products 1, 3 and 4 cost 200000
+        List<Long> tied = List.of(productIds.get(0), productIds.get(2), productIds.get(3));
+
+        // When
+        List<Long> ascending = scrollAll("basePrice", "ASC");
+        List<Long> descending = scrollAll("basePrice", "DESC");
+
+        // Then
+        assertThat(ascending.subList(1, 4)).containsExactlyElementsOf(tied);
+        assertThat(descending.subList(1, 4)).containsExactly(tied.get(2), tied.get(1), tied.get(0));
+    }
+
+    @Test
+    @DisplayName("Should reject a cursor replayed with another sort field or direction")
+    void scroll_RejectsCursorOfAnotherSort() {
+        // Given
+        String cursor = productService.scrollProducts(request("createdAt", "DESC"), null).getNextCursor();
+
+        // When & Then
+        assertThatThrownBy(() -> productService.scrollProducts(request("basePrice", "DESC"), cursor))
+                .isInstanceOf(ApplicationException.class)
+                .hasFieldOrPropertyWithValue("errorCode", ErrorCode.INVALID_CURSOR);
+        assertThatThrownBy(() -> productService.scrollProducts(request("createdAt", "ASC"), cursor))
+                .isInstanceOf(ApplicationException.class)
+                .hasFieldOrPropertyWithValue("errorCode", ErrorCode.INVALID_CURSOR);
+    }
+
+    @Test
+    @DisplayName("Should report no next page on the last page, even when it is full")
+    void scroll_LastPage() {
+        // Given: 5 products, pages of 2
+        CursorPageResponse<ProductListResponse> first = productService.scrollProducts(request("name", "ASC"), null);
+        CursorPageResponse<ProductListResponse> second =
+                productService.scrollProducts(request("name", "ASC"), first.getNextCursor());
+
+        // When
+        CursorPageResponse<ProductListResponse> last =
+                productService.scrollProducts(request("name", "ASC"), second.getNextCursor());
+        CursorPageResponse<ProductListResponse> exact = productService.scrollProducts(ProductFilterRequest.builder()
+                .categoryId(categoryId)
+                .sortBy("name")
+                .sortDirection("ASC")
+                .size(productIds.size())
+                .build(), null);
+
+        // Then
+        assertThat(first.getHasNext()).isTrue();
+        assertThat(last.getContent()).hasSize(1);
+        assertThat(last.getHasNext()).isFalse();
+        assertThat(last.getNextCursor()).isNull();
+        assertThat(exact.getContent()).hasSize(productIds.size());
+        assertThat(exact.getHasNext()).isFalse();
+        assertThat(exact.getNextCursor()).isNull();
+    }
+
+    // Helper methods
+
+    private Long saveProduct(Category category, String name, String basePrice, String slug) {
+        return productRepository.save(Product.builder()
+                .category(category)
+                .name(name)
+                .slug("tee-" + slug)
+                .description(name)
+                .basePrice(new BigDecimal(basePrice))
+                .build()).getId();
+    }
+
+    private ProductFilterRequest request(String sortBy, String sortDirection) {
+        return ProductFilterRequest.builder()
+                .categoryId(categoryId)
+                .sortBy(sortBy)
+                .sortDirection(sortDirection)
+                .size(PAGE_SIZE)
+                .build();
+    }
+
+    private List<Long> scrollAll(String sortBy, String sortDirection) {
+        List<Long> visited = new ArrayList<>();
+        String cursor = null;
+        do {
+            CursorPageResponse<ProductListResponse> page =
+                    productService.scrollProducts(request(sortBy, sortDirection), cursor);
+            page.getContent().forEach(product -> visited.add(product.getId()));
+            assertThat(visited.size()).isLessThanOrEqualTo(productIds.size());
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+        return visited;
+    }
+
+    private List<Long> expectedOrder(String sortBy, String sortDirection) {
+        Comparator<ProductListing> byValue = switch (sortBy) {
+            case "createdAt" -> Comparator.comparing(ProductListing::getCreatedAt);
+            case "basePrice" -> Comparator.comparing(ProductListing::getBasePrice);
+            default -> Comparator.comparing(ProductListing::getName);
+        };
+        Comparator<ProductListing> order = byValue.thenComparing(ProductListing::getProductId);
+        if ("DESC".equals(sortDirection)) {
+            order = order.reversed();
+        }
+
+        return productListingRepository.findAllById(productIds).stream()
+                .sorted(order)
+                .map(ProductListing::getProductId)
+                .collect(Collectors.toList());
+    }
+}
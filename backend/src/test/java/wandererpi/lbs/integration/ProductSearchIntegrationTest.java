@@ -0,0 +1,119 @@
+package wandererpi.lbs.integration;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import wandererpi.lbs.dto.request.ProductFilterRequest;
+import wandererpi.lbs.dto.response.PageResponse;
+import wandererpi.lbs.dto.response.ProductListResponse;
+import wandererpi.lbs.entity.Category;
+import wandererpi.lbs.entity.Product;
+import wandererpi.lbs.repository.jpa.CategoryRepository;
+import wandererpi.lbs.repository.jpa.ProductRepository;
+import wandererpi.lbs.service.ProductService;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Full-text search against the real product_search_matches / product_search_rank functions (V19).
+ * <p>
+ * Every product carries a unique token so other data in the database never matches.
+ * </p>
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("Product Search Integration Tests")
+class ProductSearchIntegrationTest {
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    private String token;
+    private Product nameMatch;
+    private Product descriptionMatch;
+
+    @BeforeEach
+    void setUp() {
+        String suffix = String.valueOf(System.nanoTime());
+        token = "zq" + suffix;
+        Category category = categoryRepository.save(Category.builder()
+                .name("Search " + suffix)
+                .slug("search-" + suffix)
+                .build());
+
+        // "thun" in the name (weight A) must outrank "thun" in the description (weight D)
+        descriptionMatch = saveProduct(category, "Quần Short " + token, "quan-short-" + suffix, "Vải thun co giãn");
+        nameMatch = saveProduct(category, "Áo Thun " + token, "ao-thun-" + suffix, "Cotton");
+        saveProduct(category, "Mũ Lưỡi Trai " + token, "mu-" + suffix, "Kaki");
+    }
+
+    @Test
+    @DisplayName("Should return only products matching every term, name matches first")
+    void search_RanksNameMatchesFirst() {
+        // When
+        PageResponse<ProductListResponse> page = productService.searchProducts(request(token + " thun", 0, 20));
+
+        // Then
+        assertThat(page.getContent())
+                .extracting(ProductListResponse::getId)
+                .containsExactly(nameMatch.getId(), descriptionMatch.getId());
+        assertThat(page.getTotalElements()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should ignore accents and match the last term as a prefix")
+    void search_UnaccentedPrefix() {
+        // When
+        PageResponse<ProductListResponse> page = productService.searchProducts(request(token + " ao th", 0, 20));
+
+        // Then
+        assertThat(page.getContent())
+                .extracting(ProductListResponse::getId)
+                .containsExactly(nameMatch.getId());
+    }
+
+    @Test
+    @DisplayName("Should count all matches across pages, the count query running without the rank order")
+    void search_PagesAndCounts() {
+        // When
+        PageResponse<ProductListResponse> first = productService.searchProducts(request(token + " thun", 0, 1));
+        PageResponse<ProductListResponse> second = productService.searchProducts(request(token + " thun", 1, 1));
+
+        // Then
+        assertThat(first.getTotalElements()).isEqualTo(2);
+        assertThat(first.getTotalPages()).isEqualTo(2);
+        assertThat(first.getContent()).extracting(ProductListResponse::getId).containsExactly(nameMatch.getId());
+        assertThat(second.getContent()).extracting(ProductListResponse::getId).containsExactly(descriptionMatch.getId());
+    }
+
+    // Helper methods
+
+    private Product saveProduct(Category category, String name, String slug, String description) {
+        return productRepository.save(Product.builder()
+                .category(category)
+                .name(name)
+                .slug(slug)
+                .description(description)
+                .basePrice(new BigDecimal("250000"))
+                .build());
+    }
+
+    private ProductFilterRequest request(String q, int page, int size) {
+        return ProductFilterRequest.builder()
+                .search(q)
+                .page(page)
+                .size(size)
+                .build();
+    }
+}
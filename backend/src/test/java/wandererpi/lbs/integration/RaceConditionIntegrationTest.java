@@ -79,7 +79,6 @@ class RaceConditionIntegrationTest {
         // Create test SKU with ONLY 1 ITEM in stock
         testSku = Sku.builder()
                 .product(product)
-                .skuCode("LIMITED-SHIRT-M-BLACK")
                 .size("M")
                 .color("Black")
                 .price(new BigDecimal("1000000"))
@@ -0,0 +1,158 @@
+package wandererpi.lbs.integration;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import wandererpi.lbs.config.PaymentConfig;
+import wandererpi.lbs.dto.request.SepayWebhookRequest;
+import wandererpi.lbs.service.WebhookIngestionService;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The SQL side of the asynchronous webhook queue: per-order claim ordering and stuck-row release.
+ * <p>
+ * Order keys are unique per run and no referenced order exists, so only the queue itself is exercised.
+ * </p>
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("Webhook Queue Integration Tests")
+class WebhookQueueIntegrationTest {
+
+    private static final AtomicLong SEQUENCE = new AtomicLong(System.nanoTime());
+
+    @Autowired
+    private WebhookIngestionService webhookIngestionService;
+
+    @Autowired
+    private PaymentConfig paymentConfig;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private long orderA;
+    private long orderB;
+
+    @BeforeEach
+    void setUp() {
+        orderA = SEQUENCE.incrementAndGet();
+        orderB = SEQUENCE.incrementAndGet();
+    }
+
+    @Test
+    @DisplayName("Should claim only the oldest open webhook of each order")
+    void claimBatch_OneOpenWebhookPerOrder() {
+        // Given
+        long firstA = enqueue(orderA);
+        long secondA = enqueue(orderA);
+        long onlyB = enqueue(orderB);
+
+        // When
+        List<Long> claimed = claimAll();
+
+        // Then
+        assertThat(claimed).contains(firstA, onlyB).doesNotContain(secondA);
+
+        // And while the first is waiting for a retry, the second stays behind it
+        webhookIngestionService.recordFailure(firstA, new IllegalStateException("connection reset"));
+        assertThat(statusOf(firstA)).isEqualTo("PENDING");
+        assertThat(claimAll()).doesNotContain(firstA, secondA);
+
+        // Once the first is settled, the second becomes claimable
+        jdbcTemplate.update("UPDATE payment_webhooks SET status = 'FAILED', processed_at = ? WHERE id = ?",
+                Timestamp.from(Instant.now()), firstA);
+        assertThat(claimAll()).contains(secondA);
+    }
+
+    @Test
+    @DisplayName("Should requeue webhooks left PROCESSING past the timeout")
+    void releaseStuck_RequeuesAbandonedClaims() {
+        // Given: claimed by a worker that died
+        long stuck = enqueue(orderA);
+        assertThat(claimAll()).contains(stuck);
+        Instant longAgo = Instant.now().minus(paymentConfig.getWebhook().getProcessingTimeout()).minus(Duration.ofMinutes(1));
+        jdbcTemplate.update("UPDATE payment_webhooks SET locked_at = ? WHERE id = ?", Timestamp.from(longAgo), stuck);
+
+        // When
+        int released = webhookIngestionService.releaseStuck();
+
+        // Then
+        assertThat(released).isPositive();
+        assertThat(statusOf(stuck)).isEqualTo("PENDING");
+        assertThat(claimAll()).contains(stuck);
+    }
+
+    @Test
+    @DisplayName("Should fail webhooks left PROCESSING past the timeout on their last attempt")
+    void releaseStuck_FailsExhaustedClaims() {
+        // Given: the last attempt's worker died
+        long stuck = enqueue(orderA);
+        assertThat(claimAll()).contains(stuck);
+        Instant longAgo = Instant.now().minus(paymentConfig.getWebhook().getProcessingTimeout()).minus(Duration.ofMinutes(1));
+        jdbcTemplate.update("UPDATE payment_webhooks SET locked_at = ?, attempts = ? WHERE id = ?",
+                Timestamp.from(longAgo), paymentConfig.getWebhook().getMaxAttempts(), stuck);
+
+        // When
+        webhookIngestionService.releaseStuck();
+
+        // Then
+        assertThat(statusOf(stuck)).isEqualTo("FAILED");
+        assertThat(claimAll()).doesNotContain(stuck);
+    }
+
+    // Helper methods
+
+    private long enqueue(long orderKey) {
+        SepayWebhookRequest request = new SepayWebhookRequest();
+        request.setId(SEQUENCE.incrementAndGet());
+        request.setTransactionDate("2026-01-15 10:30:00");
+        request.setTransferAmount(1250000L);
+        request.setContent("ORDER-" + orderKey);
+        webhookIngestionService.enqueue(request, sign(request));
+
+        return jdbcTemplate.queryForObject(
+                "SELECT id FROM payment_webhooks WHERE transaction_id = ?", Long.class, request.getId());
+    }
+
+    private List<Long> claimAll() {
+        List<Long> claimed = new ArrayList<>();
+        List<Long> batch;
+        do {
+            batch = webhookIngestionService.claimBatch();
+            claimed.addAll(batch);
+        } while (batch.size() == paymentConfig.getWebhook().getBatchSize());
+        return claimed;
+    }
+
+    private String statusOf(long webhookId) {
+        return jdbcTemplate.queryForObject("SELECT status FROM payment_webhooks WHERE id = ?", String.class, webhookId);
+    }
+
+    private String sign(SepayWebhookRequest webhook) {
+        try {
+            String payload = String.format("%s|%s|%s|%s",
+                    webhook.getId(), webhook.getTransactionDate(), webhook.getTransferAmount(), webhook.getContent());
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(paymentConfig.getSepay().getWebhookSecret().getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+            return HexFormat.of().formatHex(mac.doFinal(payload.getBytes(StandardCharsets.UTF_8)));
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -77,7 +77,6 @@ class CartServiceTest {
         // Setup test SKU
         testSku = Sku.builder()
                 .product(testProduct)
-                .skuCode("TEST-M-BLACK")
                 .size("M")
                 .color("Black")
                 .price(new BigDecimal("500000"))
@@ -0,0 +1,208 @@
+package wandererpi.lbs.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import wandererpi.lbs.enums.ErrorCode;
+import wandererpi.lbs.exception.ApplicationException;
+import wandererpi.lbs.repository.jdbc.OrderExportRepository;
+import wandererpi.lbs.service.impl.OrderExportServiceImpl;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("OrderExportService Unit Tests")
+class OrderExportServiceTest {
+
+    private static final Instant START = Instant.parse("2026-01-01T00:00:00Z");
+    private static final Instant END = Instant.parse("2026-02-01T00:00:00Z");
+    private static final String HEADER = "order_id,created_at,status,payment_method,customer_name,customer_phone,"
+            + "customer_email,shipping_address,order_total,order_item_id,sku_id,sku_code,product_name,size,color,"
+            + "quantity,unit_price,line_total";
+
+    @Mock
+    private OrderExportRepository orderExportRepository;
+
+    @InjectMocks
+    private OrderExportServiceImpl orderExportService;
+
+    @Test
+    @DisplayName("Should write a BOM, the header and one CRLF-terminated row per order line")
+    void exportOrdersCsv_WritesRows() {
+        // Given
+        givenRows(row(1L, "Nguyễn Văn A", "12 Lê Lợi", "Áo Thun"));
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        // When
+        orderExportService.exportOrdersCsv(START, END, output);
+
+        // Then
+        String csv = output.toString(StandardCharsets.UTF_8);
+        assertThat(csv).startsWith("\uFEFF" + HEADER + "\r\n");
+        assertThat(csv.substring(1).split("\r\n", -1)).containsExactly(
+                HEADER,
+                "1,2026-01-15 17:00:00,CONFIRMED,COD,Nguyễn Văn A,0901234567,a@example.com,12 Lê Lợi,"
+                        + "500000,10,20,AT-M-BLACK,Áo Thun,M,Black,2,250000,500000",
+                "");
+    }
+
+    @Test
+    @DisplayName("Should quote values with commas, quotes or line breaks, doubling inner quotes")
+    void exportOrdersCsv_QuotesSpecialCharacters() {
+        // Given
+        givenRows(row(1L, "Tran \"Bin\" B", "12 Le Loi, Q1\nHCMC", "Ao Thun"));
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        // When
+        orderExportService.exportOrdersCsv(START, END, output);
+
+        // Then
+        String csv = output.toString(StandardCharsets.UTF_8);
+        assertThat(csv).contains(",\"Tran \"\"Bin\"\" B\",");
+        assertThat(csv).contains(",\"12 Le Loi, Q1\nHCMC\",");
+    }
+
+    @Test
+    @DisplayName("Should neutralise leading formula characters and write nulls as empty fields")
+    void exportOrdersCsv_NeutralisesFormulas() {
+        // Given
+        Map<String, Object> row = row(1L, "=HYPERLINK(\"http://x\")", "+84 street", "@SUM(A1)");
+        row.put("color", "-1");
+        row.put("size", null);
+        givenRows(row);
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        // When
+        orderExportService.exportOrdersCsv(START, END, output);
+
+        // Then
+        String csv = output.toString(StandardCharsets.UTF_8);
+        assertThat(csv).contains(",\"'=HYPERLINK(\"\"http://x\"\")\",");
+        assertThat(csv).contains(",'+84 street,");
+        assertThat(csv).contains(",'@SUM(A1),,'-1,");
+    }
+
+    @Test
+    @DisplayName("Should hand rows to the output as they are read instead of collecting them")
+    void exportOrdersCsv_Streams() {
+        // Given
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        int[] bytesBeforeLastRow = {0};
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(2);
+            for (long id = 1; id <= 1000; id++) {
+                if (id == 1000) {
+                    bytesBeforeLastRow[0] = output.size();
+                }
+                handler.processRow(resultSet(row(id, "Customer " + id, "Address " + id, "Product " + id)));
+            }
+            return null;
+        }).when(orderExportRepository).streamOrderLines(eq(START), eq(END), any());
+
+        // When
+        orderExportService.exportOrdersCsv(START, END, output);
+
+        // Then: most of the file reached the stream while the query was still being read
+        assertThat(bytesBeforeLastRow[0]).isGreaterThan(output.size() / 2);
+        assertThat(output.toString(StandardCharsets.UTF_8).split("\r\n")).hasSize(1001);
+    }
+
+    @Test
+    @DisplayName("Should stop reading rows once the client goes away")
+    void exportOrdersCsv_AbortsOnDisconnect() {
+        // Given
+        OutputStream disconnected = new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                throw new IOException("Broken pipe");
+            }
+        };
+        int[] rowsRead = {0};
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(2);
+            for (long id = 1; id <= 100_000; id++) {
+                rowsRead[0]++;
+                handler.processRow(resultSet(row(id, "Customer " + id, "Address " + id, "Product " + id)));
+            }
+            return null;
+        }).when(orderExportRepository).streamOrderLines(eq(START), eq(END), any());
+
+        // When & Then
+        assertThatThrownBy(() -> orderExportService.exportOrdersCsv(START, END, disconnected))
+                .isInstanceOf(UncheckedIOException.class);
+        assertThat(rowsRead[0]).isLessThan(100_000);
+    }
+
+    @Test
+    @DisplayName("Should reject an empty or inverted date range")
+    void exportOrdersCsv_InvalidRange() {
+        // When & Then
+        for (Instant[] range : List.of(new Instant[]{END, START}, new Instant[]{START, START}, new Instant[]{null, END})) {
+            assertThatThrownBy(() -> orderExportService.exportOrdersCsv(range[0], range[1], new ByteArrayOutputStream()))
+                    .isInstanceOf(ApplicationException.class)
+                    .hasFieldOrPropertyWithValue("errorCode", ErrorCode.INVALID_REQUEST);
+        }
+        verifyNoInteractions(orderExportRepository);
+    }
+
+    // Helper methods
+
+    @SafeVarargs
+    private void givenRows(Map<String, Object>... rows) {
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(2);
+            for (Map<String, Object> row : rows) {
+                handler.processRow(resultSet(row));
+            }
+            return null;
+        }).when(orderExportRepository).streamOrderLines(eq(START), eq(END), any());
+    }
+
+    private static Map<String, Object> row(Long orderId, String customerName, String address, String productName) {
+        Map<String, Object> row = new HashMap<>();
+        row.put("order_id", orderId);
+        row.put("created_at", Timestamp.from(Instant.parse("2026-01-15T10:00:00Z")));
+        row.put("status", "CONFIRMED");
+        row.put("payment_method", "COD");
+        row.put("customer_name", customerName);
+        row.put("customer_phone", "0901234567");
+        row.put("customer_email", "a@example.com");
+        row.put("shipping_addr", address);
+        row.put("total_amount", new BigDecimal("500000"));
+        row.put("order_item_id", 10L);
+        row.put("sku_id", 20L);
+        row.put("sku_code", "AT-M-BLACK");
+        row.put("product_name", productName);
+        row.put("size", "M");
+        row.put("color", "Black");
+        row.put("quantity", 2);
+        row.put("unit_price", new BigDecimal("250000"));
+        return row;
+    }
+
+    // Every getter answers with the value stored under its column label
+    private static ResultSet resultSet(Map<String, Object> row) {
+        return mock(ResultSet.class, invocation -> row.get((String) invocation.getArgument(0)));
+    }
+}
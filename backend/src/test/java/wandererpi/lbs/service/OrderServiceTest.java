@@ -6,26 +6,50 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.jdbc.core.JdbcTemplate;
+import wandererpi.lbs.dto.event.OrderPlacedPayload;
+import wandererpi.lbs.dto.event.OrderStatusChangedPayload;
+import wandererpi.lbs.dto.request.BulkUpdateOrderStatusRequest;
 import wandererpi.lbs.dto.request.CancelOrderRequest;
+import wandererpi.lbs.dto.request.OrderSearchRequest;
 import wandererpi.lbs.dto.request.PlaceOrderRequest;
 import wandererpi.lbs.dto.request.UpdateOrderStatusRequest;
+import wandererpi.lbs.dto.response.BulkOrderStatusResponse;
+import wandererpi.lbs.dto.response.CursorPageResponse;
 import wandererpi.lbs.dto.response.OrderHistoryResponse;
 import wandererpi.lbs.dto.response.OrderResponse;
+import wandererpi.lbs.dto.response.OrderSummaryResponse;
 import wandererpi.lbs.entity.*;
 import wandererpi.lbs.enums.ErrorCode;
 import wandererpi.lbs.enums.OrderStatus;
+import wandererpi.lbs.enums.OutboxEventType;
 import wandererpi.lbs.enums.PaymentMethod;
 import wandererpi.lbs.enums.ReservationStatus;
+import wandererpi.lbs.event.OrderPlacedEvent;
+import wandererpi.lbs.event.OrderStatusChangedEvent;
 import wandererpi.lbs.exception.ApplicationException;
+import wandererpi.lbs.repository.jdbc.OrderSearchRepository;
+import wandererpi.lbs.repository.jdbc.OrderStatusRepository;
+import wandererpi.lbs.repository.jdbc.StockRepository;
 import wandererpi.lbs.repository.jpa.*;
+import wandererpi.lbs.service.cache.OrderTrackingCache;
 import wandererpi.lbs.service.impl.OrderServiceImpl;
+import wandererpi.lbs.service.outbox.OutboxPayloadCipher;
+import wandererpi.lbs.service.payment.PaymentQrStore;
+import wandererpi.lbs.service.validator.OrderStatusValidator;
+import wandererpi.lbs.util.CursorUtil;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -46,6 +70,9 @@ class OrderServiceTest {
     @Mock
     private OrderHistoryRepository orderHistoryRepository;
 
+    @Mock
+    private OrderReadModelRepository orderReadModelRepository;
+
     @Mock
     private CartRepository cartRepository;
 
@@ -62,7 +89,31 @@ class OrderServiceTest {
     private JdbcTemplate jdbcTemplate;
 
     @Mock
-    private EmailService emailService;
+    private OutboxService outboxService;
+
+    @Mock
+    private OrderStatusRepository orderStatusRepository;
+
+    @Mock
+    private OrderSearchRepository orderSearchRepository;
+
+    @Mock
+    private StockRepository stockRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private OrderTrackingCache orderTrackingCache;
+
+    @Mock
+    private PaymentQrStore paymentQrStore;
+
+    @Mock
+    private OutboxPayloadCipher outboxPayloadCipher;
+
+    @Spy
+    private OrderStatusValidator orderStatusValidator = new OrderStatusValidator();
 
     @InjectMocks
     private OrderServiceImpl orderService;
@@ -100,7 +151,6 @@ class OrderServiceTest {
         // Setup test SKU
         testSku = Sku.builder()
                 .product(testProduct)
-                .skuCode("TEST-M-BLACK")
                 .size("M")
                 .color("Black")
                 .price(new BigDecimal("500000"))
@@ -168,9 +218,8 @@ class OrderServiceTest {
                 .thenReturn(Collections.singletonList(testReservation));
         when(skuRepository.findById(anyLong())).thenReturn(Optional.of(testSku));
         when(orderRepository.save(any(Order.class))).thenReturn(testOrder);
-        when(orderItemRepository.save(any(OrderItem.class))).thenReturn(testOrderItem);
-        when(reservationRepository.save(any(Reservation.class))).thenReturn(testReservation);
         when(orderHistoryRepository.save(any(OrderHistory.class))).thenReturn(testOrderHistory);
+        when(outboxPayloadCipher.encrypt(anyString())).thenReturn("encrypted");
 
         // When
         OrderResponse response = orderService.placeOrder(request);
@@ -181,11 +230,18 @@ class OrderServiceTest {
         verify(orderRepository).save(argThat(order -> 
                 order.getStatus() == OrderStatus.CONFIRMED && 
                 order.getPaymentMethod() == PaymentMethod.COD));
-        verify(reservationRepository).save(argThat(reservation -> 
-                reservation.getStatus() == ReservationStatus.CONSUMED));
+        verify(orderItemRepository).saveAll(argThat(items ->
+                items.iterator().hasNext()));
+        verify(reservationRepository).saveAll(argThat(reservations ->
+                reservations.iterator().next().getStatus() == ReservationStatus.CONSUMED));
         verify(cartItemRepository).deleteByCartId(testCart.getId());
+        verify(orderReadModelRepository).save(argThat(readModel ->
+                readModel.getStatus() == OrderStatus.CONFIRMED && readModel.getItems().size() == 1));
         verify(orderHistoryRepository).save(any(OrderHistory.class));
-        verify(emailService).sendOrderConfirmation(any(Order.class));
+        // The raw tracking token never reaches the outbox in plain text
+        verify(outboxService).publish(eq(OutboxEventType.ORDER_PLACED), any(),
+                argThat(payload -> payload instanceof OrderPlacedPayload placed && "encrypted".equals(placed.getEncryptedToken())));
+        verify(eventPublisher).publishEvent(any(OrderPlacedEvent.class));
     }
 
     @Test
@@ -206,8 +262,6 @@ class OrderServiceTest {
                 .thenReturn(Collections.singletonList(testReservation));
         when(skuRepository.findById(anyLong())).thenReturn(Optional.of(testSku));
         when(orderRepository.save(any(Order.class))).thenReturn(testOrder);
-        when(orderItemRepository.save(any(OrderItem.class))).thenReturn(testOrderItem);
-        when(reservationRepository.save(any(Reservation.class))).thenReturn(testReservation);
         when(orderHistoryRepository.save(any(OrderHistory.class))).thenReturn(testOrderHistory);
 
         // When
@@ -219,6 +273,8 @@ class OrderServiceTest {
         verify(orderRepository).save(argThat(order -> 
                 order.getStatus() == OrderStatus.PENDING_PAYMENT && 
                 order.getPaymentMethod() == PaymentMethod.BANK_TRANSFER));
+        // The QR payload is encoded once, by PaymentQrStore after commit
+        verifyNoInteractions(paymentQrStore);
     }
 
     @Test
@@ -302,8 +358,10 @@ class OrderServiceTest {
         // Given
         String trackingToken = "ABC123DEF456";
 
-        when(orderRepository.findByTrackingToken(trackingToken)).thenReturn(Optional.of(testOrder));
-        when(orderItemRepository.findByOrderId(anyLong())).thenReturn(Collections.singletonList(testOrderItem));
+        when(orderTrackingCache.get(anyString())).thenReturn(OrderTrackingCache.Lookup.NOT_CACHED);
+        when(orderReadModelRepository.findByTrackingToken(anyString())).thenReturn(Optional.empty());
+        when(orderRepository.findByTrackingToken(anyString())).thenReturn(Optional.of(testOrder));
+        when(orderItemRepository.findByOrder(any(Order.class))).thenReturn(Collections.singletonList(testOrderItem));
 
         // When
         OrderResponse response = orderService.getOrderByTrackingToken(trackingToken);
@@ -311,7 +369,9 @@ class OrderServiceTest {
         // Then
         assertThat(response).isNotNull();
 
-        verify(orderRepository).findByTrackingToken(trackingToken);
+        // The lookup uses the token hash, never the raw token
+        verify(orderRepository, never()).findByTrackingToken(trackingToken);
+        verify(orderTrackingCache).put(anyString(), eq(response));
     }
 
     @Test
@@ -320,12 +380,83 @@ class OrderServiceTest {
         // Given
         String trackingToken = "NONEXISTENT";
 
-        when(orderRepository.findByTrackingToken(trackingToken)).thenReturn(Optional.empty());
+        when(orderTrackingCache.get(anyString())).thenReturn(OrderTrackingCache.Lookup.NOT_CACHED);
+        when(orderReadModelRepository.findByTrackingToken(anyString())).thenReturn(Optional.empty());
+        when(orderRepository.findByTrackingToken(anyString())).thenReturn(Optional.empty());
 
         // When & Then
         assertThatThrownBy(() -> orderService.getOrderByTrackingToken(trackingToken))
                 .isInstanceOf(ApplicationException.class)
                 .hasFieldOrPropertyWithValue("errorCode", ErrorCode.ORDER_NOT_FOUND);
+
+        verify(orderTrackingCache).putMissing(anyString());
+    }
+
+    @Test
+    @DisplayName("Should serve tracking lookups from cache without touching the database")
+    void shouldServeTrackingLookupFromCache() {
+        // Given
+        OrderResponse cachedResponse = OrderResponse.builder().orderId(1L).status(OrderStatus.CONFIRMED).build();
+        when(orderTrackingCache.get(anyString())).thenReturn(OrderTrackingCache.Lookup.hit(cachedResponse));
+
+        // When
+        OrderResponse response = orderService.getOrderByTrackingToken("ABC123DEF456");
+
+        // Then
+        assertThat(response).isSameAs(cachedResponse);
+        verifyNoInteractions(orderReadModelRepository, orderRepository);
+    }
+
+    @Test
+    @DisplayName("Should not issue a payment QR for orders that are not awaiting a transfer")
+    void shouldRejectPaymentQrForSettledOrder() {
+        // Given
+        OrderResponse paid = OrderResponse.builder()
+                .orderId(1L)
+                .status(OrderStatus.CONFIRMED)
+                .paymentMethod(PaymentMethod.BANK_TRANSFER)
+                .build();
+        when(orderTrackingCache.get(anyString())).thenReturn(OrderTrackingCache.Lookup.hit(paid));
+
+        // When & Then
+        assertThatThrownBy(() -> orderService.getPaymentQrContent("ABC123DEF456"))
+                .isInstanceOf(ApplicationException.class)
+                .hasFieldOrPropertyWithValue("errorCode", ErrorCode.INVALID_ORDER_STATUS);
+    }
+
+    @Test
+    @DisplayName("Should serve the stored payment QR payload of a pending transfer")
+    void shouldReturnStoredPaymentQrPayload() {
+        // Given
+        OrderResponse pending = OrderResponse.builder()
+                .orderId(1L)
+                .status(OrderStatus.PENDING_PAYMENT)
+                .paymentMethod(PaymentMethod.BANK_TRANSFER)
+                .totalAmount(new BigDecimal("1000000"))
+                .build();
+        when(orderTrackingCache.get(anyString())).thenReturn(OrderTrackingCache.Lookup.hit(pending));
+        when(paymentQrStore.getPayload(1L, 1000000L)).thenReturn("stored-payload");
+
+        // When
+        String payload = orderService.getPaymentQrContent("ABC123DEF456");
+
+        // Then
+        assertThat(payload).isEqualTo("stored-payload");
+        verifyNoInteractions(orderReadModelRepository, orderRepository);
+    }
+
+    @Test
+    @DisplayName("Should reject tokens cached as unknown without touching the database")
+    void shouldRejectNegativelyCachedTrackingToken() {
+        // Given
+        when(orderTrackingCache.get(anyString())).thenReturn(OrderTrackingCache.Lookup.MISSING);
+
+        // When & Then
+        assertThatThrownBy(() -> orderService.getOrderByTrackingToken("NONEXISTENT"))
+                .isInstanceOf(ApplicationException.class)
+                .hasFieldOrPropertyWithValue("errorCode", ErrorCode.ORDER_NOT_FOUND);
+
+        verifyNoInteractions(orderReadModelRepository, orderRepository);
     }
 
     @Test
@@ -340,7 +471,7 @@ class OrderServiceTest {
         when(orderRepository.findById(orderId)).thenReturn(Optional.of(testOrder));
         when(orderRepository.save(any(Order.class))).thenReturn(testOrder);
         when(orderHistoryRepository.save(any(OrderHistory.class))).thenReturn(testOrderHistory);
-        when(orderItemRepository.findByOrderId(anyLong())).thenReturn(Collections.singletonList(testOrderItem));
+        when(orderItemRepository.findByOrder(any(Order.class))).thenReturn(Collections.singletonList(testOrderItem));
 
         // When
         OrderResponse response = orderService.updateOrderStatus(orderId, request, "admin@example.com");
@@ -350,8 +481,13 @@ class OrderServiceTest {
 
         verify(orderRepository).save(argThat(order -> order.getStatus() == OrderStatus.SHIPPING));
         verify(orderHistoryRepository).save(any(OrderHistory.class));
-        verify(emailService).sendOrderStatusUpdate(any(Order.class), 
-                eq(OrderStatus.CONFIRMED), eq(OrderStatus.SHIPPING));
+        verify(outboxService).publish(eq(OutboxEventType.ORDER_STATUS_CHANGED), eq(orderId),
+                argThat(payload -> payload instanceof OrderStatusChangedPayload changed
+                        && changed.getOldStatus() == OrderStatus.CONFIRMED
+                        && changed.getNewStatus() == OrderStatus.SHIPPING));
+        verify(eventPublisher).publishEvent(argThat((Object event) -> event instanceof OrderStatusChangedEvent changed
+                && changed.getOldStatus() == OrderStatus.CONFIRMED
+                && changed.getNewStatus() == OrderStatus.SHIPPING));
     }
 
     @Test
@@ -382,7 +518,7 @@ class OrderServiceTest {
         request.setReason("Customer requested cancellation");
 
         when(orderRepository.findById(orderId)).thenReturn(Optional.of(testOrder));
-        when(orderItemRepository.findByOrderId(orderId)).thenReturn(Collections.singletonList(testOrderItem));
+        when(orderItemRepository.findByOrder(testOrder)).thenReturn(Collections.singletonList(testOrderItem));
         when(orderRepository.save(any(Order.class))).thenReturn(testOrder);
         when(orderHistoryRepository.save(any(OrderHistory.class))).thenReturn(testOrderHistory);
 
@@ -421,8 +557,10 @@ class OrderServiceTest {
     void shouldGetOrderHistory() {
         // Given
         Long orderId = 1L;
+        Instant orderCreatedAt = Instant.parse("2026-01-05T10:15:00Z");
 
-        when(orderHistoryRepository.findByOrderIdOrderByUpdatedAtDesc(orderId))
+        when(orderRepository.findCreatedAtById(orderId)).thenReturn(Optional.of(orderCreatedAt));
+        when(orderHistoryRepository.findByOrderIdOrderByUpdatedAtDesc(orderId, orderCreatedAt))
                 .thenReturn(Collections.singletonList(testOrderHistory));
 
         // When
@@ -431,6 +569,241 @@ class OrderServiceTest {
         // Then
         assertThat(response).isNotNull();
 
-        verify(orderHistoryRepository).findByOrderIdOrderByUpdatedAtDesc(orderId);
+        verify(orderHistoryRepository).findByOrderIdOrderByUpdatedAtDesc(orderId, orderCreatedAt);
+    }
+
+    @Test
+    @DisplayName("Should bulk update valid orders and report rejected ones")
+    void shouldBulkUpdateOrderStatusAndReportRejections() {
+        // Given
+        BulkUpdateOrderStatusRequest request = BulkUpdateOrderStatusRequest.builder()
+                .orderIds(List.of(1L, 2L, 3L))
+                .newStatus(OrderStatus.SHIPPING)
+                .build();
+
+        when(orderStatusRepository.findStatuses(anyCollection())).thenReturn(Map.of(
+                1L, OrderStatus.CONFIRMED,
+                2L, OrderStatus.DELIVERED));
+        when(orderStatusRepository.transitionStatus(anyCollection(), eq(OrderStatus.CONFIRMED), eq(OrderStatus.SHIPPING)))
+                .thenReturn(List.of(1L));
+        when(orderRepository.getReferenceById(1L)).thenReturn(testOrder);
+
+        // When
+        BulkOrderStatusResponse response = orderService.bulkUpdateOrderStatus(request, "admin@example.com");
+
+        // Then
+        assertThat(response.getUpdatedOrderIds()).containsExactly(1L);
+        assertThat(response.getRejected())
+                .extracting(BulkOrderStatusResponse.RejectedTransition::getOrderId)
+                .containsExactlyInAnyOrder(2L, 3L);
+
+        verify(orderHistoryRepository).saveAll(argThat(histories -> histories.iterator().hasNext()));
+        verify(orderReadModelRepository).updateStatusIn(eq(List.of(1L)), eq(OrderStatus.SHIPPING), any(Instant.class));
+        verify(outboxService).publish(eq(OutboxEventType.ORDER_STATUS_CHANGED), eq(1L), any());
+        verify(orderRepository, never()).save(any(Order.class));
+    }
+
+    @Test
+    @DisplayName("Should reject bulk cancellation")
+    void shouldRejectBulkCancellation() {
+        // Given
+        BulkUpdateOrderStatusRequest request = BulkUpdateOrderStatusRequest.builder()
+                .orderIds(List.of(1L))
+                .newStatus(OrderStatus.CANCELLED)
+                .build();
+
+        // When & Then
+        assertThatThrownBy(() -> orderService.bulkUpdateOrderStatus(request, "admin@example.com"))
+                .isInstanceOf(ApplicationException.class)
+                .hasFieldOrPropertyWithValue("errorCode", ErrorCode.INVALID_ORDER_STATUS);
+
+        verify(orderStatusRepository, never()).transitionStatus(anyCollection(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should cancel expired unpaid orders and restore their stock in bulk")
+    void shouldCancelExpiredPendingOrders() {
+        // Given
+        Instant older = Instant.parse("2026-01-05T10:00:00Z");
+        Instant newer = Instant.parse("2026-01-05T10:05:00Z");
+        Map<Long, Instant> cancelled = new LinkedHashMap<>();
+        cancelled.put(7L, older);
+        cancelled.put(8L, newer);
+
+        when(orderStatusRepository.cancelExpiredPendingOrders(eq(PaymentMethod.BANK_TRANSFER), any(Instant.class), eq(200)))
+                .thenReturn(cancelled);
+
+        // When
+        int result = orderService.cancelExpiredPendingOrders(PaymentMethod.BANK_TRANSFER, Duration.ofMinutes(30), 200);
+
+        // Then
+        assertThat(result).isEqualTo(2);
+
+        verify(stockRepository).restoreStockForOrders(List.of(7L, 8L), older);
+        verify(orderHistoryRepository).saveAll(argThat(histories -> histories.spliterator().getExactSizeIfKnown() == 2));
+        verify(orderReadModelRepository).updateStatusIn(eq(List.of(7L, 8L)), eq(OrderStatus.CANCELLED), any(Instant.class));
+        verify(outboxService, times(2)).publish(eq(OutboxEventType.ORDER_STATUS_CHANGED), anyLong(), any());
+    }
+
+    @Test
+    @DisplayName("Should do nothing when no unpaid order has expired")
+    void shouldSkipWhenNoPendingOrderExpired() {
+        // Given
+        when(orderStatusRepository.cancelExpiredPendingOrders(any(), any(), anyInt())).thenReturn(Map.of());
+
+        // When
+        int result = orderService.cancelExpiredPendingOrders(PaymentMethod.BANK_TRANSFER, Duration.ofMinutes(30), 200);
+
+        // Then
+        assertThat(result).isZero();
+        verifyNoInteractions(stockRepository, orderHistoryRepository, outboxService);
+    }
+
+    @Test
+    @DisplayName("Should fetch one extra row and stop when the search has no further page")
+    void shouldSearchOrdersFirstPage() {
+        // Given
+        OrderSearchRequest request = OrderSearchRequest.builder().size(3).build();
+        when(orderSearchRepository.search(request, null, null, 4)).thenReturn(summaries(3));
+
+        // When
+        CursorPageResponse<OrderSummaryResponse> page = orderService.searchOrders(request);
+
+        // Then
+        assertThat(page.getContent()).hasSize(3);
+        assertThat(page.getHasNext()).isFalse();
+        assertThat(page.getNextCursor()).isNull();
+        assertThat(page.getTotalElements()).isNull();
+        verify(orderSearchRepository, never()).count(any());
+        verify(orderSearchRepository, never()).estimateTotal();
+    }
+
+    @Test
+    @DisplayName("Should return a cursor at the last row shown when another page exists")
+    void shouldSearchOrdersWithNextCursor() {
+        // Given
+        OrderSearchRequest request = OrderSearchRequest.builder().size(2).build();
+        List<OrderSummaryResponse> rows = summaries(3);
+        when(orderSearchRepository.search(request, null, null, 3)).thenReturn(rows);
+
+        // When
+        CursorPageResponse<OrderSummaryResponse> page = orderService.searchOrders(request);
+
+        // Then
+        assertThat(page.getContent()).extracting(OrderSummaryResponse::getOrderId).containsExactly(103L, 102L);
+        assertThat(page.getHasNext()).isTrue();
+        assertThat(CursorUtil.decode(page.getNextCursor(), 2))
+                .containsExactly(rows.get(1).getCreatedAt().toString(), "102");
+    }
+
+    @Test
+    @DisplayName("Should seek past the cursor position and keep the filters")
+    void shouldSearchOrdersAfterCursor() {
+        // Given
+        Instant createdAt = Instant.parse("2026-01-15T10:00:00Z");
+        OrderSearchRequest request = OrderSearchRequest.builder()
+                .status(OrderStatus.CONFIRMED)
+                .paymentMethod(PaymentMethod.BANK_TRANSFER)
+                .cursor(CursorUtil.encode(createdAt.toString(), "102"))
+                .size(2)
+                .build();
+        when(orderSearchRepository.search(request, createdAt, 102L, 3)).thenReturn(List.of());
+
+        // When
+        CursorPageResponse<OrderSummaryResponse> page = orderService.searchOrders(request);
+
+        // Then
+        assertThat(page.getContent()).isEmpty();
+        assertThat(page.getHasNext()).isFalse();
+        verify(orderSearchRepository).search(argThat(r -> r.getStatus() == OrderStatus.CONFIRMED
+                && r.getPaymentMethod() == PaymentMethod.BANK_TRANSFER), eq(createdAt), eq(102L), eq(3));
+    }
+
+    @Test
+    @DisplayName("Should reject malformed cursors")
+    void shouldRejectInvalidSearchCursor() {
+        // Given
+        OrderSearchRequest wrongArity = OrderSearchRequest.builder().cursor(CursorUtil.encode("only-one")).build();
+        OrderSearchRequest badInstant = OrderSearchRequest.builder().cursor(CursorUtil.encode("yesterday", "1")).build();
+        OrderSearchRequest badId = OrderSearchRequest.builder()
+                .cursor(CursorUtil.encode("2026-01-15T10:00:00Z", "abc")).build();
+
+        // When & Then
+        for (OrderSearchRequest request : List.of(wrongArity, badInstant, badId)) {
+            assertThatThrownBy(() -> orderService.searchOrders(request))
+                    .isInstanceOf(ApplicationException.class)
+                    .hasFieldOrPropertyWithValue("errorCode", ErrorCode.INVALID_CURSOR);
+        }
+        verifyNoInteractions(orderSearchRepository);
+    }
+
+    @Test
+    @DisplayName("Should clamp the page size")
+    void shouldClampSearchPageSize() {
+        // Given
+        OrderSearchRequest tooLarge = OrderSearchRequest.builder().size(500).build();
+        OrderSearchRequest tooSmall = OrderSearchRequest.builder().size(0).build();
+        when(orderSearchRepository.search(any(), any(), any(), anyInt())).thenReturn(List.of());
+
+        // When
+        orderService.searchOrders(tooLarge);
+        orderService.searchOrders(tooSmall);
+
+        // Then
+        verify(orderSearchRepository).search(tooLarge, null, null, 101);
+        verify(orderSearchRepository).search(tooSmall, null, null, 2);
+    }
+
+    @Test
+    @DisplayName("Should estimate the total of an unfiltered search from planner statistics")
+    void shouldEstimateUnfilteredSearchTotal() {
+        // Given
+        OrderSearchRequest request = OrderSearchRequest.builder().includeTotal(true).build();
+        when(orderSearchRepository.search(any(), any(), any(), anyInt())).thenReturn(summaries(1));
+        when(orderSearchRepository.estimateTotal()).thenReturn(120_000L);
+
+        // When
+        CursorPageResponse<OrderSummaryResponse> page = orderService.searchOrders(request);
+
+        // Then
+        assertThat(page.getTotalElements()).isEqualTo(120_000L);
+        assertThat(page.getTotalEstimated()).isTrue();
+        verify(orderSearchRepository, never()).count(any());
+    }
+
+    @Test
+    @DisplayName("Should count a filtered search exactly")
+    void shouldCountFilteredSearchTotal() {
+        // Given
+        OrderSearchRequest request = OrderSearchRequest.builder()
+                .customer("john@example.com")
+                .startDate(Instant.parse("2026-01-01T00:00:00Z"))
+                .includeTotal(true)
+                .build();
+        when(orderSearchRepository.search(any(), any(), any(), anyInt())).thenReturn(summaries(1));
+        when(orderSearchRepository.count(request)).thenReturn(1L);
+
+        // When
+        CursorPageResponse<OrderSummaryResponse> page = orderService.searchOrders(request);
+
+        // Then
+        assertThat(page.getTotalElements()).isEqualTo(1L);
+        assertThat(page.getTotalEstimated()).isFalse();
+        verify(orderSearchRepository, never()).estimateTotal();
+    }
+
+    // Newest first, as the repository returns them; ids run from 100 + count down to 101
+    private static List<OrderSummaryResponse> summaries(int count) {
+        Instant newest = Instant.parse("2026-01-15T10:00:00Z");
+        List<OrderSummaryResponse> rows = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            rows.add(OrderSummaryResponse.builder()
+                    .orderId(100L + count - i)
+                    .status(OrderStatus.CONFIRMED)
+                    .totalAmount(new BigDecimal("500000"))
+                    .createdAt(newest.minusSeconds(60L * i))
+                    .build());
+        }
+        return rows;
     }
 }
@@ -0,0 +1,243 @@
+package wandererpi.lbs.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+import wandererpi.lbs.config.OutboxConfig;
+import wandererpi.lbs.dto.event.OrderPlacedPayload;
+import wandererpi.lbs.entity.OutboxEvent;
+import wandererpi.lbs.enums.OutboxEventType;
+import wandererpi.lbs.enums.OutboxStatus;
+import wandererpi.lbs.repository.jpa.OutboxEventRepository;
+import wandererpi.lbs.service.impl.OutboxServiceImpl;
+import wandererpi.lbs.service.outbox.OutboxEventHandler;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("OutboxService Unit Tests")
+class OutboxServiceTest {
+
+    @Mock
+    private OutboxEventRepository outboxEventRepository;
+
+    @Mock
+    private OutboxEventHandler emailHandler;
+
+    @Mock
+    private OutboxEventHandler otherHandler;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private OutboxConfig config;
+    private OutboxServiceImpl outboxService;
+
+    @BeforeEach
+    void setUp() {
+        config = new OutboxConfig();
+        config.setBatchSize(10);
+        config.setMaxAttempts(3);
+        config.setInitialBackoff(Duration.ofSeconds(10));
+        config.setMaxBackoff(Duration.ofSeconds(30));
+        config.setDispatchTimeout(Duration.ofMinutes(5));
+        outboxService = new OutboxServiceImpl(outboxEventRepository, List.of(emailHandler, otherHandler),
+                config, new ObjectMapper(), transactionTemplate);
+        lenient().doAnswer(invocation -> {
+            Consumer<TransactionStatus> action = invocation.getArgument(0);
+            action.accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+
+        lenient().when(emailHandler.supports(OutboxEventType.ORDER_PLACED)).thenReturn(true);
+        lenient().when(otherHandler.supports(any())).thenReturn(false);
+    }
+
+    @Test
+    @DisplayName("Should store a pending event with the serialized payload")
+    void publish_StoresPendingEvent() {
+        // When
+        outboxService.publish(OutboxEventType.ORDER_PLACED, 7L, OrderPlacedPayload.builder().encryptedToken("abc").build());
+
+        // Then
+        ArgumentCaptor<OutboxEvent> saved = ArgumentCaptor.forClass(OutboxEvent.class);
+        verify(outboxEventRepository).save(saved.capture());
+        assertThat(saved.getValue().getStatus()).isEqualTo(OutboxStatus.PENDING);
+        assertThat(saved.getValue().getAggregateId()).isEqualTo(7L);
+        assertThat(saved.getValue().getAttempts()).isZero();
+        assertThat(saved.getValue().getPayload()).isEqualTo("{\"encryptedToken\":\"abc\"}");
+    }
+
+    @Test
+    @DisplayName("Should lease claimed events for the dispatch timeout and count the attempt")
+    void claimDueEvents_LeasesEvents() {
+        // Given
+        OutboxEvent first = event(1L, 0);
+        OutboxEvent second = event(2L, 1);
+        when(outboxEventRepository.lockDueEvents(any(Instant.class), eq(10))).thenReturn(List.of(first, second));
+
+        // When
+        List<Long> claimed = outboxService.claimDueEvents();
+
+        // Then
+        assertThat(claimed).containsExactly(1L, 2L);
+        assertThat(first.getAttempts()).isEqualTo(1);
+        assertThat(second.getAttempts()).isEqualTo(2);
+        assertThat(first.getStatus()).isEqualTo(OutboxStatus.PENDING);
+        assertThat(first.getNextAttemptAt()).isCloseTo(Instant.now().plus(Duration.ofMinutes(5)), within(Duration.ofSeconds(5)));
+        verifyNoInteractions(emailHandler, otherHandler);
+    }
+
+    @Test
+    @DisplayName("Should run supporting handlers, mark the event processed and clear its payload")
+    void dispatch_Success() throws Exception {
+        // Given
+        OutboxEvent event = event(1L, 1);
+        when(outboxEventRepository.findById(1L)).thenReturn(Optional.of(event));
+
+        // When
+        outboxService.dispatch(1L);
+
+        // Then
+        verify(emailHandler).handle(event);
+        verify(otherHandler, never()).handle(any());
+        assertThat(event.getStatus()).isEqualTo(OutboxStatus.PROCESSED);
+        assertThat(event.getProcessedAt()).isNotNull();
+        assertThat(event.getPayload()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should schedule a retry with exponential backoff when a handler fails")
+    void dispatch_Retry() throws Exception {
+        // Given
+        OutboxEvent event = event(1L, 2);
+        when(outboxEventRepository.findById(1L)).thenReturn(Optional.of(event));
+        doThrow(new IllegalStateException("SMTP down")).when(emailHandler).handle(event);
+
+        // When
+        outboxService.dispatch(1L);
+
+        // Then: second attempt waits initial * 2 = 20s and keeps the payload for the retry
+        assertThat(event.getStatus()).isEqualTo(OutboxStatus.PENDING);
+        assertThat(event.getLastError()).contains("SMTP down");
+        assertThat(event.getPayload()).isNotNull();
+        assertThat(event.getNextAttemptAt()).isCloseTo(Instant.now().plusSeconds(20), within(Duration.ofSeconds(5)));
+    }
+
+    @Test
+    @DisplayName("Should cap the backoff and give up after the maximum attempts")
+    void dispatch_GivesUp() throws Exception {
+        // Given
+        OutboxEvent retried = event(1L, 2);
+        OutboxEvent exhausted = event(2L, 3);
+        when(outboxEventRepository.findById(1L)).thenReturn(Optional.of(retried));
+        when(outboxEventRepository.findById(2L)).thenReturn(Optional.of(exhausted));
+        doThrow(new IllegalStateException("SMTP down")).when(emailHandler).handle(any());
+        config.setInitialBackoff(Duration.ofSeconds(20));
+
+        // When
+        outboxService.dispatch(1L);
+        outboxService.dispatch(2L);
+
+        // Then
+        assertThat(retried.getNextAttemptAt()).isCloseTo(Instant.now().plusSeconds(30), within(Duration.ofSeconds(5)));
+        assertThat(exhausted.getStatus()).isEqualTo(OutboxStatus.FAILED);
+    }
+
+    @Test
+    @DisplayName("Should send with no transaction open and record the outcome in one afterwards")
+    void dispatch_SendsOutsideTransaction() throws Exception {
+        // Given
+        OutboxEvent event = event(1L, 1);
+        when(outboxEventRepository.findById(1L)).thenReturn(Optional.of(event));
+
+        // When
+        outboxService.dispatch(1L);
+
+        // Then
+        InOrder inOrder = inOrder(emailHandler, transactionTemplate);
+        inOrder.verify(emailHandler).handle(event);
+        inOrder.verify(transactionTemplate).executeWithoutResult(any());
+    }
+
+    @Test
+    @DisplayName("Should not overwrite an event another relay claimed while this one was sending")
+    void dispatch_ReclaimedMeanwhile() throws Exception {
+        // Given: the lease expired during the send and another relay counted attempt 2
+        OutboxEvent claimed = event(1L, 1);
+        OutboxEvent reclaimed = event(1L, 2);
+        when(outboxEventRepository.findById(1L)).thenReturn(Optional.of(claimed), Optional.of(reclaimed));
+
+        // When
+        outboxService.dispatch(1L);
+
+        // Then
+        verify(emailHandler).handle(claimed);
+        assertThat(reclaimed.getStatus()).isEqualTo(OutboxStatus.PENDING);
+        assertThat(reclaimed.getPayload()).isNotNull();
+    }
+
+    @Test
+    @DisplayName("Should skip events that are gone or already handled")
+    void dispatch_SkipsSettledEvents() throws Exception {
+        // Given
+        OutboxEvent processed = event(1L, 1);
+        processed.setStatus(OutboxStatus.PROCESSED);
+        when(outboxEventRepository.findById(1L)).thenReturn(Optional.of(processed));
+        when(outboxEventRepository.findById(2L)).thenReturn(Optional.empty());
+
+        // When & Then
+        assertThatCode(() -> {
+            outboxService.dispatch(1L);
+            outboxService.dispatch(2L);
+        }).doesNotThrowAnyException();
+        verify(emailHandler, never()).handle(any());
+        verifyNoInteractions(transactionTemplate);
+    }
+
+    @Test
+    @DisplayName("Should purge processed events older than the retention")
+    void purgeProcessedEvents() {
+        // Given
+        when(outboxEventRepository.deleteByStatusAndProcessedAtBefore(eq(OutboxStatus.PROCESSED), any(Instant.class)))
+                .thenReturn(4);
+
+        // When & Then
+        assertThat(outboxService.purgeProcessedEvents()).isEqualTo(4);
+        verify(outboxEventRepository, never()).lockDueEvents(any(), anyInt());
+    }
+
+    // Helper methods
+
+    private OutboxEvent event(Long id, int attempts) {
+        return OutboxEvent.builder()
+                .id(id)
+                .eventType(OutboxEventType.ORDER_PLACED)
+                .aggregateId(100L + id)
+                .payload("{\"encryptedToken\":\"abc\"}")
+                .status(OutboxStatus.PENDING)
+                .attempts(attempts)
+                .nextAttemptAt(Instant.now())
+                .build();
+    }
+}
@@ -0,0 +1,192 @@
+package wandererpi.lbs.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+import wandererpi.lbs.config.PartitionConfig;
+import wandererpi.lbs.repository.jdbc.PartitionRepository;
+import wandererpi.lbs.service.impl.PartitionServiceImpl;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("PartitionService Unit Tests")
+class PartitionServiceTest {
+
+    private static final LocalDate CURRENT_MONTH = LocalDate.now().withDayOfMonth(1);
+
+    @Mock
+    private PartitionRepository partitionRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private PartitionConfig partitionConfig;
+    private PartitionServiceImpl partitionService;
+
+    @BeforeEach
+    void setUp() {
+        partitionConfig = new PartitionConfig();
+        partitionService = new PartitionServiceImpl(partitionRepository, partitionConfig, transactionTemplate);
+        lenient().doAnswer(invocation -> {
+            Consumer<TransactionStatus> action = invocation.getArgument(0);
+            action.accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+    }
+
+    @Test
+    @DisplayName("Should create the current month and every configured month ahead for each order table")
+    void ensureFuturePartitions_CreatesMonthsAhead() {
+        // Given
+        partitionConfig.setMonthsAhead(2);
+
+        // When
+        int ensured = partitionService.ensureFuturePartitions();
+
+        // Then
+        assertThat(ensured).isEqualTo(9);
+        for (String table : List.of("orders", "order_items", "order_histories")) {
+            ArgumentCaptor<LocalDate> months = ArgumentCaptor.forClass(LocalDate.class);
+            verify(partitionRepository, times(3)).createMonthlyPartition(eq(table), months.capture());
+            assertThat(months.getAllValues())
+                    .containsExactly(CURRENT_MONTH, CURRENT_MONTH.plusMonths(1), CURRENT_MONTH.plusMonths(2));
+        }
+        verifyNoMoreInteractions(partitionRepository);
+    }
+
+    @Test
+    @DisplayName("Should stop at the first table whose partition cannot be created")
+    void ensureFuturePartitions_Failure() {
+        // Given
+        when(partitionRepository.createMonthlyPartition(eq("orders"), any()))
+                .thenThrow(new RuntimeException("database down"));
+
+        // When & Then
+        assertThatThrownBy(() -> partitionService.ensureFuturePartitions()).isInstanceOf(RuntimeException.class);
+        verify(partitionRepository, never()).createMonthlyPartition(eq("order_items"), any());
+    }
+
+    @Test
+    @DisplayName("Should leave every partition attached while archival is disabled")
+    void archiveExpiredPartitions_Disabled() {
+        // When
+        int archived = partitionService.archiveExpiredPartitions();
+
+        // Then
+        assertThat(archived).isZero();
+        verifyNoInteractions(partitionRepository, transactionTemplate);
+    }
+
+    @Test
+    @DisplayName("Should archive only months wholly older than the retention window")
+    void archiveExpiredPartitions_DetachesExpiredMonths() {
+        // Given: 24 months kept before the current one
+        enableArchive(24);
+        String expired = partition("orders", CURRENT_MONTH.minusMonths(25));
+        String olderExpired = partition("orders", CURRENT_MONTH.minusMonths(30));
+        String oldestKept = partition("orders", CURRENT_MONTH.minusMonths(24));
+        when(partitionRepository.findPartitions("orders"))
+                .thenReturn(List.of("orders_default", olderExpired, expired, oldestKept, partition("orders", CURRENT_MONTH)));
+        when(partitionRepository.findPartitions("order_items")).thenReturn(List.of("order_items_default"));
+        when(partitionRepository.findPartitions("order_histories")).thenReturn(List.of());
+
+        // When
+        int archived = partitionService.archiveExpiredPartitions();
+
+        // Then
+        assertThat(archived).isEqualTo(2);
+        verify(partitionRepository).archivePartition("orders", olderExpired, "archive");
+        verify(partitionRepository).archivePartition("orders", expired, "archive");
+        verify(partitionRepository, never()).archivePartition(anyString(), eq(oldestKept), anyString());
+        verify(transactionTemplate, times(2)).executeWithoutResult(any());
+    }
+
+    @Test
+    @DisplayName("Should archive the read models and rollups of a month together with its orders")
+    void archiveExpiredPartitions_ArchivesDerivedRows() {
+        // Given
+        enableArchive(12);
+        LocalDate month = CURRENT_MONTH.minusMonths(13);
+        when(partitionRepository.findPartitions("orders")).thenReturn(List.of(partition("orders", month)));
+        when(partitionRepository.findPartitions("order_items")).thenReturn(List.of(partition("order_items", month)));
+        when(partitionRepository.findPartitions("order_histories")).thenReturn(List.of());
+
+        // When
+        partitionService.archiveExpiredPartitions();
+
+        // Then: once, in the transaction that detaches the orders partition
+        InOrder inOrder = inOrder(partitionRepository);
+        inOrder.verify(partitionRepository).archivePartition("orders", partition("orders", month), "archive");
+        inOrder.verify(partitionRepository).archiveOrderDerivedRows(month, "archive");
+        verify(partitionRepository, times(1)).archiveOrderDerivedRows(any(), anyString());
+    }
+
+    @Test
+    @DisplayName("Should match partitions to their own table and skip other naming schemes")
+    void archiveExpiredPartitions_SkipsForeignNames() {
+        // Given
+        enableArchive(1);
+        String expired = partition("order_items", CURRENT_MONTH.minusMonths(6));
+        when(partitionRepository.findPartitions("orders")).thenReturn(List.of(
+                expired,                                                        // another table's partition
+                partition("orders", CURRENT_MONTH.minusMonths(6)) + "_old",    // renamed by hand
+                "orders_legacy"));
+        when(partitionRepository.findPartitions("order_items")).thenReturn(List.of(expired));
+        when(partitionRepository.findPartitions("order_histories")).thenReturn(List.of());
+
+        // When
+        int archived = partitionService.archiveExpiredPartitions();
+
+        // Then
+        assertThat(archived).isEqualTo(1);
+        verify(partitionRepository).archivePartition("order_items", expired, "archive");
+        verify(partitionRepository, never()).archivePartition(eq("orders"), anyString(), anyString());
+    }
+
+    @Test
+    @DisplayName("Should move detached partitions into the configured schema")
+    void archiveExpiredPartitions_ConfiguredSchema() {
+        // Given
+        enableArchive(12);
+        partitionConfig.getArchive().setSchema("cold");
+        String expired = partition("order_histories", CURRENT_MONTH.minusMonths(13));
+        when(partitionRepository.findPartitions("orders")).thenReturn(List.of());
+        when(partitionRepository.findPartitions("order_items")).thenReturn(List.of());
+        when(partitionRepository.findPartitions("order_histories")).thenReturn(List.of(expired));
+
+        // When
+        partitionService.archiveExpiredPartitions();
+
+        // Then
+        verify(partitionRepository).archivePartition("order_histories", expired, "cold");
+        verify(partitionRepository, never()).archiveOrderDerivedRows(any(), anyString());
+    }
+
+    // Helper methods
+
+    private void enableArchive(int retentionMonths) {
+        partitionConfig.getArchive().setEnabled(true);
+        partitionConfig.getArchive().setRetentionMonths(retentionMonths);
+    }
+
+    private static String partition(String table, LocalDate month) {
+        return String.format("%s_y%04dm%02d", table, month.getYear(), month.getMonthValue());
+    }
+}
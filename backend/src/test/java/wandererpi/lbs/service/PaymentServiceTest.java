@@ -0,0 +1,184 @@
+package wandererpi.lbs.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import wandererpi.lbs.dto.request.SepayWebhookRequest;
+import wandererpi.lbs.entity.Order;
+import wandererpi.lbs.entity.OrderHistory;
+import wandererpi.lbs.enums.ErrorCode;
+import wandererpi.lbs.enums.OrderStatus;
+import wandererpi.lbs.enums.OutboxEventType;
+import wandererpi.lbs.enums.PaymentMethod;
+import wandererpi.lbs.event.OrderStatusChangedEvent;
+import wandererpi.lbs.event.PaymentTransactionRecordedEvent;
+import wandererpi.lbs.exception.ApplicationException;
+import wandererpi.lbs.repository.jdbc.OrderStatusRepository;
+import wandererpi.lbs.repository.jdbc.PaymentTransactionRepository;
+import wandererpi.lbs.repository.jpa.OrderHistoryRepository;
+import wandererpi.lbs.repository.jpa.OrderReadModelRepository;
+import wandererpi.lbs.repository.jpa.OrderRepository;
+import wandererpi.lbs.service.cache.PaymentTransactionDedupCache;
+import wandererpi.lbs.service.impl.PaymentServiceImpl;
+import wandererpi.lbs.service.payment.SepaySignatureVerifier;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("PaymentService Unit Tests")
+class PaymentServiceTest {
+
+    private static final String SIGNATURE = "signature";
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    @Mock
+    private OrderHistoryRepository orderHistoryRepository;
+
+    @Mock
+    private OrderReadModelRepository orderReadModelRepository;
+
+    @Mock
+    private OrderStatusRepository orderStatusRepository;
+
+    @Mock
+    private PaymentTransactionRepository paymentTransactionRepository;
+
+    @Mock
+    private PaymentTransactionDedupCache paymentTransactionDedupCache;
+
+    @Mock
+    private SepaySignatureVerifier sepaySignatureVerifier;
+
+    @Mock
+    private OutboxService outboxService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private PaymentServiceImpl paymentService;
+
+    private SepayWebhookRequest request;
+    private Order order;
+
+    @BeforeEach
+    void setUp() {
+        request = new SepayWebhookRequest();
+        request.setId(92704L);
+        request.setTransactionDate("2026-01-15 10:30:00");
+        request.setTransferAmount(1250000L);
+        request.setContent("ORDER-1001 thanh toan");
+
+        order = Order.builder()
+                .status(OrderStatus.PENDING_PAYMENT)
+                .paymentMethod(PaymentMethod.BANK_TRANSFER)
+                .totalAmount(new BigDecimal("1250000"))
+                .build();
+        order.setId(1001L);
+
+        lenient().when(sepaySignatureVerifier.verify(request, SIGNATURE)).thenReturn(true);
+    }
+
+    @Test
+    @DisplayName("Should confirm the order, record the transaction and publish the recorded event")
+    void processSepayWebhook_FirstDelivery() {
+        // Given
+        when(paymentTransactionRepository.recordIfAbsent(request, 1001L)).thenReturn(true);
+        when(orderRepository.findById(1001L)).thenReturn(Optional.of(order));
+        when(orderStatusRepository.transitionStatus(List.of(1001L), OrderStatus.PENDING_PAYMENT, OrderStatus.CONFIRMED))
+                .thenReturn(List.of(1001L));
+
+        // When
+        paymentService.processSepayWebhook(request, SIGNATURE);
+
+        // Then
+        verify(eventPublisher).publishEvent(ArgumentMatchers.<Object>argThat(event ->
+                event instanceof PaymentTransactionRecordedEvent recorded && recorded.getTransactionId() == 92704L));
+        verify(orderHistoryRepository).save(any(OrderHistory.class));
+        verify(outboxService).publish(eq(OutboxEventType.ORDER_STATUS_CHANGED), eq(1001L), any());
+        verify(eventPublisher).publishEvent(any(OrderStatusChangedEvent.class));
+    }
+
+    @Test
+    @DisplayName("Should ignore a re-delivery known to the dedup cache without touching the database")
+    void processSepayWebhook_CacheHit() {
+        // Given
+        when(paymentTransactionDedupCache.isKnown(92704L)).thenReturn(true);
+
+        // When
+        paymentService.processSepayWebhook(request, SIGNATURE);
+
+        // Then
+        verifyNoInteractions(paymentTransactionRepository, orderRepository, orderStatusRepository, outboxService, eventPublisher);
+    }
+
+    @Test
+    @DisplayName("Should ignore a re-delivery whose insert hit the unique transaction id")
+    void processSepayWebhook_ConflictNoOp() {
+        // Given: not cached (expired, or Redis down), but already in payment_transactions
+        when(paymentTransactionRepository.recordIfAbsent(request, 1001L)).thenReturn(false);
+
+        // When
+        paymentService.processSepayWebhook(request, SIGNATURE);
+
+        // Then: nothing is applied and the cache is not re-populated for it
+        verifyNoInteractions(orderRepository, orderStatusRepository, outboxService, eventPublisher);
+    }
+
+    @Test
+    @DisplayName("Should leave the cache untouched when processing fails, so the id can be re-delivered")
+    void processSepayWebhook_RollbackStaysRedeliverable() {
+        // Given: the transaction is inserted, then the order lookup fails and the transaction rolls back
+        when(paymentTransactionRepository.recordIfAbsent(request, 1001L)).thenReturn(true);
+        when(orderRepository.findById(1001L)).thenReturn(Optional.empty());
+
+        // When & Then
+        assertThatThrownBy(() -> paymentService.processSepayWebhook(request, SIGNATURE))
+                .isInstanceOf(ApplicationException.class)
+                .hasFieldOrPropertyWithValue("errorCode", ErrorCode.ORDER_NOT_FOUND);
+
+        // The id reaches Redis only through the AFTER_COMMIT listener of this event, which a rollback never fires
+        verify(paymentTransactionDedupCache).isKnown(92704L);
+        verifyNoMoreInteractions(paymentTransactionDedupCache);
+        verify(eventPublisher).publishEvent(any(PaymentTransactionRecordedEvent.class));
+    }
+
+    @Test
+    @DisplayName("Should reject unsigned webhooks before recording the transaction id")
+    void processSepayWebhook_Unsigned() {
+        // When & Then
+        assertThatThrownBy(() -> paymentService.processSepayWebhook(request, null))
+                .isInstanceOf(ApplicationException.class)
+                .hasFieldOrPropertyWithValue("errorCode", ErrorCode.INVALID_SIGNATURE);
+
+        verifyNoInteractions(paymentTransactionDedupCache, paymentTransactionRepository, orderRepository);
+    }
+
+    @Test
+    @DisplayName("Should reject webhooks with a wrong signature")
+    void processSepayWebhook_InvalidSignature() {
+        // Given
+        when(sepaySignatureVerifier.verify(request, "forged")).thenReturn(false);
+
+        // When & Then
+        assertThatThrownBy(() -> paymentService.processSepayWebhook(request, "forged"))
+                .isInstanceOf(ApplicationException.class)
+                .hasFieldOrPropertyWithValue("errorCode", ErrorCode.INVALID_SIGNATURE);
+
+        verifyNoInteractions(paymentTransactionRepository);
+    }
+}
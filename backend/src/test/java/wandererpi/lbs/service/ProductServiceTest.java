@@ -18,8 +18,11 @@ import wandererpi.lbs.enums.ErrorCode;
 import wandererpi.lbs.exception.ApplicationException;
 import wandererpi.lbs.repository.jpa.CategoryRepository;
 import wandererpi.lbs.repository.jpa.ProductImageRepository;
+import wandererpi.lbs.repository.jpa.ProductListingRepository;
 import wandererpi.lbs.repository.jpa.ProductRepository;
 import wandererpi.lbs.repository.jpa.SkuRepository;
+import wandererpi.lbs.service.cache.ProductListingCache;
+import wandererpi.lbs.service.catalog.CatalogIndex;
 import wandererpi.lbs.service.impl.ProductServiceImpl;
 
 import java.math.BigDecimal;
@@ -30,6 +33,7 @@ import java.util.Optional;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.*;
 
@@ -49,6 +53,15 @@ class ProductServiceTest {
     @Mock
     private ProductImageRepository productImageRepository;
 
+    @Mock
+    private ProductListingRepository productListingRepository;
+
+    @Mock
+    private ProductListingCache productListingCache;
+
+    @Mock
+    private CatalogIndex catalogIndex;
+
     @InjectMocks
     private ProductServiceImpl productService;
 
@@ -79,7 +92,6 @@ class ProductServiceTest {
         // Setup test SKU
         testSku = Sku.builder()
                 .product(testProduct)
-                .skuCode("TEST-M-BLACK")
                 .size("M")
                 .color("Black")
                 .price(new BigDecimal("500000"))
@@ -289,4 +301,68 @@ class ProductServiceTest {
 
         verify(categoryRepository).findAll();
     }
+
+    @Test
+    @DisplayName("Should reject search text without letters or digits instead of listing everything")
+    void shouldRejectSearchWithoutTerms() {
+        // Given
+        ProductFilterRequest request = ProductFilterRequest.builder()
+                .search("!!!")
+                .page(0)
+                .size(20)
+                .build();
+
+        // When & Then
+        assertThatThrownBy(() -> productService.searchProducts(request))
+                .isInstanceOf(ApplicationException.class)
+                .hasFieldOrPropertyWithValue("errorCode", ErrorCode.INVALID_REQUEST);
+
+        verifyNoInteractions(productListingRepository);
+    }
+
+    @Test
+    @DisplayName("Should resolve a scanned SKU code from the catalog index")
+    void shouldLookupSkuByCode() {
+        // Given
+        CatalogIndex.SkuEntry sku = new CatalogIndex.SkuEntry(1L, 1L, "Test Product", "test-product",
+                "M", "Black", new BigDecimal("299000"), 3, List.of("TS-BLK-M", "8930000000011"));
+        when(catalogIndex.isLoaded()).thenReturn(true);
+        when(catalogIndex.findBySkuCode("8930000000011")).thenReturn(Optional.of(sku));
+
+        // When
+        SkuLookupResponse response = productService.lookupSku(" 8930000000011 ");
+
+        // Then
+        assertThat(response.getSkuId()).isEqualTo(1L);
+        assertThat(response.getPrimarySkuCode()).isEqualTo("TS-BLK-M");
+        assertThat(response.getAvailable()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should answer unavailable rather than not found before the catalog index is loaded")
+    void shouldRejectLookupBeforeCatalogIndexLoaded() {
+        // Given
+        when(catalogIndex.isLoaded()).thenReturn(false);
+
+        // When & Then
+        assertThatThrownBy(() -> productService.lookupSku("8930000000011"))
+                .isInstanceOf(ApplicationException.class)
+                .hasFieldOrPropertyWithValue("errorCode", ErrorCode.CATALOG_INDEX_UNAVAILABLE);
+
+        verify(catalogIndex, never()).findBySkuCode(any());
+    }
+
+    @Test
+    @DisplayName("Should answer unavailable rather than no suggestions before the catalog index is loaded")
+    void shouldRejectSuggestionsBeforeCatalogIndexLoaded() {
+        // Given
+        when(catalogIndex.isLoaded()).thenReturn(false);
+
+        // When & Then
+        assertThatThrownBy(() -> productService.suggestProducts("ao", 10))
+                .isInstanceOf(ApplicationException.class)
+                .hasFieldOrPropertyWithValue("errorCode", ErrorCode.CATALOG_INDEX_UNAVAILABLE);
+
+        verify(catalogIndex, never()).suggest(any(), anyInt());
+    }
 }
@@ -0,0 +1,218 @@
+package wandererpi.lbs.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import wandererpi.lbs.config.ReconciliationConfig;
+import wandererpi.lbs.dto.reconciliation.BankStatementLine;
+import wandererpi.lbs.dto.reconciliation.PendingPayment;
+import wandererpi.lbs.dto.response.ReconciliationReportResponse;
+import wandererpi.lbs.enums.ErrorCode;
+import wandererpi.lbs.enums.PaymentMethod;
+import wandererpi.lbs.enums.ReconciliationOutcome;
+import wandererpi.lbs.exception.ApplicationException;
+import wandererpi.lbs.repository.jdbc.PaymentTransactionRepository;
+import wandererpi.lbs.repository.jdbc.ReconciliationRepository;
+import wandererpi.lbs.service.impl.ReconciliationServiceImpl;
+import wandererpi.lbs.service.reconciliation.BankStatementSource;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ReconciliationService Unit Tests")
+class ReconciliationServiceTest {
+
+    @Mock
+    private BankStatementSource source;
+
+    @Mock
+    private ReconciliationRepository reconciliationRepository;
+
+    @Mock
+    private PaymentTransactionRepository paymentTransactionRepository;
+
+    @Mock
+    private OrderService orderService;
+
+    private ReconciliationServiceImpl reconciliationService;
+
+    @BeforeEach
+    void setUp() {
+        ReconciliationConfig config = new ReconciliationConfig();
+        config.setConfirmBatchSize(2);
+        reconciliationService = new ReconciliationServiceImpl(List.of(source), reconciliationRepository,
+                paymentTransactionRepository, orderService, config);
+
+        lenient().when(source.getName()).thenReturn("csv");
+        lenient().when(reconciliationRepository.findPendingPayments(eq(PaymentMethod.BANK_TRANSFER), any(Instant.class)))
+                .thenReturn(List.of(
+                        new PendingPayment(101L, 350000L, Instant.now()),
+                        new PendingPayment(102L, 500000L, Instant.now()),
+                        new PendingPayment(103L, 720000L, Instant.now()),
+                        new PendingPayment(104L, 990000L, Instant.now())));
+        lenient().when(orderService.confirmReconciledPayments(anyMap()))
+                .thenAnswer(invocation -> List.copyOf(invocation.<Map<Long, String>>getArgument(0).keySet()));
+        lenient().when(paymentTransactionRepository.findRecordedReferences(anyCollection())).thenReturn(Set.of());
+    }
+
+    @Test
+    @DisplayName("Should confirm orders referenced with sloppy formatting")
+    void reconcile_FuzzyReferences() {
+        // Given
+        when(source.fetch()).thenReturn(List.of(
+                line(1, 350000L, "order101 chuyen khoan"),
+                line(2, 500000L, "Thanh toán ĐƠN HÀNG 102"),
+                line(3, 720000L, "ODER-103"),
+                line(4, 990000L, "DH: 104")));
+
+        // When
+        ReconciliationReportResponse report = reconciliationService.reconcile("csv");
+
+        // Then
+        assertThat(report.getConfirmedOrderIds()).containsExactly(101L, 102L, 103L, 104L);
+        assertThat(report.getUnmatched()).isEmpty();
+        verify(orderService, times(2)).confirmReconciledPayments(anyMap());
+    }
+
+    @Test
+    @DisplayName("Should confirm overpayments only for the exact ORDER-{id} reference")
+    void reconcile_Overpayment() {
+        // Given
+        when(source.fetch()).thenReturn(List.of(
+                line(1, 750000L, "ODER-103"),
+                line(2, 400000L, "ORDER-101")));
+
+        // When
+        ReconciliationReportResponse report = reconciliationService.reconcile("csv");
+
+        // Then
+        assertThat(report.getConfirmedOrderIds()).containsExactly(101L);
+        assertThat(report.getUnmatched()).singleElement()
+                .satisfies(item -> {
+                    assertThat(item.getOutcome()).isEqualTo(ReconciliationOutcome.OVERPAID);
+                    assertThat(item.getCandidateOrderId()).isEqualTo(103L);
+                });
+    }
+
+    @Test
+    @DisplayName("Should not read a reference from a keyword inside another word")
+    void reconcile_KeywordInsideWord() {
+        // Given
+        when(source.fetch()).thenReturn(List.of(line(1, 42000L, "XDH 102 BORDER7")));
+
+        // When
+        ReconciliationReportResponse report = reconciliationService.reconcile("csv");
+
+        // Then
+        assertThat(report.getConfirmedOrderIds()).isEmpty();
+        assertThat(report.getUnmatched()).singleElement()
+                .satisfies(item -> assertThat(item.getOutcome()).isEqualTo(ReconciliationOutcome.NO_REFERENCE));
+    }
+
+    @Test
+    @DisplayName("Should skip recorded lines and record the lines it confirms")
+    void reconcile_SkipsRecordedLines() {
+        // Given: line 1 was applied by the webhook
+        List<BankStatementLine> statement = List.of(
+                line(1, 350000L, "ORDER-101"),
+                line(2, 500000L, "ORDER-102"));
+        when(source.fetch()).thenReturn(statement);
+        when(paymentTransactionRepository.findRecordedReferences(anyCollection())).thenReturn(Set.of("FT1"));
+
+        // When
+        ReconciliationReportResponse report = reconciliationService.reconcile("csv");
+
+        // Then
+        assertThat(report.getCreditLines()).isEqualTo(2);
+        assertThat(report.getAlreadyRecordedLines()).isEqualTo(1);
+        assertThat(report.getConfirmedOrderIds()).containsExactly(102L);
+        assertThat(report.getUnmatched()).isEmpty();
+        verify(paymentTransactionRepository).recordIfAbsent(statement.get(1), "csv", 102L);
+        verify(paymentTransactionRepository, never()).recordIfAbsent(eq(statement.get(0)), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should report unmatched lines with their outcome")
+    void reconcile_ReportsUnmatched() {
+        // Given
+        when(source.fetch()).thenReturn(List.of(
+                line(1, 350000L, "ORDER-101"),
+                line(2, 350000L, "ORDER-101 again"),
+                line(3, 100000L, "ORDER-102"),
+                line(4, 990000L, "chuyen tien"),
+                line(5, 42000L, "no reference"),
+                line(6, 500000L, "ORDER-999"),
+                line(7, -350000L, "refund ORDER-101")));
+
+        // When
+        ReconciliationReportResponse report = reconciliationService.reconcile("csv");
+
+        // Then
+        assertThat(report.getStatementLines()).isEqualTo(7);
+        assertThat(report.getCreditLines()).isEqualTo(6);
+        assertThat(report.getConfirmedOrderIds()).containsExactly(101L);
+        assertThat(report.getUnmatched())
+                .extracting(ReconciliationReportResponse.UnmatchedItem::getLineNumber,
+                        ReconciliationReportResponse.UnmatchedItem::getOutcome,
+                        ReconciliationReportResponse.UnmatchedItem::getCandidateOrderId)
+                .containsExactly(
+                        tuple(2, ReconciliationOutcome.DUPLICATE, 101L),
+                        tuple(3, ReconciliationOutcome.UNDERPAID, 102L),
+                        tuple(4, ReconciliationOutcome.AMOUNT_ONLY_CANDIDATE, 104L),
+                        tuple(5, ReconciliationOutcome.NO_REFERENCE, null),
+                        tuple(6, ReconciliationOutcome.NOT_PENDING, 999L));
+    }
+
+    @Test
+    @DisplayName("Should report orders that left PENDING_PAYMENT before confirmation")
+    void reconcile_OrderChangedConcurrently() {
+        // Given
+        when(source.fetch()).thenReturn(List.of(line(1, 350000L, "ORDER-101")));
+        when(orderService.confirmReconciledPayments(anyMap())).thenReturn(List.of());
+
+        // When
+        ReconciliationReportResponse report = reconciliationService.reconcile("csv");
+
+        // Then
+        assertThat(report.getConfirmedOrderIds()).isEmpty();
+        assertThat(report.getUnmatched()).singleElement()
+                .satisfies(item -> assertThat(item.getOutcome()).isEqualTo(ReconciliationOutcome.NOT_PENDING));
+        verify(paymentTransactionRepository, never()).recordIfAbsent(any(BankStatementLine.class), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should reject unknown statement sources")
+    void reconcile_UnknownSource() {
+        // When & Then
+        assertThatThrownBy(() -> reconciliationService.reconcile("ftp"))
+                .isInstanceOf(ApplicationException.class)
+                .hasFieldOrPropertyWithValue("errorCode", ErrorCode.INVALID_REQUEST);
+
+        verifyNoInteractions(reconciliationRepository, paymentTransactionRepository, orderService);
+    }
+
+    private BankStatementLine line(int lineNumber, long amount, String content) {
+        return BankStatementLine.builder()
+                .lineNumber(lineNumber)
+                .transactionRef("FT" + lineNumber)
+                .transactionDate("2026-01-15 10:30:00")
+                .amount(amount)
+                .content(content)
+                .build();
+    }
+}
@@ -0,0 +1,121 @@
+package wandererpi.lbs.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+import wandererpi.lbs.config.ReportConfig;
+import wandererpi.lbs.dto.response.SalesRollupRebuildResponse;
+import wandererpi.lbs.enums.ErrorCode;
+import wandererpi.lbs.exception.ApplicationException;
+import wandererpi.lbs.repository.jdbc.SalesRollupRepository;
+import wandererpi.lbs.service.impl.ReportServiceImpl;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ReportService Unit Tests")
+class ReportServiceTest {
+
+    private static final LocalDate START = LocalDate.of(2026, 1, 1);
+    private static final LocalDate END = LocalDate.of(2026, 1, 3);
+
+    @Mock
+    private SalesRollupRepository salesRollupRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private ThreadPoolTaskExecutor reportRebuildExecutor;
+    private ReportServiceImpl reportService;
+
+    @BeforeEach
+    void setUp() {
+        ReportConfig config = new ReportConfig();
+        reportRebuildExecutor = new ThreadPoolTaskExecutor();
+        reportRebuildExecutor.setCorePoolSize(2);
+        reportRebuildExecutor.setMaxPoolSize(2);
+        reportRebuildExecutor.setQueueCapacity(config.getMaxRebuildDays());
+        reportRebuildExecutor.initialize();
+        reportService = new ReportServiceImpl(salesRollupRepository, config, transactionTemplate, reportRebuildExecutor);
+        lenient().when(transactionTemplate.execute(any())).thenAnswer(invocation -> {
+            TransactionCallback<?> action = invocation.getArgument(0);
+            return action.doInTransaction(null);
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        reportRebuildExecutor.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should take the rebuild lock, then rebuild every day of the range")
+    void rebuildSalesRollups_RebuildsEachDay() {
+        // Given
+        when(salesRollupRepository.tryLockRebuild()).thenReturn(true);
+
+        // When
+        SalesRollupRebuildResponse response = reportService.rebuildSalesRollups(START, END);
+
+        // Then
+        assertThat(response.getDaysRebuilt()).isEqualTo(3);
+        verify(salesRollupRepository).tryLockRebuild();
+        for (LocalDate day = START; !day.isAfter(END); day = day.plusDays(1)) {
+            verify(salesRollupRepository).rebuildDay(eq(day), any(), any());
+        }
+    }
+
+    @Test
+    @DisplayName("Should answer 'already running' while another instance holds the rebuild lock")
+    void rebuildSalesRollups_AlreadyRunning() {
+        // Given
+        when(salesRollupRepository.tryLockRebuild()).thenReturn(false);
+
+        // When & Then
+        assertThatThrownBy(() -> reportService.rebuildSalesRollups(START, END))
+                .isInstanceOf(ApplicationException.class)
+                .hasFieldOrPropertyWithValue("errorCode", ErrorCode.REBUILD_IN_PROGRESS);
+        verify(salesRollupRepository, never()).rebuildDay(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should answer 'already running' instead of failing when the executor rejects a day")
+    void rebuildSalesRollups_ExecutorRejects() {
+        // Given
+        ThreadPoolTaskExecutor saturated = mock(ThreadPoolTaskExecutor.class);
+        doThrow(new TaskRejectedException("queue full")).when(saturated).execute(any(Runnable.class));
+        ReportServiceImpl service = new ReportServiceImpl(salesRollupRepository, new ReportConfig(),
+                transactionTemplate, saturated);
+        when(salesRollupRepository.tryLockRebuild()).thenReturn(true);
+
+        // When & Then
+        assertThatThrownBy(() -> service.rebuildSalesRollups(START, END))
+                .isInstanceOf(ApplicationException.class)
+                .hasFieldOrPropertyWithValue("errorCode", ErrorCode.REBUILD_IN_PROGRESS);
+        verify(salesRollupRepository, never()).rebuildDay(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should reject ranges that end before they start")
+    void rebuildSalesRollups_InvalidRange() {
+        // When & Then
+        assertThatThrownBy(() -> reportService.rebuildSalesRollups(END, START))
+                .isInstanceOf(ApplicationException.class)
+                .hasFieldOrPropertyWithValue("errorCode", ErrorCode.INVALID_REQUEST);
+        verifyNoInteractions(salesRollupRepository, transactionTemplate);
+    }
+}
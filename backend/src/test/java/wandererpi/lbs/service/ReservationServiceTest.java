@@ -83,7 +83,6 @@ class ReservationServiceTest {
         // Setup test SKU
         testSku = Sku.builder()
                 .product(testProduct)
-                .skuCode("TEST-M-BLACK")
                 .size("M")
                 .color("Black")
                 .price(new BigDecimal("500000"))
@@ -0,0 +1,262 @@
+package wandererpi.lbs.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import wandererpi.lbs.config.PaymentConfig;
+import wandererpi.lbs.dto.request.SepayWebhookRequest;
+import wandererpi.lbs.entity.PaymentWebhook;
+import wandererpi.lbs.enums.ErrorCode;
+import wandererpi.lbs.enums.WebhookStatus;
+import wandererpi.lbs.exception.ApplicationException;
+import wandererpi.lbs.repository.jpa.PaymentWebhookRepository;
+import wandererpi.lbs.service.cache.PaymentTransactionDedupCache;
+import wandererpi.lbs.service.impl.WebhookIngestionServiceImpl;
+import wandererpi.lbs.service.payment.SepaySignatureVerifier;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("WebhookIngestionService Unit Tests")
+class WebhookIngestionServiceTest {
+
+    private static final String SIGNATURE = "signature";
+
+    @Mock
+    private PaymentWebhookRepository paymentWebhookRepository;
+
+    @Mock
+    private PaymentService paymentService;
+
+    @Mock
+    private PaymentTransactionDedupCache paymentTransactionDedupCache;
+
+    @Mock
+    private SepaySignatureVerifier sepaySignatureVerifier;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private WebhookIngestionServiceImpl webhookIngestionService;
+    private SepayWebhookRequest request;
+
+    @BeforeEach
+    void setUp() {
+        PaymentConfig paymentConfig = new PaymentConfig();
+        paymentConfig.getWebhook().setBatchSize(10);
+        paymentConfig.getWebhook().setMaxAttempts(3);
+        paymentConfig.getWebhook().setInitialBackoff(Duration.ofSeconds(5));
+        paymentConfig.getWebhook().setMaxBackoff(Duration.ofSeconds(15));
+        paymentConfig.getWebhook().setProcessingTimeout(Duration.ofMinutes(5));
+        paymentConfig.getWebhook().setRetention(Duration.ofDays(30));
+        webhookIngestionService = new WebhookIngestionServiceImpl(paymentWebhookRepository, paymentService,
+                paymentTransactionDedupCache, sepaySignatureVerifier, paymentConfig, objectMapper);
+
+        request = new SepayWebhookRequest();
+        request.setId(92704L);
+        request.setTransferAmount(1250000L);
+        request.setContent("ORDER-1001 thanh toan");
+    }
+
+    @Test
+    @DisplayName("Should store a signed webhook keyed by the referenced order")
+    void enqueue_Signed() {
+        // Given
+        when(sepaySignatureVerifier.verify(request, SIGNATURE)).thenReturn(true);
+
+        // When
+        webhookIngestionService.enqueue(request, SIGNATURE);
+
+        // Then
+        ArgumentCaptor<PaymentWebhook> saved = ArgumentCaptor.forClass(PaymentWebhook.class);
+        verify(paymentWebhookRepository).save(saved.capture());
+        assertThat(saved.getValue().getTransactionId()).isEqualTo(92704L);
+        assertThat(saved.getValue().getOrderKey()).isEqualTo(1001L);
+        assertThat(saved.getValue().getStatus()).isEqualTo(WebhookStatus.PENDING);
+        assertThat(saved.getValue().getAttempts()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should not store unsigned or wrongly signed webhooks")
+    void enqueue_InvalidSignature() {
+        // When & Then
+        assertThatThrownBy(() -> webhookIngestionService.enqueue(request, null))
+                .isInstanceOf(ApplicationException.class)
+                .hasFieldOrPropertyWithValue("errorCode", ErrorCode.INVALID_SIGNATURE);
+        assertThatThrownBy(() -> webhookIngestionService.enqueue(request, "forged"))
+                .isInstanceOf(ApplicationException.class)
+                .hasFieldOrPropertyWithValue("errorCode", ErrorCode.INVALID_SIGNATURE);
+
+        verifyNoInteractions(paymentWebhookRepository, paymentTransactionDedupCache);
+    }
+
+    @Test
+    @DisplayName("Should not queue a transaction already known to the dedup cache")
+    void enqueue_KnownTransaction() {
+        // Given
+        when(sepaySignatureVerifier.verify(request, SIGNATURE)).thenReturn(true);
+        when(paymentTransactionDedupCache.isKnown(92704L)).thenReturn(true);
+
+        // When
+        webhookIngestionService.enqueue(request, SIGNATURE);
+
+        // Then
+        verify(paymentWebhookRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Should mark claimed webhooks PROCESSING and count the attempt")
+    void claimBatch_MarksProcessing() {
+        // Given
+        PaymentWebhook first = webhook(1L, WebhookStatus.PENDING, 0);
+        PaymentWebhook second = webhook(2L, WebhookStatus.PENDING, 2);
+        when(paymentWebhookRepository.lockClaimable(any(Instant.class), eq(10))).thenReturn(List.of(first, second));
+
+        // When
+        List<Long> claimed = webhookIngestionService.claimBatch();
+
+        // Then
+        assertThat(claimed).containsExactly(1L, 2L);
+        assertThat(first.getStatus()).isEqualTo(WebhookStatus.PROCESSING);
+        assertThat(first.getLockedAt()).isNotNull();
+        assertThat(first.getAttempts()).isEqualTo(1);
+        assertThat(second.getAttempts()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should apply a claimed webhook and mark it PROCESSED")
+    void process_Claimed() {
+        // Given
+        PaymentWebhook webhook = webhook(1L, WebhookStatus.PROCESSING, 1);
+        when(paymentWebhookRepository.findById(1L)).thenReturn(Optional.of(webhook));
+
+        // When
+        webhookIngestionService.process(1L);
+
+        // Then
+        verify(paymentService).processSepayWebhook(argThat(applied -> applied.getId() == 92704L), eq(SIGNATURE));
+        assertThat(webhook.getStatus()).isEqualTo(WebhookStatus.PROCESSED);
+        assertThat(webhook.getProcessedAt()).isNotNull();
+        assertThat(webhook.getLockedAt()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should skip webhooks that are no longer claimed")
+    void process_NotClaimed() {
+        // Given: released as stuck and re-queued meanwhile
+        when(paymentWebhookRepository.findById(1L)).thenReturn(Optional.of(webhook(1L, WebhookStatus.PENDING, 1)));
+
+        // When
+        webhookIngestionService.process(1L);
+
+        // Then
+        verifyNoInteractions(paymentService);
+    }
+
+    @Test
+    @DisplayName("Should retry transient failures with exponential backoff capped at the maximum")
+    void recordFailure_Backoff() {
+        // Given
+        PaymentWebhook firstAttempt = webhook(1L, WebhookStatus.PROCESSING, 1);
+        PaymentWebhook secondAttempt = webhook(2L, WebhookStatus.PROCESSING, 2);
+        when(paymentWebhookRepository.findById(1L)).thenReturn(Optional.of(firstAttempt));
+        when(paymentWebhookRepository.findById(2L)).thenReturn(Optional.of(secondAttempt));
+
+        // When
+        webhookIngestionService.recordFailure(1L, new IllegalStateException("connection reset"));
+        webhookIngestionService.recordFailure(2L, new IllegalStateException("connection reset"));
+
+        // Then: 5s after the first attempt, 10s after the second
+        assertThat(firstAttempt.getStatus()).isEqualTo(WebhookStatus.PENDING);
+        assertThat(firstAttempt.getLockedAt()).isNull();
+        assertThat(firstAttempt.getLastError()).contains("connection reset");
+        assertThat(firstAttempt.getNextAttemptAt()).isCloseTo(Instant.now().plusSeconds(5), within(Duration.ofSeconds(2)));
+        assertThat(secondAttempt.getNextAttemptAt()).isCloseTo(Instant.now().plusSeconds(10), within(Duration.ofSeconds(2)));
+    }
+
+    @Test
+    @DisplayName("Should mark webhooks FAILED after the last attempt or on a business rejection")
+    void recordFailure_Permanent() {
+        // Given
+        PaymentWebhook exhausted = webhook(1L, WebhookStatus.PROCESSING, 3);
+        PaymentWebhook rejected = webhook(2L, WebhookStatus.PROCESSING, 1);
+        when(paymentWebhookRepository.findById(1L)).thenReturn(Optional.of(exhausted));
+        when(paymentWebhookRepository.findById(2L)).thenReturn(Optional.of(rejected));
+
+        // When
+        webhookIngestionService.recordFailure(1L, new IllegalStateException("connection reset"));
+        webhookIngestionService.recordFailure(2L, new ApplicationException(ErrorCode.ORDER_NOT_FOUND));
+
+        // Then: processedAt is set so the retention purge covers failed rows
+        assertThat(exhausted.getStatus()).isEqualTo(WebhookStatus.FAILED);
+        assertThat(exhausted.getProcessedAt()).isNotNull();
+        assertThat(rejected.getStatus()).isEqualTo(WebhookStatus.FAILED);
+        assertThat(rejected.getProcessedAt()).isNotNull();
+    }
+
+    @Test
+    @DisplayName("Should requeue webhooks locked longer than the processing timeout and fail those out of attempts")
+    void releaseStuck() {
+        // Given
+        when(paymentWebhookRepository.releaseStuck(any(Instant.class), anyInt(), any(Instant.class))).thenReturn(2);
+        when(paymentWebhookRepository.failStuck(any(Instant.class), anyInt(), any(Instant.class))).thenReturn(1);
+
+        // When
+        int released = webhookIngestionService.releaseStuck();
+
+        // Then
+        ArgumentCaptor<Instant> lockedBefore = ArgumentCaptor.forClass(Instant.class);
+        InOrder inOrder = inOrder(paymentWebhookRepository);
+        inOrder.verify(paymentWebhookRepository).failStuck(lockedBefore.capture(),
+                eq(3), any(Instant.class));
+        inOrder.verify(paymentWebhookRepository).releaseStuck(eq(lockedBefore.getValue()),
+                eq(3), any(Instant.class));
+        assertThat(released).isEqualTo(2);
+        assertThat(lockedBefore.getValue()).isCloseTo(Instant.now().minus(Duration.ofMinutes(5)), within(Duration.ofSeconds(2)));
+    }
+
+    @Test
+    @DisplayName("Should purge both processed and failed webhooks after the retention")
+    void purgeProcessed_IncludesFailed() {
+        // When
+        webhookIngestionService.purgeProcessed();
+
+        // Then
+        verify(paymentWebhookRepository).deleteByStatusInAndProcessedAtBefore(
+                argThat(statuses -> statuses.containsAll(List.of(WebhookStatus.PROCESSED, WebhookStatus.FAILED))),
+                any(Instant.class));
+    }
+
+    // Helper methods
+
+    private PaymentWebhook webhook(Long id, WebhookStatus status, int attempts) {
+        try {
+            return PaymentWebhook.builder()
+                    .id(id)
+                    .transactionId(92704L)
+                    .orderKey(1001L)
+                    .payload(objectMapper.writeValueAsString(request))
+                    .signature(SIGNATURE)
+                    .status(status)
+                    .attempts(attempts)
+                    .nextAttemptAt(Instant.now())
+                    .lockedAt(status == WebhookStatus.PROCESSING ? Instant.now() : null)
+                    .build();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package wandererpi.lbs.service.cache;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import wandererpi.lbs.event.CatalogChangesFlushedEvent;
+import wandererpi.lbs.repository.jpa.ProductRepository;
+import wandererpi.lbs.repository.jpa.SkuRepository;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ProductDetailCacheEvictor Unit Tests")
+class ProductDetailCacheEvictorTest {
+
+    @Mock
+    private CacheManager cacheManager;
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private SkuRepository skuRepository;
+
+    @Mock
+    private Cache cache;
+
+    private ProductDetailCacheEvictor evictor;
+
+    @BeforeEach
+    void setUp() {
+        evictor = new ProductDetailCacheEvictor(cacheManager, productRepository, skuRepository);
+        lenient().when(cacheManager.getCache(ProductDetailCacheEvictor.CACHE_NAME)).thenReturn(cache);
+    }
+
+    @Test
+    @DisplayName("Should evict each affected slug once per flush")
+    void onCatalogChangesFlushed_EvictsMergedSlugs() {
+        // Given: many reservations on two products, merged into one flushed event
+        when(productRepository.findSlugsByIds(Set.of(1L))).thenReturn(List.of("tee"));
+        when(skuRepository.findProductSlugsBySkuIds(Set.of(10L, 11L, 20L))).thenReturn(List.of("tee", "jeans"));
+
+        // When
+        evictor.onCatalogChangesFlushed(new CatalogChangesFlushedEvent(Set.of(1L), Set.of(10L, 11L, 20L)));
+
+        // Then
+        verify(cache).evict("tee");
+        verify(cache).evict("jeans");
+        verifyNoMoreInteractions(cache);
+    }
+
+    @Test
+    @DisplayName("Should skip lookups for empty id sets and swallow lookup failures")
+    void onCatalogChangesFlushed_Failures() {
+        // Given
+        when(skuRepository.findProductSlugsBySkuIds(any())).thenThrow(new IllegalStateException("db down"));
+
+        // When & Then
+        assertThatCode(() -> evictor.onCatalogChangesFlushed(new CatalogChangesFlushedEvent(Set.of(), Set.of(10L))))
+                .doesNotThrowAnyException();
+        verifyNoInteractions(productRepository, cache);
+    }
+}
@@ -0,0 +1,108 @@
+package wandererpi.lbs.service.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.data.redis.core.SetOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import wandererpi.lbs.config.ProductListingCacheConfig;
+import wandererpi.lbs.dto.request.ProductFilterRequest;
+import wandererpi.lbs.dto.response.PageResponse;
+import wandererpi.lbs.event.CatalogChangesFlushedEvent;
+import wandererpi.lbs.repository.jpa.ProductRepository;
+import wandererpi.lbs.repository.jpa.SkuRepository;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ProductListingCache Unit Tests")
+class ProductListingCacheTest {
+
+    @Mock
+    private StringRedisTemplate stringRedisTemplate;
+
+    @Mock
+    private SetOperations<String, String> setOperations;
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private SkuRepository skuRepository;
+
+    private ConcurrentMapCacheManager cacheManager;
+    private SimpleMeterRegistry meterRegistry;
+    private ProductListingCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager = new ConcurrentMapCacheManager(ProductListingCache.CACHE_NAME);
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new ProductListingCache(cacheManager, stringRedisTemplate, new ProductListingCacheConfig(),
+                productRepository, skuRepository, meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Should key listings by every filter, comparing prices by value")
+    void canonicalKey_CoversFullFilter() {
+        // Given
+        ProductFilterRequest base = ProductFilterRequest.builder().minPrice(new BigDecimal("400000")).build();
+        ProductFilterRequest samePrice = ProductFilterRequest.builder().minPrice(new BigDecimal("400000.00"))
+                .sortDirection("desc").build();
+        ProductFilterRequest otherCategory = ProductFilterRequest.builder().minPrice(new BigDecimal("400000"))
+                .categoryId(2L).build();
+        ProductFilterRequest otherMaxPrice = ProductFilterRequest.builder().minPrice(new BigDecimal("400000"))
+                .maxPrice(new BigDecimal("500000")).build();
+
+        // When / Then
+        assertThat(ProductListingCache.canonicalKey(samePrice)).isEqualTo(ProductListingCache.canonicalKey(base));
+        assertThat(ProductListingCache.canonicalKey(otherCategory)).isNotEqualTo(ProductListingCache.canonicalKey(base));
+        assertThat(ProductListingCache.canonicalKey(otherMaxPrice)).isNotEqualTo(ProductListingCache.canonicalKey(base));
+    }
+
+    @Test
+    @DisplayName("Should count misses per filter tag")
+    void get_CountsMissPerTag() {
+        // When
+        cache.get(ProductFilterRequest.builder().categoryId(3L).build());
+
+        // Then
+        assertThat(meterRegistry.get("product.listing.cache.requests")
+                .tag("tag", "category:3").tag("result", "miss").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Should evict only the categories of the changed SKUs")
+    @SuppressWarnings("unchecked")
+    void onCatalogChangesFlushed_EvictsAffectedCategories() {
+        // Given
+        when(skuRepository.findCategoryIdsBySkuIds(Set.of(7L))).thenReturn(List.of(3L));
+        when(stringRedisTemplate.opsForSet()).thenReturn(setOperations);
+        when(setOperations.members("product:listing:tag:category:3")).thenReturn(Set.of("abc"));
+        cacheManager.getCache(ProductListingCache.CACHE_NAME).put("abc", PageResponse.builder().build());
+        cacheManager.getCache(ProductListingCache.CACHE_NAME).put("def", PageResponse.builder().build());
+
+        // When
+        cache.onCatalogChangesFlushed(new CatalogChangesFlushedEvent(Set.of(), Set.of(7L)));
+
+        // Then
+        assertThat(cacheManager.getCache(ProductListingCache.CACHE_NAME).get("abc")).isNull();
+        assertThat(cacheManager.getCache(ProductListingCache.CACHE_NAME).get("def")).isNotNull();
+        ArgumentCaptor<Collection<String>> keys = ArgumentCaptor.forClass(Collection.class);
+        verify(stringRedisTemplate).delete(keys.capture());
+        assertThat(keys.getValue()).containsExactly("product:listing:tag:category:3");
+        verifyNoInteractions(productRepository);
+    }
+}
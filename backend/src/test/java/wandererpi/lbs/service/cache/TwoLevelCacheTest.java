@@ -0,0 +1,195 @@
+package wandererpi.lbs.service.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import wandererpi.lbs.config.LocalCacheConfig;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TwoLevelCache Unit Tests")
+class TwoLevelCacheTest {
+
+    @Mock
+    private StringRedisTemplate stringRedisTemplate;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private ConcurrentMapCacheManager redisCacheManager;
+    private TwoLevelCacheManager cacheManager;
+
+    @BeforeEach
+    void setUp() {
+        redisCacheManager = new ConcurrentMapCacheManager("categories");
+        cacheManager = new TwoLevelCacheManager(redisCacheManager, stringRedisTemplate, objectMapper, new LocalCacheConfig());
+    }
+
+    @Test
+    @DisplayName("Should serve repeated reads from L1 once a value was read from Redis")
+    void get_PopulatesLocalFromRemote() {
+        // Given
+        redisCacheManager.getCache("categories").put("all", "value");
+        Cache cache = cacheManager.getCache("categories");
+        cache.get("all");
+
+        // When
+        redisCacheManager.getCache("categories").evict("all");
+
+        // Then
+        assertThat(cache.get("all").get()).isEqualTo("value");
+    }
+
+    @Test
+    @DisplayName("Should fill both levels without announcing the key to other instances")
+    void put_WritesBothLevelsWithoutPublishing() {
+        // Given
+        Cache cache = cacheManager.getCache("categories");
+
+        // When
+        cache.put("all", "value");
+        redisCacheManager.getCache("categories").evict("all");
+
+        // Then
+        assertThat(cache.get("all").get()).isEqualTo("value");
+        verifyNoInteractions(stringRedisTemplate);
+    }
+
+    @Test
+    @DisplayName("Should announce evictions to other instances")
+    void evict_Publishes() throws Exception {
+        // When
+        cacheManager.getCache("categories").evict("all");
+
+        // Then
+        ArgumentCaptor<String> message = ArgumentCaptor.forClass(String.class);
+        verify(stringRedisTemplate).convertAndSend(eq("cache:invalidation"), message.capture());
+        TwoLevelCacheManager.Invalidation invalidation =
+                objectMapper.readValue(message.getValue(), TwoLevelCacheManager.Invalidation.class);
+        assertThat(invalidation.getCacheName()).isEqualTo("categories");
+        assertThat(invalidation.getKeys()).containsExactly("all");
+    }
+
+    @Test
+    @DisplayName("Should drop L1 entries named by another instance and ignore its own messages")
+    void onMessage_EvictsLocalForOtherOrigins() throws Exception {
+        // Given
+        Cache cache = cacheManager.getCache("categories");
+        cache.evict("unrelated");
+        ArgumentCaptor<String> captured = ArgumentCaptor.forClass(String.class);
+        verify(stringRedisTemplate).convertAndSend(anyString(), captured.capture());
+        TwoLevelCacheManager.Invalidation own =
+                objectMapper.readValue(captured.getValue(), TwoLevelCacheManager.Invalidation.class);
+        own.setKeys(List.of("all"));
+
+        cache.put("all", "value");
+        redisCacheManager.getCache("categories").evict("all");
+
+        // When / Then
+        cacheManager.onMessage(message(objectMapper.writeValueAsString(own)), null);
+        assertThat(cache.get("all")).isNotNull();
+
+        String other = objectMapper.writeValueAsString(
+                new TwoLevelCacheManager.Invalidation("other-instance", "categories", List.of("all")));
+        cacheManager.onMessage(message(other), null);
+        assertThat(cache.get("all")).isNull();
+    }
+
+    @Test
+    @DisplayName("Should run the loader once for concurrent misses and store the result in both levels")
+    void getWithLoader_LoadsOnce() throws Exception {
+        // Given
+        Cache cache = cacheManager.getCache("categories");
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Callable<String> loader = () -> {
+            loads.incrementAndGet();
+            loading.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return "loaded";
+        };
+
+        // When
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<String> first = executor.submit(() -> cache.get("all", loader));
+            loading.await(5, TimeUnit.SECONDS);
+            Future<String> second = executor.submit(() -> cache.get("all", loader));
+            Thread.sleep(100);
+            release.countDown();
+
+            // Then
+            assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo("loaded");
+            assertThat(second.get(5, TimeUnit.SECONDS)).isEqualTo("loaded");
+        } finally {
+            executor.shutdownNow();
+        }
+        assertThat(loads).hasValue(1);
+        assertThat(redisCacheManager.getCache("categories").get("all").get()).isEqualTo("loaded");
+        verifyNoInteractions(stringRedisTemplate);
+    }
+
+    @Test
+    @DisplayName("Should take a value already in Redis without running the loader")
+    void getWithLoader_ReadsRemote() {
+        // Given
+        redisCacheManager.getCache("categories").put("all", "value");
+
+        // When
+        String value = cacheManager.getCache("categories").get("all", () -> "loaded");
+
+        // Then
+        assertThat(value).isEqualTo("value");
+    }
+
+    @Test
+    @DisplayName("Should wrap loader failures and cache nothing")
+    void getWithLoader_Failure() {
+        // Given
+        Cache cache = cacheManager.getCache("categories");
+
+        // When & Then
+        assertThatThrownBy(() -> cache.get("all", () -> {
+            throw new IOException("down");
+        })).isInstanceOf(Cache.ValueRetrievalException.class)
+                .hasCauseInstanceOf(IOException.class);
+        assertThat(cache.get("all")).isNull();
+    }
+
+    @Test
+    @DisplayName("Should evict many keys with a single invalidation message")
+    void evictAll_PublishesOnce() {
+        // Given
+        Cache cache = cacheManager.getCache("categories");
+
+        // When
+        TwoLevelCache.evictAll(cache, List.of("a", "b", "c"));
+
+        // Then
+        verify(stringRedisTemplate, times(1)).convertAndSend(eq("cache:invalidation"), anyString());
+    }
+
+    private static DefaultMessage message(String body) {
+        return new DefaultMessage("cache:invalidation".getBytes(StandardCharsets.UTF_8),
+                body.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,71 @@
+package wandererpi.lbs.service.catalog;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import wandererpi.lbs.event.CatalogChangedEvent;
+import wandererpi.lbs.event.CatalogChangesFlushedEvent;
+import wandererpi.lbs.repository.jdbc.ProductListingRefreshRepository;
+
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CatalogChangeBuffer Unit Tests")
+class CatalogChangeBufferTest {
+
+    @Mock
+    private ProductListingRefreshRepository productListingRefreshRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private CatalogChangeBuffer catalogChangeBuffer;
+
+    @Test
+    @DisplayName("Should refresh listings once and publish one merged event per flush")
+    void flush_MergesBufferedEvents() {
+        // Given
+        catalogChangeBuffer.onCatalogChanged(CatalogChangedEvent.ofSkus(Set.of(1L, 2L)));
+        catalogChangeBuffer.onCatalogChanged(CatalogChangedEvent.ofSkus(Set.of(2L, 3L)));
+
+        // When
+        int flushed = catalogChangeBuffer.flush();
+
+        // Then
+        assertThat(flushed).isEqualTo(3);
+        verify(productListingRefreshRepository, times(1)).refreshForSkus(Set.of(1L, 2L, 3L));
+        ArgumentCaptor<CatalogChangesFlushedEvent> event = ArgumentCaptor.forClass(CatalogChangesFlushedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertThat(event.getValue().getSkuIds()).containsExactlyInAnyOrder(1L, 2L, 3L);
+        assertThat(catalogChangeBuffer.flush()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should keep the changes for the next flush when the refresh fails")
+    void flush_RequeuesOnFailure() {
+        // Given
+        catalogChangeBuffer.onCatalogChanged(CatalogChangedEvent.ofSkus(Set.of(1L)));
+        doThrow(new RuntimeException("database unavailable"))
+                .doNothing()
+                .when(productListingRefreshRepository).refreshForSkus(any());
+
+        // When & Then
+        assertThatThrownBy(() -> catalogChangeBuffer.flush()).isInstanceOf(RuntimeException.class);
+        verifyNoInteractions(eventPublisher);
+
+        assertThat(catalogChangeBuffer.flush()).isEqualTo(1);
+        verify(productListingRefreshRepository, times(2)).refreshForSkus(Set.of(1L));
+        verify(eventPublisher).publishEvent(any(CatalogChangesFlushedEvent.class));
+    }
+}
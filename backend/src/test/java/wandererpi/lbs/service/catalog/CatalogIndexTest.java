@@ -0,0 +1,116 @@
+package wandererpi.lbs.service.catalog;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import wandererpi.lbs.dto.catalog.CatalogIndexRow;
+import wandererpi.lbs.event.CatalogChangesFlushedEvent;
+import wandererpi.lbs.repository.jdbc.CatalogIndexRepository;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CatalogIndex Unit Tests")
+class CatalogIndexTest {
+
+    @Mock
+    private CatalogIndexRepository catalogIndexRepository;
+
+    @Mock
+    private ThreadPoolTaskExecutor catalogIndexExecutor;
+
+    @InjectMocks
+    private CatalogIndex catalogIndex;
+
+    @BeforeEach
+    void setUp() {
+        when(catalogIndexRepository.findAll()).thenReturn(List.of(
+                row(1L, "Áo Thun Basic", 11L, 5, "AT-BASIC-M"),
+                row(1L, "Áo Thun Basic", 11L, 5, "8930000000011"),
+                row(2L, "Quần Jean Đen", 21L, 0, "QJ-DEN-30"),
+                row(3L, "Áo Khoác Dù", 31L, 2, "AK-DU-L")));
+        catalogIndex.rebuild();
+    }
+
+    @Test
+    @DisplayName("Should match any word start of a name, ignoring accents and case")
+    void suggest_MatchesWordPrefixesWithoutAccents() {
+        assertThat(catalogIndex.suggest("ao", 10))
+                .extracting(CatalogIndex.ProductEntry::getId)
+                .containsExactly(3L, 1L);
+        assertThat(catalogIndex.suggest("THUN b", 10))
+                .extracting(CatalogIndex.ProductEntry::getId)
+                .containsExactly(1L);
+        assertThat(catalogIndex.suggest("đen", 10))
+                .extracting(CatalogIndex.ProductEntry::getId)
+                .containsExactly(2L);
+        assertThat(catalogIndex.suggest("hun", 10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should find a SKU by any of its codes")
+    void findBySkuCode_ResolvesEveryCode() {
+        assertThat(catalogIndex.findBySkuCode("8930000000011"))
+                .hasValueSatisfying(sku -> {
+                    assertThat(sku.getId()).isEqualTo(11L);
+                    assertThat(sku.getProductSlug()).isEqualTo("product-1");
+                    assertThat(sku.getCodes()).containsExactly("AT-BASIC-M", "8930000000011");
+                });
+        assertThat(catalogIndex.findBySkuCode("UNKNOWN")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should apply flushes that arrive while a refresh is pending with one refresh")
+    void onCatalogChangesFlushed_CoalescesIntoOneRefresh() {
+        // Given
+        when(catalogIndexRepository.findByProductIdsOrSkuIds(any(), any())).thenReturn(List.of(
+                row(1L, "Áo Thun Basic", 11L, 4, "AT-BASIC-M"),
+                row(2L, "Quần Jean Đen", 21L, 7, "QJ-DEN-30")));
+
+        // When
+        catalogIndex.onCatalogChangesFlushed(new CatalogChangesFlushedEvent(Set.of(), Set.of(11L)));
+        catalogIndex.onCatalogChangesFlushed(new CatalogChangesFlushedEvent(Set.of(), Set.of(21L)));
+        catalogIndex.refreshPending();
+
+        // Then
+        verify(catalogIndexExecutor, times(1)).execute(any());
+        verify(catalogIndexRepository).findByProductIdsOrSkuIds(Set.of(), Set.of(11L, 21L));
+        assertThat(catalogIndex.findBySkuCode("QJ-DEN-30").get().getStockQty()).isEqualTo(7);
+        // The code dropped from SKU 11 is gone
+        assertThat(catalogIndex.findBySkuCode("8930000000011")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should drop products that no longer exist")
+    void refreshPending_RemovesDeletedProducts() {
+        // Given
+        when(catalogIndexRepository.findByProductIdsOrSkuIds(any(), any())).thenReturn(List.of());
+
+        // When
+        catalogIndex.onCatalogChangesFlushed(new CatalogChangesFlushedEvent(Set.of(3L), Set.of()));
+        catalogIndex.refreshPending();
+
+        // Then
+        assertThat(catalogIndex.findBySkuCode("AK-DU-L")).isEmpty();
+        assertThat(catalogIndex.suggest("khoac", 10)).isEmpty();
+        assertThat(catalogIndex.suggest("ao", 10))
+                .extracting(CatalogIndex.ProductEntry::getId)
+                .containsExactly(1L);
+    }
+
+    private static CatalogIndexRow row(Long productId, String name, Long skuId, int stockQty, String code) {
+        return new CatalogIndexRow(productId, name, "product-" + productId, skuId, "M", "Black",
+                new BigDecimal("299000"), stockQty, code);
+    }
+}
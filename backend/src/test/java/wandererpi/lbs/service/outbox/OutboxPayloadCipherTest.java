@@ -0,0 +1,52 @@
+package wandererpi.lbs.service.outbox;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import wandererpi.lbs.config.OutboxConfig;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("OutboxPayloadCipher Unit Tests")
+class OutboxPayloadCipherTest {
+
+    @Test
+    @DisplayName("Should round-trip values without storing them in plain text")
+    void encrypt_RoundTrip() {
+        // Given
+        OutboxPayloadCipher cipher = cipher("secret");
+
+        // When
+        String first = cipher.encrypt("A1B2C3");
+        String second = cipher.encrypt("A1B2C3");
+
+        // Then: random IVs make equal tokens encrypt differently
+        assertThat(first).doesNotContain("A1B2C3").isNotEqualTo(second);
+        assertThat(cipher.decrypt(first)).isEqualTo("A1B2C3");
+        assertThat(cipher.decrypt(second)).isEqualTo("A1B2C3");
+    }
+
+    @Test
+    @DisplayName("Should reject values encrypted with another key")
+    void decrypt_WrongKey() {
+        // Given
+        String encrypted = cipher("secret").encrypt("A1B2C3");
+
+        // When & Then
+        assertThatThrownBy(() -> cipher("other").decrypt(encrypted))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    @DisplayName("Should refuse to start without a key")
+    void constructor_MissingKey() {
+        assertThatThrownBy(() -> cipher(""))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    private OutboxPayloadCipher cipher(String key) {
+        OutboxConfig config = new OutboxConfig();
+        config.setPayloadKey(key);
+        return new OutboxPayloadCipher(config);
+    }
+}
@@ -0,0 +1,152 @@
+package wandererpi.lbs.service.payment;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import wandererpi.lbs.config.PaymentConfig;
+import wandererpi.lbs.config.QrCodeConfig;
+import wandererpi.lbs.dto.payment.PaymentQrPayload;
+import wandererpi.lbs.dto.reconciliation.PendingPayment;
+import wandererpi.lbs.enums.OrderStatus;
+import wandererpi.lbs.enums.PaymentMethod;
+import wandererpi.lbs.event.OrderPlacedEvent;
+import wandererpi.lbs.event.OrderStatusChangedEvent;
+import wandererpi.lbs.repository.jdbc.PaymentQrRepository;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("PaymentQrStore Unit Tests")
+class PaymentQrStoreTest {
+
+    @Mock
+    private PaymentQrRepository paymentQrRepository;
+
+    @Mock
+    private ThreadPoolTaskExecutor paymentQrExecutor;
+
+    private PaymentQrStore store;
+    private VietQREncoder encoder;
+
+    @BeforeEach
+    void setUp() {
+        PaymentConfig.BankTransfer bank = new PaymentConfig.BankTransfer();
+        bank.setBankCode("VIETCOMBANK");
+        bank.setAccountNo("1234567890");
+        PaymentConfig paymentConfig = new PaymentConfig();
+        paymentConfig.setBankTransfer(bank);
+
+        QrCodeConfig qrCodeConfig = new QrCodeConfig();
+        qrCodeConfig.setRegenerateBatchSize(2);
+
+        encoder = new VietQREncoder(paymentConfig);
+        store = new PaymentQrStore(paymentQrRepository, encoder, paymentConfig, qrCodeConfig, paymentQrExecutor);
+        store.init();
+    }
+
+    @Test
+    @DisplayName("Should encode on read when no payload is stored for the current bank account")
+    void getPayload_FallsBackToEncoding() {
+        // Given
+        when(paymentQrRepository.findPayload(eq(1001L), anyString())).thenReturn(Optional.empty());
+
+        // When
+        String payload = store.getPayload(1001L, 350000L);
+
+        // Then
+        assertThat(payload).isEqualTo(encoder.encode("VIETCOMBANK", "1234567890", 350000L, "ORDER-1001"));
+    }
+
+    @Test
+    @DisplayName("Should store the payload of a bank transfer order on the executor")
+    void onOrderPlaced_StoresBankTransferPayload() {
+        // Given
+        doAnswer(invocation -> {
+            invocation.<Runnable>getArgument(0).run();
+            return null;
+        }).when(paymentQrExecutor).execute(any(Runnable.class));
+
+        // When
+        store.onOrderPlaced(new OrderPlacedEvent(1001L, PaymentMethod.COD, new BigDecimal("350000")));
+        store.onOrderPlaced(new OrderPlacedEvent(1002L, PaymentMethod.BANK_TRANSFER, new BigDecimal("350000")));
+
+        // Then
+        verify(paymentQrExecutor, times(1)).execute(any(Runnable.class));
+        verify(paymentQrRepository).upsertAll(
+                eq(List.of(new PaymentQrPayload(1002L, store.encode(1002L, 350000L)))), anyString());
+    }
+
+    @Test
+    @DisplayName("Should drop the stored payload once the order leaves PENDING_PAYMENT")
+    void onOrderStatusChanged_DeletesPayload() {
+        // Given
+        doAnswer(invocation -> {
+            invocation.<Runnable>getArgument(0).run();
+            return null;
+        }).when(paymentQrExecutor).execute(any(Runnable.class));
+
+        // When
+        store.onOrderStatusChanged(new OrderStatusChangedEvent(1001L, OrderStatus.CONFIRMED, OrderStatus.SHIPPING));
+        store.onOrderStatusChanged(new OrderStatusChangedEvent(1002L, OrderStatus.PENDING_PAYMENT, OrderStatus.CONFIRMED));
+
+        // Then
+        verify(paymentQrRepository).deleteByOrderId(1002L);
+        verifyNoMoreInteractions(paymentQrRepository);
+    }
+
+    @Test
+    @DisplayName("Should re-encode stale payloads batch by batch using the last order id as cursor")
+    void regenerateStale_PagesThroughStaleOrders() {
+        // Given
+        Instant now = Instant.now();
+        when(paymentQrRepository.findStale(anyString(), eq(0L), eq(2))).thenReturn(List.of(
+                new PendingPayment(10L, 100000L, now), new PendingPayment(11L, 200000L, now)));
+        when(paymentQrRepository.findStale(anyString(), eq(11L), eq(2))).thenReturn(List.of(
+                new PendingPayment(15L, 300000L, now)));
+
+        // When
+        int regenerated = store.regenerateStale();
+
+        // Then
+        assertThat(regenerated).isEqualTo(3);
+        verify(paymentQrRepository).deleteSettled();
+        verify(paymentQrRepository, times(2)).findStale(anyString(), anyLong(), eq(2));
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<PaymentQrPayload>> captor = ArgumentCaptor.forClass(List.class);
+        verify(paymentQrRepository, times(2)).upsertAll(captor.capture(), anyString());
+        assertThat(captor.getAllValues().get(1))
+                .containsExactly(new PaymentQrPayload(15L, store.encode(15L, 300000L)));
+    }
+
+    @Test
+    @DisplayName("Should not fail the caller when the executor rejects the task")
+    void onOrderPlaced_ExecutorSaturated() {
+        // Given
+        doThrow(new TaskRejectedException("full"))
+                .when(paymentQrExecutor).execute(any(Runnable.class));
+
+        // When
+        store.onOrderPlaced(new OrderPlacedEvent(1001L, PaymentMethod.BANK_TRANSFER, new BigDecimal("350000")));
+
+        // Then
+        verify(paymentQrRepository, never()).upsertAll(anyList(), anyString());
+    }
+}
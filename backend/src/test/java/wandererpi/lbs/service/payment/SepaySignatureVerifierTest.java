@@ -0,0 +1,165 @@
+package wandererpi.lbs.service.payment;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import wandererpi.lbs.config.PaymentConfig;
+import wandererpi.lbs.dto.request.SepayWebhookRequest;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("SepaySignatureVerifier Unit Tests")
+class SepaySignatureVerifierTest {
+
+    private static final String SECRET = "test-webhook-secret";
+
+    private SepaySignatureVerifier verifier;
+    private SepayWebhookRequest request;
+
+    @BeforeEach
+    void setUp() {
+        verifier = new SepaySignatureVerifier(paymentConfig(SECRET));
+
+        request = new SepayWebhookRequest();
+        request.setId(92704L);
+        request.setTransactionDate("2025-01-15 10:30:00");
+        request.setTransferAmount(1250000L);
+        request.setContent("ORDER-123 thanh toán đơn hàng");
+    }
+
+    @Test
+    @DisplayName("Should accept the signature produced by the original String.format payload")
+    void verify_MatchesLegacySignature() {
+        // Given
+        String signature = legacySignature(request, SECRET);
+
+        // When / Then
+        assertThat(verifier.verify(request, signature)).isTrue();
+        assertThat(verifier.verify(request, signature.toUpperCase())).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should format missing fields as null, like the original payload")
+    void verify_NullFields() {
+        // Given
+        request.setId(null);
+        request.setTransferAmount(null);
+        request.setContent(null);
+        String signature = legacySignature(request, SECRET);
+
+        // When / Then
+        assertThat(verifier.verify(request, signature)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should handle content longer than the initial buffer and supplementary characters")
+    void verify_LongContent() {
+        // Given
+        request.setContent("ORDER-123 " + "Chuyển khoản 😀 ".repeat(100));
+        String signature = legacySignature(request, SECRET);
+
+        // When / Then
+        assertThat(verifier.verify(request, signature)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should reject tampered payloads and malformed signatures")
+    void verify_Rejects() {
+        // Given
+        String signature = legacySignature(request, SECRET);
+
+        // When / Then
+        request.setTransferAmount(1L);
+        assertThat(verifier.verify(request, signature)).isFalse();
+        assertThat(verifier.verify(request, "zz" + signature.substring(2))).isFalse();
+        assertThat(verifier.verify(request, signature.substring(1))).isFalse();
+        assertThat(verifier.verify(request, null)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should accept ASCII hex digits only")
+    void verify_RejectsNonAsciiDigits() {
+        // Given: a decimal digit of a valid signature swapped for its fullwidth form, which Character.digit accepts
+        String signature = legacySignature(request, SECRET);
+        int index = 0;
+        while (!Character.isDigit(signature.charAt(index))) {
+            index++;
+        }
+        char fullwidth = (char) ('\uFF10' + (signature.charAt(index) - '0'));
+        String tampered = signature.substring(0, index) + fullwidth + signature.substring(index + 1);
+
+        // When / Then
+        assertThat(verifier.verify(request, tampered)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should fail at startup when signatures are required but no secret is configured")
+    void constructor_NoSecret() {
+        // When & Then
+        assertThatThrownBy(() -> new SepaySignatureVerifier(paymentConfig(null)))
+                .isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> new SepaySignatureVerifier(paymentConfig("")))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    @DisplayName("Should accept unsigned webhooks only when signatures are not required")
+    void verify_UnsignedAllowed() {
+        // Given
+        PaymentConfig config = paymentConfig(SECRET);
+        config.getSepay().setRequireSignature(false);
+        SepaySignatureVerifier lenient = new SepaySignatureVerifier(config);
+
+        // When / Then
+        assertThat(lenient.verify(request, null)).isTrue();
+        assertThat(lenient.verify(request, "")).isTrue();
+        assertThat(lenient.verify(request, legacySignature(request, SECRET))).isTrue();
+        assertThat(lenient.verify(request, "forged")).isFalse();
+        assertThat(verifier.verify(request, "")).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should reject every signature when no secret is configured and unsigned webhooks are allowed")
+    void verify_NoSecret() {
+        // Given
+        PaymentConfig config = paymentConfig(null);
+        config.getSepay().setRequireSignature(false);
+        SepaySignatureVerifier unconfigured = new SepaySignatureVerifier(config);
+
+        // When / Then
+        assertThat(unconfigured.verify(request, legacySignature(request, SECRET))).isFalse();
+        assertThat(unconfigured.verify(request, null)).isTrue();
+    }
+
+    private static PaymentConfig paymentConfig(String secret) {
+        PaymentConfig.SePay sepay = new PaymentConfig.SePay();
+        sepay.setWebhookSecret(secret);
+        PaymentConfig config = new PaymentConfig();
+        config.setSepay(sepay);
+        return config;
+    }
+
+    /**
+     * Signature computed the way PaymentServiceImpl did before the verifier existed
+     */
+    private static String legacySignature(SepayWebhookRequest request, String secret) {
+        try {
+            String payload = String.format("%d|%s|%d|%s",
+                    request.getId(), request.getTransactionDate(), request.getTransferAmount(), request.getContent());
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+            StringBuilder sb = new StringBuilder();
+            for (byte b : mac.doFinal(payload.getBytes(StandardCharsets.UTF_8))) {
+                sb.append(String.format("%02x", b));
+            }
+            return sb.toString();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
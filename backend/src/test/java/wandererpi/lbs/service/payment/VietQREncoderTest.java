@@ -0,0 +1,128 @@
+package wandererpi.lbs.service.payment;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import wandererpi.lbs.config.PaymentConfig;
+import wandererpi.lbs.util.VietQRUtil;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("VietQREncoder Unit Tests")
+@SuppressWarnings("deprecation")
+class VietQREncoderTest {
+
+    private VietQREncoder encoder;
+
+    @BeforeEach
+    void setUp() {
+        encoder = new VietQREncoder(new PaymentConfig());
+    }
+
+    /**
+     * Payloads captured from VietQRUtil.generateVietQR before the encoder was introduced
+     */
+    @ParameterizedTest(name = "{0} / {2}")
+    @CsvSource(delimiter = '|', nullValues = "NULL", value = {
+            "VIETCOMBANK|1234567890|350000|ORDER-1001|00020101021238540010A00000072701240006970436011012345678900208QRIBFTTA530370454063500005802VN62140810ORDER-1001630427C4",
+            "vietinbank|0011223344|1250000|ORDER-42|00020101021238540010A00000072701240006970415011000112233440208QRIBFTTA5303704540712500005802VN62120808ORDER-4263048910",
+            "TECHCOMBANK|19036612345011|0|ORDER-7|00020101021138580010A000000727012800069704070114190366123450110208QRIBFTTA53037045802VN62110807ORDER-76304900C",
+            "MBBANK|0901234567|99000|ORDER-123456789|00020101021238540010A00000072701240006970422011009012345670208QRIBFTTA53037045405990005802VN62190815ORDER-12345678963049475",
+            "ACB|123456|1|ORDER-1|00020101021238500010A0000007270120000697041601061234560208QRIBFTTA5303704540115802VN62110807ORDER-16304B670",
+            "VPBANK|987654321|5000000|ORDER-2048|00020101021238530010A0000007270123000697043201099876543210208QRIBFTTA5303704540750000005802VN62140810ORDER-2048630477A8",
+            "BIDV|31410001234567|720000|NULL|00020101021238580010A000000727012800069704180114314100012345670208QRIBFTTA530370454067200005802VN63041E3B",
+            "TPBANK|00001111222|150000|Thanh toán ORDER-55|00020101021238550010A000000727012500069704230111000011112220208QRIBFTTA530370454061500005802VN62230819Thanh toán ORDER-556304F3A5",
+            "SACOMBANK|060123456789|2490000|ORDER-99999|00020101021238560010A0000007270126000697040301120601234567890208QRIBFTTA5303704540724900005802VN62150811ORDER-99999630466F2"
+    })
+    @DisplayName("Should reproduce the golden payloads for every built-in bank")
+    void encode_GoldenVectors(String bankCode, String accountNo, long amount, String message, String expected) {
+        // When / Then
+        assertThat(encoder.encode(bankCode, accountNo, amount, message)).isEqualTo(expected);
+    }
+
+    @Test
+    @DisplayName("Should match the original implementation on randomized input")
+    void encode_MatchesLegacyImplementation() {
+        // Given
+        Random random = new Random(42);
+        String[] banks = VietQREncoder.DEFAULT_BANK_BINS.keySet().toArray(new String[0]);
+        String alphabet = "0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZ -đơnàngĐ😀";
+
+        for (int i = 0; i < 500; i++) {
+            String bank = banks[random.nextInt(banks.length)];
+            String account = randomString(random, "0123456789", random.nextInt(20));
+            long amount = random.nextInt(4) == 0 ? 0 : (long) (random.nextDouble() * 10_000_000_000L);
+            String message = random.nextInt(5) == 0 ? "" : randomString(random, alphabet, random.nextInt(120));
+
+            // When / Then
+            assertThat(encoder.encode(bank, account, amount, message))
+                    .isEqualTo(VietQRUtil.generateVietQR(bank, account, amount, message));
+        }
+    }
+
+    @Test
+    @DisplayName("Should compute CRC-16/CCITT-FALSE over UTF-8 bytes")
+    void crc16_CheckValue() {
+        // Standard check value for "123456789"
+        assertThat(VietQREncoder.crc16("123456789")).isEqualTo(0x29B1);
+
+        String unicode = "Thanh toán đơn hàng 😀";
+        assertThat(VietQREncoder.crc16(unicode)).isEqualTo(bitwiseCrc16(unicode.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    @DisplayName("Should load additional and overriding BINs from config")
+    void encode_ConfiguredBankBins() {
+        // Given
+        PaymentConfig config = new PaymentConfig();
+        config.setBankBins(Map.of("hdbank", "970437", "ACB", "970499"));
+
+        // When
+        VietQREncoder configured = new VietQREncoder(config);
+
+        // Then
+        assertThat(configured.getBankBin("HDBANK")).isEqualTo("970437");
+        assertThat(configured.getBankBin("acb")).isEqualTo("970499");
+        assertThat(configured.getBankBin("VIETCOMBANK")).isEqualTo("970436");
+        assertThat(configured.encode("HDBANK", "123", 1000, "ORDER-1")).contains("0006970437");
+    }
+
+    @Test
+    @DisplayName("Should reject unknown bank codes and malformed BINs")
+    void encode_InvalidBank() {
+        assertThatThrownBy(() -> encoder.encode("UNKNOWN", "123", 1000, "ORDER-1"))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        PaymentConfig config = new PaymentConfig();
+        config.setBankBins(Map.of("HDBANK", "97043"));
+        assertThatThrownBy(() -> new VietQREncoder(config))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static String randomString(Random random, String alphabet, int length) {
+        int[] codePoints = alphabet.codePoints().toArray();
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < length; i++) {
+            sb.appendCodePoint(codePoints[random.nextInt(codePoints.length)]);
+        }
+        return sb.toString();
+    }
+
+    private static int bitwiseCrc16(byte[] bytes) {
+        int crc = 0xFFFF;
+        for (byte b : bytes) {
+            crc ^= (b & 0xFF) << 8;
+            for (int i = 0; i < 8; i++) {
+                crc = (crc & 0x8000) != 0 ? (crc << 1) ^ 0x1021 : crc << 1;
+            }
+        }
+        return crc & 0xFFFF;
+    }
+}
@@ -0,0 +1,261 @@
+package wandererpi.lbs.service.report;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+import wandererpi.lbs.config.ReportConfig;
+import wandererpi.lbs.dto.report.OrderSalesLine;
+import wandererpi.lbs.dto.report.SalesRollupDelta;
+import wandererpi.lbs.dto.report.SalesRollupKey;
+import wandererpi.lbs.enums.OrderStatus;
+import wandererpi.lbs.enums.PaymentMethod;
+import wandererpi.lbs.enums.RollupDimension;
+import wandererpi.lbs.event.OrderPlacedEvent;
+import wandererpi.lbs.event.OrderStatusChangedEvent;
+import wandererpi.lbs.repository.jdbc.SalesRollupRepository;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("SalesRollupAggregator Unit Tests")
+class SalesRollupAggregatorTest {
+
+    // 2026-01-15 23:30 in Ho Chi Minh City, still 16:30 UTC: bucketed on the business day
+    private static final Instant PLACED_AT = Instant.parse("2026-01-15T16:30:00Z");
+    private static final LocalDate DAY = LocalDate.of(2026, 1, 15);
+
+    @Mock
+    private SalesRollupRepository salesRollupRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private SalesRollupAggregator aggregator;
+
+    @BeforeEach
+    void setUp() {
+        aggregator = new SalesRollupAggregator(salesRollupRepository, new ReportConfig(), transactionTemplate);
+        lenient().when(transactionTemplate.execute(any())).thenAnswer(invocation -> {
+            TransactionCallback<?> action = invocation.getArgument(0);
+            return action.doInTransaction(null);
+        });
+    }
+
+    @Test
+    @DisplayName("Should count a placed order once per row, summing its lines, with nothing paid yet")
+    void onOrderPlaced_CountsOrder() {
+        // Given: two SKUs of the same category
+        givenLines(line(1L, PaymentMethod.BANK_TRANSFER, 11L, 2, "200000"),
+                line(1L, PaymentMethod.BANK_TRANSFER, 12L, 1, "150000"));
+
+        // When
+        aggregator.onOrderPlaced(new OrderPlacedEvent(1L, PaymentMethod.BANK_TRANSFER, new BigDecimal("350000")));
+        int rows = aggregator.flush();
+
+        // Then
+        Map<SalesRollupKey, SalesRollupDelta> deltas = appliedDeltas();
+        assertThat(rows).isEqualTo(5);
+        assertThat(deltas.get(key(RollupDimension.TOTAL, "ALL"))).isEqualTo(delta(1, 3, "350000", "0"));
+        assertThat(deltas.get(key(RollupDimension.CATEGORY, "7"))).isEqualTo(delta(1, 3, "350000", "0"));
+        assertThat(deltas.get(key(RollupDimension.SKU, "11"))).isEqualTo(delta(1, 2, "200000", "0"));
+        assertThat(deltas.get(key(RollupDimension.SKU, "12"))).isEqualTo(delta(1, 1, "150000", "0"));
+        assertThat(deltas.get(key(RollupDimension.PAYMENT_METHOD, "BANK_TRANSFER"))).isEqualTo(delta(1, 3, "350000", "0"));
+    }
+
+    @Test
+    @DisplayName("Should add paid revenue only when a bank transfer is confirmed")
+    void onOrderStatusChanged_TransferConfirmed() {
+        // Given
+        givenLines(line(1L, PaymentMethod.BANK_TRANSFER, 11L, 2, "200000"));
+
+        // When
+        aggregator.onOrderStatusChanged(new OrderStatusChangedEvent(1L, OrderStatus.PENDING_PAYMENT, OrderStatus.CONFIRMED));
+        aggregator.flush();
+
+        // Then
+        assertThat(appliedDeltas().get(key(RollupDimension.TOTAL, "ALL"))).isEqualTo(delta(0, 0, "0", "200000"));
+    }
+
+    @Test
+    @DisplayName("Should take a cancelled order out of every figure it was counted in")
+    void onOrderStatusChanged_Cancelled() {
+        // Given
+        givenLines(line(1L, PaymentMethod.COD, 11L, 2, "200000"));
+
+        // When
+        aggregator.onOrderStatusChanged(new OrderStatusChangedEvent(1L, OrderStatus.CONFIRMED, OrderStatus.CANCELLED));
+        aggregator.flush();
+
+        // Then
+        assertThat(appliedDeltas().get(key(RollupDimension.TOTAL, "ALL"))).isEqualTo(delta(-1, -2, "-200000", "0"));
+    }
+
+    @Test
+    @DisplayName("Should skip the order query for transitions that move no figure")
+    void onOrderStatusChanged_NoFigureChange() {
+        // When
+        aggregator.onOrderStatusChanged(new OrderStatusChangedEvent(1L, OrderStatus.CONFIRMED, OrderStatus.SHIPPING));
+
+        // Then
+        assertThat(aggregator.flush()).isZero();
+        verifyNoInteractions(salesRollupRepository, transactionTemplate);
+    }
+
+    @Test
+    @DisplayName("Should load all queued orders in one query and merge them into one write per row")
+    void flush_MergesOrders() {
+        // Given
+        givenLines(
+                line(1L, PaymentMethod.COD, 11L, 1, "100000"),
+                line(2L, PaymentMethod.COD, 11L, 3, "300000"));
+
+        // When
+        aggregator.onOrderPlaced(new OrderPlacedEvent(1L, PaymentMethod.COD, new BigDecimal("100000")));
+        aggregator.onOrderPlaced(new OrderPlacedEvent(2L, PaymentMethod.COD, new BigDecimal("300000")));
+        aggregator.flush();
+
+        // Then
+        verify(salesRollupRepository, times(1)).findOrderLines(Set.of(1L, 2L));
+        verify(salesRollupRepository, times(1)).applyDeltas(any());
+        assertThat(appliedDeltas().get(key(RollupDimension.SKU, "11"))).isEqualTo(delta(2, 4, "400000", "0"));
+    }
+
+    @Test
+    @DisplayName("Should only queue on the request path and query nothing until the flush")
+    void onOrderStatusChanged_OnlyQueues() {
+        // When
+        for (long orderId = 1; orderId <= 1000; orderId++) {
+            aggregator.onOrderStatusChanged(new OrderStatusChangedEvent(orderId, OrderStatus.PENDING_PAYMENT, OrderStatus.CANCELLED));
+        }
+
+        // Then
+        verifyNoInteractions(salesRollupRepository, transactionTemplate);
+    }
+
+    @Test
+    @DisplayName("Should drop transitions recorded before the last rebuild of their day")
+    void flush_SkipsTransitionsInRebuildSnapshot() {
+        // Given: order 1 changed before the rebuild snapshot, order 2 after it
+        givenLines(
+                line(1L, PaymentMethod.COD, 11L, 1, "100000"),
+                line(2L, PaymentMethod.COD, 11L, 3, "300000"));
+        aggregator.onOrderPlaced(new OrderPlacedEvent(1L, PaymentMethod.COD, new BigDecimal("100000")));
+        Instant snapshot = Instant.now().plusNanos(1);
+        await(snapshot);
+        aggregator.onOrderPlaced(new OrderPlacedEvent(2L, PaymentMethod.COD, new BigDecimal("300000")));
+        when(salesRollupRepository.lockDaysForDeltas(Set.of(DAY))).thenReturn(Map.of(DAY, snapshot));
+
+        // When
+        aggregator.flush();
+
+        // Then
+        assertThat(appliedDeltas().get(key(RollupDimension.SKU, "11"))).isEqualTo(delta(1, 3, "300000", "0"));
+    }
+
+    @Test
+    @DisplayName("Should keep the transitions for the next flush when writing fails")
+    void flush_FailureKeepsTransitions() {
+        // Given
+        givenLines(line(1L, PaymentMethod.COD, 11L, 1, "100000"));
+        aggregator.onOrderPlaced(new OrderPlacedEvent(1L, PaymentMethod.COD, new BigDecimal("100000")));
+        doThrow(new RuntimeException("database down")).doNothing().when(salesRollupRepository).applyDeltas(any());
+
+        // When
+        assertThatThrownBy(() -> aggregator.flush()).isInstanceOf(RuntimeException.class);
+        int rows = aggregator.flush();
+
+        // Then
+        assertThat(rows).isEqualTo(4);
+        verify(salesRollupRepository, times(2)).applyDeltas(any());
+        assertThat(aggregator.flush()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should keep the transitions when their orders cannot be loaded")
+    void flush_LoadFailureKeepsTransitions() {
+        // Given
+        aggregator.onOrderPlaced(new OrderPlacedEvent(1L, PaymentMethod.COD, new BigDecimal("100000")));
+        when(salesRollupRepository.findOrderLines(any()))
+                .thenThrow(new RuntimeException("database down"))
+                .thenReturn(List.of(line(1L, PaymentMethod.COD, 11L, 1, "100000")));
+
+        // When
+        assertThatThrownBy(() -> aggregator.flush()).isInstanceOf(RuntimeException.class);
+        int rows = aggregator.flush();
+
+        // Then
+        assertThat(rows).isEqualTo(4);
+        verify(salesRollupRepository, times(1)).applyDeltas(any());
+    }
+
+    @Test
+    @DisplayName("Should skip orders that no longer exist")
+    void flush_UnknownOrder() {
+        // Given
+        givenLines();
+        aggregator.onOrderPlaced(new OrderPlacedEvent(1L, PaymentMethod.COD, new BigDecimal("100000")));
+
+        // When
+        int rows = aggregator.flush();
+
+        // Then
+        assertThat(rows).isZero();
+        verify(salesRollupRepository).applyDeltas(Map.of());
+    }
+
+    // Helper methods
+
+    private void givenLines(OrderSalesLine... lines) {
+        when(salesRollupRepository.findOrderLines(any())).thenReturn(List.of(lines));
+    }
+
+    // Transitions are stamped with Instant.now(); make sure the next one is stamped later
+    private static void await(Instant instant) {
+        while (!Instant.now().isAfter(instant)) {
+            Thread.onSpinWait();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<SalesRollupKey, SalesRollupDelta> appliedDeltas() {
+        ArgumentCaptor<Map<SalesRollupKey, SalesRollupDelta>> captor = ArgumentCaptor.forClass(Map.class);
+        verify(salesRollupRepository, atLeastOnce()).applyDeltas(captor.capture());
+        return captor.getValue();
+    }
+
+    private static OrderSalesLine line(Long orderId, PaymentMethod paymentMethod, Long skuId, int quantity, String amount) {
+        return OrderSalesLine.builder()
+                .orderId(orderId)
+                .createdAt(PLACED_AT)
+                .paymentMethod(paymentMethod)
+                .skuId(skuId)
+                .categoryId(7L)
+                .quantity(quantity)
+                .amount(new BigDecimal(amount))
+                .build();
+    }
+
+    private static SalesRollupKey key(RollupDimension dimension, String dimensionKey) {
+        return new SalesRollupKey(DAY, dimension, dimensionKey);
+    }
+
+    private static SalesRollupDelta delta(long orderCount, long units, String revenue, String paidRevenue) {
+        return new SalesRollupDelta(orderCount, units, new BigDecimal(revenue), new BigDecimal(paidRevenue));
+    }
+}
@@ -0,0 +1,94 @@
+package wandererpi.lbs.service.specification.product;
+
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Root;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import wandererpi.lbs.dto.request.ProductFilterRequest;
+import wandererpi.lbs.entity.ProductListing;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@DisplayName("ProductSearchSpecification Unit Tests")
+class ProductSearchSpecificationTest {
+
+    @Test
+    @DisplayName("Should require every term and match the last one as a prefix")
+    void toPrefixQuery_AndsTermsWithPrefixOnLast() {
+        // When / Then
+        assertThat(ProductSearchSpecification.toPrefixQuery("Áo thu")).isEqualTo("Áo & thu:*");
+        assertThat(ProductSearchSpecification.toPrefixQuery("giày")).isEqualTo("giày:*");
+    }
+
+    @Test
+    @DisplayName("Should drop tsquery syntax so user input cannot break the query")
+    void toPrefixQuery_StripsOperators() {
+        // When / Then
+        assertThat(ProductSearchSpecification.toPrefixQuery("quần & (jean | !kaki):*"))
+                .isEqualTo("quần & jean & kaki:*");
+        assertThat(ProductSearchSpecification.toPrefixQuery("'\\\"")).isNull();
+    }
+
+    @Test
+    @DisplayName("Should not filter when no search text is given")
+    void toSpecification_NoSearch() {
+        // Given
+        ProductFilterRequest request = ProductFilterRequest.builder().categoryId(1L).build();
+
+        // When / Then
+        assertThat(new ProductSearchSpecification().toSpecification(request)).isNull();
+    }
+
+    @Test
+    @DisplayName("Should filter with product_search_matches and order pages by product_search_rank, then id")
+    void toSpecification_PageQueryOrdersByRank() {
+        // Given
+        CriteriaQuery<?> query = mock(CriteriaQuery.class, RETURNS_DEEP_STUBS);
+        doReturn(ProductListing.class).when(query).getResultType();
+        CriteriaBuilder cb = mock(CriteriaBuilder.class, RETURNS_DEEP_STUBS);
+
+        // When
+        apply("áo thu", query, cb);
+
+        // Then
+        verify(cb).function(eq("product_search_matches"), eq(Boolean.class), any(), any());
+        verify(cb).function(eq("product_search_rank"), eq(Float.class), any(), any());
+        verify(cb, times(2)).literal("áo & thu:*");
+        verify(cb).desc(any(Expression.class));
+        verify(cb).asc(any(Expression.class));
+        verify(query).orderBy(any(Order.class), any(Order.class));
+    }
+
+    @Test
+    @DisplayName("Should leave the count query unordered")
+    void toSpecification_CountQuerySkipsOrder() {
+        // Given
+        CriteriaQuery<?> query = mock(CriteriaQuery.class, RETURNS_DEEP_STUBS);
+        doReturn(Long.class).when(query).getResultType();
+        CriteriaBuilder cb = mock(CriteriaBuilder.class, RETURNS_DEEP_STUBS);
+
+        // When
+        apply("áo thu", query, cb);
+
+        // Then: still filtered, but neither ranked nor ordered
+        verify(cb).function(eq("product_search_matches"), eq(Boolean.class), any(), any());
+        verify(cb, never()).function(eq("product_search_rank"), any(), any(), any());
+        verify(query, never()).orderBy(any(Order[].class));
+        verify(query, never()).orderBy(anyList());
+    }
+
+    // Helper methods
+
+    @SuppressWarnings("unchecked")
+    private static void apply(String search, CriteriaQuery<?> query, CriteriaBuilder cb) {
+        Root<ProductListing> root = mock(Root.class, RETURNS_DEEP_STUBS);
+        ProductFilterRequest request = ProductFilterRequest.builder().search(search).build();
+        new ProductSearchSpecification().toSpecification(request).toPredicate(root, query, cb);
+    }
+}
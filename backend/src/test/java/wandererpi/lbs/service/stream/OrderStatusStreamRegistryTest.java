@@ -0,0 +1,237 @@
+package wandererpi.lbs.service.stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import wandererpi.lbs.config.OrderStatusStreamConfig;
+import wandererpi.lbs.enums.ErrorCode;
+import wandererpi.lbs.enums.OrderStatus;
+import wandererpi.lbs.event.OrderStatusChangedEvent;
+import wandererpi.lbs.exception.ApplicationException;
+import wandererpi.lbs.repository.jdbc.OrderStatusRepository;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("OrderStatusStreamRegistry Unit Tests")
+class OrderStatusStreamRegistryTest {
+
+    private static final String CHANNEL = "order:status";
+
+    @Mock
+    private StringRedisTemplate stringRedisTemplate;
+
+    @Mock
+    private RedisMessageListenerContainer redisMessageListenerContainer;
+
+    @Mock
+    private OrderStatusRepository orderStatusRepository;
+
+    @Mock
+    private ThreadPoolTaskExecutor orderStatusHeartbeatExecutor;
+
+    private OrderStatusStreamConfig config;
+    private OrderStatusStreamRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        config = new OrderStatusStreamConfig();
+        config.setMaxConnections(2);
+        config.setChannel(CHANNEL);
+        registry = spy(new OrderStatusStreamRegistry(stringRedisTemplate, redisMessageListenerContainer,
+                orderStatusRepository, orderStatusHeartbeatExecutor, config));
+    }
+
+    @Test
+    @DisplayName("Should register a pending order's stream and send its current status")
+    void open_PendingOrder() throws Exception {
+        // Given
+        SseEmitter emitter = nextEmitter();
+        givenStatus(1L, OrderStatus.PENDING_PAYMENT);
+
+        // When
+        SseEmitter opened = registry.open(1L);
+
+        // Then
+        assertThat(opened).isSameAs(emitter);
+        assertThat(registry.openStreamCount()).isEqualTo(1);
+        verify(emitter).send(any(SseEmitter.SseEventBuilder.class));
+        verify(emitter, never()).complete();
+    }
+
+    @Test
+    @DisplayName("Should send the status and complete when the order is no longer pending")
+    void open_SettledOrder() throws Exception {
+        // Given
+        SseEmitter emitter = nextEmitter();
+        givenStatus(1L, OrderStatus.CONFIRMED);
+
+        // When
+        registry.open(1L);
+
+        // Then
+        verify(emitter).send(any(SseEmitter.SseEventBuilder.class));
+        verify(emitter).complete();
+        assertThat(registry.openStreamCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should release the slot when the order does not exist")
+    void open_UnknownOrder() {
+        // Given
+        nextEmitter();
+        when(orderStatusRepository.findStatuses(anyCollection())).thenReturn(Map.of());
+
+        // When & Then
+        assertThatThrownBy(() -> registry.open(1L))
+                .isInstanceOf(ApplicationException.class)
+                .hasFieldOrPropertyWithValue("errorCode", ErrorCode.ORDER_NOT_FOUND);
+        assertThat(registry.openStreamCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should register the emitter before reading the status")
+    void open_RegistersBeforeReading() throws Exception {
+        // Given: the payment commits while the status is being read, which still returns the old value
+        SseEmitter emitter = nextEmitter();
+        when(orderStatusRepository.findStatuses(anyCollection())).thenAnswer(invocation -> {
+            registry.onMessage(message("1:CONFIRMED"), null);
+            return Map.of(1L, OrderStatus.PENDING_PAYMENT);
+        });
+
+        // When
+        registry.open(1L);
+
+        // Then: the change reached the registered emitter, which was completed
+        InOrder inOrder = inOrder(emitter, orderStatusRepository);
+        inOrder.verify(emitter).onCompletion(any());
+        inOrder.verify(orderStatusRepository).findStatuses(anyCollection());
+        inOrder.verify(emitter).send(any(SseEmitter.SseEventBuilder.class));
+        inOrder.verify(emitter).complete();
+    }
+
+    @Test
+    @DisplayName("Should reject streams beyond the connection limit")
+    void open_Limit() {
+        // Given
+        givenStatus(1L, OrderStatus.PENDING_PAYMENT);
+        givenStatus(2L, OrderStatus.PENDING_PAYMENT);
+        nextEmitter();
+        registry.open(1L);
+        nextEmitter();
+        registry.open(2L);
+
+        // When & Then
+        assertThatThrownBy(() -> registry.open(3L))
+                .isInstanceOf(ApplicationException.class)
+                .hasFieldOrPropertyWithValue("errorCode", ErrorCode.TOO_MANY_STREAMS);
+        assertThat(registry.openStreamCount()).isEqualTo(2);
+        verify(orderStatusRepository, never()).findStatuses(argThat(ids -> ids.contains(3L)));
+    }
+
+    @Test
+    @DisplayName("Should deliver published changes to the order's streams only and complete them")
+    void onMessage_Delivers() throws Exception {
+        // Given
+        givenStatus(1L, OrderStatus.PENDING_PAYMENT);
+        givenStatus(2L, OrderStatus.PENDING_PAYMENT);
+        SseEmitter first = nextEmitter();
+        registry.open(1L);
+        SseEmitter second = nextEmitter();
+        registry.open(2L);
+
+        // When
+        registry.onMessage(message("1:CONFIRMED"), null);
+
+        // Then
+        verify(first, times(2)).send(any(SseEmitter.SseEventBuilder.class));
+        verify(first).complete();
+        verify(second, times(1)).send(any(SseEmitter.SseEventBuilder.class));
+        verify(second, never()).complete();
+    }
+
+    @Test
+    @DisplayName("Should stop delivering to a stream once it completes")
+    void complete_ReleasesStream() throws Exception {
+        // Given
+        givenStatus(1L, OrderStatus.PENDING_PAYMENT);
+        SseEmitter emitter = nextEmitter();
+        registry.open(1L);
+        ArgumentCaptor<Runnable> onCompletion = ArgumentCaptor.forClass(Runnable.class);
+        verify(emitter).onCompletion(onCompletion.capture());
+
+        // When
+        onCompletion.getValue().run();
+        registry.onMessage(message("1:CONFIRMED"), null);
+
+        // Then
+        assertThat(registry.openStreamCount()).isZero();
+        verify(emitter, times(1)).send(any(SseEmitter.SseEventBuilder.class));
+    }
+
+    @Test
+    @DisplayName("Should publish committed changes and deliver locally when Redis is down")
+    void onOrderStatusChanged_PublishFallback() throws Exception {
+        // Given
+        givenStatus(1L, OrderStatus.PENDING_PAYMENT);
+        SseEmitter emitter = nextEmitter();
+        registry.open(1L);
+        doThrow(new RuntimeException("connection refused")).when(stringRedisTemplate).convertAndSend(anyString(), anyString());
+
+        // When
+        registry.onOrderStatusChanged(new OrderStatusChangedEvent(1L, OrderStatus.PENDING_PAYMENT, OrderStatus.CONFIRMED));
+
+        // Then
+        verify(stringRedisTemplate).convertAndSend(CHANNEL, "1:CONFIRMED");
+        verify(emitter).complete();
+    }
+
+    @Test
+    @DisplayName("Should hand heartbeats to their own executor and skip when it is busy")
+    void heartbeat_OwnExecutor() {
+        // Given
+        doThrow(new TaskRejectedException("busy")).when(orderStatusHeartbeatExecutor).execute(any(Runnable.class));
+
+        // When & Then
+        assertThatCode(() -> registry.heartbeat()).doesNotThrowAnyException();
+        verify(orderStatusHeartbeatExecutor).execute(any(Runnable.class));
+    }
+
+    // Helper methods
+
+    private SseEmitter nextEmitter() {
+        SseEmitter emitter = mock(SseEmitter.class);
+        doReturn(emitter).when(registry).newEmitter();
+        return emitter;
+    }
+
+    private void givenStatus(Long orderId, OrderStatus status) {
+        lenient().when(orderStatusRepository.findStatuses(eq(List.of(orderId)))).thenReturn(Map.of(orderId, status));
+    }
+
+    private DefaultMessage message(String body) {
+        return new DefaultMessage(CHANNEL.getBytes(StandardCharsets.UTF_8), body.getBytes(StandardCharsets.UTF_8));
+    }
+}